@@ -35,6 +35,21 @@ public class Box2DUtils {
 		return joint.addr;
 	}
 
+	/** @return {@link Fixture#shape}, which is null until {@link Fixture#getShape()} is called and replaced by a new instance when the Fixture instance is reused for another Fixture */
+	public static Shape getCachedShape(Fixture fixture) {
+		return fixture.shape;
+	}
+
+	/** @return the Body of the given {@link #getAddr(Body) address} in the given World or null if it does not exist (anymore) */
+	public static Body getBody(World world, long addr) {
+		return world.bodies.get(addr);
+	}
+
+	/** @return the Fixture of the given {@link #getAddr(Fixture) address} in the given World or null if it does not exist (anymore) */
+	public static Fixture getFixture(World world, long addr) {
+		return world.fixtures.get(addr);
+	}
+
 	/** @return a hash code of the given long */
 	public static int hashCode(long n) {
 		return 37 * (int) (n ^ n >>> 32) + 17;
@@ -0,0 +1,247 @@
+/** Copyright 2015 Robin Stumm (serverkorken@gmail.com, http://dermetfan.net)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License. */
+
+package net.dermetfan.gdx.graphics.g2d;
+
+import java.util.Comparator;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.Pools;
+import com.badlogic.gdx.utils.Sort;
+
+/** A retained, sorted list of the sprites in the user data of Bodies and Fixtures to draw them without scanning the world every frame.
+ *  Bodies and Fixtures are {@link #add(Body) added} and {@link #remove(Body) removed} as they are created and destroyed, for example by a {@link Box2DRenderListUpdater}.
+ *  The list is kept in the order of the {@link #comparator} and only re-sorted when the z index of a sprite changed, which is detected while drawing, or after {@link #invalidate()}.
+ *  Removed entries are compacted in the next {@link #draw(Batch) draw}, so an unchanged list is drawn in one linear pass.
+ *  Drawing reads the transform of each Body, so a destroyed Body must be removed before the next draw or it is read from freed native memory.
+ *  A {@link Box2DRenderListUpdater} only removes it in the next {@link net.dermetfan.gdx.physics.box2d.WorldObserver#update(World, float) update} of its WorldObserver,
+ *  so either update the WorldObserver between destroying and drawing or {@link #remove(Body) remove} the Body yourself when destroying it.
+ *  @param <T> the type of the sprites
+ *  @author dermetfan
+ *  @since 0.13.0 */
+public abstract class Box2DRenderList<T> {
+
+	/** the entries, null where removed entries were not yet compacted */
+	private final Array<Entry<T>> entries = new Array<>(Entry.class);
+
+	/** the indices of the {@link #entries} by owner */
+	private final ObjectIntMap<Object> indices = new ObjectIntMap<>();
+
+	/** the Comparator to sort the sprites with */
+	private final Comparator<T> comparator;
+
+	/** sorts the {@link #entries} by their sprites using the {@link #comparator} */
+	private final Comparator<Entry<T>> entryComparator = new Comparator<Entry<T>>() {
+		@Override
+		public int compare(Entry<T> a, Entry<T> b) {
+			return comparator.compare(a.sprite, b.sprite);
+		}
+	};
+
+	/** the number of removed entries that were not yet compacted */
+	private int removed;
+
+	/** if the entries have to be sorted */
+	private boolean dirty;
+
+	/** @param comparator the {@link #comparator} */
+	public Box2DRenderList(Comparator<T> comparator) {
+		this.comparator = comparator;
+	}
+
+	/** @param userData the user data of a Body or Fixture
+	 *  @return the sprite in the user data or null if there is none */
+	protected abstract T sprite(Object userData);
+
+	/** @return the z index of the given sprite */
+	protected abstract float zIndex(T sprite);
+
+	/** draws the given sprite on the given Body */
+	protected abstract void draw(T sprite, Batch batch, Body body);
+
+	/** draws the given sprite on the given Fixture */
+	protected abstract void draw(T sprite, Batch batch, Fixture fixture);
+
+	/** adds all Bodies and Fixtures of the given world */
+	public void addAll(World world) {
+		@SuppressWarnings("unchecked")
+		Array<Body> bodies = Pools.obtain(Array.class);
+		world.getBodies(bodies);
+		for(Body body : bodies)
+			add(body);
+		bodies.clear();
+		Pools.free(bodies);
+	}
+
+	/** adds the given Body and its Fixtures if they hold a sprite in their user data, or updates their sprites if they were already added */
+	public void add(Body body) {
+		put(body, sprite(body.getUserData()));
+		Array<Fixture> fixtures = body.getFixtureList();
+		for(int i = 0; i < fixtures.size; i++)
+			add(fixtures.get(i));
+	}
+
+	/** adds the given Fixture if it holds a sprite in its user data, or updates its sprite if it was already added */
+	public void add(Fixture fixture) {
+		put(fixture, sprite(fixture.getUserData()));
+	}
+
+	/** removes the given Body and its Fixtures */
+	public void remove(Body body) {
+		remove((Object) body);
+		Array<Fixture> fixtures = body.getFixtureList();
+		for(int i = 0; i < fixtures.size; i++)
+			remove(fixtures.get(i));
+	}
+
+	/** removes the given Fixture */
+	public void remove(Fixture fixture) {
+		remove((Object) fixture);
+	}
+
+	/** @param owner the Body or Fixture
+	 *  @param sprite the sprite of the owner, null to remove it */
+	private void put(Object owner, T sprite) {
+		if(sprite == null) {
+			remove(owner);
+			return;
+		}
+		int index = indices.get(owner, -1);
+		if(index == -1) {
+			indices.put(owner, entries.size);
+			entries.add(new Entry<>(owner, sprite, zIndex(sprite)));
+			dirty = true;
+		} else {
+			Entry<T> entry = entries.get(index);
+			if(entry.sprite != sprite) {
+				entry.sprite = sprite;
+				entry.zIndex = zIndex(sprite);
+				dirty = true;
+			}
+		}
+	}
+
+	/** @param owner the Body or Fixture to remove */
+	private void remove(Object owner) {
+		int index = indices.remove(owner, -1);
+		if(index == -1)
+			return;
+		entries.set(index, null);
+		removed++;
+	}
+
+	/** removes all entries */
+	public void clear() {
+		entries.clear();
+		indices.clear();
+		removed = 0;
+		dirty = false;
+	}
+
+	/** forces the entries to be sorted before the next {@link #draw(Batch) draw}, for example after changing the {@link #comparator} criteria other than the z index */
+	public void invalidate() {
+		dirty = true;
+	}
+
+	/** @return the number of entries */
+	public int size() {
+		return entries.size - removed;
+	}
+
+	/** compacts removed entries and sorts the entries if a z index changed */
+	public void validate() {
+		if(removed > 0)
+			compact();
+		Entry<T>[] entries = this.entries.items;
+		for(int i = 0, n = this.entries.size; i < n; i++) {
+			Entry<T> entry = entries[i];
+			float zIndex = zIndex(entry.sprite);
+			if(zIndex != entry.zIndex) {
+				entry.zIndex = zIndex;
+				dirty = true;
+			}
+		}
+		if(dirty)
+			sort();
+	}
+
+	/** removes the entries of removed owners, keeping the order */
+	private void compact() {
+		Entry<T>[] entries = this.entries.items;
+		int size = this.entries.size, n = 0;
+		for(int i = 0; i < size; i++) {
+			Entry<T> entry = entries[i];
+			if(entry == null)
+				continue;
+			if(n != i) {
+				entries[n] = entry;
+				indices.put(entry.owner, n);
+			}
+			n++;
+		}
+		this.entries.truncate(n);
+		removed = 0;
+	}
+
+	/** sorts the entries with {@link Sort}, a TimSort that is linear for the nearly sorted entries after a few z indices changed or entries were added, and rebuilds the {@link #indices} in one pass */
+	private void sort() {
+		Sort.instance().sort(entries, entryComparator);
+		Entry<T>[] entries = this.entries.items;
+		for(int i = 0, n = this.entries.size; i < n; i++)
+			indices.put(entries[i].owner, i);
+		dirty = false;
+	}
+
+	/** {@link #validate() validates} and draws all entries in order */
+	public void draw(Batch batch) {
+		validate();
+		Entry<T>[] entries = this.entries.items;
+		for(int i = 0, n = this.entries.size; i < n; i++) {
+			Entry<T> entry = entries[i];
+			if(entry.owner instanceof Fixture)
+				draw(entry.sprite, batch, (Fixture) entry.owner);
+			else
+				draw(entry.sprite, batch, (Body) entry.owner);
+		}
+	}
+
+	/** a sprite with the Body or Fixture it is drawn on
+	 *  @param <T> the type of the sprite
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	private static class Entry<T> {
+
+		/** the Body or Fixture */
+		final Object owner;
+
+		/** the sprite */
+		T sprite;
+
+		/** the z index of the {@link #sprite} when it was last sorted */
+		float zIndex;
+
+		Entry(Object owner, T sprite, float zIndex) {
+			this.owner = owner;
+			this.sprite = sprite;
+			this.zIndex = zIndex;
+		}
+
+	}
+
+}
@@ -0,0 +1,83 @@
+/** Copyright 2015 Robin Stumm (serverkorken@gmail.com, http://dermetfan.net)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License. */
+
+package net.dermetfan.gdx.graphics.g2d;
+
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import net.dermetfan.gdx.physics.box2d.WorldObserver;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.BodyChange;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.FixtureChange;
+
+/** A {@link WorldObserver.Listener} that keeps a {@link Box2DRenderList} up to date with the Bodies and Fixtures created and destroyed in the observed world and changes of their user data.
+ *  Changes are only applied in {@link WorldObserver#update(com.badlogic.gdx.physics.box2d.World, float) WorldObserver#update}, so update the WorldObserver between destroying Bodies or Fixtures and {@link Box2DRenderList#draw(com.badlogic.gdx.graphics.g2d.Batch) drawing} the list, or remove them from the list yourself when destroying them.
+ *  In {@link WorldObserver#setIncremental(boolean) incremental} mode sleeping Bodies are not diffed, so user data set on a sleeping Body or its Fixtures is only added once the Body wakes up. {@link WorldObserver#markDirty(com.badlogic.gdx.physics.box2d.Body) Mark} it dirty or {@link Box2DRenderList#add(com.badlogic.gdx.physics.box2d.Body) add} it yourself in that case.
+ *  <strong>Does NOT work on HTML5!</strong>
+ *  @author dermetfan
+ *  @since 0.13.0 */
+public class Box2DRenderListUpdater extends WorldObserver.Listener.Adapter {
+
+	/** the list to update */
+	private Box2DRenderList<?> list;
+
+	/** @param list the {@link #list} */
+	public Box2DRenderListUpdater(Box2DRenderList<?> list) {
+		this.list = list;
+	}
+
+	@Override
+	public void created(Body body) {
+		list.add(body);
+	}
+
+	@Override
+	public void destroyed(Body body) {
+		list.remove(body);
+	}
+
+	@Override
+	public void changed(Body body, BodyChange change) {
+		if(change.isDirty(BodyChange.USER_DATA))
+			list.add(body);
+	}
+
+	@Override
+	public void created(Fixture fixture) {
+		list.add(fixture);
+	}
+
+	@Override
+	public void destroyed(Fixture fixture) {
+		list.remove(fixture);
+	}
+
+	@Override
+	public void changed(Fixture fixture, FixtureChange change) {
+		if(change.isDirty(FixtureChange.USER_DATA))
+			list.add(fixture);
+	}
+
+	// getters and setters
+
+	/** @return the {@link #list} */
+	public Box2DRenderList<?> getList() {
+		return list;
+	}
+
+	/** @param list the {@link #list} to set */
+	public void setList(Box2DRenderList<?> list) {
+		this.list = list;
+	}
+
+}
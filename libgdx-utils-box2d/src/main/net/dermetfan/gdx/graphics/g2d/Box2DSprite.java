@@ -17,11 +17,13 @@ package net.dermetfan.gdx.graphics.g2d;
 import java.util.Comparator;
 import java.util.Iterator;
 
+import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.Fixture;
@@ -108,12 +110,31 @@ public class Box2DSprite extends Sprite {
 		}
 	};
 
+	/** draws the sprites of the Bodies and Fixtures overlapping a region */
+	private static final Box2DSpriteCuller<Box2DSprite> culler = new Box2DSpriteCuller<Box2DSprite>() {
+		@Override
+		protected Box2DSprite sprite(Object userData) {
+			return userDataAccessor.apply(userData);
+		}
+
+		@Override
+		protected void draw(Box2DSprite sprite, Batch batch, Body body) {
+			sprite.draw(batch, body);
+		}
+
+		@Override
+		protected void draw(Box2DSprite sprite, Batch batch, Fixture fixture) {
+			sprite.draw(batch, fixture);
+		}
+	};
+
 	/** @see #draw(Batch, World, boolean) */
 	public static void draw(Batch batch, World world) {
 		draw(batch, world, false);
 	}
 
-	/** draws all the {@link Box2DSprite Box2DSprites} on the {@link Body} or {@link Fixture} that hold them in their user data in the given {@link World} */
+	/** draws all the {@link Box2DSprite Box2DSprites} on the {@link Body} or {@link Fixture} that hold them in their user data in the given {@link World}.
+	 *  This scans the world and, if {@code sortByZ} is true, sorts all sprites on every call. Use a {@link RenderList} to draw many sprites every frame. */
 	public static void draw(Batch batch, World world, boolean sortByZ) {
 		@SuppressWarnings("unchecked")
 		Array<Body> tmpBodies = Pools.obtain(Array.class);
@@ -164,6 +185,30 @@ public class Box2DSprite extends Sprite {
 		Pools.free(tmpBodies);
 	}
 
+	/** @see #draw(Batch, World, Camera, boolean) */
+	public static void draw(Batch batch, World world, Camera camera) {
+		draw(batch, world, camera, false);
+	}
+
+	/** draws the {@link Box2DSprite Box2DSprites} in the given {@link World} that are visible in the given {@link Camera Camera's} frustum
+	 *  @param sortByZ if the visible sprites should be sorted by the {@link #zComparator}, otherwise they are drawn in the order the broad-phase reports them
+	 *  @see Box2DSpriteCuller */
+	public static void draw(Batch batch, World world, Camera camera, boolean sortByZ) {
+		culler.draw(batch, world, camera, sortByZ ? zComparator : null);
+	}
+
+	/** @see #draw(Batch, World, Rectangle, boolean) */
+	public static void draw(Batch batch, World world, Rectangle region) {
+		draw(batch, world, region, false);
+	}
+
+	/** draws the {@link Box2DSprite Box2DSprites} in the given {@link World} on the {@link Body Bodies} and {@link Fixture Fixtures} overlapping the given region
+	 *  @param sortByZ if the visible sprites should be sorted by the {@link #zComparator}, otherwise they are drawn in the order the broad-phase reports them
+	 *  @see Box2DSpriteCuller */
+	public static void draw(Batch batch, World world, Rectangle region, boolean sortByZ) {
+		culler.draw(batch, world, region, sortByZ ? zComparator : null);
+	}
+
 	/** draws this {@link Box2DSprite} on the given {@link Fixture} */
 	public void draw(Batch batch, Fixture fixture) {
 		vec2.set(position(fixture));
@@ -286,4 +331,35 @@ public class Box2DSprite extends Sprite {
 		Box2DSprite.userDataAccessor = userDataAccessor != null ? userDataAccessor : defaultUserDataAccessor;
 	}
 
+	/** a {@link Box2DRenderList} of {@link Box2DSprite Box2DSprites}, sorted by the {@link #zComparator} at the time of construction
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	public static class RenderList extends Box2DRenderList<Box2DSprite> {
+
+		public RenderList() {
+			super(zComparator);
+		}
+
+		@Override
+		protected Box2DSprite sprite(Object userData) {
+			return userDataAccessor.apply(userData);
+		}
+
+		@Override
+		protected float zIndex(Box2DSprite sprite) {
+			return sprite.zIndex;
+		}
+
+		@Override
+		protected void draw(Box2DSprite sprite, Batch batch, Body body) {
+			sprite.draw(batch, body);
+		}
+
+		@Override
+		protected void draw(Box2DSprite sprite, Batch batch, Fixture fixture) {
+			sprite.draw(batch, fixture);
+		}
+
+	}
+
 }
@@ -0,0 +1,182 @@
+/** Copyright 2015 Robin Stumm (serverkorken@gmail.com, http://dermetfan.net)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License. */
+
+package net.dermetfan.gdx.graphics.g2d;
+
+import java.util.Comparator;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.QueryCallback;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.Sort;
+
+/** Draws only the sprites of the Fixtures and Bodies overlapping a region.
+ *  The region is {@link World#QueryAABB(QueryCallback, float, float, float, float) queried} in the broad-phase of the World, so the cost depends on the number of visible Fixtures instead of all Fixtures in the World.
+ *  A Fixture is visible if its AABB in the broad-phase, which Box2D enlarges by a small margin, overlaps the region. A Body is visible if any of its Fixtures is, so Bodies without Fixtures are never drawn.
+ *  The sprites are drawn in the order the broad-phase reports them unless a Comparator is given to sort the visible sprites with.
+ *  Sprites that are drawn outside of the Body or Fixture they are on, for example because of an offset or disabled size adjustment, may be culled although they are partially visible.
+ *  @param <T> the type of the sprites
+ *  @author dermetfan
+ *  @since 0.13.0 */
+public abstract class Box2DSpriteCuller<T> implements QueryCallback {
+
+	/** the Bodies with a sprite that were drawn in the current query */
+	private final ObjectSet<Body> drawnBodies = new ObjectSet<>();
+
+	/** the visible sprites collected in the current query to be sorted */
+	private final Array<Entry<T>> entries = new Array<>(Entry.class);
+
+	private final Pool<Entry<T>> entryPool = new Pool<Entry<T>>() {
+		@Override
+		protected Entry<T> newObject() {
+			return new Entry<>();
+		}
+	};
+
+	/** sorts the {@link #entries} by their sprites using the {@link #comparator} */
+	private final Comparator<Entry<T>> entryComparator = new Comparator<Entry<T>>() {
+		@Override
+		public int compare(Entry<T> a, Entry<T> b) {
+			return comparator.compare(a.sprite, b.sprite);
+		}
+	};
+
+	/** the Batch to draw on in the current query */
+	private Batch batch;
+
+	/** the Comparator to sort the sprites with in the current query, null to draw them in the order they are reported */
+	private Comparator<T> comparator;
+
+	/** @param userData the user data of a Body or Fixture
+	 *  @return the sprite in the user data or null if there is none */
+	protected abstract T sprite(Object userData);
+
+	/** draws the given sprite on the given Body */
+	protected abstract void draw(T sprite, Batch batch, Body body);
+
+	/** draws the given sprite on the given Fixture */
+	protected abstract void draw(T sprite, Batch batch, Fixture fixture);
+
+	/** @see #draw(Batch, World, Camera, Comparator) */
+	public void draw(Batch batch, World world, Camera camera) {
+		draw(batch, world, camera, null);
+	}
+
+	/** draws the sprites visible in the frustum of the given Camera, projected onto the xy plane
+	 *  @param comparator the Comparator to sort the visible sprites with, may be null */
+	public void draw(Batch batch, World world, Camera camera, Comparator<T> comparator) {
+		Vector3[] points = camera.frustum.planePoints;
+		float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+		for(Vector3 point : points) {
+			minX = Math.min(minX, point.x);
+			minY = Math.min(minY, point.y);
+			maxX = Math.max(maxX, point.x);
+			maxY = Math.max(maxY, point.y);
+		}
+		draw(batch, world, minX, minY, maxX, maxY, comparator);
+	}
+
+	/** @see #draw(Batch, World, Rectangle, Comparator) */
+	public void draw(Batch batch, World world, Rectangle region) {
+		draw(batch, world, region, null);
+	}
+
+	/** draws the sprites visible in the given region
+	 *  @param comparator the Comparator to sort the visible sprites with, may be null */
+	public void draw(Batch batch, World world, Rectangle region, Comparator<T> comparator) {
+		draw(batch, world, region.x, region.y, region.x + region.width, region.y + region.height, comparator);
+	}
+
+	/** @see #draw(Batch, World, float, float, float, float, Comparator) */
+	public void draw(Batch batch, World world, float minX, float minY, float maxX, float maxY) {
+		draw(batch, world, minX, minY, maxX, maxY, null);
+	}
+
+	/** draws the sprites visible in the given region
+	 *  @param comparator the Comparator to sort the visible sprites with, may be null */
+	public void draw(Batch batch, World world, float minX, float minY, float maxX, float maxY, Comparator<T> comparator) {
+		this.batch = batch;
+		this.comparator = comparator;
+		world.QueryAABB(this, minX, minY, maxX, maxY);
+		if(comparator != null) {
+			Sort.instance().sort(entries, entryComparator);
+			Entry<T>[] entries = this.entries.items;
+			for(int i = 0, n = this.entries.size; i < n; i++) {
+				Entry<T> entry = entries[i];
+				if(entry.owner instanceof Fixture)
+					draw(entry.sprite, batch, (Fixture) entry.owner);
+				else
+					draw(entry.sprite, batch, (Body) entry.owner);
+			}
+			entryPool.freeAll(this.entries);
+			this.entries.clear();
+		}
+		drawnBodies.clear();
+		this.batch = null;
+		this.comparator = null;
+	}
+
+	@Override
+	public boolean reportFixture(Fixture fixture) {
+		T sprite = sprite(fixture.getUserData());
+		if(sprite != null)
+			draw(sprite, fixture);
+		Body body = fixture.getBody();
+		if((sprite = sprite(body.getUserData())) != null && drawnBodies.add(body))
+			draw(sprite, body);
+		return true;
+	}
+
+	/** draws the given sprite on the given Body or Fixture or collects it to be sorted if there is a {@link #comparator} */
+	private void draw(T sprite, Object owner) {
+		if(comparator != null) {
+			Entry<T> entry = entryPool.obtain();
+			entry.sprite = sprite;
+			entry.owner = owner;
+			entries.add(entry);
+		} else if(owner instanceof Fixture)
+			draw(sprite, batch, (Fixture) owner);
+		else
+			draw(sprite, batch, (Body) owner);
+	}
+
+	/** a visible sprite with the Body or Fixture it is drawn on
+	 *  @param <T> the type of the sprite
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	private static class Entry<T> implements Pool.Poolable {
+
+		/** the sprite */
+		T sprite;
+
+		/** the Body or Fixture */
+		Object owner;
+
+		@Override
+		public void reset() {
+			sprite = null;
+			owner = null;
+		}
+
+	}
+
+}
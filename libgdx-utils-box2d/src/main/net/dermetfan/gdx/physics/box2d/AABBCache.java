@@ -0,0 +1,242 @@
+/** Copyright 2015 Robin Stumm (serverkorken@gmail.com, http://dermetfan.net)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License. */
+
+package net.dermetfan.gdx.physics.box2d;
+
+import java.nio.FloatBuffer;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.Shape;
+import com.badlogic.gdx.physics.box2d.Shape.Type;
+import com.badlogic.gdx.physics.box2d.Transform;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongArray;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.Pool;
+
+/** Writes the axis aligned bounding boxes of many Bodies in world coordinates into a {@code float[]} or {@link FloatBuffer}, as {@code minX, minY, maxX, maxY} per Body.
+ *  The vertices of the Shapes are taken from the {@link Box2DUtils#cache} and the AABB of a Body is only recomputed if its transform or Fixtures changed.
+ *  Call {@link #invalidate(Body)} after changing the Shapes of existing Fixtures.
+ *  The {@link Box2DUtils#cache} only holds 1024 Shapes by default. Every Fixture has its own Shape, so {@link Box2DUtils.LRUShapeCacheStore#setCapacity(int) raise its capacity} to at least the number of Fixtures
+ *  or the vertices of evicted Shapes will be recomputed and evict others whenever a transform changes.
+ *  Bodies are tracked by {@link com.badlogic.gdx.physics.box2d.Box2DUtils#getAddr(Body) address} and instance. Because libGDX pools the Body and Fixture instances and Box2D reuses the addresses of destroyed Bodies,
+ *  a replaced Body or Fixture is recognized by the {@link com.badlogic.gdx.physics.box2d.Box2DUtils#getCachedShape(Fixture) Shape instances} of its Fixtures, which libGDX creates anew for every Fixture.
+ *  <strong>Does NOT work on HTML5!</strong>
+ *  @author dermetfan
+ *  @since 0.13.0 */
+public class AABBCache {
+
+	/** the number of floats written per Body */
+	public static final int STRIDE = 4;
+
+	/** the cached AABBs by {@link com.badlogic.gdx.physics.box2d.Box2DUtils#getAddr(Body) address} */
+	private final LongMap<Entry> entries = new LongMap<>();
+
+	private final Pool<Entry> entryPool = new Pool<Entry>() {
+		@Override
+		protected Entry newObject() {
+			return new Entry();
+		}
+	};
+
+	/** incremented every time AABBs of a World are written, used to find entries of destroyed Bodies */
+	private int frame;
+
+	/** temporary array used internally */
+	private final Array<Body> tmpBodies = new Array<>();
+
+	/** temporary array used internally */
+	private final LongArray tmpRemovals = new LongArray();
+
+	/** writes the AABBs of all Bodies of the given World in the order of {@link World#getBodies(Array)} and forgets the Bodies that do not exist anymore
+	 *  @param out the array to write to, must have room for {@link #STRIDE} floats per Body
+	 *  @param offset the index in the given array to write the first Body at
+	 *  @return the number of Bodies written */
+	public int write(World world, float[] out, int offset) {
+		world.getBodies(tmpBodies);
+		int count = write(tmpBodies, out, offset);
+		removeStale();
+		return count;
+	}
+
+	/** writes the AABBs of all Bodies of the given World in the order of {@link World#getBodies(Array)} at the position of the given buffer and forgets the Bodies that do not exist anymore
+	 *  @return the number of Bodies written */
+	public int write(World world, FloatBuffer out) {
+		world.getBodies(tmpBodies);
+		int count = write(tmpBodies, out);
+		removeStale();
+		return count;
+	}
+
+	/** Does not forget any Bodies because the given Bodies may only be a part of the World.
+	 *  Entries of Bodies that are not written anymore are kept until {@link #remove(Body) removed}, {@link #clear() cleared} or the AABBs of the whole World are {@link #write(World, float[], int) written}.
+	 *  @param bodies the Bodies which AABBs to write
+	 *  @param out the array to write to, must have room for {@link #STRIDE} floats per Body
+	 *  @param offset the index in the given array to write the first Body at
+	 *  @return the number of Bodies written */
+	public int write(Array<Body> bodies, float[] out, int offset) {
+		if(out.length - offset < bodies.size * STRIDE)
+			throw new IllegalArgumentException("out has room for " + (out.length - offset) / STRIDE + " bodies but " + bodies.size + " are to be written");
+		frame++;
+		for(int i = 0; i < bodies.size; i++) {
+			Entry entry = update(bodies.get(i));
+			int index = offset + i * STRIDE;
+			out[index] = entry.minX;
+			out[index + 1] = entry.minY;
+			out[index + 2] = entry.maxX;
+			out[index + 3] = entry.maxY;
+		}
+		return bodies.size;
+	}
+
+	/** Does not forget any Bodies, see {@link #write(Array, float[], int)}.
+	 *  @param bodies the Bodies which AABBs to write at the position of the given buffer
+	 *  @return the number of Bodies written */
+	public int write(Array<Body> bodies, FloatBuffer out) {
+		if(out.remaining() < bodies.size * STRIDE)
+			throw new IllegalArgumentException("out has room for " + out.remaining() / STRIDE + " bodies but " + bodies.size + " are to be written");
+		frame++;
+		for(int i = 0; i < bodies.size; i++) {
+			Entry entry = update(bodies.get(i));
+			out.put(entry.minX).put(entry.minY).put(entry.maxX).put(entry.maxY);
+		}
+		return bodies.size;
+	}
+
+	/** @return the up to date entry of the given Body */
+	private Entry update(Body body) {
+		long addr = com.badlogic.gdx.physics.box2d.Box2DUtils.getAddr(body);
+		Entry entry = entries.get(addr);
+		if(entry == null)
+			entries.put(addr, entry = entryPool.obtain());
+		if(entry.body != body) { // the address was reused by another Body
+			entry.body = body;
+			entry.valid = false;
+		}
+		entry.frame = frame;
+		float[] transform = body.getTransform().vals;
+		Array<Fixture> fixtures = body.getFixtureList();
+		if(entry.valid && entry.x == transform[Transform.POS_X] && entry.y == transform[Transform.POS_Y] && entry.cos == transform[Transform.COS] && entry.sin == transform[Transform.SIN] && entry.hasShapesOf(fixtures))
+			return entry;
+		float x = entry.x = transform[Transform.POS_X], y = entry.y = transform[Transform.POS_Y], cos = entry.cos = transform[Transform.COS], sin = entry.sin = transform[Transform.SIN];
+		entry.shapes.clear();
+		entry.valid = true;
+		if(fixtures.size == 0) {
+			entry.minX = entry.maxX = x;
+			entry.minY = entry.maxY = y;
+			return entry;
+		}
+		float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+		for(int i = 0; i < fixtures.size; i++) {
+			Shape shape = fixtures.get(i).getShape();
+			entry.shapes.add(shape);
+			if(shape.getType() == Type.Circle) {
+				Vector2 position = ((CircleShape) shape).getPosition();
+				float radius = shape.getRadius(), cx = x + cos * position.x - sin * position.y, cy = y + sin * position.x + cos * position.y;
+				minX = Math.min(minX, cx - radius);
+				minY = Math.min(minY, cy - radius);
+				maxX = Math.max(maxX, cx + radius);
+				maxY = Math.max(maxY, cy + radius);
+				continue;
+			}
+			float[] vertices = Box2DUtils.vertices(shape);
+			for(int v = 0; v < vertices.length; v += 2) {
+				float vx = vertices[v], vy = vertices[v + 1], wx = x + cos * vx - sin * vy, wy = y + sin * vx + cos * vy;
+				if(wx < minX)
+					minX = wx;
+				if(wx > maxX)
+					maxX = wx;
+				if(wy < minY)
+					minY = wy;
+				if(wy > maxY)
+					maxY = wy;
+			}
+		}
+		entry.minX = minX;
+		entry.minY = minY;
+		entry.maxX = maxX;
+		entry.maxY = maxY;
+		return entry;
+	}
+
+	/** forgets the entries that were not written in the current {@link #frame} */
+	private void removeStale() {
+		for(LongMap.Entry<Entry> entry : entries.entries())
+			if(entry.value.frame != frame)
+				tmpRemovals.add(entry.key);
+		for(int i = 0; i < tmpRemovals.size; i++)
+			entryPool.free(entries.remove(tmpRemovals.get(i)));
+		tmpRemovals.clear();
+	}
+
+	/** makes sure the AABB of the given Body is recomputed the next time it is written
+	 *  @param body the Body which Shapes changed */
+	public void invalidate(Body body) {
+		Entry entry = entries.get(com.badlogic.gdx.physics.box2d.Box2DUtils.getAddr(body));
+		if(entry != null && entry.body == body)
+			entry.valid = false;
+	}
+
+	/** @param body the Body to forget, for example because it was destroyed */
+	public void remove(Body body) {
+		long addr = com.badlogic.gdx.physics.box2d.Box2DUtils.getAddr(body);
+		Entry entry = entries.get(addr);
+		if(entry != null && entry.body == body)
+			entryPool.free(entries.remove(addr));
+	}
+
+	/** forgets all Bodies */
+	public void clear() {
+		for(Entry entry : entries.values())
+			entryPool.free(entry);
+		entries.clear();
+	}
+
+	/** the AABB of a Body and the transform it was computed for
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	private static class Entry implements Pool.Poolable {
+
+		Body body;
+		float x, y, cos, sin;
+		/** the Shapes of the Fixtures the AABB was computed from */
+		final Array<Shape> shapes = new Array<>(4);
+		float minX, minY, maxX, maxY;
+		boolean valid;
+		int frame;
+
+		/** @return if the given Fixtures still have the {@link #shapes} */
+		boolean hasShapesOf(Array<Fixture> fixtures) {
+			if(fixtures.size != shapes.size)
+				return false;
+			for(int i = 0; i < fixtures.size; i++)
+				if(com.badlogic.gdx.physics.box2d.Box2DUtils.getCachedShape(fixtures.get(i)) != shapes.get(i))
+					return false;
+			return true;
+		}
+
+		@Override
+		public void reset() {
+			body = null;
+			shapes.clear();
+			valid = false;
+		}
+
+	}
+
+}
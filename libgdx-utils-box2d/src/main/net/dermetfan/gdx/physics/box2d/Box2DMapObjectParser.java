@@ -14,6 +14,9 @@
 
 package net.dermetfan.gdx.physics.box2d;
 
+import java.util.Comparator;
+import java.util.Iterator;
+
 import com.badlogic.gdx.maps.Map;
 import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.MapLayers;
@@ -27,6 +30,7 @@ import com.badlogic.gdx.maps.objects.PolylineMapObject;
 import com.badlogic.gdx.maps.objects.RectangleMapObject;
 import com.badlogic.gdx.maps.objects.TextureMapObject;
 import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.math.EarClippingTriangulator;
 import com.badlogic.gdx.math.Ellipse;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Matrix4;
@@ -47,6 +51,7 @@ import com.badlogic.gdx.physics.box2d.JointDef;
 import com.badlogic.gdx.physics.box2d.JointDef.JointType;
 import com.badlogic.gdx.physics.box2d.PolygonShape;
 import com.badlogic.gdx.physics.box2d.Shape;
+import com.badlogic.gdx.physics.box2d.Shape.Type;
 import com.badlogic.gdx.physics.box2d.World;
 import com.badlogic.gdx.physics.box2d.joints.DistanceJointDef;
 import com.badlogic.gdx.physics.box2d.joints.FrictionJointDef;
@@ -60,17 +65,19 @@ import com.badlogic.gdx.physics.box2d.joints.WeldJointDef;
 import com.badlogic.gdx.physics.box2d.joints.WheelJointDef;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
 import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
 import com.badlogic.gdx.utils.Pools;
+import com.badlogic.gdx.utils.ShortArray;
 import com.badlogic.gdx.utils.reflect.ClassReflection;
+import net.dermetfan.gdx.math.BayazitDecomposer;
 import net.dermetfan.gdx.physics.box2d.Box2DMapObjectParser.Listener.Adapter;
 
 import static net.dermetfan.gdx.maps.MapUtils.findProperty;
 import static net.dermetfan.gdx.maps.MapUtils.getProperty;
-import static net.dermetfan.gdx.math.GeometryUtils.decompose;
 import static net.dermetfan.gdx.math.GeometryUtils.isConvex;
-import static net.dermetfan.gdx.math.GeometryUtils.toPolygonArray;
-import static net.dermetfan.gdx.math.GeometryUtils.triangulate;
 
 /** Parses {@link MapObjects} from a {@link Map} and generates Box2D {@link Body Bodies}, {@link Fixture Fixtures} and {@link Joint Joints} from them.<br>
  *  Just create a new {@link Box2DMapObjectParser} and call {@link #load(World, MapLayer)} to load all compatible objects (defined by the the {@link #aliases}) into your {@link World}.<br>
@@ -91,13 +98,17 @@ public class Box2DMapObjectParser {
 	public static class Aliases {
 
 		/** the aliases */
-		public String x = "x", y = "y", width = "width", height = "height", type = "type", bodyType = "bodyType", dynamicBody = "DynamicBody", kinematicBody = "KinematicBody", staticBody = "StaticBody", active = "active", allowSleep = "allowSleep", angle = "angle", angularDamping = "angularDamping", angularVelocity = "angularVelocity", awake = "awake", bullet = "bullet", fixedRotation = "fixedRotation", gravityScale = "gravityScale", linearDamping = "linearDamping", linearVelocityX = "linearVelocityX", linearVelocityY = "linearVelocityY", density = "density", categoryBits = "categoryBits", groupIndex = "groupIndex", maskBits = "maskBits", friciton = "friction", isSensor = "isSensor", restitution = "restitution", body = "body", fixture = "fixture", joint = "joint", jointType = "jointType", distanceJoint = "DistanceJoint", frictionJoint = "FrictionJoint", gearJoint = "GearJoint", mouseJoint = "MouseJoint", prismaticJoint = "PrismaticJoint", pulleyJoint = "PulleyJoint", revoluteJoint = "RevoluteJoint", ropeJoint = "RopeJoint", weldJoint = "WeldJoint", wheelJoint = "WheelJoint", bodyA = "bodyA", bodyB = "bodyB", collideConnected = "collideConnected", dampingRatio = "dampingRatio", frequencyHz = "frequencyHz", length = "length", localAnchorAX = "localAnchorAX", localAnchorAY = "localAnchorAY", localAnchorBX = "localAnchorBX", localAnchorBY = "localAnchorBY", maxForce = "maxForce", maxTorque = "maxTorque", joint1 = "joint1", joint2 = "joint2", ratio = "ratio", targetX = "targetX", targetY = "targetY", enableLimit = "enableLimit", enableMotor = "enableMotor", localAxisAX = "localAxisAX", localAxisAY = "localAxisAY", lowerTranslation = "lowerTranslation", maxMotorForce = "maxMotorForce", motorSpeed = "motorSpeed", referenceAngle = "referenceAngle", upperTranslation = "upperTranslation", groundAnchorAX = "groundAnchorAX", groundAnchorAY = "groundAnchorAY", groundAnchorBX = "groundAnchorBX", groundAnchorBY = "groundAnchorBY", lengthA = "lengthA", lengthB = "lengthB", lowerAngle = "lowerAngle", maxMotorTorque = "maxMotorTorque", upperAngle = "upperAngle", maxLength = "maxLength", object = "object", unitScale = "unitScale", userData = "userData", tileWidth = "tilewidth", tileHeight = "tileheight", gravityX = "gravityX", gravityY = "gravityY", autoClearForces = "autoClearForces", orientation = "orientation", orthogonal = "orthogonal", isometric = "isometric", staggered = "staggered";
+		public String x = "x", y = "y", width = "width", height = "height", type = "type", bodyType = "bodyType", dynamicBody = "DynamicBody", kinematicBody = "KinematicBody", staticBody = "StaticBody", active = "active", allowSleep = "allowSleep", angle = "angle", angularDamping = "angularDamping", angularVelocity = "angularVelocity", awake = "awake", bullet = "bullet", fixedRotation = "fixedRotation", gravityScale = "gravityScale", linearDamping = "linearDamping", linearVelocityX = "linearVelocityX", linearVelocityY = "linearVelocityY", density = "density", categoryBits = "categoryBits", groupIndex = "groupIndex", maskBits = "maskBits", friciton = "friction", isSensor = "isSensor", restitution = "restitution", body = "body", fixture = "fixture", joint = "joint", jointType = "jointType", distanceJoint = "DistanceJoint", frictionJoint = "FrictionJoint", gearJoint = "GearJoint", mouseJoint = "MouseJoint", prismaticJoint = "PrismaticJoint", pulleyJoint = "PulleyJoint", revoluteJoint = "RevoluteJoint", ropeJoint = "RopeJoint", weldJoint = "WeldJoint", wheelJoint = "WheelJoint", bodyA = "bodyA", bodyB = "bodyB", collideConnected = "collideConnected", dampingRatio = "dampingRatio", frequencyHz = "frequencyHz", length = "length", localAnchorAX = "localAnchorAX", localAnchorAY = "localAnchorAY", localAnchorBX = "localAnchorBX", localAnchorBY = "localAnchorBY", maxForce = "maxForce", maxTorque = "maxTorque", joint1 = "joint1", joint2 = "joint2", ratio = "ratio", targetX = "targetX", targetY = "targetY", enableLimit = "enableLimit", enableMotor = "enableMotor", localAxisAX = "localAxisAX", localAxisAY = "localAxisAY", lowerTranslation = "lowerTranslation", maxMotorForce = "maxMotorForce", motorSpeed = "motorSpeed", referenceAngle = "referenceAngle", upperTranslation = "upperTranslation", groundAnchorAX = "groundAnchorAX", groundAnchorAY = "groundAnchorAY", groundAnchorBX = "groundAnchorBX", groundAnchorBY = "groundAnchorBY", lengthA = "lengthA", lengthB = "lengthB", lowerAngle = "lowerAngle", maxMotorTorque = "maxMotorTorque", upperAngle = "upperAngle", maxLength = "maxLength", object = "object", unitScale = "unitScale", userData = "userData", tileWidth = "tilewidth", tileHeight = "tileheight", gravityX = "gravityX", gravityY = "gravityY", autoClearForces = "autoClearForces", orientation = "orientation", orthogonal = "orthogonal", isometric = "isometric", staggered = "staggered", mergeRectangles = "mergeRectangles", batchStatic = "batchStatic", batchCellSize = "batchCellSize";
 
 	}
 
 	/** Allows modification of {@link MapObject MapObjects} before they are used to create Box2D objects.<br>
 	 *  <strong>Note that the map object given to you is the one directly from the map, so if you modify it, you modify the {@link Map} instance! If you want to avoid that, make a copy.</strong><br>
-	 *  Also listens to Box2D objects that have been created.
+	 *  Also listens to Box2D objects that have been created.<br>
+	 *  Since 0.13.0 a layer is {@link Box2DMapObjectParser#compile(MapLayer) compiled} before it is {@link Box2DMapObjectParser#create(World, CompiledLayer) created}.
+	 *  The methods that return the MapObject to create something from are called while compiling, objects first, then bodies, fixtures and joints, and the {@code created} methods are called afterwards while creating.
+	 *  Previously each {@code created} call directly followed the call for its MapObject. {@link Box2DMapObjectParser#load(World, Map)} still creates each layer before compiling the next one.
+	 *  A {@link Compiler} like the {@link ParallelMapObjectCompiler} may call the former methods from multiple threads.
 	 *  @author dermetfan */
 	public interface Listener {
 
@@ -216,6 +227,261 @@ public class Box2DMapObjectParser {
 
 	}
 
+	/** Compiles the queued {@link MapObject MapObjects} of a layer by calling {@link Box2DMapObjectParser#compile(Array, int, int, CompiledLayer)} on ranges of them, for example on multiple threads.
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	public interface Compiler {
+
+		/** @param parser the parser that is {@link Box2DMapObjectParser#compile(MapLayer) compiling} a layer
+		 *  @param objects the queued MapObjects of the layer
+		 *  @return the compiled layer with the records in the order of the given MapObjects */
+		CompiledLayer compile(Box2DMapObjectParser parser, Array<MapObject> objects);
+
+	}
+
+	/** the definitions compiled from the layers of a {@link Map}
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	public static class CompiledMap {
+
+		/** the gravity defined by the map, {@link Float#NaN} to keep the gravity of the World */
+		public float gravityX = Float.NaN, gravityY = Float.NaN;
+
+		/** the {@link World#setAutoClearForces(boolean) auto clear forces} setting defined by the map, null to keep the setting of the World */
+		public Boolean autoClearForces;
+
+		/** the compiled layers in the order they are created */
+		public final Array<CompiledLayer> layers = new Array<>(CompiledLayer.class);
+
+	}
+
+	/** the definitions compiled from the {@link MapObject MapObjects} of a layer, in the order they are {@link #create(World, CompiledLayer) created}
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	public static class CompiledLayer {
+
+		/** the {@link Aliases#object objects}, each a Body with Fixtures */
+		public final Array<BodyRecord> objects = new Array<>(BodyRecord.class);
+
+		/** the {@link Aliases#body bodies} */
+		public final Array<BodyRecord> bodies = new Array<>(BodyRecord.class);
+
+		/** the {@link Aliases#fixture fixtures}, created on the Bodies they are {@link FixtureRecord#bodyNames associated} with */
+		public final Array<FixtureRecord> fixtures = new Array<>(FixtureRecord.class);
+
+		/** the {@link Aliases#joint joints} */
+		public final Array<JointRecord> joints = new Array<>(JointRecord.class);
+
+		/** appends the records of the given CompiledLayer to the records of this one
+		 *  @param layer the CompiledLayer which records to add */
+		public void addAll(CompiledLayer layer) {
+			objects.addAll(layer.objects);
+			bodies.addAll(layer.bodies);
+			fixtures.addAll(layer.fixtures);
+			joints.addAll(layer.joints);
+		}
+
+	}
+
+	/** a {@link BodyDef} compiled from a {@link MapObject}
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	public static class BodyRecord {
+
+		/** the MapObject this was compiled from, given to {@link Listener#created(Body, MapObject)} */
+		public MapObject mapObject;
+
+		/** the desired name of the Body in the {@link #bodies} */
+		public String name;
+
+		/** the resolved properties of the Body */
+		public final BodyDef bodyDef = new BodyDef();
+
+		/** the user data of the Body */
+		public Object userData;
+
+		/** the Fixtures of an {@link Aliases#object object}, empty for {@link Aliases#body bodies} */
+		public final Array<FixtureRecord> fixtures = new Array<>(1);
+
+	}
+
+	/** a {@link FixtureDef} and the vertices of its {@link Shape} in world coordinates compiled from a {@link MapObject}
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	public static class FixtureRecord {
+
+		/** the MapObject this was compiled from, given to {@link Listener#created(Fixture, MapObject)} */
+		public MapObject mapObject;
+
+		/** the desired name of the Fixture in the {@link #fixtures} */
+		public String name;
+
+		/** the type of the Shape */
+		public Type type;
+
+		/** if the {@link #vertices} are the {@code x, y, width, height} of a box to rotate by the angle of the Body */
+		public boolean box;
+
+		/** the vertices of the Shape in world coordinates, {@code x, y, radius} for circles */
+		public float[] vertices;
+
+		/** the resolved properties of the Fixture, the {@link FixtureDef#shape shape} is only set while the Fixture is created */
+		public final FixtureDef fixtureDef = new FixtureDef();
+
+		/** the user data of the Fixture */
+		public Object userData;
+
+		/** the names to look for the Body of an {@link Aliases#fixture fixture} by in the {@link #bodies}, null for Fixtures of an {@link Aliases#object object} */
+		public String[] bodyNames;
+
+	}
+
+	/** a {@link JointDef} compiled from a {@link MapObject}
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	public static class JointRecord {
+
+		/** the MapObject this was compiled from, given to {@link Listener#created(Joint, MapObject)} */
+		public MapObject mapObject;
+
+		/** the desired name of the Joint in the {@link #joints} */
+		public String name;
+
+		/** the resolved properties of the Joint, the Bodies and Joints are only set while the Joint is created */
+		public JointDef jointDef;
+
+		/** the user data of the Joint */
+		public Object userData;
+
+		/** the names of the Bodies in the {@link #bodies} */
+		public String bodyA, bodyB;
+
+		/** the names of the Joints in the {@link #joints} if the {@link #jointDef} is a {@link GearJointDef} */
+		public String joint1, joint2;
+
+	}
+
+	/** the temporary objects of one compiling thread
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	private static class Scratch {
+
+		final Vector3 vec3 = new Vector3();
+		final Matrix4 mat4 = new Matrix4();
+		final EarClippingTriangulator triangulator = new EarClippingTriangulator();
+
+	}
+
+	/** the Body and Fixture properties of the {@link Box2DMapObjectParser#heritage heritage}, map and layer, resolved once per {@link Box2DMapObjectParser#compile(MapLayer) compiled} layer so that only the properties a MapObject sets itself have to be applied to each of them
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	private static class Defaults {
+
+		/** the codes of the keys of the properties a MapObject may override */
+		static final int BODY_TYPE = 1, ACTIVE = 2, ALLOW_SLEEP = 3, ANGLE = 4, ANGULAR_DAMPING = 5, ANGULAR_VELOCITY = 6, AWAKE = 7, BULLET = 8, FIXED_ROTATION = 9, GRAVITY_SCALE = 10, LINEAR_DAMPING = 11, LINEAR_VELOCITY_X = 12, LINEAR_VELOCITY_Y = 13, X = 14, Y = 15,
+				DENSITY = 16, CATEGORY_BITS = 17, GROUP_INDEX = 18, MASK_BITS = 19, FRICTION = 20, IS_SENSOR = 21, RESTITUTION = 22, USER_DATA = 23;
+
+		/** the properties of a BodyDef and FixtureDef no MapProperties were assigned to */
+		static final BodyDef emptyBodyDef = new BodyDef();
+		static final FixtureDef emptyFixtureDef = new FixtureDef();
+
+		/** the codes by the {@link Aliases} of the keys */
+		final ObjectIntMap<String> keys = new ObjectIntMap<>();
+
+		final BodyDef bodyDef = new BodyDef();
+		final FixtureDef fixtureDef = new FixtureDef();
+		Object userData;
+
+		String orientation;
+
+		/** the transform for the {@link #orientation} */
+		final Matrix4 transform = new Matrix4();
+
+		/** the {@link Aliases#body body} properties of the heritage, map and layer */
+		String heritageBody, mapBody, layerBody;
+
+		/** resets these Defaults to the keys of the given Aliases and the default Body and Fixture properties
+		 *  @return this for chaining */
+		Defaults reset(Aliases aliases) {
+			keys.clear();
+			keys.put(aliases.bodyType, BODY_TYPE);
+			keys.put(aliases.active, ACTIVE);
+			keys.put(aliases.allowSleep, ALLOW_SLEEP);
+			keys.put(aliases.angle, ANGLE);
+			keys.put(aliases.angularDamping, ANGULAR_DAMPING);
+			keys.put(aliases.angularVelocity, ANGULAR_VELOCITY);
+			keys.put(aliases.awake, AWAKE);
+			keys.put(aliases.bullet, BULLET);
+			keys.put(aliases.fixedRotation, FIXED_ROTATION);
+			keys.put(aliases.gravityScale, GRAVITY_SCALE);
+			keys.put(aliases.linearDamping, LINEAR_DAMPING);
+			keys.put(aliases.linearVelocityX, LINEAR_VELOCITY_X);
+			keys.put(aliases.linearVelocityY, LINEAR_VELOCITY_Y);
+			keys.put(aliases.x, X);
+			keys.put(aliases.y, Y);
+			keys.put(aliases.density, DENSITY);
+			keys.put(aliases.categoryBits, CATEGORY_BITS);
+			keys.put(aliases.groupIndex, GROUP_INDEX);
+			keys.put(aliases.maskBits, MASK_BITS);
+			keys.put(aliases.friciton, FRICTION);
+			keys.put(aliases.isSensor, IS_SENSOR);
+			keys.put(aliases.restitution, RESTITUTION);
+			keys.put(aliases.userData, USER_DATA);
+			set(bodyDef, emptyBodyDef);
+			set(fixtureDef, emptyFixtureDef);
+			return this;
+		}
+
+	}
+
+	/** the geometry of a {@link Shape} relative to its Body, used to {@link Box2DMapObjectParser#internShape(Type, int) intern} Shapes
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	private static class ShapeKey {
+
+		Type type;
+		float[] values;
+		int length, hash;
+
+		ShapeKey set(Type type, float[] values, int length) {
+			this.type = type;
+			this.values = values;
+			this.length = length;
+			int hash = type.hashCode();
+			for(int i = 0; i < length; i++)
+				hash = 31 * hash + Float.floatToIntBits(values[i]);
+			this.hash = hash;
+			return this;
+		}
+
+		/** @return this with its own copy of the values */
+		ShapeKey copy() {
+			float[] values = new float[length];
+			System.arraycopy(this.values, 0, values, 0, length);
+			this.values = values;
+			return this;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(!(obj instanceof ShapeKey))
+				return false;
+			ShapeKey other = (ShapeKey) obj;
+			if(type != other.type || length != other.length || hash != other.hash)
+				return false;
+			for(int i = 0; i < length; i++)
+				if(Float.floatToIntBits(values[i]) != Float.floatToIntBits(other.values[i]))
+					return false;
+			return true;
+		}
+
+	}
+
 	/** @see Aliases */
 	private Aliases aliases = new Aliases();
 
@@ -225,6 +491,20 @@ public class Box2DMapObjectParser {
 	/** the {@link Listener} to use ({@link #defaultListener} by default) */
 	private Listener listener = defaultListener;
 
+	/** the {@link Compiler} that compiles the MapObjects of one layer on the calling thread */
+	public static final Compiler defaultCompiler = new Compiler() {
+		@Override
+		public CompiledLayer compile(Box2DMapObjectParser parser, Array<MapObject> objects) {
+			return parser.compile(objects, 0, objects.size, new CompiledLayer());
+		}
+	};
+
+	/** the {@link Compiler} to use ({@link #defaultCompiler} by default) */
+	private Compiler compiler = defaultCompiler;
+
+	/** held while calling {@link Box2DUtils#check} which uses shared temporary arrays */
+	private static final Object geometryLock = new Object();
+
 	/** the unit scale to convert from editor units to Box2D meters */
 	private float unitScale = 1;
 
@@ -240,6 +520,15 @@ public class Box2DMapObjectParser {
 	/** if concave polygons should be triangulated instead of being decomposed into convex polygons */
 	private boolean triangulate;
 
+	/** if the boxes of static {@link Aliases#object objects} should be {@link #mergeRectangles(CompiledLayer) merged} in layers that do not set the {@link Aliases#mergeRectangles} property */
+	private boolean mergeRectangles;
+
+	/** if the Fixtures of static {@link Aliases#object objects} should be {@link #batchStatic(CompiledLayer, float) batched} onto shared Bodies in layers that do not set the {@link Aliases#batchStatic} property */
+	private boolean batchStatic;
+
+	/** the size of the cells to {@link #batchStatic(CompiledLayer, float) batch} static objects by in layers that do not set the {@link Aliases#batchCellSize} property, 0 for one Body per layer */
+	private float batchCellSize;
+
 	/** the properties {@link MapObject MapObjects} will inherit in {@link #createBody(World, MapObject)}, {@link #createFixture(MapObject)} and {@link #createJoint(MapObject)} */
 	private MapProperties heritage;
 
@@ -260,16 +549,31 @@ public class Box2DMapObjectParser {
 	/** the {@link MapProperties} of the currently {@link #load(World, MapLayer) loading} layer */
 	private MapProperties layerProperties;
 
+	/** the {@link Aliases#type type} of MapObjects without one in the currently {@link #compile(MapLayer) compiling} layer */
+	private String typeFallback;
+
+	/** the {@link Defaults} of the currently {@link #compile(MapLayer) compiling} layer */
+	private Defaults defaults;
+
+	/** the {@link Defaults} used outside of {@link #compile(MapLayer)}, resolved again on each use so that changes to the {@link #aliases} and {@link #heritage} in place are seen */
+	private final Defaults looseDefaults = new Defaults();
+
+	/** the Shapes shared by the Fixtures created from a {@link CompiledLayer} by their geometry, package-private for tests */
+	final ObjectMap<ShapeKey, Shape> shapes = new ObjectMap<>();
+
+	/** if Shapes are taken from the {@link #shapes} instead of being created and disposed for each Fixture */
+	private boolean interning;
+
 	// temporary variables
 
 	/** for internal, temporary usage */
 	private final Vector2 vec2 = new Vector2();
 
 	/** for internal, temporary usage */
-	private final Vector3 vec3 = new Vector3();
+	private final FloatArray tmpVertices = new FloatArray();
 
 	/** for internal, temporary usage */
-	private final Matrix4 mat4 = new Matrix4();
+	private final ShapeKey shapeKey = new ShapeKey();
 
 	/** creates a new {@link Box2DMapObjectParser} with the default {@link Aliases} */
 	public Box2DMapObjectParser() {}
@@ -409,16 +713,36 @@ public class Box2DMapObjectParser {
 		this.tileHeight = tileHeight;
 	}
 
-	/** creates the given {@link Map Map's} {@link MapObjects} in the given {@link World}
+	/** creates the given {@link Map Map's} {@link MapObjects} in the given {@link World} by {@link #compile(MapLayer) compiling} and {@link #create(World, CompiledLayer) creating} its layers one after another,
+	 *  so that like before 0.13.0 a layer is created before the next one is parsed
 	 *  @param world the {@link World} to create the {@link MapObjects} of the given {@link Map} in
 	 *  @param map the {@link Map} which {@link MapObjects} to create in the given {@link World}
 	 *  @return the given {@link World} with the parsed {@link MapObjects} of the given {@link Map} created in it */
 	public World load(World world, Map map) {
+		compile(map, world);
+		return world;
+	}
+
+	/** {@link #compile(MapLayer) compiles} the layers of the given {@link Map}
+	 *  @param map the {@link Map} which layers to compile
+	 *  @return the definitions to {@link #create(World, CompiledMap) create}
+	 *  @since 0.13.0 */
+	public CompiledMap compile(Map map) {
+		return compile(map, null);
+	}
+
+	/** {@link #compile(MapLayer) compiles} the layers of the given {@link Map} and {@link #create(World, CompiledLayer) creates} each of them right away if a World is given
+	 *  @param world the World to create the layers in, null to only compile them
+	 *  @return the definitions compiled from the given Map */
+	private CompiledMap compile(Map map, World world) {
 		MapProperties oldMapProperties = mapProperties;
 		mapProperties = map.getProperties();
 
-		world.setGravity(vec2.set(getProperty(mapProperties, aliases.gravityX, world.getGravity().x), getProperty(mapProperties, aliases.gravityY, world.getGravity().y)));
-		world.setAutoClearForces(getProperty(mapProperties, aliases.autoClearForces, world.getAutoClearForces()));
+		CompiledMap compiled = new CompiledMap();
+		compiled.gravityX = getProperty(mapProperties, aliases.gravityX, Float.NaN);
+		compiled.gravityY = getProperty(mapProperties, aliases.gravityY, Float.NaN);
+		if(getProperty(mapProperties, aliases.autoClearForces, null) != null)
+			compiled.autoClearForces = getProperty(mapProperties, aliases.autoClearForces, Boolean.FALSE);
 
 		if(!ignoreMapUnitScale)
 			unitScale = getProperty(mapProperties, aliases.unitScale, unitScale);
@@ -432,21 +756,57 @@ public class Box2DMapObjectParser {
 		layers.clear();
 		listener.load(map, layers);
 
-		for(MapLayer mapLayer : layers)
-			load(world, mapLayer);
+		if(world != null)
+			setUp(world, compiled);
+		compiled.layers.ensureCapacity(layers.size);
+		for(MapLayer mapLayer : layers) {
+			CompiledLayer layer = compile(mapLayer);
+			compiled.layers.add(layer);
+			if(world != null)
+				create(world, layer);
+		}
 
 		layers.clear();
 		Pools.free(layers);
 
 		mapProperties = oldMapProperties;
+		return compiled;
+	}
+
+	/** applies the gravity and {@link World#setAutoClearForces(boolean) auto clear forces} setting of the given {@link CompiledMap} to the given {@link World} and {@link #create(World, CompiledLayer) creates} its layers in order
+	 *  @param world the {@link World} to create the layers in
+	 *  @param map the {@link CompiledMap} to create
+	 *  @return the given World
+	 *  @since 0.13.0 */
+	public World create(World world, CompiledMap map) {
+		setUp(world, map);
+		for(int i = 0; i < map.layers.size; i++)
+			create(world, map.layers.get(i));
 		return world;
 	}
 
-	/** creates the given {@link MapLayer MapLayer's} {@link MapObjects} in the given {@link World}
+	/** applies the gravity and {@link World#setAutoClearForces(boolean) auto clear forces} setting of the given {@link CompiledMap} to the given {@link World} */
+	private void setUp(World world, CompiledMap map) {
+		Vector2 gravity = world.getGravity();
+		world.setGravity(vec2.set(Float.isNaN(map.gravityX) ? gravity.x : map.gravityX, Float.isNaN(map.gravityY) ? gravity.y : map.gravityY));
+		if(map.autoClearForces != null)
+			world.setAutoClearForces(map.autoClearForces);
+	}
+
+	/** creates the given {@link MapLayer MapLayer's} {@link MapObjects} in the given {@link World} by {@link #create(World, CompiledLayer) creating} what was {@link #compile(MapLayer) compiled} from it
 	 *  @param world the {@link World} to create the {@link MapObjects} of the given {@link MapLayer} in
 	 *  @param layer the {@link MapLayer} which {@link MapObjects} to create in the given {@link World}
 	 *  @return the given {@link World} with the parsed {@link MapObjects} of the given {@link MapLayer} created in it */
 	public World load(World world, MapLayer layer) {
+		return create(world, compile(layer));
+	}
+
+	/** Resolves the properties, transforms the vertices and decomposes the polygons of the given {@link MapLayer MapLayer's} {@link MapObjects} into plain definitions using the {@link #compiler}.
+	 *  Nothing is created in a {@link World}, so this is the expensive part of loading a layer.
+	 *  @param layer the {@link MapLayer} which {@link MapObjects} to compile
+	 *  @return the definitions to {@link #create(World, CompiledLayer) create}
+	 *  @since 0.13.0 */
+	public CompiledLayer compile(MapLayer layer) {
 		MapProperties oldLayerProperties = layerProperties;
 		layerProperties = layer.getProperties();
 
@@ -454,42 +814,339 @@ public class Box2DMapObjectParser {
 		if(!ignoreLayerUnitScale)
 			unitScale = getProperty(layer.getProperties(), aliases.unitScale, unitScale);
 
-		String typeFallback = findProperty(aliases.type, "", heritage, mapProperties, layerProperties);
+		String oldTypeFallback = typeFallback;
+		typeFallback = findProperty(aliases.type, "", heritage, mapProperties, layerProperties);
+
+		Defaults oldDefaults = defaults;
+		defaults = resolveDefaults(new Defaults());
 
 		@SuppressWarnings("unchecked")
 		Array<MapObject> objects = Pools.obtain(Array.class);
 		objects.clear();
 		listener.load(layer, objects);
 
-		for(MapObject object : objects) {
-			String type = getProperty(object.getProperties(), aliases.type, typeFallback);
-			if(type.equals(aliases.object))
-				createObject(world, object);
+		CompiledLayer compiled = compiler.compile(this, objects);
+		if(findProperty(aliases.mergeRectangles, mergeRectangles, heritage, mapProperties, layerProperties))
+			mergeRectangles(compiled);
+		if(findProperty(aliases.batchStatic, batchStatic, heritage, mapProperties, layerProperties))
+			batchStatic(compiled, findProperty(aliases.batchCellSize, batchCellSize, heritage, mapProperties, layerProperties));
+
+		objects.clear();
+		Pools.free(objects);
+
+		typeFallback = oldTypeFallback;
+		defaults = oldDefaults;
+		layerProperties = oldLayerProperties;
+		unitScale = oldUnitScale;
+		return compiled;
+	}
+
+	/** Compiles the given range of MapObjects of the layer that is currently being {@link #compile(MapLayer) compiled} and appends the results to the given {@link CompiledLayer}.
+	 *  Only to be called by a {@link Compiler}. This does not modify the parser, so it can be called from multiple threads at once as long as the {@link #listener} allows that.
+	 *  @param objects the queued MapObjects of the layer
+	 *  @param output the CompiledLayer to add the results to
+	 *  @return the given output
+	 *  @since 0.13.0 */
+	public CompiledLayer compile(Array<MapObject> objects, int offset, int length, CompiledLayer output) {
+		Scratch scratch = new Scratch();
+		int end = offset + length;
+
+		// resolve the types once for all passes
+		String[] types = new String[length];
+		for(int i = offset; i < end; i++)
+			types[i - offset] = getProperty(objects.get(i).getProperties(), aliases.type, typeFallback);
+
+		for(int i = offset; i < end; i++) {
+			if(types[i - offset].equals(aliases.object)) {
+				BodyRecord record = compileObject(objects.get(i), scratch);
+				if(record != null)
+					output.objects.add(record);
+			}
 		}
 
-		for(MapObject object : objects) {
-			String type = getProperty(object.getProperties(), aliases.type, typeFallback);
-			if(type.equals(aliases.body))
-				createBody(world, object);
+		for(int i = offset; i < end; i++) {
+			if(types[i - offset].equals(aliases.body)) {
+				BodyRecord record = compileBody(objects.get(i));
+				if(record != null)
+					output.bodies.add(record);
+			}
 		}
 
-		for(MapObject object : objects) {
-			String type = getProperty(object.getProperties(), aliases.type, typeFallback);
-			if(type.equals(aliases.fixture))
-				createFixtures(object);
+		for(int i = offset; i < end; i++) {
+			if(types[i - offset].equals(aliases.fixture)) {
+				MapObject object = objects.get(i);
+				int first = output.fixtures.size;
+				compileFixtures(object, output.fixtures, scratch);
+				if(output.fixtures.size > first) {
+					String[] bodyNames = findBodyNames(object);
+					for(int ii = first; ii < output.fixtures.size; ii++)
+						output.fixtures.get(ii).bodyNames = bodyNames;
+				}
+			}
 		}
 
-		for(MapObject object : objects) {
-			String type = getProperty(object.getProperties(), aliases.type, typeFallback);
-			if(type.equals(aliases.joint))
-				createJoint(object);
+		for(int i = offset; i < end; i++) {
+			if(types[i - offset].equals(aliases.joint)) {
+				JointRecord record = compileJoint(objects.get(i));
+				if(record != null)
+					output.joints.add(record);
+			}
 		}
 
-		objects.clear();
-		Pools.free(objects);
+		return output;
+	}
 
-		layerProperties = oldLayerProperties;
-		unitScale = oldUnitScale;
+	/** Merges the boxes of unnamed static {@link Aliases#object objects} with equal properties into as few boxes as possible, as needed for tile maps made of many small rectangles.
+	 *  Adjacent boxes of the same height are joined into rows first, then rows of the same width are stacked.
+	 *  The merged objects become one Body that is {@link Listener#created(Body, MapObject) created} with the MapObject of the first of them.
+	 *  Named objects are left alone because they may be looked up by name.
+	 *  @param layer the CompiledLayer which {@link CompiledLayer#objects} to merge
+	 *  @return the number of boxes merged away
+	 *  @since 0.13.0 */
+	public int mergeRectangles(CompiledLayer layer) {
+		Array<Array<BodyRecord>> groups = new Array<>();
+		for(int i = 0; i < layer.objects.size; i++) {
+			BodyRecord record = layer.objects.get(i);
+			if(isBatchable(record) && record.fixtures.size == 1 && isMergeable(record.fixtures.first()))
+				group(groups, record, true);
+		}
+
+		int merged = 0;
+		ObjectSet<BodyRecord> removed = new ObjectSet<>();
+		Array<FixtureRecord> boxes = new Array<>(FixtureRecord.class);
+		for(Array<BodyRecord> group : groups) {
+			if(group.size < 2)
+				continue;
+			for(int i = 0; i < group.size; i++)
+				boxes.add(group.get(i).fixtures.first());
+			boxes.sort(rowOrder);
+			mergeRuns(boxes, 1, 3, 0, 2);
+			boxes.sort(columnOrder);
+			mergeRuns(boxes, 0, 2, 1, 3);
+			merged += group.size - boxes.size;
+
+			BodyRecord first = group.first();
+			first.fixtures.clear();
+			first.fixtures.addAll(boxes);
+			for(int i = 1; i < group.size; i++)
+				removed.add(group.get(i));
+			boxes.clear();
+		}
+
+		removeAll(layer.objects, removed);
+		return merged;
+	}
+
+	/** Moves the Fixtures of unnamed, unrotated static {@link Aliases#object objects} with equal Body properties onto one Body per cell, so that a layer of static decoration does not need a Body per object.
+	 *  An object belongs to the cell its first Fixture starts in. The shared Body is the one of the first object in the cell and is {@link Listener#created(Body, MapObject) created} with its MapObject.
+	 *  Named objects are left alone because they may be looked up by name.
+	 *  @param layer the CompiledLayer which {@link CompiledLayer#objects} to batch
+	 *  @param cellSize the size of the square cells to batch the objects in, 0 to batch all objects of the layer together
+	 *  @return the number of Bodies batched away
+	 *  @since 0.13.0 */
+	public int batchStatic(CompiledLayer layer, float cellSize) {
+		LongMap<Array<Array<BodyRecord>>> cells = new LongMap<>();
+		for(int i = 0; i < layer.objects.size; i++) {
+			BodyRecord record = layer.objects.get(i);
+			if(!isBatchable(record) || record.fixtures.size == 0)
+				continue;
+			long cell = 0;
+			if(cellSize > 0) {
+				float[] vertices = record.fixtures.first().vertices;
+				cell = (long) MathUtils.floor(vertices[0] / cellSize) << 32 | MathUtils.floor(vertices[1] / cellSize) & 0xffffffffL;
+			}
+			Array<Array<BodyRecord>> groups = cells.get(cell);
+			if(groups == null)
+				cells.put(cell, groups = new Array<>());
+			group(groups, record, false);
+		}
+
+		int batched = 0;
+		ObjectSet<BodyRecord> removed = new ObjectSet<>();
+		for(Array<Array<BodyRecord>> groups : cells.values())
+			for(Array<BodyRecord> group : groups) {
+				BodyRecord first = group.first();
+				for(int i = 1; i < group.size; i++) {
+					first.fixtures.addAll(group.get(i).fixtures);
+					removed.add(group.get(i));
+				}
+				batched += group.size - 1;
+			}
+
+		removeAll(layer.objects, removed);
+		return batched;
+	}
+
+	/** adds the given BodyRecord to the first of the given groups it {@link #isBatchable(BodyRecord, BodyRecord) can be batched} with or to a new group
+	 *  @param fixtures if the single Fixtures of the BodyRecords must be {@link #isMergeable(FixtureRecord, FixtureRecord) mergeable} as well */
+	private static void group(Array<Array<BodyRecord>> groups, BodyRecord record, boolean fixtures) {
+		for(int i = 0; i < groups.size; i++) {
+			Array<BodyRecord> group = groups.get(i);
+			BodyRecord first = group.first();
+			if(isBatchable(first, record) && (!fixtures || isMergeable(first.fixtures.first(), record.fixtures.first()))) {
+				group.add(record);
+				return;
+			}
+		}
+		Array<BodyRecord> group = new Array<>(BodyRecord.class);
+		group.add(record);
+		groups.add(group);
+	}
+
+	/** removes the given BodyRecords from the given Array, keeping the order of the others */
+	private static void removeAll(Array<BodyRecord> records, ObjectSet<BodyRecord> removed) {
+		if(removed.size == 0)
+			return;
+		int size = 0;
+		for(int i = 0; i < records.size; i++) {
+			BodyRecord record = records.get(i);
+			if(!removed.contains(record))
+				records.set(size++, record);
+		}
+		records.truncate(size);
+	}
+
+	/** @return if the given {@link BodyRecord} is an unnamed static Body without rotation */
+	private static boolean isBatchable(BodyRecord record) {
+		return (record.name == null || record.name.isEmpty()) && record.bodyDef.type == BodyType.StaticBody && record.bodyDef.angle == 0;
+	}
+
+	/** @return if the given {@link FixtureRecord} is an unnamed box */
+	private static boolean isMergeable(FixtureRecord fixture) {
+		return (fixture.name == null || fixture.name.isEmpty()) && fixture.box && fixture.vertices[2] > 0 && fixture.vertices[3] > 0;
+	}
+
+	/** @return if the given {@link #isBatchable(BodyRecord) batchable} BodyRecords may share a Body because their properties other than the position are equal */
+	private static boolean isBatchable(BodyRecord a, BodyRecord b) {
+		BodyDef bodyA = a.bodyDef, bodyB = b.bodyDef;
+		return bodyA.active == bodyB.active && bodyA.allowSleep == bodyB.allowSleep && bodyA.awake == bodyB.awake && bodyA.bullet == bodyB.bullet && bodyA.fixedRotation == bodyB.fixedRotation && bodyA.gravityScale == bodyB.gravityScale && bodyA.angularDamping == bodyB.angularDamping && bodyA.linearDamping == bodyB.linearDamping && bodyA.angularVelocity == bodyB.angularVelocity && bodyA.linearVelocity.equals(bodyB.linearVelocity) && equals(a.userData, b.userData);
+	}
+
+	/** @return if the given {@link #isMergeable(FixtureRecord) mergeable} FixtureRecords may be merged because their properties other than the vertices are equal */
+	private static boolean isMergeable(FixtureRecord a, FixtureRecord b) {
+		FixtureDef defA = a.fixtureDef, defB = b.fixtureDef;
+		return defA.density == defB.density && defA.friction == defB.friction && defA.restitution == defB.restitution && defA.isSensor == defB.isSensor && defA.filter.categoryBits == defB.filter.categoryBits && defA.filter.maskBits == defB.filter.maskBits && defA.filter.groupIndex == defB.filter.groupIndex && equals(a.userData, b.userData);
+	}
+
+	/** joins consecutive boxes in the given Array that touch along the given axis and have the same position and size on the other axis.
+	 *  A joined box is replaced by a {@link #copy(FixtureRecord) copy} so that the FixtureRecords it was joined from are not modified.
+	 *  @param otherPosition the index of the position on the other axis in the {@link FixtureRecord#vertices}
+	 *  @param otherSize the index of the size on the other axis
+	 *  @param position the index of the position along the axis to join on
+	 *  @param size the index of the size along the axis to join on */
+	private static void mergeRuns(Array<FixtureRecord> boxes, int otherPosition, int otherSize, int position, int size) {
+		if(boxes.size == 0)
+			return;
+		int count = 1;
+		FixtureRecord run = boxes.first();
+		boolean copied = false;
+		for(int i = 1; i < boxes.size; i++) {
+			FixtureRecord box = boxes.get(i);
+			float[] vertices = box.vertices;
+			if(isEqual(run.vertices[otherPosition], vertices[otherPosition]) && isEqual(run.vertices[otherSize], vertices[otherSize]) && isEqual(run.vertices[position] + run.vertices[size], vertices[position])) {
+				if(!copied) {
+					boxes.set(count - 1, run = copy(run));
+					copied = true;
+				}
+				run.vertices[size] = vertices[position] + vertices[size] - run.vertices[position];
+			} else {
+				boxes.set(count++, box);
+				run = box;
+				copied = false;
+			}
+		}
+		boxes.truncate(count);
+	}
+
+	/** @return a copy of the given FixtureRecord with its own {@link FixtureRecord#vertices} and {@link FixtureRecord#fixtureDef} */
+	private static FixtureRecord copy(FixtureRecord record) {
+		FixtureRecord copy = new FixtureRecord();
+		copy.mapObject = record.mapObject;
+		copy.name = record.name;
+		copy.type = record.type;
+		copy.box = record.box;
+		copy.vertices = record.vertices.clone();
+		FixtureDef def = record.fixtureDef, copyDef = copy.fixtureDef;
+		copyDef.shape = def.shape;
+		copyDef.density = def.density;
+		copyDef.friction = def.friction;
+		copyDef.restitution = def.restitution;
+		copyDef.isSensor = def.isSensor;
+		copyDef.filter.categoryBits = def.filter.categoryBits;
+		copyDef.filter.maskBits = def.filter.maskBits;
+		copyDef.filter.groupIndex = def.filter.groupIndex;
+		copy.userData = record.userData;
+		copy.bodyNames = record.bodyNames;
+		return copy;
+	}
+
+	/** @return if the given coordinates are equal except for rounding errors */
+	private static boolean isEqual(float a, float b) {
+		return Math.abs(a - b) <= Math.max(1, Math.max(Math.abs(a), Math.abs(b))) * MathUtils.FLOAT_ROUNDING_ERROR * 10;
+	}
+
+	/** @return if the given objects are both null or equal */
+	private static boolean equals(Object a, Object b) {
+		return a == null ? b == null : a.equals(b);
+	}
+
+	/** sorts boxes by y, height and x */
+	private static final Comparator<FixtureRecord> rowOrder = new Comparator<FixtureRecord>() {
+		@Override
+		public int compare(FixtureRecord a, FixtureRecord b) {
+			float[] va = a.vertices, vb = b.vertices;
+			int result = Float.compare(va[1], vb[1]);
+			if(result == 0)
+				result = Float.compare(va[3], vb[3]);
+			return result != 0 ? result : Float.compare(va[0], vb[0]);
+		}
+	};
+
+	/** sorts boxes by x, width and y */
+	private static final Comparator<FixtureRecord> columnOrder = new Comparator<FixtureRecord>() {
+		@Override
+		public int compare(FixtureRecord a, FixtureRecord b) {
+			float[] va = a.vertices, vb = b.vertices;
+			int result = Float.compare(va[0], vb[0]);
+			if(result == 0)
+				result = Float.compare(va[2], vb[2]);
+			return result != 0 ? result : Float.compare(va[1], vb[1]);
+		}
+	};
+
+	/** Creates the Bodies, Fixtures and Joints of the given {@link CompiledLayer} in the given {@link World} in the order they were parsed and notifies the {@link #listener}.
+	 *  Bodies of {@link CompiledLayer#fixtures} and {@link CompiledLayer#joints} are looked up by name in the {@link #bodies}, so create the CompiledLayers of a map in order.
+	 *  Fixtures with the same geometry relative to their Body share one Shape that is disposed when the layer is created.
+	 *  @param world the {@link World} to create the Bodies in
+	 *  @param layer the {@link CompiledLayer} to create
+	 *  @return the given World
+	 *  @since 0.13.0 */
+	public World create(World world, CompiledLayer layer) {
+		boolean oldInterning = interning;
+		interning = true;
+		try {
+			for(int i = 0; i < layer.objects.size; i++) {
+				BodyRecord record = layer.objects.get(i);
+				Body body = createBody(world, record);
+				for(int ii = 0; ii < record.fixtures.size; ii++)
+					createFixture(record.fixtures.get(ii), body);
+			}
+			for(int i = 0; i < layer.bodies.size; i++)
+				createBody(world, layer.bodies.get(i));
+			for(int i = 0; i < layer.fixtures.size; i++) {
+				FixtureRecord record = layer.fixtures.get(i);
+				createFixture(record, findBody(record));
+			}
+			for(int i = 0; i < layer.joints.size; i++)
+				createJoint(layer.joints.get(i));
+		} finally {
+			interning = oldInterning;
+			if(!interning) {
+				for(Shape shape : shapes.values())
+					shape.dispose();
+				shapes.clear();
+			}
+		}
 		return world;
 	}
 
@@ -499,34 +1156,126 @@ public class Box2DMapObjectParser {
 	 *  @see #createBody(World, MapObject)
 	 *  @see #createFixtures(MapObject) */
 	public Body createObject(World world, MapObject object) {
-		if((object = listener.createObject(object)) == null)
+		BodyRecord record = compileObject(object, new Scratch());
+		if(record == null)
 			return null;
-		Body body = createBody(world, object);
-		createFixtures(object, body);
+		Body body = createBody(world, record);
+		for(int i = 0; i < record.fixtures.size; i++)
+			createFixture(record.fixtures.get(i), body);
 		return body;
 	}
 
+	/** @return the compiled Body and Fixtures of the given {@link Aliases#object object} */
+	private BodyRecord compileObject(MapObject mapObject, Scratch scratch) {
+		if((mapObject = listener.createObject(mapObject)) == null)
+			return null;
+		BodyRecord record = compileBody(mapObject);
+		if(record != null)
+			compileFixtures(mapObject, record.fixtures, scratch);
+		return record;
+	}
+
 	/** creates a {@link Body} in the given {@link World} from the given {@link MapObject}
 	 *  @param world the {@link World} to create the {@link Body} in
 	 *  @param mapObject the {@link MapObject} to parse the {@link Body} from
 	 *  @return the {@link Body} created in the given {@link World} from the given {@link MapObject} */
 	public Body createBody(World world, MapObject mapObject) {
+		BodyRecord record = compileBody(mapObject);
+		return record != null ? createBody(world, record) : null;
+	}
+
+	/** @return the compiled Body or null if the {@link #listener} canceled it */
+	private BodyRecord compileBody(MapObject mapObject) {
 		if((mapObject = listener.createBody(mapObject)) == null)
 			return null;
 
+		Defaults defaults = defaults();
 		MapProperties properties = mapObject.getProperties();
 
-		BodyDef bodyDef = new BodyDef();
-		assignProperties(bodyDef, heritage);
-		assignProperties(bodyDef, mapProperties);
-		assignProperties(bodyDef, layerProperties);
-		assignProperties(bodyDef, properties);
+		BodyRecord record = new BodyRecord();
+		record.mapObject = mapObject;
+		record.name = mapObject.getName();
+		BodyDef bodyDef = record.bodyDef;
+		set(bodyDef, defaults.bodyDef);
+		record.userData = defaults.userData;
+		for(Iterator<String> keys = properties.getKeys(); keys.hasNext();) {
+			String key = keys.next();
+			switch(defaults.keys.get(key, 0)) {
+			case Defaults.BODY_TYPE:
+				String type = getProperty(properties, key, "");
+				bodyDef.type = type.equals(aliases.staticBody) ? BodyType.StaticBody : type.equals(aliases.dynamicBody) ? BodyType.DynamicBody : type.equals(aliases.kinematicBody) ? BodyType.KinematicBody : bodyDef.type;
+				break;
+			case Defaults.ACTIVE:
+				bodyDef.active = getProperty(properties, key, bodyDef.active);
+				break;
+			case Defaults.ALLOW_SLEEP:
+				bodyDef.allowSleep = getProperty(properties, key, bodyDef.allowSleep);
+				break;
+			case Defaults.ANGLE:
+				bodyDef.angle = getProperty(properties, key, bodyDef.angle * MathUtils.radDeg) * MathUtils.degRad;
+				break;
+			case Defaults.ANGULAR_DAMPING:
+				bodyDef.angularDamping = getProperty(properties, key, bodyDef.angularDamping);
+				break;
+			case Defaults.ANGULAR_VELOCITY:
+				bodyDef.angularVelocity = getProperty(properties, key, bodyDef.angularVelocity);
+				break;
+			case Defaults.AWAKE:
+				bodyDef.awake = getProperty(properties, key, bodyDef.awake);
+				break;
+			case Defaults.BULLET:
+				bodyDef.bullet = getProperty(properties, key, bodyDef.bullet);
+				break;
+			case Defaults.FIXED_ROTATION:
+				bodyDef.fixedRotation = getProperty(properties, key, bodyDef.fixedRotation);
+				break;
+			case Defaults.GRAVITY_SCALE:
+				bodyDef.gravityScale = getProperty(properties, key, bodyDef.gravityScale);
+				break;
+			case Defaults.LINEAR_DAMPING:
+				bodyDef.linearDamping = getProperty(properties, key, bodyDef.linearDamping);
+				break;
+			case Defaults.LINEAR_VELOCITY_X:
+				bodyDef.linearVelocity.x = getProperty(properties, key, bodyDef.linearVelocity.x);
+				break;
+			case Defaults.LINEAR_VELOCITY_Y:
+				bodyDef.linearVelocity.y = getProperty(properties, key, bodyDef.linearVelocity.y);
+				break;
+			case Defaults.X:
+				float x = getProperty(properties, key, Float.NaN);
+				if(!Float.isNaN(x))
+					bodyDef.position.x = x * unitScale;
+				break;
+			case Defaults.Y:
+				float y = getProperty(properties, key, Float.NaN);
+				if(!Float.isNaN(y))
+					bodyDef.position.y = y * unitScale;
+				break;
+			case Defaults.USER_DATA:
+				record.userData = getProperty(properties, key, defaults.userData);
+				break;
+			}
+		}
+		return record;
+	}
+
+	/** creates a {@link Body} in the given {@link World} from the given {@link BodyRecord} without its {@link BodyRecord#fixtures}
+	 *  @param world the {@link World} to create the {@link Body} in
+	 *  @param record the {@link BodyRecord} to create
+	 *  @return the created {@link Body}
+	 *  @since 0.13.0 */
+	public Body createBody(World world, BodyRecord record) {
+		return createBody(world, record, findAvailableName(record.name, bodies));
+	}
 
-		Body body = world.createBody(bodyDef);
-		body.setUserData(findProperty(aliases.userData, body.getUserData(), heritage, mapProperties, layerProperties, properties));
+	/** @param name the {@link #findAvailableName(String, ObjectMap) available} name to put the Body in the {@link #bodies} with
+	 *  @see #createBody(World, BodyRecord) */
+	Body createBody(World world, BodyRecord record, String name) {
+		Body body = world.createBody(record.bodyDef);
+		body.setUserData(record.userData);
 
-		bodies.put(findAvailableName(mapObject.getName(), bodies), body);
-		listener.created(body, mapObject);
+		bodies.put(name, body);
+		listener.created(body, record.mapObject);
 
 		return body;
 	}
@@ -536,13 +1285,25 @@ public class Box2DMapObjectParser {
 	 *  @param body the {@link Body} to create the {@link Fixture Fixtures} on
 	 *  @return the parsed {@link Fixture} */
 	public Fixture createFixture(MapObject mapObject, Body body) {
+		FixtureRecord record = compileFixture(mapObject, new Scratch());
+		return record != null ? createFixture(record, body) : null;
+	}
+
+	/** @return the compiled Fixture or null if the {@link #listener} canceled it */
+	private FixtureRecord compileFixture(MapObject mapObject, Scratch scratch) {
 		if((mapObject = listener.createFixture(mapObject)) == null)
 			return null;
 
-		String orientation = findProperty(aliases.orientation, aliases.orthogonal, heritage, mapProperties, layerProperties, mapObject.getProperties());
-		transform(mat4, orientation);
+		Defaults defaults = defaults();
+		String orientation = getProperty(mapObject.getProperties(), aliases.orientation, defaults.orientation);
+		Matrix4 mat4 = scratch.mat4;
+		Vector3 vec3 = scratch.vec3;
+		if(orientation.equals(defaults.orientation))
+			mat4.set(defaults.transform);
+		else
+			transform(mat4, orientation);
 
-		Shape shape = null;
+		FixtureRecord record = new FixtureRecord();
 		if(mapObject instanceof RectangleMapObject) {
 			Rectangle rectangle = ((RectangleMapObject) mapObject).getRectangle();
 			vec3.set(rectangle.x, rectangle.y, 0);
@@ -556,26 +1317,20 @@ public class Box2DMapObjectParser {
 				width = rectangle.width * unitScale;
 				height = rectangle.height * unitScale;
 			}
-			((PolygonShape) (shape = new PolygonShape())).setAsBox(width / 2, height / 2, vec2.set(x - body.getPosition().x + width / 2, y - body.getPosition().y + height / 2), body.getAngle());
+			record.type = Type.Polygon;
+			record.box = true;
+			record.vertices = new float[] {x, y, width, height};
 		} else if(mapObject instanceof PolygonMapObject || mapObject instanceof PolylineMapObject) {
-			FloatArray vertices = Pools.obtain(FloatArray.class);
-			vertices.clear();
-			vertices.addAll(mapObject instanceof PolygonMapObject ? ((PolygonMapObject) mapObject).getPolygon().getTransformedVertices() : ((PolylineMapObject) mapObject).getPolyline().getTransformedVertices());
-			for(int ix = 0, iy = 1; iy < vertices.size; ix += 2, iy += 2) {
-				vec3.set(vertices.get(ix), vertices.get(iy), 0);
+			float[] transformed = mapObject instanceof PolygonMapObject ? ((PolygonMapObject) mapObject).getPolygon().getTransformedVertices() : ((PolylineMapObject) mapObject).getPolyline().getTransformedVertices();
+			float[] vertices = new float[transformed.length];
+			for(int ix = 0, iy = 1; iy < vertices.length; ix += 2, iy += 2) {
+				vec3.set(transformed[ix], transformed[iy], 0);
 				vec3.mul(mat4);
-				vertices.set(ix, vec3.x - body.getPosition().x);
-				vertices.set(iy, vec3.y - body.getPosition().y);
-			}
-			if(mapObject instanceof PolygonMapObject)
-				((PolygonShape) (shape = new PolygonShape())).set(vertices.items, 0, vertices.size);
-			else if(vertices.size == 4)
-				((EdgeShape) (shape = new EdgeShape())).set(vertices.get(0), vertices.get(1), vertices.get(2), vertices.get(3));
-			else {
-				vertices.shrink();
-				((ChainShape) (shape = new ChainShape())).createChain(vertices.items);
+				vertices[ix] = vec3.x;
+				vertices[iy] = vec3.y;
 			}
-			Pools.free(vertices);
+			record.type = mapObject instanceof PolygonMapObject ? Type.Polygon : vertices.length == 4 ? Type.Edge : Type.Chain;
+			record.vertices = vertices;
 		} else if(mapObject instanceof CircleMapObject || mapObject instanceof EllipseMapObject) {
 			if(mapObject instanceof CircleMapObject) {
 				Circle circle = ((CircleMapObject) mapObject).getCircle();
@@ -587,10 +1342,8 @@ public class Box2DMapObjectParser {
 				vec3.set(ellipse.x + ellipse.width / 2, ellipse.y + ellipse.height / 2, ellipse.width / 2);
 			}
 			vec3.mul(mat4);
-			vec3.sub(body.getPosition().x, body.getPosition().y, 0);
-			CircleShape circleShape = (CircleShape) (shape = new CircleShape());
-			circleShape.setPosition(vec2.set(vec3.x, vec3.y));
-			circleShape.setRadius(vec3.z);
+			record.type = Type.Circle;
+			record.vertices = new float[] {vec3.x, vec3.y, vec3.z};
 		} else if(mapObject instanceof TextureMapObject)
 			throw new IllegalArgumentException("Cannot parse " + mapObject.getName() + " because " + ClassReflection.getSimpleName(mapObject.getClass()) + "s are not supported");
 		else
@@ -598,50 +1351,279 @@ public class Box2DMapObjectParser {
 
 		MapProperties properties = mapObject.getProperties();
 
-		FixtureDef fixtureDef = new FixtureDef();
-		fixtureDef.shape = shape;
-		assignProperties(fixtureDef, heritage);
-		assignProperties(fixtureDef, mapProperties);
-		assignProperties(fixtureDef, layerProperties);
-		assignProperties(fixtureDef, properties);
+		record.mapObject = mapObject;
+		record.name = mapObject.getName();
+		FixtureDef fixtureDef = record.fixtureDef;
+		set(fixtureDef, defaults.fixtureDef);
+		record.userData = defaults.userData;
+		for(Iterator<String> keys = properties.getKeys(); keys.hasNext();) {
+			String key = keys.next();
+			switch(defaults.keys.get(key, 0)) {
+			case Defaults.DENSITY:
+				fixtureDef.density = getProperty(properties, key, fixtureDef.density);
+				break;
+			case Defaults.CATEGORY_BITS:
+				fixtureDef.filter.categoryBits = getProperty(properties, key, fixtureDef.filter.categoryBits);
+				break;
+			case Defaults.GROUP_INDEX:
+				fixtureDef.filter.groupIndex = getProperty(properties, key, fixtureDef.filter.groupIndex);
+				break;
+			case Defaults.MASK_BITS:
+				fixtureDef.filter.maskBits = getProperty(properties, key, fixtureDef.filter.maskBits);
+				break;
+			case Defaults.FRICTION:
+				fixtureDef.friction = getProperty(properties, key, fixtureDef.friction);
+				break;
+			case Defaults.IS_SENSOR:
+				fixtureDef.isSensor = getProperty(properties, key, fixtureDef.isSensor);
+				break;
+			case Defaults.RESTITUTION:
+				fixtureDef.restitution = getProperty(properties, key, fixtureDef.restitution);
+				break;
+			case Defaults.USER_DATA:
+				record.userData = getProperty(properties, key, defaults.userData);
+				break;
+			}
+		}
+		return record;
+	}
+
+	/** @return the {@link #defaults} of the currently {@link #compile(MapLayer) compiling} layer, or the {@link #looseDefaults} resolved again when called outside of it */
+	private Defaults defaults() {
+		return defaults != null ? defaults : resolveDefaults(looseDefaults);
+	}
+
+	/** resolves the given {@link Defaults} from the {@link #heritage}, {@link #mapProperties} and {@link #layerProperties}
+	 *  @return the given Defaults */
+	private Defaults resolveDefaults(Defaults defaults) {
+		defaults.reset(aliases);
+		assignProperties(defaults.bodyDef, heritage);
+		assignProperties(defaults.bodyDef, mapProperties);
+		assignProperties(defaults.bodyDef, layerProperties);
+		assignProperties(defaults.fixtureDef, heritage);
+		assignProperties(defaults.fixtureDef, mapProperties);
+		assignProperties(defaults.fixtureDef, layerProperties);
+		defaults.userData = findProperty(aliases.userData, null, heritage, mapProperties, layerProperties);
+		defaults.orientation = findProperty(aliases.orientation, aliases.orthogonal, heritage, mapProperties, layerProperties);
+		transform(defaults.transform, defaults.orientation);
+		defaults.heritageBody = getProperty(heritage, aliases.body, "");
+		defaults.mapBody = getProperty(mapProperties, aliases.body, "");
+		defaults.layerBody = getProperty(layerProperties, aliases.body, "");
+		return defaults;
+	}
+
+	/** sets the given BodyDef to the given one */
+	private static void set(BodyDef bodyDef, BodyDef other) {
+		bodyDef.type = other.type;
+		bodyDef.position.set(other.position);
+		bodyDef.angle = other.angle;
+		bodyDef.linearVelocity.set(other.linearVelocity);
+		bodyDef.angularVelocity = other.angularVelocity;
+		bodyDef.linearDamping = other.linearDamping;
+		bodyDef.angularDamping = other.angularDamping;
+		bodyDef.allowSleep = other.allowSleep;
+		bodyDef.awake = other.awake;
+		bodyDef.fixedRotation = other.fixedRotation;
+		bodyDef.bullet = other.bullet;
+		bodyDef.active = other.active;
+		bodyDef.gravityScale = other.gravityScale;
+	}
+
+	/** sets the given FixtureDef to the given one, except for the {@link FixtureDef#shape shape} */
+	private static void set(FixtureDef fixtureDef, FixtureDef other) {
+		fixtureDef.friction = other.friction;
+		fixtureDef.restitution = other.restitution;
+		fixtureDef.density = other.density;
+		fixtureDef.isSensor = other.isSensor;
+		fixtureDef.filter.set(other.filter);
+	}
+
+	/** creates a {@link Fixture} on the given {@link Body} from the given {@link FixtureRecord}
+	 *  @param record the {@link FixtureRecord} to create
+	 *  @param body the {@link Body} to create the {@link Fixture} on
+	 *  @return the created {@link Fixture}
+	 *  @since 0.13.0 */
+	public Fixture createFixture(FixtureRecord record, Body body) {
+		return createFixture(record, body, findAvailableName(record.name, fixtures));
+	}
+
+	/** @param name the {@link #findAvailableName(String, ObjectMap) available} name to put the Fixture in the {@link #fixtures} with
+	 *  @see #createFixture(FixtureRecord, Body) */
+	Fixture createFixture(FixtureRecord record, Body body, String name) {
+		int length = toLocal(record, body);
+		Shape shape = interning ? internShape(record.type, length) : createShape(record.type, length);
 
+		FixtureDef fixtureDef = record.fixtureDef;
+		fixtureDef.shape = shape;
 		Fixture fixture = body.createFixture(fixtureDef);
-		fixture.setUserData(findProperty(aliases.userData, fixture.getUserData(), heritage, mapProperties, layerProperties, properties));
+		fixtureDef.shape = null;
+		fixture.setUserData(record.userData);
 
-		shape.dispose();
+		if(!interning)
+			shape.dispose();
 
-		fixtures.put(findAvailableName(mapObject.getName(), fixtures), fixture);
-		listener.created(fixture, mapObject);
+		fixtures.put(name, fixture);
+		listener.created(fixture, record.mapObject);
 
 		return fixture;
 	}
 
+	/** @return the {@link #shapes interned} Shape with the geometry in the {@link #tmpVertices}, created if there is none yet */
+	private Shape internShape(Type type, int length) {
+		shapeKey.set(type, tmpVertices.items, length);
+		Shape shape = shapes.get(shapeKey);
+		if(shape == null)
+			shapes.put(new ShapeKey().set(type, tmpVertices.items, length).copy(), shape = createShape(type, length));
+		return shape;
+	}
+
+	/** @return a new Shape from the geometry in the {@link #tmpVertices} as written by {@link #toLocal(FixtureRecord, Body)} */
+	private Shape createShape(Type type, int length) {
+		float[] local = tmpVertices.items;
+		switch(type) {
+		case Polygon:
+			PolygonShape polygonShape = new PolygonShape();
+			if(length == BOX_LENGTH)
+				polygonShape.setAsBox(local[0], local[1], vec2.set(local[2], local[3]), local[4]);
+			else
+				polygonShape.set(local, 0, length);
+			return polygonShape;
+		case Edge:
+			EdgeShape edgeShape = new EdgeShape();
+			edgeShape.set(local[0], local[1], local[2], local[3]);
+			return edgeShape;
+		case Chain:
+			ChainShape chainShape = new ChainShape();
+			chainShape.createChain(local, 0, length);
+			return chainShape;
+		case Circle:
+			CircleShape circleShape = new CircleShape();
+			circleShape.setPosition(vec2.set(local[0], local[1]));
+			circleShape.setRadius(local[2]);
+			return circleShape;
+		}
+		throw new IllegalArgumentException("unknown shape type: " + type);
+	}
+
+	/** the number of values describing a box in the {@link #tmpVertices}: {@code halfWidth, halfHeight, centerX, centerY, angle}, odd so it cannot be mistaken for polygon vertices */
+	private static final int BOX_LENGTH = 5;
+
+	/** writes the geometry of the given {@link FixtureRecord} relative to the given Body into the {@link #tmpVertices}
+	 *  @return the number of values written */
+	private int toLocal(FixtureRecord record, Body body) {
+		Vector2 position = body.getPosition();
+		float[] vertices = record.vertices;
+		if(record.box) {
+			float[] local = tmpVertices.setSize(BOX_LENGTH);
+			local[0] = vertices[2] / 2;
+			local[1] = vertices[3] / 2;
+			local[2] = vertices[0] - position.x + vertices[2] / 2;
+			local[3] = vertices[1] - position.y + vertices[3] / 2;
+			local[4] = body.getAngle();
+			return BOX_LENGTH;
+		}
+		if(record.type == Type.Circle) {
+			float[] local = tmpVertices.setSize(3);
+			local[0] = vertices[0] - position.x;
+			local[1] = vertices[1] - position.y;
+			local[2] = vertices[2];
+			return 3;
+		}
+		float[] local = tmpVertices.setSize(vertices.length);
+		for(int ix = 0, iy = 1; iy < vertices.length; ix += 2, iy += 2) {
+			local[ix] = vertices[ix] - position.x;
+			local[iy] = vertices[iy] - position.y;
+		}
+		return vertices.length;
+	}
+
 	/** creates {@link Fixture Fixtures} from a {@link MapObject}
 	 *  @param mapObject the {@link MapObject} to parse
 	 *  @param body the {@link Body} to create the {@link Fixture Fixtures} on
 	 *  @return an array of parsed {@link Fixture Fixtures} */
 	public Fixture[] createFixtures(MapObject mapObject, Body body) {
-		if((mapObject = listener.createFixtures(mapObject)) == null)
+		Array<FixtureRecord> records = new Array<>(FixtureRecord.class);
+		if(!compileFixtures(mapObject, records, new Scratch()))
 			return null;
+		Fixture[] fixtures = new Fixture[records.size];
+		for(int i = 0; i < fixtures.length; i++)
+			fixtures[i] = createFixture(records.get(i), body);
+		return fixtures;
+	}
+
+	/** compiles the Fixtures of the given MapObject, decomposing concave polygons
+	 *  @param output the Array to add the compiled Fixtures to
+	 *  @return false if the {@link #listener} canceled the creation */
+	private boolean compileFixtures(MapObject mapObject, Array<FixtureRecord> output, Scratch scratch) {
+		if((mapObject = listener.createFixtures(mapObject)) == null)
+			return false;
 
 		Polygon polygon;
 
-		if(!(mapObject instanceof PolygonMapObject) || isConvex(polygon = ((PolygonMapObject) mapObject).getPolygon()) && Box2DUtils.check.isValidPolygonShape(polygon.getVertices()))
-			return new Fixture[] {createFixture(mapObject, body)};
+		if(!(mapObject instanceof PolygonMapObject) || isConvex(polygon = ((PolygonMapObject) mapObject).getPolygon()) && isValidPolygonShape(polygon.getVertices())) {
+			FixtureRecord record = compileFixture(mapObject, scratch);
+			if(record != null)
+				output.add(record);
+			return true;
+		}
 
-		Polygon[] convexPolygons = toPolygonArray(triangulate ? triangulate(polygon.getTransformedVertices()) : decompose(polygon.getTransformedVertices()));
-		Fixture[] fixtures = new Fixture[convexPolygons.length];
-		for(int i = 0; i < fixtures.length; i++) {
-			PolygonMapObject convexObject = new PolygonMapObject(convexPolygons[i]);
+		float[][] convexPolygons = triangulate ? triangulate(polygon.getTransformedVertices(), scratch) : decompose(polygon.getTransformedVertices());
+		for(float[] convexPolygon : convexPolygons) {
+			PolygonMapObject convexObject = new PolygonMapObject(new Polygon(convexPolygon));
 			convexObject.setColor(mapObject.getColor());
 			convexObject.setName(mapObject.getName());
 			convexObject.setOpacity(mapObject.getOpacity());
 			convexObject.setVisible(mapObject.isVisible());
 			convexObject.getProperties().putAll(mapObject.getProperties());
-			fixtures[i] = createFixture(convexObject, body);
+			FixtureRecord record = compileFixture(convexObject, scratch);
+			if(record != null)
+				output.add(record);
 		}
 
-		return fixtures;
+		return true;
+	}
+
+	/** {@link Box2DUtils#check Checks} the given polygon while holding the {@link #geometryLock} because the check uses shared temporary arrays */
+	private static boolean isValidPolygonShape(float[] vertices) {
+		synchronized(geometryLock) {
+			return Box2DUtils.check.isValidPolygonShape(vertices);
+		}
+	}
+
+	/** like {@link net.dermetfan.gdx.math.GeometryUtils#triangulate(float[])} but with the triangulator of the given {@link Scratch} */
+	private static float[][] triangulate(float[] polygon, Scratch scratch) {
+		ShortArray indices = scratch.triangulator.computeTriangles(polygon);
+		float[][] triangles = new float[indices.size / 3][];
+		for(int ti = 0, i = 0; i < indices.size; ti++, i += 3) {
+			int p1 = indices.get(i) * 2;
+			int p2 = indices.get(i + 1) * 2;
+			int p3 = indices.get(i + 2) * 2;
+			triangles[ti] = new float[] {
+					polygon[p1], polygon[p1 + 1],
+					polygon[p2], polygon[p2 + 1],
+					polygon[p3], polygon[p3 + 1]
+			};
+		}
+		return triangles;
+	}
+
+	/** like {@link net.dermetfan.gdx.math.GeometryUtils#decompose(float[])} but without shared temporary objects */
+	private static float[][] decompose(float[] concave) {
+		Array<Vector2> vertices = new Array<>(concave.length / 2);
+		for(int i = 0; i < concave.length; i += 2)
+			vertices.add(new Vector2(concave[i], concave[i + 1]));
+		Array<Array<Vector2>> convexPolys = BayazitDecomposer.convexPartition(vertices);
+		float[][] convexPolygons = new float[convexPolys.size][];
+		for(int i = 0; i < convexPolygons.length; i++) {
+			Array<Vector2> convexPoly = convexPolys.get(i);
+			float[] convexPolygon = convexPolygons[i] = new float[convexPoly.size * 2];
+			for(int ii = 0; ii < convexPoly.size; ii++) {
+				Vector2 vertex = convexPoly.get(ii);
+				convexPolygon[ii * 2] = vertex.x;
+				convexPolygon[ii * 2 + 1] = vertex.y;
+			}
+		}
+		return convexPolygons;
 	}
 
 	/** {@link #createFixture(MapObject, Body) creates} the fixture from the given {@link MapObject} on the associated body in {@link #bodies}
@@ -692,10 +1674,33 @@ public class Box2DMapObjectParser {
 		return body;
 	}
 
+	/** @return the names {@link #findBody(FixtureRecord)} looks up the body of the given {@link Aliases#fixture fixture} by, in the order of {@link #findBody(MapObject, MapProperties...)} */
+	private String[] findBodyNames(MapObject mapObject) {
+		Defaults defaults = defaults();
+		return new String[] {mapObject.getName(), getProperty(mapObject.getProperties(), aliases.body, ""), defaults.heritageBody, defaults.mapBody, defaults.layerBody};
+	}
+
+	/** @return the body associated with the given {@link FixtureRecord} by its {@link FixtureRecord#bodyNames} */
+	private Body findBody(FixtureRecord record) {
+		for(String name : record.bodyNames) {
+			Body body = name != null ? bodies.get(name) : null;
+			if(body != null)
+				return body;
+		}
+		String name = record.name;
+		throw new IllegalStateException("the body of " + (name == null ? "an unnamed " : "the ") + "fixture " + (name != null ? name : "") + "does not exist");
+	}
+
 	/** creates a {@link Joint} from a {@link MapObject}
 	 *  @param mapObject the {@link Joint} to parse
 	 *  @return the parsed {@link Joint} */
 	public Joint createJoint(MapObject mapObject) {
+		JointRecord record = compileJoint(mapObject);
+		return record != null ? createJoint(record) : null;
+	}
+
+	/** @return the compiled Joint or null if the {@link #listener} canceled it */
+	private JointRecord compileJoint(MapObject mapObject) {
 		if((mapObject = listener.createJoint(mapObject)) == null)
 			return null;
 
@@ -777,13 +1782,45 @@ public class Box2DMapObjectParser {
 		} else
 			throw new IllegalArgumentException(ClassReflection.getSimpleName(JointType.class) + " " + jointType + " is unknown");
 
-		assignProperties(jointDef, properties);
+		JointRecord record = new JointRecord();
+		record.mapObject = mapObject;
+		record.name = mapObject.getName();
+		record.jointDef = jointDef;
+		record.bodyA = getProperty(properties, aliases.bodyA, "");
+		record.bodyB = getProperty(properties, aliases.bodyB, "");
+		record.joint1 = getProperty(properties, aliases.joint1, "");
+		record.joint2 = getProperty(properties, aliases.joint2, "");
+		jointDef.collideConnected = getProperty(properties, aliases.collideConnected, jointDef.collideConnected);
+		jointDef.bodyA = jointDef.bodyB = null;
+		if(jointDef instanceof GearJointDef)
+			((GearJointDef) jointDef).joint1 = ((GearJointDef) jointDef).joint2 = null;
+		record.userData = getProperty(properties, aliases.userData, null);
+		return record;
+	}
+
+	/** creates a {@link Joint} from the given {@link JointRecord} in the {@link World} of its {@link JointRecord#bodyA body A}
+	 *  @param record the {@link JointRecord} to create
+	 *  @return the created {@link Joint}
+	 *  @since 0.13.0 */
+	public Joint createJoint(JointRecord record) {
+		JointDef jointDef = record.jointDef;
+		jointDef.bodyA = bodies.get(record.bodyA);
+		jointDef.bodyB = bodies.get(record.bodyB);
+		if(jointDef instanceof GearJointDef) {
+			GearJointDef gearJointDef = (GearJointDef) jointDef;
+			gearJointDef.joint1 = joints.get(record.joint1);
+			gearJointDef.joint2 = joints.get(record.joint2);
+		}
 
 		Joint joint = jointDef.bodyA.getWorld().createJoint(jointDef);
-		joint.setUserData(getProperty(properties, aliases.userData, joint.getUserData()));
+		joint.setUserData(record.userData);
+
+		jointDef.bodyA = jointDef.bodyB = null;
+		if(jointDef instanceof GearJointDef)
+			((GearJointDef) jointDef).joint1 = ((GearJointDef) jointDef).joint2 = null;
 
-		joints.put(findAvailableName(mapObject.getName(), joints), joint);
-		listener.created(joint, mapObject);
+		joints.put(findAvailableName(record.name, joints), joint);
+		listener.created(joint, record.mapObject);
 
 		return joint;
 	}
@@ -797,7 +1834,7 @@ public class Box2DMapObjectParser {
 		bodyDef.type = getProperty(properties, aliases.bodyType, "").equals(aliases.staticBody) ? BodyType.StaticBody : getProperty(properties, aliases.bodyType, "").equals(aliases.dynamicBody) ? BodyType.DynamicBody : getProperty(properties, aliases.bodyType, "").equals(aliases.kinematicBody) ? BodyType.KinematicBody : bodyDef.type;
 		bodyDef.active = getProperty(properties, aliases.active, bodyDef.active);
 		bodyDef.allowSleep = getProperty(properties, aliases.allowSleep, bodyDef.allowSleep);
-		bodyDef.angle = getProperty(properties, aliases.angle, bodyDef.angle) * MathUtils.degRad;
+		bodyDef.angle = getProperty(properties, aliases.angle, bodyDef.angle * MathUtils.radDeg) * MathUtils.degRad;
 		bodyDef.angularDamping = getProperty(properties, aliases.angularDamping, bodyDef.angularDamping);
 		bodyDef.angularVelocity = getProperty(properties, aliases.angularVelocity, bodyDef.angularVelocity);
 		bodyDef.awake = getProperty(properties, aliases.awake, bodyDef.awake);
@@ -806,7 +1843,8 @@ public class Box2DMapObjectParser {
 		bodyDef.gravityScale = getProperty(properties, aliases.gravityScale, bodyDef.gravityScale);
 		bodyDef.linearDamping = getProperty(properties, aliases.linearDamping, bodyDef.linearDamping);
 		bodyDef.linearVelocity.set(getProperty(properties, aliases.linearVelocityX, bodyDef.linearVelocity.x), getProperty(properties, aliases.linearVelocityY, bodyDef.linearVelocity.y));
-		bodyDef.position.set(getProperty(properties, aliases.x, bodyDef.position.x) * unitScale, getProperty(properties, aliases.y, bodyDef.position.y) * unitScale);
+		float x = getProperty(properties, aliases.x, Float.NaN), y = getProperty(properties, aliases.y, Float.NaN);
+		bodyDef.position.set(Float.isNaN(x) ? bodyDef.position.x : x * unitScale, Float.isNaN(y) ? bodyDef.position.y : y * unitScale);
 	}
 
 	/** @see #assignProperties(BodyDef, MapProperties) */
@@ -968,6 +2006,10 @@ public class Box2DMapObjectParser {
 		tileWidth = 1;
 		tileHeight = 1;
 		triangulate = false;
+		mergeRectangles = false;
+		batchStatic = false;
+		batchCellSize = 0;
+		compiler = defaultCompiler;
 		bodies.clear();
 		fixtures.clear();
 		joints.clear();
@@ -1036,6 +2078,36 @@ public class Box2DMapObjectParser {
 		this.triangulate = triangulate;
 	}
 
+	/** @return the {@link #mergeRectangles} */
+	public boolean isMergeRectangles() {
+		return mergeRectangles;
+	}
+
+	/** @param mergeRectangles the {@link #mergeRectangles} to set */
+	public void setMergeRectangles(boolean mergeRectangles) {
+		this.mergeRectangles = mergeRectangles;
+	}
+
+	/** @return the {@link #batchStatic} */
+	public boolean isBatchStatic() {
+		return batchStatic;
+	}
+
+	/** @param batchStatic the {@link #batchStatic} to set */
+	public void setBatchStatic(boolean batchStatic) {
+		this.batchStatic = batchStatic;
+	}
+
+	/** @return the {@link #batchCellSize} */
+	public float getBatchCellSize() {
+		return batchCellSize;
+	}
+
+	/** @param batchCellSize the {@link #batchCellSize} to set */
+	public void setBatchCellSize(float batchCellSize) {
+		this.batchCellSize = batchCellSize;
+	}
+
 	/** @return the {@link Aliases} */
 	public Aliases getAliases() {
 		return aliases;
@@ -1056,6 +2128,16 @@ public class Box2DMapObjectParser {
 		this.listener = listener != null ? listener : defaultListener;
 	}
 
+	/** @return the {@link #compiler} */
+	public Compiler getCompiler() {
+		return compiler;
+	}
+
+	/** @param compiler the {@link #compiler} to set */
+	public void setCompiler(Compiler compiler) {
+		this.compiler = compiler != null ? compiler : defaultCompiler;
+	}
+
 	/** @return the parsed {@link #bodies} */
 	public ObjectMap<String, Body> getBodies() {
 		return bodies;
@@ -352,8 +352,227 @@ public class Box2DUtils {
 
 	}
 
-	/** Cached {@link Shape Shapes} and their {@link ShapeCache}. You should {@link ObjectMap#clear() clear} this when you don't use the shapes anymore. */
-	public static final ObjectMap<Shape, ShapeCache> cache = new ObjectMap<>();
+	/** stores {@link ShapeCache ShapeCaches} by their {@link Shape}
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	public static abstract class ShapeCacheStore {
+
+		/** the number of {@link #get(Shape) lookups} that found a ShapeCache */
+		protected long hits;
+
+		/** the number of {@link #get(Shape) lookups} that found no ShapeCache */
+		protected long misses;
+
+		/** the number of ShapeCaches removed to make room for new ones */
+		protected long evictions;
+
+		/** @param shape the Shape which ShapeCache to get, counted as a {@link #hits hit} or {@link #misses miss}
+		 *  @return the ShapeCache of the given Shape or null if there is none */
+		public abstract ShapeCache get(Shape shape);
+
+		/** @param shape the Shape to store the ShapeCache for
+		 *  @param results the ShapeCache of the given Shape */
+		public abstract void put(Shape shape, ShapeCache results);
+
+		/** @param shape the Shape which ShapeCache to remove
+		 *  @return the removed ShapeCache or null if there was none */
+		public abstract ShapeCache remove(Shape shape);
+
+		/** removes all ShapeCaches */
+		public abstract void clear();
+
+		/** @return the number of stored ShapeCaches */
+		public abstract int size();
+
+		/** @return if a ShapeCache is stored for the given Shape, not counted as a {@link #hits hit} or {@link #misses miss} */
+		public abstract boolean containsKey(Shape shape);
+
+		/** sets {@link #hits}, {@link #misses} and {@link #evictions} to zero */
+		public void resetStatistics() {
+			hits = misses = evictions = 0;
+		}
+
+		/** @return the {@link #hits} */
+		public long getHits() {
+			return hits;
+		}
+
+		/** @return the {@link #misses} */
+		public long getMisses() {
+			return misses;
+		}
+
+		/** @return the {@link #evictions} */
+		public long getEvictions() {
+			return evictions;
+		}
+
+	}
+
+	/** a {@link ShapeCacheStore} that evicts the least recently used ShapeCache when it exceeds its {@link #capacity}
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	public static class LRUShapeCacheStore extends ShapeCacheStore {
+
+		/** the maximum number of stored ShapeCaches */
+		private int capacity;
+
+		/** the entries by Shape */
+		private final ObjectMap<Shape, Entry> entries;
+
+		/** the most and least recently used entry */
+		private Entry head, tail;
+
+		/** the entries that are not in use */
+		private final Array<Entry> freeEntries = new Array<>(false, 16);
+
+		/** @param capacity the {@link #capacity} */
+		public LRUShapeCacheStore(int capacity) {
+			if(capacity < 1)
+				throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+			this.capacity = capacity;
+			entries = new ObjectMap<>(Math.min(capacity, 1024));
+		}
+
+		@Override
+		public ShapeCache get(Shape shape) {
+			Entry entry = entries.get(shape);
+			if(entry == null) {
+				misses++;
+				return null;
+			}
+			hits++;
+			if(entry != head) {
+				unlink(entry);
+				link(entry);
+			}
+			return entry.results;
+		}
+
+		@Override
+		public void put(Shape shape, ShapeCache results) {
+			Entry entry = entries.get(shape);
+			if(entry != null) {
+				entry.results = results;
+				unlink(entry);
+				link(entry);
+				return;
+			}
+			if(entries.size >= capacity)
+				evict();
+			entry = freeEntries.size > 0 ? freeEntries.pop() : new Entry();
+			entry.shape = shape;
+			entry.results = results;
+			entries.put(shape, entry);
+			link(entry);
+		}
+
+		@Override
+		public ShapeCache remove(Shape shape) {
+			Entry entry = entries.remove(shape);
+			if(entry == null)
+				return null;
+			ShapeCache results = entry.results;
+			unlink(entry);
+			free(entry);
+			return results;
+		}
+
+		@Override
+		public void clear() {
+			for(Entry entry = head; entry != null; ) {
+				Entry next = entry.next;
+				free(entry);
+				entry = next;
+			}
+			head = tail = null;
+			entries.clear();
+		}
+
+		@Override
+		public int size() {
+			return entries.size;
+		}
+
+		@Override
+		public boolean containsKey(Shape shape) {
+			return entries.containsKey(shape);
+		}
+
+		/** removes the least recently used entry */
+		private void evict() {
+			Entry entry = tail;
+			entries.remove(entry.shape);
+			unlink(entry);
+			free(entry);
+			evictions++;
+		}
+
+		/** inserts the given entry as {@link #head} */
+		private void link(Entry entry) {
+			entry.previous = null;
+			entry.next = head;
+			if(head != null)
+				head.previous = entry;
+			head = entry;
+			if(tail == null)
+				tail = entry;
+		}
+
+		/** removes the given entry from the linked list */
+		private void unlink(Entry entry) {
+			if(entry.previous != null)
+				entry.previous.next = entry.next;
+			else
+				head = entry.next;
+			if(entry.next != null)
+				entry.next.previous = entry.previous;
+			else
+				tail = entry.previous;
+			entry.previous = entry.next = null;
+		}
+
+		private void free(Entry entry) {
+			entry.shape = null;
+			entry.results = null;
+			entry.previous = entry.next = null;
+			freeEntries.add(entry);
+		}
+
+		// getters and setters
+
+		/** @return the {@link #capacity} */
+		public int getCapacity() {
+			return capacity;
+		}
+
+		/** @param capacity the {@link #capacity} to set, evicts entries if necessary */
+		public void setCapacity(int capacity) {
+			if(capacity < 1)
+				throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+			this.capacity = capacity;
+			while(entries.size > capacity)
+				evict();
+			freeEntries.truncate(Math.min(freeEntries.size, capacity));
+		}
+
+		/** an entry of the linked list, ordered by recency of use
+		 *  @author dermetfan
+		 *  @since 0.13.0 */
+		private static class Entry {
+
+			Shape shape;
+			ShapeCache results;
+			Entry previous, next;
+
+		}
+
+	}
+
+	/** Cached {@link Shape Shapes} and their {@link ShapeCache}. Holds at most 1024 ShapeCaches by default and evicts the least recently used ones beyond that.
+	 *  Use {@link LRUShapeCacheStore#setCapacity(int) setCapacity} to hold more, for example {@link Integer#MAX_VALUE} to never evict like before 0.13.0.
+	 *  Note that a {@link Fixture#getShape() Fixture's Shape} is a new instance for each Fixture. */
+	public static final LRUShapeCacheStore cache = new LRUShapeCacheStore(1024);
 
 	/** if shapes should automatically be cached when they are inspected for the first time */
 	public static boolean autoCache = true;
@@ -369,8 +588,12 @@ public class Box2DUtils {
 
 	/** @param shape the Shape to create a new {@link ShapeCache} for that will be added to {@link #cache} */
 	public static ShapeCache cache(Shape shape) {
-		if(cache.containsKey(shape))
-			return cache.get(shape);
+		ShapeCache results = cache.get(shape);
+		return results != null ? results : cache0(shape);
+	}
+
+	/** @param shape the Shape to create a new {@link ShapeCache} for that will be added to {@link #cache} without looking for an existing one */
+	private static ShapeCache cache0(Shape shape) {
 		float[] vertices = vertices0(shape), cachedVertices = new float[vertices.length];
 		System.arraycopy(vertices, 0, cachedVertices, 0, vertices.length);
 		ShapeCache results = new ShapeCache(cachedVertices, width0(shape), height0(shape), minX0(shape), maxX0(shape), minY0(shape), maxY0(shape));
@@ -477,72 +700,59 @@ public class Box2DUtils {
 
 	// cache
 
+	/** @return the ShapeCache of the given Shape, a new one if {@link #autoCache} is true, or null */
+	private static ShapeCache lookup(Shape shape) {
+		ShapeCache results = cache.get(shape);
+		if(results == null && autoCache)
+			results = cache0(shape);
+		return results;
+	}
+
 	/** @return the vertices of the given Shape */
 	public static float[] vertices(Shape shape) {
-		if(cache.containsKey(shape))
-			return cache.get(shape).vertices;
-		if(autoCache)
-			return cache(shape).vertices;
-		return vertices0(shape);
+		ShapeCache results = lookup(shape);
+		return results != null ? results.vertices : vertices0(shape);
 	}
 
 	/** @return the minimal x value of the vertices of the given Shape */
 	public static float minX(Shape shape) {
-		if(cache.containsKey(shape))
-			return cache.get(shape).minX;
-		if(autoCache)
-			return cache(shape).minX;
-		return minX0(shape);
+		ShapeCache results = lookup(shape);
+		return results != null ? results.minX : minX0(shape);
 	}
 
 	/** @return the minimal y value of the vertices of the given Shape */
 	public static float minY(Shape shape) {
-		if(cache.containsKey(shape))
-			return cache.get(shape).minY;
-		if(autoCache)
-			return cache(shape).minY;
-		return minY0(shape);
+		ShapeCache results = lookup(shape);
+		return results != null ? results.minY : minY0(shape);
 	}
 
 	/** @return the maximal x value of the vertices of the given Shape */
 	public static float maxX(Shape shape) {
-		if(cache.containsKey(shape))
-			return cache.get(shape).maxX;
-		if(autoCache)
-			return cache(shape).maxX;
-		return maxX0(shape);
+		ShapeCache results = lookup(shape);
+		return results != null ? results.maxX : maxX0(shape);
 	}
 
 	/** @return the maximal y value of the vertices of the given Shape */
 	public static float maxY(Shape shape) {
-		if(cache.containsKey(shape))
-			return cache.get(shape).maxY;
-		if(autoCache)
-			return cache(shape).maxY;
-		return maxY0(shape);
+		ShapeCache results = lookup(shape);
+		return results != null ? results.maxY : maxY0(shape);
 	}
 
 	/** @return the width of the given Shape */
 	public static float width(Shape shape) {
-		if(cache.containsKey(shape))
-			return cache.get(shape).width;
-		if(autoCache)
-			return cache(shape).width;
-		return width0(shape);
+		ShapeCache results = lookup(shape);
+		return results != null ? results.width : width0(shape);
 	}
 
 	/** @return the height of the given Shape */
 	public static float height(Shape shape) {
-		if(cache.containsKey(shape))
-			return cache.get(shape).height;
-		if(autoCache)
-			return cache(shape).height;
-		return height0(shape);
+		ShapeCache results = lookup(shape);
+		return results != null ? results.height : height0(shape);
 	}
 
 	/** @return a {@link Vector2} representing the size of the given Shape */
 	public static Vector2 size(Shape shape) {
-		ShapeCache results = cache.containsKey(shape) ? cache.get(shape) : autoCache ? cache(shape) : null;
+		ShapeCache results = lookup(shape);
 		return results != null ? vec2_0.set(results.width, results.height) : size0(shape);
 	}
 
@@ -774,6 +984,7 @@ public class Box2DUtils {
 	}
 
 	/** @return the given Rectangle set as axis aligned bounding box of all fixtures of the given Body, in world coordinates
+	 *  @see AABBCache to get the AABBs of many Bodies at once
 	 *  @since 0.9.1 */
 	public static Rectangle aabb(Body body, Rectangle aabb) {
 		float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
@@ -24,13 +24,17 @@ import com.badlogic.gdx.physics.box2d.ContactImpulse;
 import com.badlogic.gdx.physics.box2d.ContactListener;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.Joint;
+import com.badlogic.gdx.physics.box2d.JointEdge;
 import com.badlogic.gdx.physics.box2d.Manifold;
 import com.badlogic.gdx.physics.box2d.World;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.ObjectSet;
 
 /** Breaks bodies or fixtures if they get hit too hard. Put in fixture's or body's user data and set {@link Manager} as {@link ContactListener}.<br>
  *  Don't forget to call {@link Manager#destroy()} after every world time step.<br>
- *  You can manually destroy fixtures or bodies using the {@link Manager#destroy(Fixture)} and {@link Manager#destroy(Body)} methods.
+ *  You can manually destroy fixtures or bodies using the {@link Manager#destroy(Fixture)} and {@link Manager#destroy(Body)} methods.<br>
+ *  <strong>Does NOT work on HTML5!</strong>
  *  @author dermetfan */
 public class Breakable {
 
@@ -47,6 +51,11 @@ public class Breakable {
 		/** the joints that broke in {@link #strain(Joint, float)} */
 		public final Array<Joint> brokenJoints = new Array<>(1);
 
+		/** the {@link #brokenFixtures}, {@link #brokenBodies} and {@link #brokenJoints} for constant time lookup (libgdx only reuses the instances of destroyed objects, so identity is enough as long as nothing queued is destroyed before {@link #destroy()}) */
+		private final ObjectSet<Fixture> brokenFixtureSet = new ObjectSet<>();
+		private final ObjectSet<Body> brokenBodySet = new ObjectSet<>();
+		private final ObjectSet<Joint> brokenJointSet = new ObjectSet<>();
+
 		/** the {@link #userDataAccessor} used by default */
 		public static final Function<Object, Breakable> defaultUserDataAccessor = new Function<Object, Breakable>() {
 
@@ -63,6 +72,49 @@ public class Breakable {
 		/** used for {@link World#getJoints(Array)} in {@link #strain(World, float)} */
 		private final Array<Joint> tmpJoints = new Array<>(0);
 
+		/** the {@link #register(Joint) registered} joints, {@link #strain(float) strained} without looking at the other joints in the world */
+		private final Registry<Joint> joints = new Registry<Joint>() {
+			@Override
+			long address(Joint joint) {
+				return com.badlogic.gdx.physics.box2d.Box2DUtils.getAddr(joint);
+			}
+
+			@Override
+			Object userData(Joint joint) {
+				return joint.getUserData();
+			}
+		};
+
+		/** the {@link #register(Fixture) registered} fixtures */
+		private final Registry<Fixture> fixtures = new Registry<Fixture>() {
+			@Override
+			long address(Fixture fixture) {
+				return com.badlogic.gdx.physics.box2d.Box2DUtils.getAddr(fixture);
+			}
+
+			@Override
+			Object userData(Fixture fixture) {
+				return fixture.getUserData();
+			}
+		};
+
+		/** the {@link #register(Body) registered} bodies */
+		private final Registry<Body> bodies = new Registry<Body>() {
+			@Override
+			long address(Body body) {
+				return com.badlogic.gdx.physics.box2d.Box2DUtils.getAddr(body);
+			}
+
+			@Override
+			Object userData(Body body) {
+				return body.getUserData();
+			}
+		};
+
+		/** If {@link #postSolve(Contact, ContactImpulse)} should only sum up the impulses on the {@link #register(Fixture) registered} fixtures and bodies over all contacts of a step instead of {@link #strain(Contact, ContactImpulse) straining} each contact.
+		 *  Call {@link #evaluate()} after the world step to break what could not bear the sums. This gives more stable results under many simultaneous contacts. */
+		private boolean accumulate;
+
 		/** instantiates a new {@link Manager} */
 		public Manager() {}
 
@@ -71,20 +123,45 @@ public class Breakable {
 			setUserDataAccessor(userDataAccessor);
 		}
 
-		/** actually destroys all bodies in {@link #brokenBodies} and fixtures in {@link #brokenFixtures} */
+		/** Actually destroys all joints in {@link #brokenJoints}, fixtures in {@link #brokenFixtures} and bodies in {@link #brokenBodies} in one pass each.
+		 *  Joints and fixtures of bodies that are destroyed as well are skipped because destroying the body destroys them.
+		 *  Only add to the queues using the {@code destroy} methods so that nothing is destroyed twice. */
 		public void destroy() {
-			for(Fixture fixture : brokenFixtures) {
-				brokenFixtures.removeValue(fixture, true);
-				fixture.getBody().destroyFixture(fixture);
+			for(int i = 0; i < brokenBodies.size; i++) {
+				Body body = brokenBodies.get(i);
+				unregister(body);
+				Array<Fixture> bodyFixtures = body.getFixtureList();
+				for(int ii = 0; ii < bodyFixtures.size; ii++)
+					unregister(bodyFixtures.get(ii));
+				Array<JointEdge> jointEdges = body.getJointList();
+				for(int ii = 0; ii < jointEdges.size; ii++)
+					unregister(jointEdges.get(ii).joint);
 			}
-			for(Body body : brokenBodies) {
-				brokenBodies.removeValue(body, true);
-				body.getWorld().destroyBody(body);
+			for(int i = 0; i < brokenFixtures.size; i++)
+				unregister(brokenFixtures.get(i));
+			for(int i = 0; i < brokenJoints.size; i++)
+				unregister(brokenJoints.get(i));
+
+			for(int i = 0; i < brokenJoints.size; i++) {
+				Joint joint = brokenJoints.get(i);
+				if(!brokenBodySet.contains(joint.getBodyA()) && !brokenBodySet.contains(joint.getBodyB()))
+					joint.getBodyA().getWorld().destroyJoint(joint);
+			}
+			for(int i = 0; i < brokenFixtures.size; i++) {
+				Fixture fixture = brokenFixtures.get(i);
+				if(!brokenBodySet.contains(fixture.getBody()))
+					fixture.getBody().destroyFixture(fixture);
 			}
-			for(Joint joint : brokenJoints) {
-				brokenJoints.removeValue(joint, true);
-				joint.getBodyA().getWorld().destroyJoint(joint);
+			for(int i = 0; i < brokenBodies.size; i++) {
+				Body body = brokenBodies.get(i);
+				body.getWorld().destroyBody(body);
 			}
+			brokenJoints.clear();
+			brokenFixtures.clear();
+			brokenBodies.clear();
+			brokenJointSet.clear();
+			brokenFixtureSet.clear();
+			brokenBodySet.clear();
 		}
 
 		/** {@link #destroy(Body) destroys}/{@link #destroy(Fixture) destroys} all fixtures/bodies involved in the given Contact if they could not bear the given impulse */
@@ -110,6 +187,44 @@ public class Breakable {
 				destroy(bodyB);
 		}
 
+		/** sums up the impulses of the given contact on the {@link #register(Fixture) registered} fixtures and bodies involved in it to be {@link #evaluate() evaluated} after the step */
+		public void accumulate(Contact contact, ContactImpulse impulse) {
+			float normalImpulse = MathUtils.sum(impulse.getNormalImpulses()), tangentImpulse = Math.abs(MathUtils.sum(impulse.getTangentImpulses()));
+			Fixture fixtureA = contact.getFixtureA(), fixtureB = contact.getFixtureB();
+			fixtures.accumulate(fixtureA, normalImpulse, tangentImpulse);
+			fixtures.accumulate(fixtureB, normalImpulse, tangentImpulse);
+			Body bodyA = fixtureA.getBody(), bodyB = fixtureB.getBody();
+			bodies.accumulate(bodyA, normalImpulse, tangentImpulse);
+			if(bodyB != bodyA)
+				bodies.accumulate(bodyB, normalImpulse, tangentImpulse);
+		}
+
+		/** {@link #destroy(Fixture) destroys}/{@link #destroy(Body) destroys} the {@link #register(Fixture) registered} fixtures/bodies that could not bear the impulses {@link #accumulate(Contact, ContactImpulse) accumulated} since the last call and resets the sums.
+		 *  The {@link Callback#strained(Fixture, Breakable, Contact, ContactImpulse, float, float) callback} is given null for the contact and impulse and the fixture of a body is its first one. */
+		public void evaluate() {
+			Registration<Fixture>[] fixtureRegistrations = fixtures.registrations.items;
+			for(int i = 0, n = fixtures.registrations.size; i < n; i++) {
+				Registration<Fixture> registration = fixtureRegistrations[i];
+				float normalImpulse = registration.normalImpulse, tangentImpulse = registration.tangentImpulse;
+				if(normalImpulse == 0 && tangentImpulse == 0)
+					continue;
+				registration.normalImpulse = registration.tangentImpulse = 0;
+				if(shouldBreak(registration.breakable, normalImpulse, tangentImpulse, null, null, registration.object))
+					destroy(registration.object);
+			}
+			Registration<Body>[] bodyRegistrations = bodies.registrations.items;
+			for(int i = 0, n = bodies.registrations.size; i < n; i++) {
+				Registration<Body> registration = bodyRegistrations[i];
+				float normalImpulse = registration.normalImpulse, tangentImpulse = registration.tangentImpulse;
+				if(normalImpulse == 0 && tangentImpulse == 0)
+					continue;
+				registration.normalImpulse = registration.tangentImpulse = 0;
+				Array<Fixture> bodyFixtures = registration.object.getFixtureList();
+				if(shouldBreak(registration.breakable, normalImpulse, tangentImpulse, null, null, bodyFixtures.size > 0 ? bodyFixtures.first() : null))
+					destroy(registration.object);
+			}
+		}
+
 		/** {@link #strain(Joint, float) strains} all joints in the given world */
 		public void strain(World world, float delta) {
 			world.getJoints(tmpJoints);
@@ -117,9 +232,20 @@ public class Breakable {
 				strain(joint, delta);
 		}
 
+		/** {@link #strain(Joint, float) strains} only the {@link #register(Joint) registered} joints */
+		public void strain(float delta) {
+			Registration<Joint>[] registrations = joints.registrations.items;
+			for(int i = 0, n = joints.registrations.size; i < n; i++)
+				strain(registrations[i].object, registrations[i].breakable, delta);
+		}
+
 		/** {@link #destroy(Joint) destroy} */
 		public void strain(Joint joint, float delta) {
-			Breakable breakable = userDataAccessor.apply(joint.getUserData());
+			strain(joint, userDataAccessor.apply(joint.getUserData()), delta);
+		}
+
+		/** {@link #destroy(Joint) destroys} the given joint if it cannot bear its reaction force or torque */
+		private void strain(Joint joint, Breakable breakable, float delta) {
 			if(breakable == null)
 				return;
 			Vector2 reactionForce = joint.getReactionForce(1 / delta);
@@ -147,12 +273,14 @@ public class Breakable {
 		/** destroys the given fixture (and its body depending on {@link #breakBodyWithoutFixtures} and {@link #breakBody})
 		 *  @param fixture the {@link Fixture} to destroy */
 		public void destroy(Fixture fixture) {
-			if(brokenFixtures.contains(fixture, true))
+			if(brokenFixtureSet.contains(fixture))
 				return;
 
 			Breakable breakable = userDataAccessor.apply(fixture.getUserData());
-			if(breakable == null || (breakable.callback == null || !breakable.callback.destroyed(fixture, breakable)))
+			if(breakable == null || (breakable.callback == null || !breakable.callback.destroyed(fixture, breakable))) {
 				brokenFixtures.add(fixture);
+				brokenFixtureSet.add(fixture);
+			}
 
 			if(breakable != null) {
 				Body body = fixture.getBody();
@@ -162,7 +290,7 @@ public class Breakable {
 				}
 				if(breakable.breakBodyWithoutFixtures) {
 					for(Fixture bodyFixture : body.getFixtureList())
-						if(!brokenFixtures.contains(bodyFixture, true))
+						if(!brokenFixtureSet.contains(bodyFixture))
 							return;
 					destroy(body);
 				}
@@ -171,22 +299,26 @@ public class Breakable {
 
 		/** @param body the {@link Body} to destroy */
 		public void destroy(Body body) {
-			if(brokenBodies.contains(body, true))
+			if(brokenBodySet.contains(body))
 				return;
 
 			Breakable breakable = userDataAccessor.apply(body.getUserData());
-			if(breakable == null || (breakable.callback == null || !breakable.callback.destroyed(body, breakable)))
+			if(breakable == null || (breakable.callback == null || !breakable.callback.destroyed(body, breakable))) {
 				brokenBodies.add(body);
+				brokenBodySet.add(body);
+			}
 		}
 
 		/** @param joint the {@link Joint} to destroy */
 		public void destroy(Joint joint) {
-			if(brokenJoints.contains(joint, true))
+			if(brokenJointSet.contains(joint))
 				return;
 
 			Breakable breakable = userDataAccessor.apply(joint.getUserData());
-			if(breakable == null || (breakable.callback == null || !breakable.callback.destroyed(joint, breakable)))
+			if(breakable == null || (breakable.callback == null || !breakable.callback.destroyed(joint, breakable))) {
 				brokenJoints.add(joint);
+				brokenJointSet.add(joint);
+			}
 
 			if(breakable != null && breakable.breakBody) {
 				destroy(joint.getBodyA());
@@ -194,6 +326,57 @@ public class Breakable {
 			}
 		}
 
+		/** Adds the given joint to the ones {@link #strain(float) strained} without scanning the world if its user data holds a Breakable.
+		 *  Call this after assigning the user data and again after changing it, because an object with other user data than it was registered with counts as unregistered. Registered joints are unregistered when this manager {@link #destroy() destroys} them or their bodies.
+		 *  @return if the joint was registered */
+		public boolean register(Joint joint) {
+			Breakable breakable = userDataAccessor.apply(joint.getUserData());
+			if(breakable == null)
+				return false;
+			joints.put(joint, breakable);
+			return true;
+		}
+
+		/** Adds the given fixture to the ones impulses are {@link #accumulate(Contact, ContactImpulse) accumulated} for if its user data holds a Breakable.
+		 *  Call this after assigning the user data and again after changing it, because an object with other user data than it was registered with counts as unregistered. Registered fixtures are unregistered when this manager {@link #destroy() destroys} them or their bodies.
+		 *  @return if the fixture was registered */
+		public boolean register(Fixture fixture) {
+			Breakable breakable = userDataAccessor.apply(fixture.getUserData());
+			if(breakable == null)
+				return false;
+			fixtures.put(fixture, breakable);
+			return true;
+		}
+
+		/** Adds the given body to the ones impulses are {@link #accumulate(Contact, ContactImpulse) accumulated} for if its user data holds a Breakable.
+		 *  Call this after assigning the user data and again after changing it, because an object with other user data than it was registered with counts as unregistered. Registered bodies are unregistered when this manager {@link #destroy() destroys} them.
+		 *  @return if the body was registered */
+		public boolean register(Body body) {
+			Breakable breakable = userDataAccessor.apply(body.getUserData());
+			if(breakable == null)
+				return false;
+			bodies.put(body, breakable);
+			return true;
+		}
+
+		/** removes the given joint from the {@link #register(Joint) registered} ones, call this before destroying it elsewhere
+		 *  @return if the joint was registered */
+		public boolean unregister(Joint joint) {
+			return joints.remove(joint);
+		}
+
+		/** removes the given fixture from the {@link #register(Fixture) registered} ones, call this before destroying it elsewhere
+		 *  @return if the fixture was registered */
+		public boolean unregister(Fixture fixture) {
+			return fixtures.remove(fixture);
+		}
+
+		/** removes the given body from the {@link #register(Body) registered} ones, call this before destroying it elsewhere
+		 *  @return if the body was registered */
+		public boolean unregister(Body body) {
+			return bodies.remove(body);
+		}
+
 		/** does nothing */
 		@Override
 		public void beginContact(Contact contact) {
@@ -204,10 +387,13 @@ public class Breakable {
 		public void preSolve(Contact contact, Manifold oldManifold) {
 		}
 
-		/** calls {@link #strain(Contact, ContactImpulse)} */
+		/** calls {@link #accumulate(Contact, ContactImpulse)} if {@link #accumulate accumulating}, {@link #strain(Contact, ContactImpulse)} otherwise */
 		@Override
 		public void postSolve(Contact contact, ContactImpulse impulse) {
-			strain(contact, impulse);
+			if(accumulate)
+				accumulate(contact, impulse);
+			else
+				strain(contact, impulse);
 		}
 
 		/** does nothing */
@@ -225,6 +411,16 @@ public class Breakable {
 			return brokenBodies;
 		}
 
+		/** @return the {@link #accumulate} */
+		public boolean isAccumulate() {
+			return accumulate;
+		}
+
+		/** @param accumulate the {@link #accumulate} to set */
+		public void setAccumulate(boolean accumulate) {
+			this.accumulate = accumulate;
+		}
+
 		/** @return the {@link #userDataAccessor} */
 		public Function<Object, Breakable> getUserDataAccessor() {
 			return userDataAccessor;
@@ -235,6 +431,88 @@ public class Breakable {
 			this.userDataAccessor = userDataAccessor != null ? userDataAccessor : defaultUserDataAccessor;
 		}
 
+		/** The {@link #register(Fixture) registered} objects of one kind by {@link com.badlogic.gdx.physics.box2d.Box2DUtils#getAddr(Fixture) address}.
+		 *  Because libGDX pools the Body and Fixture instances and Box2D reuses the addresses of destroyed objects, a Registration only belongs to an object that has the same instance and user data.
+		 *  That way an object created in place of one that was destroyed without being unregistered does not inherit its Registration.
+		 *  @author dermetfan
+		 *  @since 0.13.0 */
+		private static abstract class Registry<T> {
+
+			/** the Registrations in no particular order */
+			final Array<Registration<T>> registrations = new Array<>(false, 16, Registration.class);
+
+			/** the {@link #registrations} by address */
+			private final LongMap<Registration<T>> addresses = new LongMap<>();
+
+			/** @return the native address of the given object */
+			abstract long address(T object);
+
+			/** @return the user data of the given object */
+			abstract Object userData(T object);
+
+			/** registers the given object or updates its Breakable if it is already registered */
+			void put(T object, Breakable breakable) {
+				long address = address(object);
+				Registration<T> registration = addresses.get(address);
+				if(registration == null) {
+					addresses.put(address, registration = new Registration<>());
+					registration.index = registrations.size;
+					registrations.add(registration);
+				} else if(!registration.belongsTo(object, userData(object)))
+					registration.normalImpulse = registration.tangentImpulse = 0;
+				registration.object = object;
+				registration.userData = userData(object);
+				registration.breakable = breakable;
+			}
+
+			/** removes the Registration at the address of the given object, which is stale if it does not belong to it
+			 *  @return if the given object was registered */
+			boolean remove(T object) {
+				Registration<T> registration = addresses.remove(address(object));
+				if(registration == null)
+					return false;
+				int index = registration.index;
+				registrations.removeIndex(index);
+				if(index < registrations.size)
+					registrations.get(index).index = index;
+				return registration.belongsTo(object, userData(object));
+			}
+
+			/** adds the given impulses to the Registration of the given object if it is registered */
+			void accumulate(T object, float normalImpulse, float tangentImpulse) {
+				Registration<T> registration = addresses.get(address(object));
+				if(registration != null && registration.belongsTo(object, userData(object))) {
+					registration.normalImpulse += normalImpulse;
+					registration.tangentImpulse += tangentImpulse;
+				}
+			}
+
+		}
+
+		/** a {@link #register(Fixture) registered} object, its Breakable and the impulses {@link #accumulate accumulated} on it in this step
+		 *  @author dermetfan
+		 *  @since 0.13.0 */
+		private static class Registration<T> {
+
+			T object;
+
+			/** the user data of the {@link #object} when it was registered */
+			Object userData;
+
+			Breakable breakable;
+
+			/** the index in the {@link Registry#registrations} */
+			int index;
+
+			float normalImpulse, tangentImpulse;
+
+			/** @return if this Registration was made for the given object with the given user data */
+			boolean belongsTo(Object object, Object userData) {
+				return this.object == object && this.userData == userData;
+			}
+
+		}
+
 	}
 
 	/** a callback for a {@link Breakable} if its container (body or fixture) was destroyed (for example to play a sound)
@@ -0,0 +1,1231 @@
+/** Copyright 2015 Robin Stumm (serverkorken@gmail.com, http://dermetfan.net)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License. */
+
+package net.dermetfan.gdx.physics.box2d;
+
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.ChainShape;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.EdgeShape;
+import com.badlogic.gdx.physics.box2d.Filter;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.Joint;
+import com.badlogic.gdx.physics.box2d.JointDef;
+import com.badlogic.gdx.physics.box2d.JointDef.JointType;
+import com.badlogic.gdx.physics.box2d.JointEdge;
+import com.badlogic.gdx.physics.box2d.MassData;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.Shape;
+import com.badlogic.gdx.physics.box2d.Transform;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.physics.box2d.joints.DistanceJoint;
+import com.badlogic.gdx.physics.box2d.joints.DistanceJointDef;
+import com.badlogic.gdx.physics.box2d.joints.FrictionJoint;
+import com.badlogic.gdx.physics.box2d.joints.FrictionJointDef;
+import com.badlogic.gdx.physics.box2d.joints.GearJoint;
+import com.badlogic.gdx.physics.box2d.joints.GearJointDef;
+import com.badlogic.gdx.physics.box2d.joints.MotorJoint;
+import com.badlogic.gdx.physics.box2d.joints.MotorJointDef;
+import com.badlogic.gdx.physics.box2d.joints.MouseJoint;
+import com.badlogic.gdx.physics.box2d.joints.MouseJointDef;
+import com.badlogic.gdx.physics.box2d.joints.PrismaticJoint;
+import com.badlogic.gdx.physics.box2d.joints.PrismaticJointDef;
+import com.badlogic.gdx.physics.box2d.joints.PulleyJoint;
+import com.badlogic.gdx.physics.box2d.joints.PulleyJointDef;
+import com.badlogic.gdx.physics.box2d.joints.RevoluteJoint;
+import com.badlogic.gdx.physics.box2d.joints.RevoluteJointDef;
+import com.badlogic.gdx.physics.box2d.joints.RopeJoint;
+import com.badlogic.gdx.physics.box2d.joints.RopeJointDef;
+import com.badlogic.gdx.physics.box2d.joints.WeldJoint;
+import com.badlogic.gdx.physics.box2d.joints.WeldJointDef;
+import com.badlogic.gdx.physics.box2d.joints.WheelJoint;
+import com.badlogic.gdx.physics.box2d.joints.WheelJointDef;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.Pools;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.BodyChange;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.DistanceJointChange;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.FixtureChange;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.FrictionJointChange;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.GearJointChange;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.JointChange;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.MotorJointChange;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.MouseJointChange;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.PrismaticJointChange;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.RevoluteJointChange;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.RopeJointChange;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.WeldJointChange;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.WheelJointChange;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.WorldChange;
+
+import static net.dermetfan.utils.ByteBufferUtils.getVarInt;
+import static net.dermetfan.utils.ByteBufferUtils.getVarLong;
+import static net.dermetfan.utils.ByteBufferUtils.putVarInt;
+import static net.dermetfan.utils.ByteBufferUtils.putVarLong;
+
+/** Writes the changes reported by a {@link WorldObserver} into a compact binary stream and applies them to a mirror {@link World}.
+ *  Each {@link WorldObserver#update(World, float) update} is written as one frame: the {@link Encoder#quantization quantization} followed by records and {@link #END}.
+ *  A record starts with its tag like {@link #BODY_CHANGED}, followed by the varint id of the object and the changed properties as bit mask (the bits of {@link BodyChange} and {@link FixtureChange}).
+ *  User data is not encoded.
+ *  <strong>Does NOT work on HTML5!</strong>
+ *  @author dermetfan
+ *  @since 0.13.0 */
+public class ChangeCodec {
+
+	/** record tags */
+	public static final byte END = 0, WORLD_CHANGED = 1, BODY_CREATED = 2, BODY_CHANGED = 3, BODY_DESTROYED = 4, FIXTURE_CREATED = 5, FIXTURE_CHANGED = 6, FIXTURE_DESTROYED = 7, JOINT_CREATED = 8, JOINT_CHANGED = 9, JOINT_DESTROYED = 10;
+
+	/** the bits of the {@link WorldChange} mask */
+	private static final long GRAVITY = 1, AUTO_CLEAR_FORCES = 1 << 1;
+
+	/** the {@link BodyChange} properties that are not encoded */
+	private static final long BODY_IGNORED = BodyChange.USER_DATA;
+
+	/** the {@link BodyChange} properties that are encoded together in one byte */
+	private static final long BODY_FLAGS = BodyChange.FIXED_ROTATION | BodyChange.BULLET | BodyChange.AWAKE | BodyChange.ACTIVE | BodyChange.SLEEPING_ALLOWED;
+
+	/** the {@link FixtureChange} properties that are not encoded */
+	private static final long FIXTURE_IGNORED = FixtureChange.USER_DATA;
+
+	/** the values of {@link BodyType} by ordinal */
+	private static final BodyType[] bodyTypes = BodyType.values();
+
+	/** the values of {@link JointType} by ordinal */
+	private static final JointType[] jointTypes = JointType.values();
+
+	/** the values of {@link Shape.Type} by ordinal */
+	private static final Shape.Type[] shapeTypes = Shape.Type.values();
+
+	/** @param quantization the quantization step or 0 to write the value as float
+	 *  @see #getQuantized(ByteBuffer, float) */
+	public static void putQuantized(ByteBuffer buffer, float value, float quantization) {
+		if(quantization > 0)
+			putVarInt(buffer, Math.round(value / quantization));
+		else
+			buffer.putFloat(value);
+	}
+
+	/** @see #putQuantized(ByteBuffer, float, float) */
+	public static float getQuantized(ByteBuffer buffer, float quantization) {
+		return quantization > 0 ? getVarInt(buffer) * quantization : buffer.getFloat();
+	}
+
+	private static long bit(Object value, int bit) {
+		return value != null ? 1L << bit : 0;
+	}
+
+	private static void putOptional(ByteBuffer buffer, Float value) {
+		if(value != null)
+			buffer.putFloat(value);
+	}
+
+	private static void putOptional(ByteBuffer buffer, Vector2 value) {
+		if(value != null)
+			buffer.putFloat(value.x).putFloat(value.y);
+	}
+
+	private static Float getFloat(ByteBuffer buffer, long mask, int bit) {
+		return (mask & 1L << bit) != 0 ? buffer.getFloat() : null;
+	}
+
+	private static Vector2 getVector2(ByteBuffer buffer, long mask, int bit, Vector2 vector) {
+		return (mask & 1L << bit) != 0 ? vector.set(buffer.getFloat(), buffer.getFloat()) : null;
+	}
+
+	private static void put(ByteBuffer buffer, Vector2 value) {
+		buffer.putFloat(value.x).putFloat(value.y);
+	}
+
+	private static void get(ByteBuffer buffer, Vector2 vector) {
+		vector.set(buffer.getFloat(), buffer.getFloat());
+	}
+
+	/** Assigns ids to objects and reuses the ids of removed objects.
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	private static class Ids<T> {
+
+		private final ObjectIntMap<T> ids = new ObjectIntMap<>();
+		private final IntArray free = new IntArray();
+		private int next;
+
+		public int add(T obj) {
+			int id = free.size > 0 ? free.pop() : next++;
+			ids.put(obj, id);
+			return id;
+		}
+
+		public int get(T obj) {
+			return ids.get(obj, -1);
+		}
+
+		public int remove(T obj) {
+			int id = ids.remove(obj, -1);
+			if(id != -1)
+				free.add(id);
+			return id;
+		}
+
+	}
+
+	/** A {@link WorldObserver.Listener} that writes the changes of each {@link WorldObserver#update(World, float) update} as one frame into a {@link ByteBuffer}.
+	 *  The {@link #buffer} must be large enough to hold a frame, otherwise a {@link java.nio.BufferOverflowException} is thrown.
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	public static class Encoder implements WorldObserver.Listener {
+
+		/** the buffer to write to */
+		private ByteBuffer buffer;
+
+		/** the step to quantize transforms and velocities with, or 0 to write them as floats */
+		private float quantization;
+
+		private final Ids<Body> bodyIds = new Ids<>();
+		private final Ids<Fixture> fixtureIds = new Ids<>();
+		private final Ids<Joint> jointIds = new Ids<>();
+
+		/** the gear joints created in the current frame, written last because they reference other joints */
+		private final Array<Joint> gearJoints = new Array<>();
+
+		/** used to read the complete state of created bodies */
+		private final BodyChange bodyChange = new BodyChange();
+
+		private final Vector2 vec2 = new Vector2();
+
+		private final DistanceJointDef distanceJointDef = new DistanceJointDef();
+		private final FrictionJointDef frictionJointDef = new FrictionJointDef();
+		private final GearJointDef gearJointDef = new GearJointDef();
+		private final MotorJointDef motorJointDef = new MotorJointDef();
+		private final MouseJointDef mouseJointDef = new MouseJointDef();
+		private final PrismaticJointDef prismaticJointDef = new PrismaticJointDef();
+		private final PulleyJointDef pulleyJointDef = new PulleyJointDef();
+		private final RevoluteJointDef revoluteJointDef = new RevoluteJointDef();
+		private final RopeJointDef ropeJointDef = new RopeJointDef();
+		private final WeldJointDef weldJointDef = new WeldJointDef();
+		private final WheelJointDef wheelJointDef = new WheelJointDef();
+
+		/** @param buffer the {@link #buffer} */
+		public Encoder(ByteBuffer buffer) {
+			this(buffer, 0);
+		}
+
+		/** @param buffer the {@link #buffer}
+		 *  @param quantization the {@link #quantization} */
+		public Encoder(ByteBuffer buffer, float quantization) {
+			this.buffer = buffer;
+			this.quantization = quantization;
+			bodyChange.setBoxing(false);
+		}
+
+		@Override
+		public void setOn(WorldObserver observer) {}
+
+		@Override
+		public void removedFrom(WorldObserver observer) {}
+
+		@Override
+		public void preUpdate(World world, float step) {
+			buffer.putFloat(quantization);
+		}
+
+		@Override
+		public void postUpdate(World world, float step) {
+			for(Joint joint : gearJoints)
+				writeJoint(joint);
+			gearJoints.clear();
+			buffer.put(END);
+		}
+
+		@Override
+		public void changed(World world, WorldChange change) {
+			long mask = (change.newGravity != null ? GRAVITY : 0) | (change.newAutoClearForces != null ? AUTO_CLEAR_FORCES : 0);
+			if(mask == 0)
+				return;
+			buffer.put(WORLD_CHANGED);
+			putVarLong(buffer, mask);
+			putOptional(buffer, change.newGravity);
+			if(change.newAutoClearForces != null)
+				buffer.put((byte) (change.newAutoClearForces ? 1 : 0));
+		}
+
+		@Override
+		public void changed(Body body, BodyChange change) {
+			long mask = change.getDirty() & ~BODY_IGNORED;
+			int id = bodyIds.get(body);
+			if(mask == 0 || id == -1)
+				return;
+			buffer.put(BODY_CHANGED);
+			putVarLong(buffer, id);
+			writeBody(change, mask);
+		}
+
+		@Override
+		public void created(Body body) {
+			bodyChange.reset();
+			bodyChange.setBoxing(false);
+			bodyChange.update(body);
+			buffer.put(BODY_CREATED);
+			putVarLong(buffer, bodyIds.add(body));
+			// the mass data results from the fixtures created afterwards
+			writeBody(bodyChange, BodyChange.TRANSFORM | BodyChange.TYPE | BodyChange.ANGULAR_DAMPING | BodyChange.ANGULAR_VELOCITY | BodyChange.LINEAR_DAMPING | BodyChange.GRAVITY_SCALE | BodyChange.LINEAR_VELOCITY | BODY_FLAGS);
+		}
+
+		@Override
+		public void destroyed(Body body) {
+			int id = bodyIds.remove(body);
+			if(id == -1)
+				return;
+			buffer.put(BODY_DESTROYED);
+			putVarLong(buffer, id);
+		}
+
+		/** writes the given properties of the given BodyChange */
+		private void writeBody(BodyChange change, long mask) {
+			putVarLong(buffer, mask);
+			if((mask & BodyChange.TRANSFORM) != 0) {
+				Transform transform = change.getTransform();
+				putQuantized(buffer, transform.vals[Transform.POS_X], quantization);
+				putQuantized(buffer, transform.vals[Transform.POS_Y], quantization);
+				putQuantized(buffer, transform.getRotation(), quantization);
+			}
+			if((mask & BodyChange.TYPE) != 0)
+				buffer.put((byte) change.getType().ordinal());
+			if((mask & BodyChange.ANGULAR_DAMPING) != 0)
+				buffer.putFloat(change.getAngularDamping());
+			if((mask & BodyChange.ANGULAR_VELOCITY) != 0)
+				putQuantized(buffer, change.getAngularVelocity(), quantization);
+			if((mask & BodyChange.LINEAR_DAMPING) != 0)
+				buffer.putFloat(change.getLinearDamping());
+			if((mask & BodyChange.GRAVITY_SCALE) != 0)
+				buffer.putFloat(change.getGravityScale());
+			if((mask & BodyChange.LINEAR_VELOCITY) != 0) {
+				putQuantized(buffer, change.getLinearVelocity().x, quantization);
+				putQuantized(buffer, change.getLinearVelocity().y, quantization);
+			}
+			if((mask & BodyChange.MASS_DATA) != 0) {
+				MassData massData = change.getMassData();
+				buffer.putFloat(massData.mass).putFloat(massData.center.x).putFloat(massData.center.y).putFloat(massData.I);
+			}
+			if((mask & BODY_FLAGS) != 0)
+				buffer.put((byte) ((change.isFixedRotation() ? 1 : 0) | (change.isBullet() ? 2 : 0) | (change.isAwake() ? 4 : 0) | (change.isActive() ? 8 : 0) | (change.isSleepingAllowed() ? 16 : 0)));
+		}
+
+		@Override
+		public void changed(Fixture fixture, FixtureChange change) {
+			long mask = change.getDirty() & ~FIXTURE_IGNORED;
+			int id = fixtureIds.get(fixture);
+			if(mask == 0 || id == -1)
+				return;
+			buffer.put(FIXTURE_CHANGED);
+			putVarLong(buffer, id);
+			putVarLong(buffer, mask);
+			if((mask & FixtureChange.DENSITY) != 0)
+				buffer.putFloat(change.getDensity());
+			if((mask & FixtureChange.FRICTION) != 0)
+				buffer.putFloat(change.getFriction());
+			if((mask & FixtureChange.RESTITUTION) != 0)
+				buffer.putFloat(change.getRestitution());
+			if((mask & FixtureChange.FILTER) != 0) {
+				Filter filter = change.getFilter();
+				buffer.putShort(filter.categoryBits).putShort(filter.maskBits).putShort(filter.groupIndex);
+			}
+			if((mask & FixtureChange.SENSOR) != 0)
+				buffer.put((byte) (change.isSensor() ? 1 : 0));
+		}
+
+		@Override
+		public void created(Fixture fixture) {
+			int bodyId = bodyIds.get(fixture.getBody());
+			if(bodyId == -1)
+				return;
+			buffer.put(FIXTURE_CREATED);
+			putVarLong(buffer, fixtureIds.add(fixture));
+			putVarLong(buffer, bodyId);
+			writeShape(fixture.getShape());
+			Filter filter = fixture.getFilterData();
+			buffer.putFloat(fixture.getDensity()).putFloat(fixture.getFriction()).putFloat(fixture.getRestitution());
+			buffer.put((byte) (fixture.isSensor() ? 1 : 0));
+			buffer.putShort(filter.categoryBits).putShort(filter.maskBits).putShort(filter.groupIndex);
+		}
+
+		@Override
+		public void destroyed(Fixture fixture) {
+			int id = fixtureIds.remove(fixture);
+			if(id == -1)
+				return;
+			buffer.put(FIXTURE_DESTROYED);
+			putVarLong(buffer, id);
+		}
+
+		/** writes the type and geometry of the given Shape */
+		private void writeShape(Shape shape) {
+			Shape.Type type = shape.getType();
+			buffer.put((byte) type.ordinal());
+			buffer.putFloat(shape.getRadius());
+			switch(type) {
+			case Circle:
+				put(buffer, ((CircleShape) shape).getPosition());
+				break;
+			case Polygon:
+				PolygonShape polygonShape = (PolygonShape) shape;
+				putVarLong(buffer, polygonShape.getVertexCount());
+				for(int i = 0; i < polygonShape.getVertexCount(); i++) {
+					polygonShape.getVertex(i, vec2);
+					put(buffer, vec2);
+				}
+				break;
+			case Edge:
+				EdgeShape edgeShape = (EdgeShape) shape;
+				edgeShape.getVertex1(vec2);
+				put(buffer, vec2);
+				edgeShape.getVertex2(vec2);
+				put(buffer, vec2);
+				buffer.put((byte) ((edgeShape.hasVertex0() ? 1 : 0) | (edgeShape.hasVertex3() ? 2 : 0)));
+				if(edgeShape.hasVertex0()) {
+					edgeShape.getVertex0(vec2);
+					put(buffer, vec2);
+				}
+				if(edgeShape.hasVertex3()) {
+					edgeShape.getVertex3(vec2);
+					put(buffer, vec2);
+				}
+				break;
+			case Chain:
+				ChainShape chainShape = (ChainShape) shape;
+				boolean looped = chainShape.isLooped();
+				int vertexCount = looped ? chainShape.getVertexCount() - 1 : chainShape.getVertexCount(); // a loop repeats its first vertex
+				buffer.put((byte) (looped ? 1 : 0));
+				putVarLong(buffer, vertexCount);
+				for(int i = 0; i < vertexCount; i++) {
+					chainShape.getVertex(i, vec2);
+					put(buffer, vec2);
+				}
+			}
+		}
+
+		@Override
+		public void changed(Joint joint, JointChange<?> change) {
+			int id = jointIds.get(joint);
+			if(id == -1)
+				return;
+			switch(joint.getType()) {
+			case RevoluteJoint: {
+				RevoluteJointChange c = (RevoluteJointChange) change;
+				if(header(id, bit(c.newLowerLimit, 0) | bit(c.newUpperLimit, 1) | bit(c.newMaxMotorTorque, 2) | bit(c.newMotorSpeed, 3))) {
+					putOptional(buffer, c.newLowerLimit);
+					putOptional(buffer, c.newUpperLimit);
+					putOptional(buffer, c.newMaxMotorTorque);
+					putOptional(buffer, c.newMotorSpeed);
+				}
+				break;
+			}
+			case PrismaticJoint: {
+				PrismaticJointChange c = (PrismaticJointChange) change;
+				if(header(id, bit(c.newLowerLimit, 0) | bit(c.newUpperLimit, 1) | bit(c.newMaxMotorForce, 2) | bit(c.newMotorSpeed, 3))) {
+					putOptional(buffer, c.newLowerLimit);
+					putOptional(buffer, c.newUpperLimit);
+					putOptional(buffer, c.newMaxMotorForce);
+					putOptional(buffer, c.newMotorSpeed);
+				}
+				break;
+			}
+			case DistanceJoint: {
+				DistanceJointChange c = (DistanceJointChange) change;
+				if(header(id, bit(c.newDampingRatio, 0) | bit(c.newFrequency, 1) | bit(c.newLength, 2))) {
+					putOptional(buffer, c.newDampingRatio);
+					putOptional(buffer, c.newFrequency);
+					putOptional(buffer, c.newLength);
+				}
+				break;
+			}
+			case MouseJoint: {
+				MouseJointChange c = (MouseJointChange) change;
+				if(header(id, bit(c.newDampingRatio, 0) | bit(c.newFrequency, 1) | bit(c.newMaxForce, 2) | bit(c.newTarget, 3))) {
+					putOptional(buffer, c.newDampingRatio);
+					putOptional(buffer, c.newFrequency);
+					putOptional(buffer, c.newMaxForce);
+					putOptional(buffer, c.newTarget);
+				}
+				break;
+			}
+			case GearJoint: {
+				GearJointChange c = (GearJointChange) change;
+				if(header(id, bit(c.newRatio, 0)))
+					putOptional(buffer, c.newRatio);
+				break;
+			}
+			case WheelJoint: {
+				WheelJointChange c = (WheelJointChange) change;
+				if(header(id, bit(c.newSpringDampingRatio, 0) | bit(c.newSpringFrequencyHz, 1) | bit(c.newMaxMotorTorque, 2) | bit(c.newMotorSpeed, 3))) {
+					putOptional(buffer, c.newSpringDampingRatio);
+					putOptional(buffer, c.newSpringFrequencyHz);
+					putOptional(buffer, c.newMaxMotorTorque);
+					putOptional(buffer, c.newMotorSpeed);
+				}
+				break;
+			}
+			case WeldJoint: {
+				WeldJointChange c = (WeldJointChange) change;
+				if(header(id, bit(c.newDampingRatio, 0) | bit(c.newFrequency, 1))) {
+					putOptional(buffer, c.newDampingRatio);
+					putOptional(buffer, c.newFrequency);
+				}
+				break;
+			}
+			case FrictionJoint: {
+				FrictionJointChange c = (FrictionJointChange) change;
+				if(header(id, bit(c.newMaxForce, 0) | bit(c.newMaxTorque, 1))) {
+					putOptional(buffer, c.newMaxForce);
+					putOptional(buffer, c.newMaxTorque);
+				}
+				break;
+			}
+			case RopeJoint: {
+				RopeJointChange c = (RopeJointChange) change;
+				if(header(id, bit(c.newMaxLength, 0)))
+					putOptional(buffer, c.newMaxLength);
+				break;
+			}
+			case MotorJoint: {
+				MotorJointChange c = (MotorJointChange) change;
+				if(header(id, bit(c.newMaxForce, 0) | bit(c.newMaxTorque, 1) | bit(c.newCorrectionFactor, 2) | bit(c.newAngularOffset, 3) | bit(c.newLinearOffset, 4))) {
+					putOptional(buffer, c.newMaxForce);
+					putOptional(buffer, c.newMaxTorque);
+					putOptional(buffer, c.newCorrectionFactor);
+					putOptional(buffer, c.newAngularOffset);
+					putOptional(buffer, c.newLinearOffset);
+				}
+			}
+			}
+		}
+
+		/** writes the header of a {@link #JOINT_CHANGED} record if the mask is not 0
+		 *  @return if the header was written */
+		private boolean header(int id, long mask) {
+			if(mask == 0)
+				return false;
+			buffer.put(JOINT_CHANGED);
+			putVarLong(buffer, id);
+			putVarLong(buffer, mask);
+			return true;
+		}
+
+		@Override
+		public void created(Joint joint) {
+			JointType type = joint.getType();
+			if(type == JointType.Unknown || bodyIds.get(joint.getBodyA()) == -1 || bodyIds.get(joint.getBodyB()) == -1)
+				return;
+			if(type == JointType.GearJoint)
+				gearJoints.add(joint);
+			else
+				writeJoint(joint);
+		}
+
+		/** writes a {@link #JOINT_CREATED} record */
+		private void writeJoint(Joint joint) {
+			JointDef jointDef;
+			switch(joint.getType()) {
+			case DistanceJoint:
+				jointDef = Box2DUtils.set(distanceJointDef, (DistanceJoint) joint);
+				break;
+			case FrictionJoint:
+				jointDef = Box2DUtils.set(frictionJointDef, (FrictionJoint) joint);
+				break;
+			case GearJoint:
+				jointDef = Box2DUtils.set(gearJointDef, (GearJoint) joint);
+				if(jointIds.get(gearJointDef.joint1) == -1 || jointIds.get(gearJointDef.joint2) == -1)
+					return;
+				break;
+			case MotorJoint:
+				jointDef = Box2DUtils.set(motorJointDef, (MotorJoint) joint);
+				break;
+			case MouseJoint:
+				jointDef = Box2DUtils.set(mouseJointDef, (MouseJoint) joint);
+				break;
+			case PrismaticJoint:
+				jointDef = Box2DUtils.set(prismaticJointDef, (PrismaticJoint) joint);
+				break;
+			case PulleyJoint:
+				jointDef = Box2DUtils.set(pulleyJointDef, (PulleyJoint) joint);
+				break;
+			case RevoluteJoint:
+				jointDef = Box2DUtils.set(revoluteJointDef, (RevoluteJoint) joint);
+				break;
+			case RopeJoint:
+				jointDef = Box2DUtils.set(ropeJointDef, (RopeJoint) joint);
+				break;
+			case WeldJoint:
+				jointDef = Box2DUtils.set(weldJointDef, (WeldJoint) joint);
+				break;
+			case WheelJoint:
+				jointDef = Box2DUtils.set(wheelJointDef, (WheelJoint) joint);
+				break;
+			default:
+				return;
+			}
+			buffer.put(JOINT_CREATED);
+			putVarLong(buffer, jointIds.add(joint));
+			buffer.put((byte) jointDef.type.ordinal());
+			putVarLong(buffer, bodyIds.get(jointDef.bodyA));
+			putVarLong(buffer, bodyIds.get(jointDef.bodyB));
+			buffer.put((byte) (jointDef.collideConnected ? 1 : 0));
+			writeJointDef(jointDef);
+			jointDef.bodyA = jointDef.bodyB = null;
+			gearJointDef.joint1 = gearJointDef.joint2 = null;
+		}
+
+		/** writes the properties specific to the type of the given JointDef */
+		private void writeJointDef(JointDef jointDef) {
+			switch(jointDef.type) {
+			case DistanceJoint:
+				DistanceJointDef distanceJointDef = (DistanceJointDef) jointDef;
+				put(buffer, distanceJointDef.localAnchorA);
+				put(buffer, distanceJointDef.localAnchorB);
+				buffer.putFloat(distanceJointDef.length).putFloat(distanceJointDef.frequencyHz).putFloat(distanceJointDef.dampingRatio);
+				break;
+			case FrictionJoint:
+				FrictionJointDef frictionJointDef = (FrictionJointDef) jointDef;
+				put(buffer, frictionJointDef.localAnchorA);
+				put(buffer, frictionJointDef.localAnchorB);
+				buffer.putFloat(frictionJointDef.maxForce).putFloat(frictionJointDef.maxTorque);
+				break;
+			case GearJoint:
+				GearJointDef gearJointDef = (GearJointDef) jointDef;
+				putVarLong(buffer, jointIds.get(gearJointDef.joint1));
+				putVarLong(buffer, jointIds.get(gearJointDef.joint2));
+				buffer.putFloat(gearJointDef.ratio);
+				break;
+			case MotorJoint:
+				MotorJointDef motorJointDef = (MotorJointDef) jointDef;
+				put(buffer, motorJointDef.linearOffset);
+				buffer.putFloat(motorJointDef.angularOffset).putFloat(motorJointDef.maxForce).putFloat(motorJointDef.maxTorque).putFloat(motorJointDef.correctionFactor);
+				break;
+			case MouseJoint:
+				MouseJointDef mouseJointDef = (MouseJointDef) jointDef;
+				put(buffer, mouseJointDef.target);
+				buffer.putFloat(mouseJointDef.maxForce).putFloat(mouseJointDef.frequencyHz).putFloat(mouseJointDef.dampingRatio);
+				break;
+			case PrismaticJoint:
+				PrismaticJointDef prismaticJointDef = (PrismaticJointDef) jointDef;
+				put(buffer, prismaticJointDef.localAnchorA);
+				put(buffer, prismaticJointDef.localAnchorB);
+				put(buffer, prismaticJointDef.localAxisA);
+				buffer.putFloat(prismaticJointDef.referenceAngle);
+				buffer.put((byte) ((prismaticJointDef.enableLimit ? 1 : 0) | (prismaticJointDef.enableMotor ? 2 : 0)));
+				buffer.putFloat(prismaticJointDef.lowerTranslation).putFloat(prismaticJointDef.upperTranslation).putFloat(prismaticJointDef.maxMotorForce).putFloat(prismaticJointDef.motorSpeed);
+				break;
+			case PulleyJoint:
+				PulleyJointDef pulleyJointDef = (PulleyJointDef) jointDef;
+				put(buffer, pulleyJointDef.groundAnchorA);
+				put(buffer, pulleyJointDef.groundAnchorB);
+				put(buffer, pulleyJointDef.localAnchorA);
+				put(buffer, pulleyJointDef.localAnchorB);
+				buffer.putFloat(pulleyJointDef.lengthA).putFloat(pulleyJointDef.lengthB).putFloat(pulleyJointDef.ratio);
+				break;
+			case RevoluteJoint:
+				RevoluteJointDef revoluteJointDef = (RevoluteJointDef) jointDef;
+				put(buffer, revoluteJointDef.localAnchorA);
+				put(buffer, revoluteJointDef.localAnchorB);
+				buffer.putFloat(revoluteJointDef.referenceAngle);
+				buffer.put((byte) ((revoluteJointDef.enableLimit ? 1 : 0) | (revoluteJointDef.enableMotor ? 2 : 0)));
+				buffer.putFloat(revoluteJointDef.lowerAngle).putFloat(revoluteJointDef.upperAngle).putFloat(revoluteJointDef.maxMotorTorque).putFloat(revoluteJointDef.motorSpeed);
+				break;
+			case RopeJoint:
+				RopeJointDef ropeJointDef = (RopeJointDef) jointDef;
+				put(buffer, ropeJointDef.localAnchorA);
+				put(buffer, ropeJointDef.localAnchorB);
+				buffer.putFloat(ropeJointDef.maxLength);
+				break;
+			case WeldJoint:
+				WeldJointDef weldJointDef = (WeldJointDef) jointDef;
+				put(buffer, weldJointDef.localAnchorA);
+				put(buffer, weldJointDef.localAnchorB);
+				buffer.putFloat(weldJointDef.referenceAngle).putFloat(weldJointDef.frequencyHz).putFloat(weldJointDef.dampingRatio);
+				break;
+			case WheelJoint:
+				WheelJointDef wheelJointDef = (WheelJointDef) jointDef;
+				put(buffer, wheelJointDef.localAnchorA);
+				put(buffer, wheelJointDef.localAnchorB);
+				put(buffer, wheelJointDef.localAxisA);
+				buffer.put((byte) (wheelJointDef.enableMotor ? 1 : 0));
+				buffer.putFloat(wheelJointDef.maxMotorTorque).putFloat(wheelJointDef.motorSpeed).putFloat(wheelJointDef.frequencyHz).putFloat(wheelJointDef.dampingRatio);
+			}
+		}
+
+		@Override
+		public void destroyed(Joint joint) {
+			gearJoints.removeValue(joint, true);
+			int id = jointIds.remove(joint);
+			if(id == -1)
+				return;
+			buffer.put(JOINT_DESTROYED);
+			putVarLong(buffer, id);
+		}
+
+		// getters and setters
+
+		/** @return the {@link #buffer} */
+		public ByteBuffer getBuffer() {
+			return buffer;
+		}
+
+		/** @param buffer the {@link #buffer} to set */
+		public void setBuffer(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		/** @return the {@link #quantization} */
+		public float getQuantization() {
+			return quantization;
+		}
+
+		/** @param quantization the {@link #quantization} to set */
+		public void setQuantization(float quantization) {
+			this.quantization = quantization;
+		}
+
+	}
+
+	/** Reads frames written by an {@link Encoder} and {@link WorldObserver.Change#apply(Object) applies} them to a mirror {@link World}.
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	public static class Decoder implements Disposable {
+
+		/** the World to apply the changes to */
+		private World world;
+
+		/** the objects in the {@link #world} by id */
+		private final Array<Body> bodies = new Array<>();
+		private final Array<Fixture> fixtures = new Array<>();
+		private final Array<Joint> joints = new Array<>();
+
+		/** the ids of the objects in the {@link #world} */
+		private final ObjectIntMap<Fixture> fixtureIds = new ObjectIntMap<>();
+		private final ObjectIntMap<Joint> jointIds = new ObjectIntMap<>();
+
+		private final WorldChange worldChange = new WorldChange();
+		private final BodyChange bodyChange = new BodyChange();
+		private final FixtureChange fixtureChange = new FixtureChange();
+
+		private final BodyDef bodyDef = new BodyDef();
+		private final FixtureDef fixtureDef = new FixtureDef();
+		private final CircleShape circleShape = new CircleShape();
+		private final PolygonShape polygonShape = new PolygonShape();
+		private final EdgeShape edgeShape = new EdgeShape();
+		private final FloatArray vertices = new FloatArray();
+		private final Vector2 vec2 = new Vector2(), vec2_1 = new Vector2();
+
+		private final DistanceJointDef distanceJointDef = new DistanceJointDef();
+		private final FrictionJointDef frictionJointDef = new FrictionJointDef();
+		private final GearJointDef gearJointDef = new GearJointDef();
+		private final MotorJointDef motorJointDef = new MotorJointDef();
+		private final MouseJointDef mouseJointDef = new MouseJointDef();
+		private final PrismaticJointDef prismaticJointDef = new PrismaticJointDef();
+		private final PulleyJointDef pulleyJointDef = new PulleyJointDef();
+		private final RevoluteJointDef revoluteJointDef = new RevoluteJointDef();
+		private final RopeJointDef ropeJointDef = new RopeJointDef();
+		private final WeldJointDef weldJointDef = new WeldJointDef();
+		private final WheelJointDef wheelJointDef = new WheelJointDef();
+
+		/** @param world the {@link #world} */
+		public Decoder(World world) {
+			this.world = world;
+		}
+
+		/** reads one frame from the given buffer and applies it to the {@link #world} */
+		public void decode(ByteBuffer buffer) {
+			float quantization = buffer.getFloat();
+			for(byte tag = buffer.get(); tag != END; tag = buffer.get()) {
+				switch(tag) {
+				case WORLD_CHANGED: {
+					long mask = getVarLong(buffer);
+					worldChange.newGravity = (mask & GRAVITY) != 0 ? vec2.set(buffer.getFloat(), buffer.getFloat()) : null;
+					worldChange.newAutoClearForces = (mask & AUTO_CLEAR_FORCES) != 0 ? buffer.get() != 0 : null;
+					worldChange.apply(world);
+					break;
+				}
+				case BODY_CREATED: {
+					int id = (int) getVarLong(buffer);
+					Body body = world.createBody(bodyDef);
+					set(bodies, id, body);
+					readBody(buffer, quantization);
+					bodyChange.apply(body);
+					break;
+				}
+				case BODY_CHANGED: {
+					Body body = bodies.get((int) getVarLong(buffer));
+					readBody(buffer, quantization);
+					bodyChange.apply(body);
+					break;
+				}
+				case BODY_DESTROYED: {
+					int id = (int) getVarLong(buffer);
+					destroy(bodies.get(id));
+					bodies.set(id, null);
+					break;
+				}
+				case FIXTURE_CREATED:
+					readFixture(buffer);
+					break;
+				case FIXTURE_CHANGED: {
+					Fixture fixture = fixtures.get((int) getVarLong(buffer));
+					long mask = getVarLong(buffer);
+					fixtureChange.reset();
+					fixtureChange.setBoxing(false);
+					if((mask & FixtureChange.DENSITY) != 0)
+						fixtureChange.setDensity(buffer.getFloat());
+					if((mask & FixtureChange.FRICTION) != 0)
+						fixtureChange.setFriction(buffer.getFloat());
+					if((mask & FixtureChange.RESTITUTION) != 0)
+						fixtureChange.setRestitution(buffer.getFloat());
+					if((mask & FixtureChange.FILTER) != 0)
+						fixtureChange.setFilter(buffer.getShort(), buffer.getShort(), buffer.getShort());
+					if((mask & FixtureChange.SENSOR) != 0)
+						fixtureChange.setSensor(buffer.get() != 0);
+					fixtureChange.apply(fixture);
+					break;
+				}
+				case FIXTURE_DESTROYED: {
+					int id = (int) getVarLong(buffer);
+					Fixture fixture = fixtures.get(id);
+					if(fixture != null) { // null if destroyed with its body
+						fixtureIds.remove(fixture, -1);
+						fixture.getBody().destroyFixture(fixture);
+						fixtures.set(id, null);
+					}
+					break;
+				}
+				case JOINT_CREATED:
+					readJoint(buffer);
+					break;
+				case JOINT_CHANGED:
+					readJointChange(buffer);
+					break;
+				case JOINT_DESTROYED: {
+					int id = (int) getVarLong(buffer);
+					Joint joint = joints.get(id);
+					if(joint != null) { // null if destroyed with a body
+						jointIds.remove(joint, -1);
+						world.destroyJoint(joint);
+						joints.set(id, null);
+					}
+					break;
+				}
+				default:
+					throw new IllegalArgumentException("unknown record tag: " + tag);
+				}
+			}
+		}
+
+		/** reads the properties written by {@link Encoder#writeBody(BodyChange, long)} into the {@link #bodyChange} */
+		private void readBody(ByteBuffer buffer, float quantization) {
+			bodyChange.reset();
+			bodyChange.setBoxing(false);
+			long mask = getVarLong(buffer);
+			if((mask & BodyChange.TRANSFORM) != 0)
+				bodyChange.setTransform(getQuantized(buffer, quantization), getQuantized(buffer, quantization), getQuantized(buffer, quantization));
+			if((mask & BodyChange.TYPE) != 0)
+				bodyChange.setType(bodyTypes[buffer.get()]);
+			if((mask & BodyChange.ANGULAR_DAMPING) != 0)
+				bodyChange.setAngularDamping(buffer.getFloat());
+			if((mask & BodyChange.ANGULAR_VELOCITY) != 0)
+				bodyChange.setAngularVelocity(getQuantized(buffer, quantization));
+			if((mask & BodyChange.LINEAR_DAMPING) != 0)
+				bodyChange.setLinearDamping(buffer.getFloat());
+			if((mask & BodyChange.GRAVITY_SCALE) != 0)
+				bodyChange.setGravityScale(buffer.getFloat());
+			if((mask & BodyChange.LINEAR_VELOCITY) != 0)
+				bodyChange.setLinearVelocity(getQuantized(buffer, quantization), getQuantized(buffer, quantization));
+			if((mask & BodyChange.MASS_DATA) != 0)
+				bodyChange.setMassData(buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getFloat());
+			if((mask & BODY_FLAGS) != 0) {
+				byte flags = buffer.get();
+				if((mask & BodyChange.FIXED_ROTATION) != 0)
+					bodyChange.setFixedRotation((flags & 1) != 0);
+				if((mask & BodyChange.BULLET) != 0)
+					bodyChange.setBullet((flags & 2) != 0);
+				if((mask & BodyChange.AWAKE) != 0)
+					bodyChange.setAwake((flags & 4) != 0);
+				if((mask & BodyChange.ACTIVE) != 0)
+					bodyChange.setActive((flags & 8) != 0);
+				if((mask & BodyChange.SLEEPING_ALLOWED) != 0)
+					bodyChange.setSleepingAllowed((flags & 16) != 0);
+			}
+		}
+
+		/** reads a {@link #FIXTURE_CREATED} record and creates the Fixture */
+		private void readFixture(ByteBuffer buffer) {
+			int id = (int) getVarLong(buffer);
+			Body body = bodies.get((int) getVarLong(buffer));
+			Shape.Type type = shapeTypes[buffer.get()];
+			float radius = buffer.getFloat();
+			Shape shape;
+			switch(type) {
+			case Circle:
+				get(buffer, vec2);
+				circleShape.setPosition(vec2);
+				shape = circleShape;
+				break;
+			case Polygon:
+				readVertices(buffer, (int) getVarLong(buffer));
+				polygonShape.set(vertices.items, 0, vertices.size);
+				shape = polygonShape;
+				break;
+			case Edge:
+				get(buffer, vec2);
+				get(buffer, vec2_1);
+				edgeShape.set(vec2, vec2_1);
+				byte ghosts = buffer.get();
+				edgeShape.setHasVertex0((ghosts & 1) != 0);
+				if((ghosts & 1) != 0) {
+					get(buffer, vec2);
+					edgeShape.setVertex0(vec2);
+				}
+				edgeShape.setHasVertex3((ghosts & 2) != 0);
+				if((ghosts & 2) != 0) {
+					get(buffer, vec2);
+					edgeShape.setVertex3(vec2);
+				}
+				shape = edgeShape;
+				break;
+			case Chain:
+				boolean looped = buffer.get() != 0;
+				readVertices(buffer, (int) getVarLong(buffer));
+				ChainShape chainShape = new ChainShape(); // a ChainShape cannot be reused
+				if(looped)
+					chainShape.createLoop(vertices.items, 0, vertices.size);
+				else
+					chainShape.createChain(vertices.items, 0, vertices.size);
+				shape = chainShape;
+				break;
+			default:
+				throw new IllegalArgumentException("unknown shape type: " + type);
+			}
+			shape.setRadius(radius);
+			fixtureDef.shape = shape;
+			fixtureDef.density = buffer.getFloat();
+			fixtureDef.friction = buffer.getFloat();
+			fixtureDef.restitution = buffer.getFloat();
+			fixtureDef.isSensor = buffer.get() != 0;
+			fixtureDef.filter.categoryBits = buffer.getShort();
+			fixtureDef.filter.maskBits = buffer.getShort();
+			fixtureDef.filter.groupIndex = buffer.getShort();
+			Fixture fixture = body.createFixture(fixtureDef);
+			fixtureDef.shape = null;
+			if(type == Shape.Type.Chain)
+				shape.dispose();
+			set(fixtures, id, fixture);
+			fixtureIds.put(fixture, id);
+		}
+
+		/** reads the given number of vertices into {@link #vertices} */
+		private void readVertices(ByteBuffer buffer, int vertexCount) {
+			vertices.clear();
+			vertices.ensureCapacity(vertexCount * 2);
+			for(int i = 0; i < vertexCount * 2; i++)
+				vertices.add(buffer.getFloat());
+		}
+
+		/** reads a {@link #JOINT_CREATED} record and creates the Joint */
+		private void readJoint(ByteBuffer buffer) {
+			int id = (int) getVarLong(buffer);
+			JointType type = jointTypes[buffer.get()];
+			JointDef jointDef;
+			switch(type) {
+			case DistanceJoint:
+				DistanceJointDef distanceJointDef = this.distanceJointDef;
+				jointDef = distanceJointDef;
+				readJointDef(buffer, jointDef);
+				get(buffer, distanceJointDef.localAnchorA);
+				get(buffer, distanceJointDef.localAnchorB);
+				distanceJointDef.length = buffer.getFloat();
+				distanceJointDef.frequencyHz = buffer.getFloat();
+				distanceJointDef.dampingRatio = buffer.getFloat();
+				break;
+			case FrictionJoint:
+				FrictionJointDef frictionJointDef = this.frictionJointDef;
+				jointDef = frictionJointDef;
+				readJointDef(buffer, jointDef);
+				get(buffer, frictionJointDef.localAnchorA);
+				get(buffer, frictionJointDef.localAnchorB);
+				frictionJointDef.maxForce = buffer.getFloat();
+				frictionJointDef.maxTorque = buffer.getFloat();
+				break;
+			case GearJoint:
+				GearJointDef gearJointDef = this.gearJointDef;
+				jointDef = gearJointDef;
+				readJointDef(buffer, jointDef);
+				gearJointDef.joint1 = joints.get((int) getVarLong(buffer));
+				gearJointDef.joint2 = joints.get((int) getVarLong(buffer));
+				gearJointDef.ratio = buffer.getFloat();
+				break;
+			case MotorJoint:
+				MotorJointDef motorJointDef = this.motorJointDef;
+				jointDef = motorJointDef;
+				readJointDef(buffer, jointDef);
+				get(buffer, motorJointDef.linearOffset);
+				motorJointDef.angularOffset = buffer.getFloat();
+				motorJointDef.maxForce = buffer.getFloat();
+				motorJointDef.maxTorque = buffer.getFloat();
+				motorJointDef.correctionFactor = buffer.getFloat();
+				break;
+			case MouseJoint:
+				MouseJointDef mouseJointDef = this.mouseJointDef;
+				jointDef = mouseJointDef;
+				readJointDef(buffer, jointDef);
+				get(buffer, mouseJointDef.target);
+				mouseJointDef.maxForce = buffer.getFloat();
+				mouseJointDef.frequencyHz = buffer.getFloat();
+				mouseJointDef.dampingRatio = buffer.getFloat();
+				break;
+			case PrismaticJoint:
+				PrismaticJointDef prismaticJointDef = this.prismaticJointDef;
+				jointDef = prismaticJointDef;
+				readJointDef(buffer, jointDef);
+				get(buffer, prismaticJointDef.localAnchorA);
+				get(buffer, prismaticJointDef.localAnchorB);
+				get(buffer, prismaticJointDef.localAxisA);
+				prismaticJointDef.referenceAngle = buffer.getFloat();
+				byte flags = buffer.get();
+				prismaticJointDef.enableLimit = (flags & 1) != 0;
+				prismaticJointDef.enableMotor = (flags & 2) != 0;
+				prismaticJointDef.lowerTranslation = buffer.getFloat();
+				prismaticJointDef.upperTranslation = buffer.getFloat();
+				prismaticJointDef.maxMotorForce = buffer.getFloat();
+				prismaticJointDef.motorSpeed = buffer.getFloat();
+				break;
+			case PulleyJoint:
+				PulleyJointDef pulleyJointDef = this.pulleyJointDef;
+				jointDef = pulleyJointDef;
+				readJointDef(buffer, jointDef);
+				get(buffer, pulleyJointDef.groundAnchorA);
+				get(buffer, pulleyJointDef.groundAnchorB);
+				get(buffer, pulleyJointDef.localAnchorA);
+				get(buffer, pulleyJointDef.localAnchorB);
+				pulleyJointDef.lengthA = buffer.getFloat();
+				pulleyJointDef.lengthB = buffer.getFloat();
+				pulleyJointDef.ratio = buffer.getFloat();
+				break;
+			case RevoluteJoint:
+				RevoluteJointDef revoluteJointDef = this.revoluteJointDef;
+				jointDef = revoluteJointDef;
+				readJointDef(buffer, jointDef);
+				get(buffer, revoluteJointDef.localAnchorA);
+				get(buffer, revoluteJointDef.localAnchorB);
+				revoluteJointDef.referenceAngle = buffer.getFloat();
+				flags = buffer.get();
+				revoluteJointDef.enableLimit = (flags & 1) != 0;
+				revoluteJointDef.enableMotor = (flags & 2) != 0;
+				revoluteJointDef.lowerAngle = buffer.getFloat();
+				revoluteJointDef.upperAngle = buffer.getFloat();
+				revoluteJointDef.maxMotorTorque = buffer.getFloat();
+				revoluteJointDef.motorSpeed = buffer.getFloat();
+				break;
+			case RopeJoint:
+				RopeJointDef ropeJointDef = this.ropeJointDef;
+				jointDef = ropeJointDef;
+				readJointDef(buffer, jointDef);
+				get(buffer, ropeJointDef.localAnchorA);
+				get(buffer, ropeJointDef.localAnchorB);
+				ropeJointDef.maxLength = buffer.getFloat();
+				break;
+			case WeldJoint:
+				WeldJointDef weldJointDef = this.weldJointDef;
+				jointDef = weldJointDef;
+				readJointDef(buffer, jointDef);
+				get(buffer, weldJointDef.localAnchorA);
+				get(buffer, weldJointDef.localAnchorB);
+				weldJointDef.referenceAngle = buffer.getFloat();
+				weldJointDef.frequencyHz = buffer.getFloat();
+				weldJointDef.dampingRatio = buffer.getFloat();
+				break;
+			case WheelJoint:
+				WheelJointDef wheelJointDef = this.wheelJointDef;
+				jointDef = wheelJointDef;
+				readJointDef(buffer, jointDef);
+				get(buffer, wheelJointDef.localAnchorA);
+				get(buffer, wheelJointDef.localAnchorB);
+				get(buffer, wheelJointDef.localAxisA);
+				wheelJointDef.enableMotor = buffer.get() != 0;
+				wheelJointDef.maxMotorTorque = buffer.getFloat();
+				wheelJointDef.motorSpeed = buffer.getFloat();
+				wheelJointDef.frequencyHz = buffer.getFloat();
+				wheelJointDef.dampingRatio = buffer.getFloat();
+				break;
+			default:
+				throw new IllegalArgumentException("unknown joint type: " + type);
+			}
+			Joint joint = world.createJoint(jointDef);
+			jointDef.bodyA = jointDef.bodyB = null;
+			gearJointDef.joint1 = gearJointDef.joint2 = null;
+			set(joints, id, joint);
+			jointIds.put(joint, id);
+		}
+
+		/** reads the bodies and {@link JointDef#collideConnected} */
+		private void readJointDef(ByteBuffer buffer, JointDef jointDef) {
+			jointDef.bodyA = bodies.get((int) getVarLong(buffer));
+			jointDef.bodyB = bodies.get((int) getVarLong(buffer));
+			jointDef.collideConnected = buffer.get() != 0;
+		}
+
+		/** reads a {@link #JOINT_CHANGED} record and applies it */
+		@SuppressWarnings("unchecked")
+		private void readJointChange(ByteBuffer buffer) {
+			Joint joint = joints.get((int) getVarLong(buffer));
+			long mask = getVarLong(buffer);
+			JointChange<?> change = JointChange.obtainFor(joint.getType());
+			switch(joint.getType()) {
+			case RevoluteJoint: {
+				RevoluteJointChange c = (RevoluteJointChange) change;
+				c.newLowerLimit = getFloat(buffer, mask, 0);
+				c.newUpperLimit = getFloat(buffer, mask, 1);
+				c.newMaxMotorTorque = getFloat(buffer, mask, 2);
+				c.newMotorSpeed = getFloat(buffer, mask, 3);
+				break;
+			}
+			case PrismaticJoint: {
+				PrismaticJointChange c = (PrismaticJointChange) change;
+				c.newLowerLimit = getFloat(buffer, mask, 0);
+				c.newUpperLimit = getFloat(buffer, mask, 1);
+				c.newMaxMotorForce = getFloat(buffer, mask, 2);
+				c.newMotorSpeed = getFloat(buffer, mask, 3);
+				break;
+			}
+			case DistanceJoint: {
+				DistanceJointChange c = (DistanceJointChange) change;
+				c.newDampingRatio = getFloat(buffer, mask, 0);
+				c.newFrequency = getFloat(buffer, mask, 1);
+				c.newLength = getFloat(buffer, mask, 2);
+				break;
+			}
+			case MouseJoint: {
+				MouseJointChange c = (MouseJointChange) change;
+				c.newDampingRatio = getFloat(buffer, mask, 0);
+				c.newFrequency = getFloat(buffer, mask, 1);
+				c.newMaxForce = getFloat(buffer, mask, 2);
+				c.newTarget = getVector2(buffer, mask, 3, vec2);
+				break;
+			}
+			case GearJoint:
+				((GearJointChange) change).newRatio = getFloat(buffer, mask, 0);
+				break;
+			case WheelJoint: {
+				WheelJointChange c = (WheelJointChange) change;
+				c.newSpringDampingRatio = getFloat(buffer, mask, 0);
+				c.newSpringFrequencyHz = getFloat(buffer, mask, 1);
+				c.newMaxMotorTorque = getFloat(buffer, mask, 2);
+				c.newMotorSpeed = getFloat(buffer, mask, 3);
+				break;
+			}
+			case WeldJoint: {
+				WeldJointChange c = (WeldJointChange) change;
+				c.newDampingRatio = getFloat(buffer, mask, 0);
+				c.newFrequency = getFloat(buffer, mask, 1);
+				break;
+			}
+			case FrictionJoint: {
+				FrictionJointChange c = (FrictionJointChange) change;
+				c.newMaxForce = getFloat(buffer, mask, 0);
+				c.newMaxTorque = getFloat(buffer, mask, 1);
+				break;
+			}
+			case RopeJoint:
+				((RopeJointChange) change).newMaxLength = getFloat(buffer, mask, 0);
+				break;
+			case MotorJoint: {
+				MotorJointChange c = (MotorJointChange) change;
+				c.newMaxForce = getFloat(buffer, mask, 0);
+				c.newMaxTorque = getFloat(buffer, mask, 1);
+				c.newCorrectionFactor = getFloat(buffer, mask, 2);
+				c.newAngularOffset = getFloat(buffer, mask, 3);
+				c.newLinearOffset = getVector2(buffer, mask, 4, vec2);
+			}
+			}
+			((JointChange<Joint>) change).apply(joint);
+			Pools.free(change);
+		}
+
+		/** destroys the given Body and forgets the ids of its Fixtures and Joints */
+		private void destroy(Body body) {
+			for(Fixture fixture : body.getFixtureList()) {
+				int id = fixtureIds.remove(fixture, -1);
+				if(id != -1)
+					fixtures.set(id, null);
+			}
+			for(JointEdge edge : body.getJointList()) {
+				int id = jointIds.remove(edge.joint, -1);
+				if(id != -1)
+					joints.set(id, null);
+			}
+			world.destroyBody(body);
+		}
+
+		/** sets the given index of the given Array, growing it if necessary */
+		private static <T> void set(Array<T> array, int index, T value) {
+			while(array.size <= index)
+				array.add(null);
+			array.set(index, value);
+		}
+
+		/** @param id the id of the Body as encoded by the {@link Encoder}
+		 *  @return the Body in the {@link #world} with the given id or null */
+		public Body getBody(int id) {
+			return id < bodies.size ? bodies.get(id) : null;
+		}
+
+		/** @param id the id of the Fixture as encoded by the {@link Encoder}
+		 *  @return the Fixture in the {@link #world} with the given id or null */
+		public Fixture getFixture(int id) {
+			return id < fixtures.size ? fixtures.get(id) : null;
+		}
+
+		/** @param id the id of the Joint as encoded by the {@link Encoder}
+		 *  @return the Joint in the {@link #world} with the given id or null */
+		public Joint getJoint(int id) {
+			return id < joints.size ? joints.get(id) : null;
+		}
+
+		/** disposes the shapes used to create Fixtures */
+		@Override
+		public void dispose() {
+			circleShape.dispose();
+			polygonShape.dispose();
+			edgeShape.dispose();
+		}
+
+		// getters and setters
+
+		/** @return the {@link #world} */
+		public World getWorld() {
+			return world;
+		}
+
+		/** @param world the {@link #world} to set */
+		public void setWorld(World world) {
+			this.world = world;
+		}
+
+	}
+
+}
@@ -0,0 +1,727 @@
+/** Copyright 2015 Robin Stumm (serverkorken@gmail.com, http://dermetfan.net)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License. */
+
+package net.dermetfan.gdx.physics.box2d;
+
+import java.lang.reflect.Field;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.Map;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.objects.CircleMapObject;
+import com.badlogic.gdx.maps.objects.EllipseMapObject;
+import com.badlogic.gdx.maps.objects.PolygonMapObject;
+import com.badlogic.gdx.maps.objects.PolylineMapObject;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.maps.objects.TextureMapObject;
+import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.math.Ellipse;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.JointDef;
+import com.badlogic.gdx.physics.box2d.JointDef.JointType;
+import com.badlogic.gdx.physics.box2d.Shape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.physics.box2d.joints.DistanceJointDef;
+import com.badlogic.gdx.physics.box2d.joints.FrictionJointDef;
+import com.badlogic.gdx.physics.box2d.joints.GearJointDef;
+import com.badlogic.gdx.physics.box2d.joints.MouseJointDef;
+import com.badlogic.gdx.physics.box2d.joints.PrismaticJointDef;
+import com.badlogic.gdx.physics.box2d.joints.PulleyJointDef;
+import com.badlogic.gdx.physics.box2d.joints.RevoluteJointDef;
+import com.badlogic.gdx.physics.box2d.joints.RopeJointDef;
+import com.badlogic.gdx.physics.box2d.joints.WeldJointDef;
+import com.badlogic.gdx.physics.box2d.joints.WheelJointDef;
+import com.badlogic.gdx.utils.Array;
+import net.dermetfan.gdx.math.BayazitDecomposer;
+import net.dermetfan.gdx.physics.box2d.Box2DMapObjectParser.Aliases;
+import net.dermetfan.gdx.physics.box2d.Box2DMapObjectParser.BodyRecord;
+import net.dermetfan.gdx.physics.box2d.Box2DMapObjectParser.CompiledLayer;
+import net.dermetfan.gdx.physics.box2d.Box2DMapObjectParser.CompiledMap;
+import net.dermetfan.gdx.physics.box2d.Box2DMapObjectParser.FixtureRecord;
+import net.dermetfan.gdx.physics.box2d.Box2DMapObjectParser.JointRecord;
+
+import static net.dermetfan.utils.ByteBufferUtils.getVarInt;
+import static net.dermetfan.utils.ByteBufferUtils.putVarInt;
+
+/** Stores what a {@link Box2DMapObjectParser} {@link Box2DMapObjectParser#compile(Map) compiled} from a {@link Map} in a compact binary file, so that later loads only have to {@link Box2DMapObjectParser#create(World, CompiledMap) create} the Box2D objects.
+ *  The file is keyed by a {@link #hash(Box2DMapObjectParser, Map) hash} of the content of the Map, the {@link Aliases} and the settings of the parser, and is compiled and written again if they changed.
+ *  Files are read into a heap buffer instead of being {@link FileHandle#map() memory-mapped} so that they can be replaced while the CompiledMap is in use. A corrupt file is compiled and written again.<br>
+ *  Note that the {@link Box2DMapObjectParser.Listener} is not part of the hash, so its choices must only depend on the Map. Its methods are not called when loading from a file and the {@code created} methods are given a stand-in MapObject that only has the name of the original one.
+ *  Only user data of type String, Boolean, Integer, Long, Float and Double can be stored.
+ *  <strong>Does NOT work on HTML5!</strong>
+ *  @author dermetfan
+ *  @since 0.13.0 */
+public class CompiledMapCache {
+
+	/** the first bytes of a file */
+	public static final int MAGIC = 0x42324443;
+
+	/** the version of the format, incremented on incompatible changes */
+	public static final byte VERSION = 1;
+
+	/** the tags of user data */
+	private static final byte NULL = 0, STRING = 1, BOOLEAN = 2, INTEGER = 3, LONG = 4, FLOAT = 5, DOUBLE = 6;
+
+	/** the flags of a {@link BodyDef} */
+	private static final byte ALLOW_SLEEP = 1, AWAKE = 1 << 1, FIXED_ROTATION = 1 << 2, BULLET = 1 << 3, ACTIVE = 1 << 4;
+
+	/** the values of {@link BodyType} by ordinal */
+	private static final BodyType[] bodyTypes = BodyType.values();
+
+	/** the values of {@link JointType} by ordinal */
+	private static final JointType[] jointTypes = JointType.values();
+
+	/** the values of {@link Shape.Type} by ordinal */
+	private static final Shape.Type[] shapeTypes = Shape.Type.values();
+
+	/** the charset of Strings */
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/** the buffer files are written from, grown as needed */
+	private ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+
+	/** reads the given file if it is up to date or compiles the given Map and writes the file
+	 *  @param parser the parser to compile the Map with
+	 *  @param map the Map to compile
+	 *  @param file the file to cache the compiled Map in
+	 *  @return the CompiledMap to {@link Box2DMapObjectParser#create(World, CompiledMap) create} */
+	public CompiledMap compile(Box2DMapObjectParser parser, Map map, FileHandle file) {
+		long hash = hash(parser, map);
+		if(file.exists()) {
+			try {
+				CompiledMap compiled = read(ByteBuffer.wrap(file.readBytes()), hash);
+				if(compiled != null)
+					return compiled;
+			} catch(BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException | NegativeArraySizeException ignore) {
+				// the file is truncated or corrupt, compile again
+			}
+		}
+		CompiledMap compiled = parser.compile(map);
+		write(compiled, hash);
+		// write to a temporary file first so that an interrupted write does not leave a truncated file behind
+		FileHandle tmp = file.sibling(file.name() + ".tmp");
+		tmp.writeBytes(buffer.array(), 0, buffer.position(), false);
+		tmp.moveTo(file);
+		return compiled;
+	}
+
+	/** {@link #compile(Box2DMapObjectParser, Map, FileHandle) compiles} the given Map and {@link Box2DMapObjectParser#create(World, CompiledMap) creates} it in the given World
+	 *  @return the given World */
+	public World load(World world, Box2DMapObjectParser parser, Map map, FileHandle file) {
+		return parser.create(world, compile(parser, map, file));
+	}
+
+	// hashing
+
+	/** the FNV-1a parameters */
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L, FNV_PRIME = 0x100000001b3L;
+
+	/** @return a hash of everything that influences what the given parser compiles from the given Map, except for its {@link Box2DMapObjectParser#getListener() listener} */
+	public static long hash(Box2DMapObjectParser parser, Map map) {
+		long hash = hash(FNV_OFFSET, VERSION);
+		hash = hash(hash, parser.getAliases());
+		hash = hash(hash, parser.getUnitScale());
+		hash = hash(hash, parser.isIgnoreMapUnitScale() ? 1 : 0);
+		hash = hash(hash, parser.isIgnoreLayerUnitScale() ? 1 : 0);
+		hash = hash(hash, parser.getTileWidth());
+		hash = hash(hash, parser.getTileHeight());
+		hash = hash(hash, parser.isTriangulate() ? 1 : 0);
+		hash = hash(hash, parser.isMergeRectangles() ? 1 : 0);
+		hash = hash(hash, parser.isBatchStatic() ? 1 : 0);
+		hash = hash(hash, parser.getBatchCellSize());
+		hash = hash(hash, parser.getHeritage());
+		hash = hash(hash, Box2DUtils.check.ordinal());
+		hash = hash(hash, BayazitDecomposer.maxPolygonVertices);
+		hash = hash(hash, map.getProperties());
+		hash = hash(hash, map.getLayers().getCount());
+		for(MapLayer layer : map.getLayers()) {
+			hash = hash(hash, layer.getName());
+			hash = hash(hash, layer.isVisible() ? 1 : 0);
+			hash = hash(hash, layer.getProperties());
+			hash = hash(hash, layer.getObjects().getCount());
+			for(MapObject object : layer.getObjects())
+				hash = hash(hash, object);
+		}
+		return hash;
+	}
+
+	private static long hash(long hash, MapObject object) {
+		hash = hash(hash, object.getClass().getName());
+		hash = hash(hash, object.getName());
+		hash = hash(hash, object.isVisible() ? 1 : 0);
+		hash = hash(hash, object.getProperties());
+		if(object instanceof RectangleMapObject) {
+			Rectangle rectangle = ((RectangleMapObject) object).getRectangle();
+			hash = hash(hash, rectangle.x);
+			hash = hash(hash, rectangle.y);
+			hash = hash(hash, rectangle.width);
+			hash = hash(hash, rectangle.height);
+		} else if(object instanceof PolygonMapObject)
+			hash = hash(hash, ((PolygonMapObject) object).getPolygon().getTransformedVertices());
+		else if(object instanceof PolylineMapObject)
+			hash = hash(hash, ((PolylineMapObject) object).getPolyline().getTransformedVertices());
+		else if(object instanceof CircleMapObject) {
+			Circle circle = ((CircleMapObject) object).getCircle();
+			hash = hash(hash, circle.x);
+			hash = hash(hash, circle.y);
+			hash = hash(hash, circle.radius);
+		} else if(object instanceof EllipseMapObject) {
+			Ellipse ellipse = ((EllipseMapObject) object).getEllipse();
+			hash = hash(hash, ellipse.x);
+			hash = hash(hash, ellipse.y);
+			hash = hash(hash, ellipse.width);
+			hash = hash(hash, ellipse.height);
+		} else if(object instanceof TextureMapObject) {
+			TextureMapObject texture = (TextureMapObject) object;
+			hash = hash(hash, texture.getX());
+			hash = hash(hash, texture.getY());
+		}
+		return hash;
+	}
+
+	/** hashes the keys and values of the given properties in the order of their keys */
+	private static long hash(long hash, MapProperties properties) {
+		if(properties == null)
+			return hash(hash, -1);
+		Array<String> keys = new Array<>(String.class);
+		for(Iterator<String> iterator = properties.getKeys(); iterator.hasNext(); )
+			keys.add(iterator.next());
+		keys.sort();
+		hash = hash(hash, keys.size);
+		for(int i = 0; i < keys.size; i++) {
+			Object value = properties.get(keys.get(i));
+			hash = hash(hash, keys.get(i));
+			hash = hash(hash, value != null ? value.getClass().getName() : null);
+			hash = hash(hash, value != null ? value.toString() : null);
+		}
+		return hash;
+	}
+
+	/** hashes the public String fields of the given Aliases in the order of their names */
+	private static long hash(long hash, Aliases aliases) {
+		Field[] fields = aliases.getClass().getFields();
+		Arrays.sort(fields, new Comparator<Field>() {
+			@Override
+			public int compare(Field a, Field b) {
+				return a.getName().compareTo(b.getName());
+			}
+		});
+		for(Field field : fields) {
+			if(field.getType() != String.class)
+				continue;
+			hash = hash(hash, field.getName());
+			try {
+				hash = hash(hash, (String) field.get(aliases));
+			} catch(IllegalAccessException e) {
+				throw new IllegalStateException("could not read alias " + field.getName(), e);
+			}
+		}
+		return hash;
+	}
+
+	private static long hash(long hash, float[] values) {
+		hash = hash(hash, values.length);
+		for(float value : values)
+			hash = hash(hash, value);
+		return hash;
+	}
+
+	private static long hash(long hash, String value) {
+		if(value == null)
+			return hash(hash, -1);
+		hash = hash(hash, value.length());
+		for(int i = 0; i < value.length(); i++)
+			hash = hash(hash, (int) value.charAt(i));
+		return hash;
+	}
+
+	private static long hash(long hash, float value) {
+		return hash(hash, Float.floatToIntBits(value));
+	}
+
+	private static long hash(long hash, int value) {
+		for(int shift = 0; shift < 32; shift += 8) {
+			hash ^= value >>> shift & 0xFF;
+			hash *= FNV_PRIME;
+		}
+		return hash;
+	}
+
+	// writing
+
+	/** writes the given CompiledMap into the {@link #buffer}
+	 *  @param hash the {@link #hash(Box2DMapObjectParser, Map) hash} to key the data with
+	 *  @return the {@link #buffer}, positioned after the written data */
+	public ByteBuffer write(CompiledMap map, long hash) {
+		buffer.clear();
+		ensure(32);
+		buffer.putInt(MAGIC).put(VERSION).putLong(hash);
+		buffer.putFloat(map.gravityX).putFloat(map.gravityY);
+		buffer.put((byte) (map.autoClearForces == null ? -1 : map.autoClearForces ? 1 : 0));
+		putVarInt(buffer, map.layers.size);
+		for(int i = 0; i < map.layers.size; i++) {
+			CompiledLayer layer = map.layers.get(i);
+			ensure(20);
+			putVarInt(buffer, layer.objects.size);
+			for(int ii = 0; ii < layer.objects.size; ii++)
+				writeBody(layer.objects.get(ii));
+			ensure(5);
+			putVarInt(buffer, layer.bodies.size);
+			for(int ii = 0; ii < layer.bodies.size; ii++)
+				writeBody(layer.bodies.get(ii));
+			ensure(5);
+			putVarInt(buffer, layer.fixtures.size);
+			for(int ii = 0; ii < layer.fixtures.size; ii++)
+				writeFixture(layer.fixtures.get(ii));
+			ensure(5);
+			putVarInt(buffer, layer.joints.size);
+			for(int ii = 0; ii < layer.joints.size; ii++)
+				writeJoint(layer.joints.get(ii));
+		}
+		return buffer;
+	}
+
+	/** makes sure the {@link #buffer} has room for the given number of bytes */
+	private void ensure(int bytes) {
+		if(buffer.remaining() >= bytes)
+			return;
+		ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+		buffer.flip();
+		grown.put(buffer);
+		buffer = grown;
+	}
+
+	private void writeBody(BodyRecord record) {
+		writeString(record.name);
+		writeUserData(record.userData);
+		BodyDef bodyDef = record.bodyDef;
+		ensure(48);
+		buffer.put((byte) bodyDef.type.ordinal());
+		writeVector2(bodyDef.position);
+		buffer.putFloat(bodyDef.angle);
+		writeVector2(bodyDef.linearVelocity);
+		buffer.putFloat(bodyDef.angularVelocity).putFloat(bodyDef.linearDamping).putFloat(bodyDef.angularDamping).putFloat(bodyDef.gravityScale);
+		buffer.put((byte) ((bodyDef.allowSleep ? ALLOW_SLEEP : 0) | (bodyDef.awake ? AWAKE : 0) | (bodyDef.fixedRotation ? FIXED_ROTATION : 0) | (bodyDef.bullet ? BULLET : 0) | (bodyDef.active ? ACTIVE : 0)));
+		putVarInt(buffer, record.fixtures.size);
+		for(int i = 0; i < record.fixtures.size; i++)
+			writeFixture(record.fixtures.get(i));
+	}
+
+	private void writeFixture(FixtureRecord record) {
+		writeString(record.name);
+		writeUserData(record.userData);
+		FixtureDef fixtureDef = record.fixtureDef;
+		ensure(32 + record.vertices.length * 4);
+		buffer.put((byte) record.type.ordinal());
+		buffer.put((byte) (record.box ? 1 : 0));
+		putVarInt(buffer, record.vertices.length);
+		for(float vertex : record.vertices)
+			buffer.putFloat(vertex);
+		buffer.putFloat(fixtureDef.friction).putFloat(fixtureDef.restitution).putFloat(fixtureDef.density);
+		buffer.put((byte) (fixtureDef.isSensor ? 1 : 0));
+		buffer.putShort(fixtureDef.filter.categoryBits).putShort(fixtureDef.filter.maskBits).putShort(fixtureDef.filter.groupIndex);
+		if(record.bodyNames == null)
+			putVarInt(buffer, -1);
+		else {
+			putVarInt(buffer, record.bodyNames.length);
+			for(String name : record.bodyNames)
+				writeString(name);
+		}
+	}
+
+	private void writeJoint(JointRecord record) {
+		writeString(record.name);
+		writeUserData(record.userData);
+		writeString(record.bodyA);
+		writeString(record.bodyB);
+		writeString(record.joint1);
+		writeString(record.joint2);
+		JointDef jointDef = record.jointDef;
+		ensure(64);
+		buffer.put((byte) jointDef.type.ordinal());
+		buffer.put((byte) (jointDef.collideConnected ? 1 : 0));
+		switch(jointDef.type) {
+		case DistanceJoint:
+			DistanceJointDef distanceJointDef = (DistanceJointDef) jointDef;
+			writeVector2(distanceJointDef.localAnchorA);
+			writeVector2(distanceJointDef.localAnchorB);
+			buffer.putFloat(distanceJointDef.length).putFloat(distanceJointDef.frequencyHz).putFloat(distanceJointDef.dampingRatio);
+			break;
+		case FrictionJoint:
+			FrictionJointDef frictionJointDef = (FrictionJointDef) jointDef;
+			writeVector2(frictionJointDef.localAnchorA);
+			writeVector2(frictionJointDef.localAnchorB);
+			buffer.putFloat(frictionJointDef.maxForce).putFloat(frictionJointDef.maxTorque);
+			break;
+		case GearJoint:
+			buffer.putFloat(((GearJointDef) jointDef).ratio);
+			break;
+		case MouseJoint:
+			MouseJointDef mouseJointDef = (MouseJointDef) jointDef;
+			writeVector2(mouseJointDef.target);
+			buffer.putFloat(mouseJointDef.maxForce).putFloat(mouseJointDef.frequencyHz).putFloat(mouseJointDef.dampingRatio);
+			break;
+		case PrismaticJoint:
+			PrismaticJointDef prismaticJointDef = (PrismaticJointDef) jointDef;
+			writeVector2(prismaticJointDef.localAnchorA);
+			writeVector2(prismaticJointDef.localAnchorB);
+			writeVector2(prismaticJointDef.localAxisA);
+			buffer.putFloat(prismaticJointDef.referenceAngle);
+			buffer.put((byte) ((prismaticJointDef.enableLimit ? 1 : 0) | (prismaticJointDef.enableMotor ? 2 : 0)));
+			buffer.putFloat(prismaticJointDef.lowerTranslation).putFloat(prismaticJointDef.upperTranslation).putFloat(prismaticJointDef.maxMotorForce).putFloat(prismaticJointDef.motorSpeed);
+			break;
+		case PulleyJoint:
+			PulleyJointDef pulleyJointDef = (PulleyJointDef) jointDef;
+			writeVector2(pulleyJointDef.groundAnchorA);
+			writeVector2(pulleyJointDef.groundAnchorB);
+			writeVector2(pulleyJointDef.localAnchorA);
+			writeVector2(pulleyJointDef.localAnchorB);
+			buffer.putFloat(pulleyJointDef.lengthA).putFloat(pulleyJointDef.lengthB).putFloat(pulleyJointDef.ratio);
+			break;
+		case RevoluteJoint:
+			RevoluteJointDef revoluteJointDef = (RevoluteJointDef) jointDef;
+			writeVector2(revoluteJointDef.localAnchorA);
+			writeVector2(revoluteJointDef.localAnchorB);
+			buffer.putFloat(revoluteJointDef.referenceAngle);
+			buffer.put((byte) ((revoluteJointDef.enableLimit ? 1 : 0) | (revoluteJointDef.enableMotor ? 2 : 0)));
+			buffer.putFloat(revoluteJointDef.lowerAngle).putFloat(revoluteJointDef.upperAngle).putFloat(revoluteJointDef.maxMotorTorque).putFloat(revoluteJointDef.motorSpeed);
+			break;
+		case RopeJoint:
+			RopeJointDef ropeJointDef = (RopeJointDef) jointDef;
+			writeVector2(ropeJointDef.localAnchorA);
+			writeVector2(ropeJointDef.localAnchorB);
+			buffer.putFloat(ropeJointDef.maxLength);
+			break;
+		case WeldJoint:
+			WeldJointDef weldJointDef = (WeldJointDef) jointDef;
+			writeVector2(weldJointDef.localAnchorA);
+			writeVector2(weldJointDef.localAnchorB);
+			buffer.putFloat(weldJointDef.referenceAngle).putFloat(weldJointDef.frequencyHz).putFloat(weldJointDef.dampingRatio);
+			break;
+		case WheelJoint:
+			WheelJointDef wheelJointDef = (WheelJointDef) jointDef;
+			writeVector2(wheelJointDef.localAnchorA);
+			writeVector2(wheelJointDef.localAnchorB);
+			writeVector2(wheelJointDef.localAxisA);
+			buffer.put((byte) (wheelJointDef.enableMotor ? 1 : 0));
+			buffer.putFloat(wheelJointDef.maxMotorTorque).putFloat(wheelJointDef.motorSpeed).putFloat(wheelJointDef.frequencyHz).putFloat(wheelJointDef.dampingRatio);
+			break;
+		default:
+			throw new IllegalArgumentException("unknown joint type: " + jointDef.type);
+		}
+	}
+
+	private void writeVector2(Vector2 vector) {
+		buffer.putFloat(vector.x).putFloat(vector.y);
+	}
+
+	private void writeString(String string) {
+		if(string == null) {
+			ensure(5);
+			putVarInt(buffer, -1);
+			return;
+		}
+		byte[] bytes = string.getBytes(UTF8);
+		ensure(5 + bytes.length);
+		putVarInt(buffer, bytes.length);
+		buffer.put(bytes);
+	}
+
+	private void writeUserData(Object userData) {
+		ensure(9);
+		if(userData == null)
+			buffer.put(NULL);
+		else if(userData instanceof String) {
+			buffer.put(STRING);
+			writeString((String) userData);
+		} else if(userData instanceof Boolean)
+			buffer.put(BOOLEAN).put((byte) ((Boolean) userData ? 1 : 0));
+		else if(userData instanceof Integer)
+			buffer.put(INTEGER).putInt((Integer) userData);
+		else if(userData instanceof Long)
+			buffer.put(LONG).putLong((Long) userData);
+		else if(userData instanceof Float)
+			buffer.put(FLOAT).putFloat((Float) userData);
+		else if(userData instanceof Double)
+			buffer.put(DOUBLE).putDouble((Double) userData);
+		else
+			throw new IllegalArgumentException("cannot store user data of type " + userData.getClass().getName());
+	}
+
+	// reading
+
+	/** @param buffer the data written by {@link #write(CompiledMap, long)}
+	 *  @param hash the expected {@link #hash(Box2DMapObjectParser, Map) hash}
+	 *  @return the CompiledMap or null if the data is not in this format or not keyed by the given hash */
+	public static CompiledMap read(ByteBuffer buffer, long hash) {
+		if(buffer.remaining() < 13 || buffer.getInt() != MAGIC || buffer.get() != VERSION || buffer.getLong() != hash)
+			return null;
+		CompiledMap map = new CompiledMap();
+		map.gravityX = buffer.getFloat();
+		map.gravityY = buffer.getFloat();
+		byte autoClearForces = buffer.get();
+		map.autoClearForces = autoClearForces == -1 ? null : autoClearForces == 1;
+		int layers = getVarInt(buffer);
+		map.layers.ensureCapacity(layers);
+		for(int i = 0; i < layers; i++) {
+			CompiledLayer layer = new CompiledLayer();
+			int objects = getVarInt(buffer);
+			layer.objects.ensureCapacity(objects);
+			for(int ii = 0; ii < objects; ii++)
+				layer.objects.add(readBody(buffer));
+			int bodies = getVarInt(buffer);
+			layer.bodies.ensureCapacity(bodies);
+			for(int ii = 0; ii < bodies; ii++)
+				layer.bodies.add(readBody(buffer));
+			int fixtures = getVarInt(buffer);
+			layer.fixtures.ensureCapacity(fixtures);
+			for(int ii = 0; ii < fixtures; ii++)
+				layer.fixtures.add(readFixture(buffer));
+			int joints = getVarInt(buffer);
+			layer.joints.ensureCapacity(joints);
+			for(int ii = 0; ii < joints; ii++)
+				layer.joints.add(readJoint(buffer));
+			map.layers.add(layer);
+		}
+		return map;
+	}
+
+	/** @return a MapObject to give the {@link Box2DMapObjectParser.Listener} instead of the MapObject a record was compiled from, which is not stored */
+	private static MapObject standIn(String name) {
+		MapObject object = new MapObject();
+		object.setName(name);
+		return object;
+	}
+
+	private static BodyRecord readBody(ByteBuffer buffer) {
+		BodyRecord record = new BodyRecord();
+		record.name = readString(buffer);
+		record.mapObject = standIn(record.name);
+		record.userData = readUserData(buffer);
+		BodyDef bodyDef = record.bodyDef;
+		bodyDef.type = bodyTypes[buffer.get()];
+		readVector2(buffer, bodyDef.position);
+		bodyDef.angle = buffer.getFloat();
+		readVector2(buffer, bodyDef.linearVelocity);
+		bodyDef.angularVelocity = buffer.getFloat();
+		bodyDef.linearDamping = buffer.getFloat();
+		bodyDef.angularDamping = buffer.getFloat();
+		bodyDef.gravityScale = buffer.getFloat();
+		byte flags = buffer.get();
+		bodyDef.allowSleep = (flags & ALLOW_SLEEP) != 0;
+		bodyDef.awake = (flags & AWAKE) != 0;
+		bodyDef.fixedRotation = (flags & FIXED_ROTATION) != 0;
+		bodyDef.bullet = (flags & BULLET) != 0;
+		bodyDef.active = (flags & ACTIVE) != 0;
+		int fixtures = getVarInt(buffer);
+		record.fixtures.ensureCapacity(fixtures);
+		for(int i = 0; i < fixtures; i++)
+			record.fixtures.add(readFixture(buffer));
+		return record;
+	}
+
+	private static FixtureRecord readFixture(ByteBuffer buffer) {
+		FixtureRecord record = new FixtureRecord();
+		record.name = readString(buffer);
+		record.mapObject = standIn(record.name);
+		record.userData = readUserData(buffer);
+		record.type = shapeTypes[buffer.get()];
+		record.box = buffer.get() != 0;
+		float[] vertices = record.vertices = new float[getVarInt(buffer)];
+		for(int i = 0; i < vertices.length; i++)
+			vertices[i] = buffer.getFloat();
+		FixtureDef fixtureDef = record.fixtureDef;
+		fixtureDef.friction = buffer.getFloat();
+		fixtureDef.restitution = buffer.getFloat();
+		fixtureDef.density = buffer.getFloat();
+		fixtureDef.isSensor = buffer.get() != 0;
+		fixtureDef.filter.categoryBits = buffer.getShort();
+		fixtureDef.filter.maskBits = buffer.getShort();
+		fixtureDef.filter.groupIndex = buffer.getShort();
+		int bodyNames = getVarInt(buffer);
+		if(bodyNames >= 0) {
+			record.bodyNames = new String[bodyNames];
+			for(int i = 0; i < bodyNames; i++)
+				record.bodyNames[i] = readString(buffer);
+		}
+		return record;
+	}
+
+	private static JointRecord readJoint(ByteBuffer buffer) {
+		JointRecord record = new JointRecord();
+		record.name = readString(buffer);
+		record.mapObject = standIn(record.name);
+		record.userData = readUserData(buffer);
+		record.bodyA = readString(buffer);
+		record.bodyB = readString(buffer);
+		record.joint1 = readString(buffer);
+		record.joint2 = readString(buffer);
+		JointType type = jointTypes[buffer.get()];
+		boolean collideConnected = buffer.get() != 0;
+		JointDef jointDef;
+		switch(type) {
+		case DistanceJoint:
+			DistanceJointDef distanceJointDef = new DistanceJointDef();
+			jointDef = distanceJointDef;
+			readVector2(buffer, distanceJointDef.localAnchorA);
+			readVector2(buffer, distanceJointDef.localAnchorB);
+			distanceJointDef.length = buffer.getFloat();
+			distanceJointDef.frequencyHz = buffer.getFloat();
+			distanceJointDef.dampingRatio = buffer.getFloat();
+			break;
+		case FrictionJoint:
+			FrictionJointDef frictionJointDef = new FrictionJointDef();
+			jointDef = frictionJointDef;
+			readVector2(buffer, frictionJointDef.localAnchorA);
+			readVector2(buffer, frictionJointDef.localAnchorB);
+			frictionJointDef.maxForce = buffer.getFloat();
+			frictionJointDef.maxTorque = buffer.getFloat();
+			break;
+		case GearJoint:
+			GearJointDef gearJointDef = new GearJointDef();
+			jointDef = gearJointDef;
+			gearJointDef.ratio = buffer.getFloat();
+			break;
+		case MouseJoint:
+			MouseJointDef mouseJointDef = new MouseJointDef();
+			jointDef = mouseJointDef;
+			readVector2(buffer, mouseJointDef.target);
+			mouseJointDef.maxForce = buffer.getFloat();
+			mouseJointDef.frequencyHz = buffer.getFloat();
+			mouseJointDef.dampingRatio = buffer.getFloat();
+			break;
+		case PrismaticJoint:
+			PrismaticJointDef prismaticJointDef = new PrismaticJointDef();
+			jointDef = prismaticJointDef;
+			readVector2(buffer, prismaticJointDef.localAnchorA);
+			readVector2(buffer, prismaticJointDef.localAnchorB);
+			readVector2(buffer, prismaticJointDef.localAxisA);
+			prismaticJointDef.referenceAngle = buffer.getFloat();
+			byte flags = buffer.get();
+			prismaticJointDef.enableLimit = (flags & 1) != 0;
+			prismaticJointDef.enableMotor = (flags & 2) != 0;
+			prismaticJointDef.lowerTranslation = buffer.getFloat();
+			prismaticJointDef.upperTranslation = buffer.getFloat();
+			prismaticJointDef.maxMotorForce = buffer.getFloat();
+			prismaticJointDef.motorSpeed = buffer.getFloat();
+			break;
+		case PulleyJoint:
+			PulleyJointDef pulleyJointDef = new PulleyJointDef();
+			jointDef = pulleyJointDef;
+			readVector2(buffer, pulleyJointDef.groundAnchorA);
+			readVector2(buffer, pulleyJointDef.groundAnchorB);
+			readVector2(buffer, pulleyJointDef.localAnchorA);
+			readVector2(buffer, pulleyJointDef.localAnchorB);
+			pulleyJointDef.lengthA = buffer.getFloat();
+			pulleyJointDef.lengthB = buffer.getFloat();
+			pulleyJointDef.ratio = buffer.getFloat();
+			break;
+		case RevoluteJoint:
+			RevoluteJointDef revoluteJointDef = new RevoluteJointDef();
+			jointDef = revoluteJointDef;
+			readVector2(buffer, revoluteJointDef.localAnchorA);
+			readVector2(buffer, revoluteJointDef.localAnchorB);
+			revoluteJointDef.referenceAngle = buffer.getFloat();
+			flags = buffer.get();
+			revoluteJointDef.enableLimit = (flags & 1) != 0;
+			revoluteJointDef.enableMotor = (flags & 2) != 0;
+			revoluteJointDef.lowerAngle = buffer.getFloat();
+			revoluteJointDef.upperAngle = buffer.getFloat();
+			revoluteJointDef.maxMotorTorque = buffer.getFloat();
+			revoluteJointDef.motorSpeed = buffer.getFloat();
+			break;
+		case RopeJoint:
+			RopeJointDef ropeJointDef = new RopeJointDef();
+			jointDef = ropeJointDef;
+			readVector2(buffer, ropeJointDef.localAnchorA);
+			readVector2(buffer, ropeJointDef.localAnchorB);
+			ropeJointDef.maxLength = buffer.getFloat();
+			break;
+		case WeldJoint:
+			WeldJointDef weldJointDef = new WeldJointDef();
+			jointDef = weldJointDef;
+			readVector2(buffer, weldJointDef.localAnchorA);
+			readVector2(buffer, weldJointDef.localAnchorB);
+			weldJointDef.referenceAngle = buffer.getFloat();
+			weldJointDef.frequencyHz = buffer.getFloat();
+			weldJointDef.dampingRatio = buffer.getFloat();
+			break;
+		case WheelJoint:
+			WheelJointDef wheelJointDef = new WheelJointDef();
+			jointDef = wheelJointDef;
+			readVector2(buffer, wheelJointDef.localAnchorA);
+			readVector2(buffer, wheelJointDef.localAnchorB);
+			readVector2(buffer, wheelJointDef.localAxisA);
+			wheelJointDef.enableMotor = buffer.get() != 0;
+			wheelJointDef.maxMotorTorque = buffer.getFloat();
+			wheelJointDef.motorSpeed = buffer.getFloat();
+			wheelJointDef.frequencyHz = buffer.getFloat();
+			wheelJointDef.dampingRatio = buffer.getFloat();
+			break;
+		default:
+			throw new IllegalArgumentException("unknown joint type: " + type);
+		}
+		jointDef.collideConnected = collideConnected;
+		record.jointDef = jointDef;
+		return record;
+	}
+
+	private static void readVector2(ByteBuffer buffer, Vector2 vector) {
+		vector.set(buffer.getFloat(), buffer.getFloat());
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		int length = getVarInt(buffer);
+		if(length < 0)
+			return null;
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, UTF8);
+	}
+
+	private static Object readUserData(ByteBuffer buffer) {
+		byte tag = buffer.get();
+		switch(tag) {
+		case NULL:
+			return null;
+		case STRING:
+			return readString(buffer);
+		case BOOLEAN:
+			return buffer.get() != 0;
+		case INTEGER:
+			return buffer.getInt();
+		case LONG:
+			return buffer.getLong();
+		case FLOAT:
+			return buffer.getFloat();
+		case DOUBLE:
+			return buffer.getDouble();
+		default:
+			throw new IllegalArgumentException("unknown user data tag: " + tag);
+		}
+	}
+
+}
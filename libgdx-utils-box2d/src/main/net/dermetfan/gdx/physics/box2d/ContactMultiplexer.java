@@ -17,14 +17,32 @@ package net.dermetfan.gdx.physics.box2d;
 import com.badlogic.gdx.physics.box2d.Contact;
 import com.badlogic.gdx.physics.box2d.ContactImpulse;
 import com.badlogic.gdx.physics.box2d.ContactListener;
+import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.Manifold;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
 import net.dermetfan.gdx.Multiplexer;
 
-/** a {@link ContactListener} that sends {@link Contact Contacts} to an {@link Array} of ContactListeners
+/** a {@link ContactListener} that sends {@link Contact Contacts} to an {@link Array} of ContactListeners.
+ *  Receivers may declare an {@link Interest} to only receive certain callbacks and Contacts of certain fixture categories or user data types.
+ *  The receivers interested in each callback are resolved into a dispatch table that is rebuilt lazily when the receivers or Interests change.
+ *  If the {@link #getReceivers() receivers} are modified directly, call {@link #invalidate()}.
  *  @author dermetfan */
 public class ContactMultiplexer extends Multiplexer<ContactListener> implements ContactListener {
 
+	/** callback flags for {@link Interest#callbacks} */
+	public static final int BEGIN_CONTACT = 1, PRE_SOLVE = 1 << 1, POST_SOLVE = 1 << 2, END_CONTACT = 1 << 3, ALL_CALLBACKS = BEGIN_CONTACT | PRE_SOLVE | POST_SOLVE | END_CONTACT;
+
+	/** the Interests of the receivers that declared one */
+	private final IdentityMap<ContactListener, Interest> interests = new IdentityMap<>();
+
+	/** the dispatch table by callback index (begin, pre solve, post solve, end) */
+	private final Route[] routes = {new Route(), new Route(), new Route(), new Route()};
+
+	/** whether the {@link #routes} have to be rebuilt */
+	private boolean dirty = true;
+
 	public ContactMultiplexer(ContactListener... receivers) {
 		super(receivers);
 	}
@@ -35,26 +53,263 @@ public class ContactMultiplexer extends Multiplexer<ContactListener> implements
 
 	@Override
 	public void beginContact(Contact contact) {
-		for(ContactListener listener : receivers)
-			listener.beginContact(contact);
+		route(0).beginContact(contact);
 	}
 
 	@Override
 	public void preSolve(Contact contact, Manifold oldManifold) {
-		for(ContactListener listener : receivers)
-			listener.preSolve(contact, oldManifold);
+		route(1).preSolve(contact, oldManifold);
 	}
 
 	@Override
 	public void postSolve(Contact contact, ContactImpulse impulse) {
-		for(ContactListener listener : receivers)
-			listener.postSolve(contact, impulse);
+		route(2).postSolve(contact, impulse);
 	}
 
 	@Override
 	public void endContact(Contact contact) {
-		for(ContactListener listener : receivers)
-			listener.endContact(contact);
+		route(3).endContact(contact);
+	}
+
+	/** @param index the index of the callback
+	 *  @return the Route of the callback, rebuilt if necessary */
+	private Route route(int index) {
+		if(dirty)
+			rebuild();
+		return routes[index];
+	}
+
+	/** rebuilds the dispatch table from the receivers and their Interests */
+	private void rebuild() {
+		for(int i = 0; i < routes.length; i++) {
+			Route route = routes[i];
+			route.clear();
+			for(ContactListener receiver : receivers) {
+				Interest interest = interests.get(receiver);
+				if(interest == null)
+					route.add(receiver, (short) -1, null);
+				else if((interest.callbacks & 1 << i) != 0)
+					route.add(receiver, interest.categoryBits, interest.userDataType);
+			}
+		}
+		dirty = false;
+	}
+
+	/** marks the dispatch table to be rebuilt before the next callback */
+	public void invalidate() {
+		dirty = true;
+	}
+
+	@Override
+	public void add(ContactListener receiver) {
+		super.add(receiver);
+		dirty = true;
+	}
+
+	/** @param receiver the receiver to add
+	 *  @param interest the Interest of the receiver, may be null
+	 *  @see #setInterest(ContactListener, Interest) */
+	public void add(ContactListener receiver, Interest interest) {
+		add(receiver);
+		setInterest(receiver, interest);
+	}
+
+	/** @param receiver the receiver to add
+	 *  @param callbacks the {@link Interest#callbacks}
+	 *  @param categoryBits the {@link Interest#categoryBits}
+	 *  @param userDataType the {@link Interest#userDataType} */
+	public void add(ContactListener receiver, int callbacks, short categoryBits, Class<?> userDataType) {
+		add(receiver, new Interest(callbacks, categoryBits, userDataType));
+	}
+
+	/** removes the given receiver once, and its Interest when it was removed as often as it was {@link #add(ContactListener) added} */
+	@Override
+	public boolean remove(ContactListener receiver) {
+		boolean removed = super.remove(receiver);
+		if(!receivers.contains(receiver, true))
+			interests.remove(receiver);
+		dirty = true;
+		return removed;
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		interests.clear();
+		dirty = true;
+	}
+
+	@Override
+	public void setReceivers(Array<ContactListener> receivers) {
+		super.setReceivers(receivers);
+		dirty = true;
+	}
+
+	@Override
+	public void setReceivers(ContactListener... receivers) {
+		super.setReceivers(receivers);
+		dirty = true;
+	}
+
+	/** @param receiver the receiver of which to set the Interest
+	 *  @param interest the Interest of the receiver or null to receive everything */
+	public void setInterest(ContactListener receiver, Interest interest) {
+		if(interest == null)
+			interests.remove(receiver);
+		else
+			interests.put(receiver, interest);
+		dirty = true;
+	}
+
+	/** @param receiver the receiver of which to get the Interest
+	 *  @return the Interest of the receiver or null if it receives everything */
+	public Interest getInterest(ContactListener receiver) {
+		return interests.get(receiver);
+	}
+
+	/** @param fixture the fixture
+	 *  @param type the type
+	 *  @return if the user data of the fixture or its body is an instance of the given type */
+	private static boolean isUserData(Fixture fixture, Class<?> type) {
+		return ClassReflection.isInstance(type, fixture.getUserData()) || ClassReflection.isInstance(type, fixture.getBody().getUserData());
+	}
+
+	/** what a receiver wants to be notified of. Change it using {@link #setInterest(ContactListener, Interest)} or call {@link #invalidate()} after modifying it.
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	public static class Interest {
+
+		/** the callbacks to receive, a combination of {@link #BEGIN_CONTACT}, {@link #PRE_SOLVE}, {@link #POST_SOLVE} and {@link #END_CONTACT} */
+		public int callbacks = ALL_CALLBACKS;
+
+		/** the Contacts in which the {@link com.badlogic.gdx.physics.box2d.Filter#categoryBits category bits} of a fixture have one of these bits set are received */
+		public short categoryBits = -1;
+
+		/** if not null, only Contacts in which the user data of a fixture or its body is an instance of this type are received */
+		public Class<?> userDataType;
+
+		public Interest() {}
+
+		/** @param callbacks the {@link #callbacks} */
+		public Interest(int callbacks) {
+			this.callbacks = callbacks;
+		}
+
+		/** @param callbacks the {@link #callbacks}
+		 *  @param categoryBits the {@link #categoryBits}
+		 *  @param userDataType the {@link #userDataType} */
+		public Interest(int callbacks, short categoryBits, Class<?> userDataType) {
+			this.callbacks = callbacks;
+			this.categoryBits = categoryBits;
+			this.userDataType = userDataType;
+		}
+
+	}
+
+	/** the receivers of one callback with their filters in parallel arrays
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	private static class Route implements ContactListener {
+
+		ContactListener[] listeners = new ContactListener[4];
+
+		short[] categoryBits = new short[4];
+
+		Class<?>[] userDataTypes = new Class<?>[4];
+
+		int size;
+
+		/** whether any receiver filters by category bits or user data type */
+		boolean filtered;
+
+		/** the receivers interested in the current Contact, filled by {@link #select(Contact)} */
+		ContactListener[] matches = new ContactListener[4];
+
+		/** the {@link #matches}, or the {@link #listeners} if no receiver is {@link #filtered} */
+		ContactListener[] selected = listeners;
+
+		void add(ContactListener listener, short categoryBits, Class<?> userDataType) {
+			if(size == listeners.length) {
+				int capacity = size * 2;
+				ContactListener[] listeners = new ContactListener[capacity];
+				System.arraycopy(this.listeners, 0, listeners, 0, size);
+				this.listeners = listeners;
+				short[] bits = new short[capacity];
+				System.arraycopy(this.categoryBits, 0, bits, 0, size);
+				this.categoryBits = bits;
+				Class<?>[] types = new Class<?>[capacity];
+				System.arraycopy(userDataTypes, 0, types, 0, size);
+				userDataTypes = types;
+			}
+			listeners[size] = listener;
+			this.categoryBits[size] = categoryBits;
+			userDataTypes[size] = userDataType;
+			size++;
+			filtered |= categoryBits != -1 || userDataType != null;
+		}
+
+		void clear() {
+			for(int i = 0; i < size; i++) {
+				listeners[i] = null;
+				userDataTypes[i] = null;
+			}
+			for(int i = 0; i < matches.length; i++)
+				matches[i] = null;
+			size = 0;
+			filtered = false;
+		}
+
+		/** @return if the receiver at the given index is interested in the given Contact */
+		boolean accepts(int index, short bits, Fixture fixtureA, Fixture fixtureB) {
+			if((categoryBits[index] & bits) == 0)
+				return false;
+			Class<?> type = userDataTypes[index];
+			return type == null || isUserData(fixtureA, type) || isUserData(fixtureB, type);
+		}
+
+		/** puts the receivers interested in the given Contact at the start of the {@link #selected} array
+		 *  @return the number of selected receivers */
+		int select(Contact contact) {
+			if(!filtered) {
+				selected = listeners;
+				return size;
+			}
+			if(matches.length < size)
+				matches = new ContactListener[listeners.length];
+			Fixture fixtureA = contact.getFixtureA(), fixtureB = contact.getFixtureB();
+			short bits = (short) (fixtureA.getFilterData().categoryBits | fixtureB.getFilterData().categoryBits);
+			int count = 0;
+			for(int i = 0; i < size; i++)
+				if(accepts(i, bits, fixtureA, fixtureB))
+					matches[count++] = listeners[i];
+			selected = matches;
+			return count;
+		}
+
+		@Override
+		public void beginContact(Contact contact) {
+			for(int i = 0, n = select(contact); i < n; i++)
+				selected[i].beginContact(contact);
+		}
+
+		@Override
+		public void preSolve(Contact contact, Manifold oldManifold) {
+			for(int i = 0, n = select(contact); i < n; i++)
+				selected[i].preSolve(contact, oldManifold);
+		}
+
+		@Override
+		public void postSolve(Contact contact, ContactImpulse impulse) {
+			for(int i = 0, n = select(contact); i < n; i++)
+				selected[i].postSolve(contact, impulse);
+		}
+
+		@Override
+		public void endContact(Contact contact) {
+			for(int i = 0, n = select(contact); i < n; i++)
+				selected[i].endContact(contact);
+		}
+
 	}
 
 }
@@ -0,0 +1,369 @@
+/** Copyright 2015 Robin Stumm (serverkorken@gmail.com, http://dermetfan.net)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License. */
+
+package net.dermetfan.gdx.physics.box2d;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Box2DUtils;
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.ContactImpulse;
+import com.badlogic.gdx.physics.box2d.ContactListener;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.Manifold;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.physics.box2d.WorldManifold;
+
+/** A {@link ContactListener} that records contact events into primitive ring buffers during {@link World#step(float, int, int) step} so they can be processed after it.
+ *  The callbacks only copy the {@link Box2DUtils#getAddr(Fixture) fixture addresses}, the world normal and points and the summed impulses, so they are as short as possible and allow to modify the world when the events are {@link #drain(Handler) drained}.
+ *  The buffers are allocated up front and only grow if more events are recorded than fit before they are drained.
+ *  Box2D reuses the addresses of destroyed Fixtures, so the Fixtures of an event can only be {@link #getFixtureA(World, int) looked up} reliably as long as no Fixtures were created since it was recorded.
+ *  Events are referred to by their index from the oldest (0) to the newest ({@link #size()} - 1) recorded event.
+ *  <strong>Does NOT work on HTML5!</strong>
+ *  @author dermetfan
+ *  @since 0.13.0 */
+public class ContactRecorder implements ContactListener {
+
+	/** event types and flags for {@link #events} */
+	public static final int BEGIN_CONTACT = 1, END_CONTACT = 1 << 1, POST_SOLVE = 1 << 2;
+
+	/** the events to record, a combination of {@link #BEGIN_CONTACT}, {@link #END_CONTACT} and {@link #POST_SOLVE} */
+	private int events = BEGIN_CONTACT | END_CONTACT | POST_SOLVE;
+
+	/** the event types */
+	private byte[] types;
+
+	/** the fixture addresses */
+	private long[] fixturesA, fixturesB;
+
+	/** the world normals, two values per event */
+	private float[] normals;
+
+	/** the world points, four values per event */
+	private float[] points;
+
+	/** the number of points */
+	private byte[] pointCounts;
+
+	/** the summed normal and tangent impulses of {@link #POST_SOLVE} events */
+	private float[] normalImpulses, tangentImpulses;
+
+	/** the physical index of the oldest event */
+	private int head;
+
+	/** the number of recorded events */
+	private int size;
+
+	/** {@link #getCapacity() capacity} - 1 */
+	private int mask;
+
+	/** records up to 256 events without growing */
+	public ContactRecorder() {
+		this(256);
+	}
+
+	/** @param capacity the number of events to preallocate, rounded up to the next power of two */
+	public ContactRecorder(int capacity) {
+		allocate(MathUtils.nextPowerOfTwo(Math.max(capacity, 1)));
+	}
+
+	@Override
+	public void beginContact(Contact contact) {
+		if((events & BEGIN_CONTACT) != 0)
+			record(BEGIN_CONTACT, contact);
+	}
+
+	@Override
+	public void preSolve(Contact contact, Manifold oldManifold) {}
+
+	@Override
+	public void postSolve(Contact contact, ContactImpulse impulse) {
+		if((events & POST_SOLVE) == 0)
+			return;
+		int i = record(POST_SOLVE, contact);
+		float[] normal = impulse.getNormalImpulses(), tangent = impulse.getTangentImpulses();
+		float normalSum = 0, tangentSum = 0;
+		for(int n = impulse.getCount() - 1; n >= 0; n--) {
+			normalSum += normal[n];
+			tangentSum += tangent[n];
+		}
+		normalImpulses[i] = normalSum;
+		tangentImpulses[i] = tangentSum;
+	}
+
+	@Override
+	public void endContact(Contact contact) {
+		if((events & END_CONTACT) != 0)
+			record(END_CONTACT, contact);
+	}
+
+	/** @param type the event type
+	 *  @param contact the contact to record
+	 *  @return the physical index of the recorded event */
+	private int record(int type, Contact contact) {
+		if(size == types.length)
+			allocate(types.length * 2);
+		int i = head + size++ & mask;
+		types[i] = (byte) type;
+		fixturesA[i] = Box2DUtils.getAddr(contact.getFixtureA());
+		fixturesB[i] = Box2DUtils.getAddr(contact.getFixtureB());
+		WorldManifold manifold = contact.getWorldManifold();
+		Vector2 normal = manifold.getNormal();
+		normals[i * 2] = normal.x;
+		normals[i * 2 + 1] = normal.y;
+		int count = manifold.getNumberOfContactPoints();
+		Vector2[] worldPoints = manifold.getPoints();
+		for(int p = 0; p < count; p++) {
+			points[i * 4 + p * 2] = worldPoints[p].x;
+			points[i * 4 + p * 2 + 1] = worldPoints[p].y;
+		}
+		pointCounts[i] = (byte) count;
+		normalImpulses[i] = 0;
+		tangentImpulses[i] = 0;
+		return i;
+	}
+
+	/** (re)allocates the buffers, keeping the recorded events
+	 *  @param capacity the new capacity, a power of two */
+	private void allocate(int capacity) {
+		byte[] types = new byte[capacity], pointCounts = new byte[capacity];
+		long[] fixturesA = new long[capacity], fixturesB = new long[capacity];
+		float[] normals = new float[capacity * 2], points = new float[capacity * 4], normalImpulses = new float[capacity], tangentImpulses = new float[capacity];
+		for(int n = 0; n < size; n++) {
+			int i = head + n & mask;
+			types[n] = this.types[i];
+			pointCounts[n] = this.pointCounts[i];
+			fixturesA[n] = this.fixturesA[i];
+			fixturesB[n] = this.fixturesB[i];
+			System.arraycopy(this.normals, i * 2, normals, n * 2, 2);
+			System.arraycopy(this.points, i * 4, points, n * 4, 4);
+			normalImpulses[n] = this.normalImpulses[i];
+			tangentImpulses[n] = this.tangentImpulses[i];
+		}
+		this.types = types;
+		this.pointCounts = pointCounts;
+		this.fixturesA = fixturesA;
+		this.fixturesB = fixturesB;
+		this.normals = normals;
+		this.points = points;
+		this.normalImpulses = normalImpulses;
+		this.tangentImpulses = tangentImpulses;
+		head = 0;
+		mask = capacity - 1;
+	}
+
+	/** passes all recorded events to the given Handler from oldest to newest and removes them.
+	 *  Events recorded while draining, for example the {@link #END_CONTACT} events of Bodies the Handler destroys, are kept for the next drain.
+	 *  @param handler the Handler to process the events with */
+	public void drain(Handler handler) {
+		drain(handler, size);
+	}
+
+	/** passes the oldest recorded events to the given Handler and removes them
+	 *  @param handler the Handler to process the events with
+	 *  @param max the maximum number of events to drain
+	 *  @return the number of drained events */
+	public int drain(Handler handler, int max) {
+		int count = Math.min(max, size);
+		for(int n = 0; n < count; n++)
+			handler.handle(this, n);
+		remove(count);
+		return count;
+	}
+
+	/** passes all recorded events to the given Handler on the given pool and {@link #clear() clears} them when all have been handled.
+	 *  The Handler is called from the threads of the pool in no particular order, so it must be thread-safe and must not modify the world.
+	 *  @param handler the Handler to process the events with
+	 *  @param pool the pool to process the events on
+	 *  @param threshold the number of events up to which a range is processed without splitting it further */
+	public void drain(Handler handler, ForkJoinPool pool, int threshold) {
+		if(threshold < 1)
+			throw new IllegalArgumentException("threshold must be at least 1: " + threshold);
+		if(size > threshold)
+			pool.invoke(new DrainTask(this, handler, 0, size, threshold));
+		else
+			for(int n = 0; n < size; n++)
+				handler.handle(this, n);
+		clear();
+	}
+
+	/** @param count the number of oldest events to remove */
+	private void remove(int count) {
+		head = head + count & mask;
+		size -= count;
+		if(size == 0)
+			head = 0;
+	}
+
+	/** removes all recorded events */
+	public void clear() {
+		head = 0;
+		size = 0;
+	}
+
+	/** @return the number of recorded events */
+	public int size() {
+		return size;
+	}
+
+	/** @return the number of events that can be recorded without growing the buffers */
+	public int getCapacity() {
+		return types.length;
+	}
+
+	/** @param index the index of the event
+	 *  @return the physical index of the event */
+	private int slot(int index) {
+		if(index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);
+		return head + index & mask;
+	}
+
+	/** @param index the index of the event
+	 *  @return the type of the event, one of {@link #BEGIN_CONTACT}, {@link #END_CONTACT} and {@link #POST_SOLVE} */
+	public int getType(int index) {
+		return types[slot(index)];
+	}
+
+	/** @param index the index of the event
+	 *  @return the {@link Box2DUtils#getAddr(Fixture) address} of fixture A */
+	public long getFixtureA(int index) {
+		return fixturesA[slot(index)];
+	}
+
+	/** @param index the index of the event
+	 *  @return the {@link Box2DUtils#getAddr(Fixture) address} of fixture B */
+	public long getFixtureB(int index) {
+		return fixturesB[slot(index)];
+	}
+
+	/** @param world the world the events were recorded in
+	 *  @param index the index of the event
+	 *  @return fixture A, or null if no Fixture exists at its {@link #getFixtureA(int) address} anymore. Box2D reuses the addresses of destroyed Fixtures,
+	 *  so if Fixtures were created since the event was recorded, this may return one of them instead of null. */
+	public Fixture getFixtureA(World world, int index) {
+		return Box2DUtils.getFixture(world, getFixtureA(index));
+	}
+
+	/** @param world the world the events were recorded in
+	 *  @param index the index of the event
+	 *  @return fixture B, or null if no Fixture exists at its {@link #getFixtureB(int) address} anymore. Box2D reuses the addresses of destroyed Fixtures,
+	 *  so if Fixtures were created since the event was recorded, this may return one of them instead of null. */
+	public Fixture getFixtureB(World world, int index) {
+		return Box2DUtils.getFixture(world, getFixtureB(index));
+	}
+
+	/** @param index the index of the event
+	 *  @return the x component of the world normal */
+	public float getNormalX(int index) {
+		return normals[slot(index) * 2];
+	}
+
+	/** @param index the index of the event
+	 *  @return the y component of the world normal */
+	public float getNormalY(int index) {
+		return normals[slot(index) * 2 + 1];
+	}
+
+	/** @param index the index of the event
+	 *  @return the number of world points, 0 to 2 */
+	public int getPointCount(int index) {
+		return pointCounts[slot(index)];
+	}
+
+	/** @param index the index of the event
+	 *  @param point the index of the point, less than the {@link #getPointCount(int) point count}
+	 *  @return the x coordinate of the world point */
+	public float getPointX(int index, int point) {
+		return points[slot(index) * 4 + point * 2];
+	}
+
+	/** @param index the index of the event
+	 *  @param point the index of the point, less than the {@link #getPointCount(int) point count}
+	 *  @return the y coordinate of the world point */
+	public float getPointY(int index, int point) {
+		return points[slot(index) * 4 + point * 2 + 1];
+	}
+
+	/** @param index the index of the event
+	 *  @return the sum of the normal impulses of a {@link #POST_SOLVE} event, 0 for other events */
+	public float getNormalImpulse(int index) {
+		return normalImpulses[slot(index)];
+	}
+
+	/** @param index the index of the event
+	 *  @return the sum of the tangent impulses of a {@link #POST_SOLVE} event, 0 for other events */
+	public float getTangentImpulse(int index) {
+		return tangentImpulses[slot(index)];
+	}
+
+	// getters and setters
+
+	/** @return the {@link #events} */
+	public int getEvents() {
+		return events;
+	}
+
+	/** @param events the {@link #events} to set */
+	public void setEvents(int events) {
+		this.events = events;
+	}
+
+	/** processes recorded events
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	public interface Handler {
+
+		/** @param recorder the recorder to query the event from
+		 *  @param index the index of the event */
+		void handle(ContactRecorder recorder, int index);
+
+	}
+
+	/** handles a range of events, splitting it in halves until it is no longer than the threshold
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	private static class DrainTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final ContactRecorder recorder;
+		private final Handler handler;
+		private final int offset, length, threshold;
+
+		DrainTask(ContactRecorder recorder, Handler handler, int offset, int length, int threshold) {
+			this.recorder = recorder;
+			this.handler = handler;
+			this.offset = offset;
+			this.length = length;
+			this.threshold = threshold;
+		}
+
+		@Override
+		protected void compute() {
+			if(length <= threshold) {
+				for(int n = offset, end = offset + length; n < end; n++)
+					handler.handle(recorder, n);
+				return;
+			}
+			int half = length / 2;
+			invokeAll(new DrainTask(recorder, handler, offset, half, threshold), new DrainTask(recorder, handler, offset + half, length - half, threshold));
+		}
+
+	}
+
+}
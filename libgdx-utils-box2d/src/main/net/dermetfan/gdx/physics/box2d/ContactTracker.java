@@ -0,0 +1,248 @@
+/** Copyright 2015 Robin Stumm (serverkorken@gmail.com, http://dermetfan.net)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License. */
+
+package net.dermetfan.gdx.physics.box2d;
+
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.Box2DUtils;
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.ContactImpulse;
+import com.badlogic.gdx.physics.box2d.ContactListener;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.Manifold;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.Pool;
+
+/** A {@link ContactListener} that keeps track of which Fixtures and Bodies are touching each other.
+ *  The touching partners are updated in {@link #beginContact(Contact)} and {@link #endContact(Contact)} and stored by {@link Box2DUtils#getAddr(Fixture) address},
+ *  so {@link #isTouching(Fixture, Fixture)} and {@link #touchingCount(Fixture)} are constant time without scanning the contact list.
+ *  The partners can be iterated by index without allocation using {@link #touchingCount(Fixture)} and {@link #getTouching(Fixture, int)}.
+ *  To use it alongside other receivers, add it to a {@link ContactMultiplexer} with an {@link ContactMultiplexer.Interest Interest} in {@link ContactMultiplexer#BEGIN_CONTACT} and {@link ContactMultiplexer#END_CONTACT}.
+ *  <strong>Does NOT work on HTML5!</strong>
+ *  @author dermetfan
+ *  @since 0.13.0 */
+public class ContactTracker implements ContactListener {
+
+	/** the touching Fixtures by Fixture address */
+	private final LongMap<Partners> fixtures = new LongMap<>();
+
+	/** the touching Bodies by Body address, excluding the Body itself */
+	private final LongMap<Partners> bodies = new LongMap<>();
+
+	private final Pool<Partners> pool = new Pool<Partners>() {
+		@Override
+		protected Partners newObject() {
+			return new Partners();
+		}
+	};
+
+	private final Pool<Partner> partnerPool = new Pool<Partner>() {
+		@Override
+		protected Partner newObject() {
+			return new Partner();
+		}
+	};
+
+	@Override
+	public void beginContact(Contact contact) {
+		Fixture fixtureA = contact.getFixtureA(), fixtureB = contact.getFixtureB();
+		long a = Box2DUtils.getAddr(fixtureA), b = Box2DUtils.getAddr(fixtureB);
+		add(fixtures, a, b);
+		add(fixtures, b, a);
+		Body bodyA = fixtureA.getBody(), bodyB = fixtureB.getBody();
+		if(bodyA != bodyB) {
+			a = Box2DUtils.getAddr(bodyA);
+			b = Box2DUtils.getAddr(bodyB);
+			add(bodies, a, b);
+			add(bodies, b, a);
+		}
+	}
+
+	@Override
+	public void preSolve(Contact contact, Manifold oldManifold) {}
+
+	@Override
+	public void postSolve(Contact contact, ContactImpulse impulse) {}
+
+	@Override
+	public void endContact(Contact contact) {
+		Fixture fixtureA = contact.getFixtureA(), fixtureB = contact.getFixtureB();
+		long a = Box2DUtils.getAddr(fixtureA), b = Box2DUtils.getAddr(fixtureB);
+		remove(fixtures, a, b);
+		remove(fixtures, b, a);
+		Body bodyA = fixtureA.getBody(), bodyB = fixtureB.getBody();
+		if(bodyA != bodyB) {
+			a = Box2DUtils.getAddr(bodyA);
+			b = Box2DUtils.getAddr(bodyB);
+			remove(bodies, a, b);
+			remove(bodies, b, a);
+		}
+	}
+
+	/** @param map the map to add to
+	 *  @param key the address of the object that touches the partner
+	 *  @param partner the address of the partner */
+	private void add(LongMap<Partners> map, long key, long partner) {
+		Partners partners = map.get(key);
+		if(partners == null)
+			map.put(key, partners = pool.obtain());
+		partners.add(partner, partnerPool);
+	}
+
+	/** @param map the map to remove from
+	 *  @param key the address of the object that stopped touching the partner
+	 *  @param partner the address of the partner */
+	private void remove(LongMap<Partners> map, long key, long partner) {
+		Partners partners = map.get(key);
+		if(partners == null)
+			return;
+		partners.remove(partner, partnerPool);
+		if(partners.partners.size == 0)
+			pool.free(map.remove(key));
+	}
+
+	/** forgets all touching Fixtures and Bodies, for example when the world was disposed */
+	public void clear() {
+		for(Partners partners : fixtures.values()) {
+			partnerPool.freeAll(partners.partners);
+			pool.free(partners);
+		}
+		for(Partners partners : bodies.values()) {
+			partnerPool.freeAll(partners.partners);
+			pool.free(partners);
+		}
+		fixtures.clear();
+		bodies.clear();
+	}
+
+	/** @return if the given Fixture touches any other Fixture */
+	public boolean isTouching(Fixture fixture) {
+		return fixtures.containsKey(Box2DUtils.getAddr(fixture));
+	}
+
+	/** @return if the given Fixtures touch each other */
+	public boolean isTouching(Fixture fixture, Fixture other) {
+		Partners partners = fixtures.get(Box2DUtils.getAddr(fixture));
+		return partners != null && partners.ids.containsKey(Box2DUtils.getAddr(other));
+	}
+
+	/** @return if the given Body touches any other Body */
+	public boolean isTouching(Body body) {
+		return bodies.containsKey(Box2DUtils.getAddr(body));
+	}
+
+	/** @return if the given Bodies touch each other */
+	public boolean isTouching(Body body, Body other) {
+		Partners partners = bodies.get(Box2DUtils.getAddr(body));
+		return partners != null && partners.ids.containsKey(Box2DUtils.getAddr(other));
+	}
+
+	/** @return the number of Fixtures touching the given Fixture */
+	public int touchingCount(Fixture fixture) {
+		Partners partners = fixtures.get(Box2DUtils.getAddr(fixture));
+		return partners == null ? 0 : partners.partners.size;
+	}
+
+	/** @return the number of Bodies touching the given Body */
+	public int touchingCount(Body body) {
+		Partners partners = bodies.get(Box2DUtils.getAddr(body));
+		return partners == null ? 0 : partners.partners.size;
+	}
+
+	/** @param fixture the Fixture of which to get a touching Fixture
+	 *  @param index the index of the touching Fixture, less than {@link #touchingCount(Fixture)}
+	 *  @return the touching Fixture at the given index */
+	public Fixture getTouching(Fixture fixture, int index) {
+		return Box2DUtils.getFixture(fixture.getBody().getWorld(), partners(fixtures, Box2DUtils.getAddr(fixture), index));
+	}
+
+	/** @param body the Body of which to get a touching Body
+	 *  @param index the index of the touching Body, less than {@link #touchingCount(Body)}
+	 *  @return the touching Body at the given index */
+	public Body getTouching(Body body, int index) {
+		return Box2DUtils.getBody(body.getWorld(), partners(bodies, Box2DUtils.getAddr(body), index));
+	}
+
+	/** @return the address of the partner at the given index */
+	private static long partners(LongMap<Partners> map, long key, int index) {
+		Partners partners = map.get(key);
+		int size = partners == null ? 0 : partners.partners.size;
+		if(index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("index can't be >= touching count: " + index + " >= " + size);
+		return partners.partners.get(index).id;
+	}
+
+	/** the touching partners of one Fixture or Body
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	private static class Partners implements Pool.Poolable {
+
+		/** the partners in no particular order, to be accessed by index */
+		final Array<Partner> partners = new Array<>(false, 4, Partner.class);
+
+		/** the {@link #partners} by address */
+		final LongMap<Partner> ids = new LongMap<>(4);
+
+		/** adds a contact with the given partner */
+		void add(long id, Pool<Partner> pool) {
+			Partner partner = ids.get(id);
+			if(partner != null) {
+				partner.count++;
+				return;
+			}
+			partner = pool.obtain();
+			partner.id = id;
+			partner.count = 1;
+			partner.index = partners.size;
+			partners.add(partner);
+			ids.put(id, partner);
+		}
+
+		/** removes a contact with the given partner, and the partner with its last contact */
+		void remove(long id, Pool<Partner> pool) {
+			Partner partner = ids.get(id);
+			if(partner == null || --partner.count > 0)
+				return;
+			ids.remove(id);
+			int index = partner.index;
+			partners.removeIndex(index);
+			if(index < partners.size)
+				partners.get(index).index = index;
+			pool.free(partner);
+		}
+
+		@Override
+		public void reset() {
+			partners.clear();
+			ids.clear();
+		}
+
+	}
+
+	/** the address of a touching partner with the number of contacts with it, since e.g. a chain can touch the same Fixture with several children
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	private static class Partner {
+
+		long id;
+
+		int count;
+
+		/** the index in the {@link Partners#partners} */
+		int index;
+
+	}
+
+}
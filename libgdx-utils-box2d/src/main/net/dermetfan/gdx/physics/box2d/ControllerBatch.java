@@ -0,0 +1,124 @@
+/** Copyright 2015 Robin Stumm (serverkorken@gmail.com, http://dermetfan.net)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License. */
+
+package net.dermetfan.gdx.physics.box2d;
+
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/** Controls explicitly {@link #index(Body) registered} Bodies without scanning the world.
+ *  The values of each Body are kept in {@link #column() columns}, one {@link FloatArray} per value, at the index of the Body.
+ *  An {@link #update(boolean) update} {@link #gather() reads} the state of all Bodies, {@link #compute(int, int) computes} the forces in one loop and {@link #apply(boolean) applies} them.
+ *  {@link #compute(int, int)} only works on the columns, so ranges of Bodies may be computed on different threads, for example by {@link ParallelControllerBatch}.
+ *  @author dermetfan
+ *  @since 0.13.0 */
+public abstract class ControllerBatch {
+
+	/** the registered Bodies */
+	protected final Array<Body> bodies = new Array<>(false, 16, Body.class);
+
+	/** the indices of the {@link #bodies} */
+	private final ObjectIntMap<Body> indices = new ObjectIntMap<>();
+
+	/** the columns, kept at the size of {@link #bodies} */
+	private final Array<FloatArray> columns = new Array<>(FloatArray.class);
+
+	/** @return a new column to keep one value per Body in */
+	protected FloatArray column() {
+		FloatArray column = new FloatArray(false, 16);
+		column.setSize(bodies.size);
+		columns.add(column);
+		return column;
+	}
+
+	/** @param body the Body to register if it is not yet
+	 *  @return the index of the Body in the columns */
+	protected int index(Body body) {
+		int index = indices.get(body, -1);
+		if(index == -1) {
+			index = bodies.size;
+			indices.put(body, index);
+			bodies.add(body);
+			FloatArray[] columns = this.columns.items;
+			for(int i = 0, n = this.columns.size; i < n; i++)
+				columns[i].add(0);
+		}
+		return index;
+	}
+
+	/** @param body the Body
+	 *  @return the index of the Body in the columns or -1 if it is not registered */
+	public int indexOf(Body body) {
+		return indices.get(body, -1);
+	}
+
+	/** removes the given Body, call this before destroying it
+	 *  @return if the Body was registered */
+	public boolean unregister(Body body) {
+		int index = indices.remove(body, -1);
+		if(index == -1)
+			return false;
+		int last = bodies.size - 1;
+		if(index != last)
+			indices.put(bodies.get(last), index);
+		bodies.removeIndex(index);
+		FloatArray[] columns = this.columns.items;
+		for(int i = 0, n = this.columns.size; i < n; i++)
+			columns[i].removeIndex(index);
+		return true;
+	}
+
+	/** removes all Bodies */
+	public void clear() {
+		bodies.clear();
+		indices.clear();
+		FloatArray[] columns = this.columns.items;
+		for(int i = 0, n = this.columns.size; i < n; i++)
+			columns[i].clear();
+	}
+
+	/** @return the number of registered Bodies */
+	public int size() {
+		return bodies.size;
+	}
+
+	/** @param index the index of the Body
+	 *  @return the Body at the given index */
+	public Body getBody(int index) {
+		return bodies.get(index);
+	}
+
+	/** {@link #gather() gathers}, {@link #compute(int, int) computes} and {@link #apply(boolean) applies} for all Bodies on the calling thread
+	 *  @param wake if the Bodies should be woken up */
+	public void update(boolean wake) {
+		gather();
+		compute(0, bodies.size);
+		apply(wake);
+	}
+
+	/** copies the state of the Bodies needed to {@link #compute(int, int) compute} into the columns, must be called on the physics thread */
+	public abstract void gather();
+
+	/** computes the forces of a range of Bodies from the columns without accessing the Bodies
+	 *  @param from the first index
+	 *  @param to the index after the last */
+	public abstract void compute(int from, int to);
+
+	/** applies the {@link #compute(int, int) computed} forces to the Bodies, must be called on the physics thread
+	 *  @param wake if the Bodies should be woken up */
+	public abstract void apply(boolean wake);
+
+}
@@ -0,0 +1,536 @@
+/** Copyright 2015 Robin Stumm (serverkorken@gmail.com, http://dermetfan.net)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License. */
+
+package net.dermetfan.gdx.physics.box2d;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.ContactImpulse;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.Shape;
+import com.badlogic.gdx.physics.box2d.Shape.Type;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.Pool.Poolable;
+
+import static net.dermetfan.gdx.physics.box2d.Box2DUtils.Settings.maxPolygonVertices;
+
+/** Breaks {@link Fixture Fixtures} into convex shards around an impact point, as many as the impact energy allows.
+ *  The shards are the Voronoi cells of seed points scattered around the impact, clipped to the polygon of the Fixture. Circles are approximated by a polygon first.<br>
+ *  Fracturing takes three steps so the geometry can be computed off the physics thread:
+ *  <ol>
+ *  <li>{@link #prepare(Fixture, float, float, float) prepare} copies what is needed from the Fixture into a pooled {@link Plan}; physics thread</li>
+ *  <li>{@link #compute(Plan) compute} fills the Plan with the shard polygons; any thread, no Box2D calls</li>
+ *  <li>{@link #create(World, Plan, Array) create} creates the shard Bodies in one batch and frees the Plan; physics thread</li>
+ *  </ol>
+ *  The {@link #getPending() pending} Plans can be processed together with {@link #computePending()} and {@link #createPending(World, Array)}. A {@link Trigger} prepares Plans for Fixtures that a {@link Breakable.Manager} breaks.
+ *  <strong>Does NOT work on HTML5!</strong>
+ *  @author dermetfan
+ *  @since 0.13.0 */
+public class Fracture {
+
+	/** the number of vertices to approximate a circle with */
+	private static final int circleVertices = 12;
+
+	/** what a {@link Fixture} is fractured from and the shards computed for it
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	public static class Plan implements Poolable {
+
+		/** the Fixture to fracture, only to be used on the physics thread */
+		public Fixture fixture;
+
+		/** the definition of the shard Bodies, {@link Box2DUtils#set(BodyDef, Body) set} from the Body of the {@link #fixture} */
+		public final BodyDef bodyDef = new BodyDef();
+
+		/** the definition of the shard Fixtures, {@link Box2DUtils#set(FixtureDef, Fixture) set} from the {@link #fixture} without its shape */
+		public final FixtureDef fixtureDef = new FixtureDef();
+
+		/** the polygon to fracture in local coordinates of the Body */
+		public final FloatArray polygon = new FloatArray(16);
+
+		/** the impact point in local coordinates of the Body */
+		public float impactX, impactY;
+
+		/** the impact energy */
+		public float energy;
+
+		/** the seed of the random seed points */
+		public long seed;
+
+		/** the vertices of all shards in local coordinates of the Body, one after another */
+		public final FloatArray vertices = new FloatArray(64);
+
+		/** the index in the {@link #vertices} at which each shard starts, followed by the end of the last one */
+		public final IntArray offsets = new IntArray(16);
+
+		/** the centroids of the shards in local coordinates of the Body */
+		public final FloatArray centroids = new FloatArray(16);
+
+		/** if {@link Fracture#compute(Plan)} was called */
+		public boolean computed;
+
+		// temporary, so that computing does not allocate
+
+		final RandomXS128 random = new RandomXS128();
+		final FloatArray seeds = new FloatArray(16);
+		FloatArray cell = new FloatArray(16), clipped = new FloatArray(16);
+
+		/** @return the number of shards */
+		public int getShardCount() {
+			return Math.max(offsets.size - 1, 0);
+		}
+
+		@Override
+		public void reset() {
+			fixture = null;
+			fixtureDef.shape = null;
+			polygon.clear();
+			vertices.clear();
+			offsets.clear();
+			centroids.clear();
+			computed = false;
+		}
+
+	}
+
+	/** A {@link Breakable.Callback} that {@link Fracture#prepare(Fixture, float, float, float) prepares} a Plan for each Fixture it is told is strained enough to break, using the first contact point as impact and the normal impulse as energy.
+	 *  Fixtures that already have a {@link Fracture#isPending(Fixture) pending} Plan are skipped, as a Fixture may be strained by several contacts in one step.
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	public static class Trigger extends Breakable.Callback.Adapter {
+
+		/** the Fracture to prepare the Plans with */
+		private final Fracture fracture;
+
+		/** @param fracture the {@link #fracture} */
+		public Trigger(Fracture fracture) {
+			this.fracture = fracture;
+		}
+
+		/** {@link Fracture#prepare(Fixture, float, float, float) prepares} a Plan for the given Fixture unless it already has a pending one
+		 *  @return false to let it break */
+		@Override
+		public boolean strained(Fixture fixture, Breakable breakable, Contact contact, ContactImpulse impulse, float normalImpulse, float tangentImpulse) {
+			if(fracture.isPending(fixture))
+				return false;
+			Vector2 point;
+			if(contact != null && contact.getWorldManifold().getNumberOfContactPoints() > 0)
+				point = contact.getWorldManifold().getPoints()[0];
+			else
+				point = fixture.getBody().getWorldCenter();
+			fracture.prepare(fixture, point.x, point.y, normalImpulse);
+			return false;
+		}
+
+		/** @return the {@link #fracture} */
+		public Fracture getFracture() {
+			return fracture;
+		}
+
+	}
+
+	/** the {@link Plan Plans} to reuse */
+	private final Pool<Plan> plans = new Pool<Plan>() {
+		@Override
+		protected Plan newObject() {
+			return new Plan();
+		}
+	};
+
+	/** the {@link #prepare(Fixture, float, float, float) prepared} Plans that were not {@link #create(World, Plan, Array) created} yet */
+	private final Array<Plan> pending = new Array<>(Plan.class);
+
+	/** the {@link Plan#fixture Fixtures} of the {@link #pending} Plans */
+	private final ObjectSet<Fixture> pendingFixtures = new ObjectSet<>();
+
+	/** the energy it takes to break off one shard */
+	private float energyPerShard = 1;
+
+	/** the fewest and most shards to break a Fixture into */
+	private int minShards = 2, maxShards = 12;
+
+	/** shards smaller than this are left out */
+	private float minShardArea = .01f;
+
+	/** the part of the energy that pushes the shards away from the impact */
+	private float scatter = .5f;
+
+	/** the {@link BodyType} of the shard Bodies */
+	private BodyType shardType = BodyType.DynamicBody;
+
+	/** used to seed the Plans */
+	private final RandomXS128 random = new RandomXS128();
+
+	/** the Shape reused to create all shards */
+	private PolygonShape shape;
+
+	/** for internal, temporary usage */
+	private final Vector2 vec2 = new Vector2();
+
+	/** Copies what is needed to fracture the given Fixture into a pooled {@link Plan} and adds it to the {@link #pending} Plans. Only polygons and circles can be fractured.
+	 *  @param impactX the x coordinate of the impact point in world coordinates
+	 *  @param impactY the y coordinate of the impact point in world coordinates
+	 *  @param energy the impact energy, see {@link #energyPerShard}
+	 *  @return the prepared Plan */
+	public Plan prepare(Fixture fixture, float impactX, float impactY, float energy) {
+		Shape fixtureShape = fixture.getShape();
+		Type type = fixtureShape.getType();
+		if(type != Type.Polygon && type != Type.Circle)
+			throw new IllegalArgumentException("shapes of the type " + type + " cannot be fractured: " + fixtureShape);
+
+		Body body = fixture.getBody();
+		Plan plan = plans.obtain();
+		plan.fixture = fixture;
+		Box2DUtils.set(plan.bodyDef, body);
+		plan.bodyDef.type = shardType;
+		Box2DUtils.set(plan.fixtureDef, fixture);
+		plan.fixtureDef.shape = null;
+
+		if(type == Type.Polygon)
+			plan.polygon.addAll(Box2DUtils.vertices(fixtureShape));
+		else {
+			CircleShape circle = (CircleShape) fixtureShape;
+			Vector2 center = circle.getPosition();
+			float radius = circle.getRadius();
+			for(int i = 0; i < circleVertices; i++) {
+				float angle = i * MathUtils.PI2 / circleVertices;
+				plan.polygon.add(center.x + MathUtils.cos(angle) * radius);
+				plan.polygon.add(center.y + MathUtils.sin(angle) * radius);
+			}
+		}
+
+		Vector2 impact = body.getLocalPoint(vec2.set(impactX, impactY));
+		plan.impactX = impact.x;
+		plan.impactY = impact.y;
+		plan.energy = energy;
+		plan.seed = random.nextLong();
+		pending.add(plan);
+		pendingFixtures.add(fixture);
+		return plan;
+	}
+
+	/** @param fixture the Fixture to check
+	 *  @return if a Plan was {@link #prepare(Fixture, float, float, float) prepared} for the given Fixture and not {@link #create(World, Plan, Array) created} yet */
+	public boolean isPending(Fixture fixture) {
+		return pendingFixtures.contains(fixture);
+	}
+
+	/** {@link #compute(Plan) computes} all {@link #pending} Plans that were not computed yet */
+	public void computePending() {
+		for(int i = 0; i < pending.size; i++) {
+			Plan plan = pending.get(i);
+			if(!plan.computed)
+				compute(plan);
+		}
+	}
+
+	/** Computes the shards of the given Plan. Does not call Box2D, so it may be called on any thread as long as the settings of this Fracture are not changed meanwhile.
+	 *  @param plan the {@link #prepare(Fixture, float, float, float) prepared} Plan */
+	public void compute(Plan plan) {
+		plan.vertices.clear();
+		plan.offsets.clear();
+		plan.centroids.clear();
+		plan.random.setSeed(plan.seed);
+
+		float[] polygon = plan.polygon.items;
+		int polygonLength = plan.polygon.size;
+		float radius2 = 0;
+		for(int i = 0; i < polygonLength; i += 2) {
+			float dx = polygon[i] - plan.impactX, dy = polygon[i + 1] - plan.impactY;
+			radius2 = Math.max(radius2, dx * dx + dy * dy);
+		}
+		float radius = (float) Math.sqrt(radius2);
+
+		// scatter seeds around the impact, denser near it
+		int count = MathUtils.clamp(Math.round(plan.energy / energyPerShard), minShards, maxShards);
+		FloatArray seeds = plan.seeds;
+		seeds.clear();
+		for(int i = 0; i < count; i++) {
+			float angle = plan.random.nextFloat() * MathUtils.PI2, distance = plan.random.nextFloat();
+			distance *= distance * radius;
+			seeds.add(plan.impactX + MathUtils.cos(angle) * distance);
+			seeds.add(plan.impactY + MathUtils.sin(angle) * distance);
+		}
+
+		// clip the polygon by the bisector of each other seed to get the Voronoi cell of each seed
+		plan.offsets.add(0);
+		for(int i = 0; i < seeds.size; i += 2) {
+			float x = seeds.items[i], y = seeds.items[i + 1];
+			FloatArray cell = plan.cell;
+			cell.clear();
+			cell.addAll(polygon, 0, polygonLength);
+			for(int ii = 0; ii < seeds.size && cell.size >= 6; ii += 2) {
+				if(ii == i)
+					continue;
+				float nx = seeds.items[ii] - x, ny = seeds.items[ii + 1] - y;
+				if(nx == 0 && ny == 0)
+					continue;
+				clip(cell, nx, ny, nx * (x + nx / 2) + ny * (y + ny / 2), plan.clipped);
+				FloatArray swap = cell;
+				cell = plan.clipped;
+				plan.clipped = swap;
+				plan.cell = cell;
+			}
+			weld(cell);
+			addShards(plan, cell);
+		}
+		plan.computed = true;
+	}
+
+	/** clips the given convex polygon to the half-plane {@code nx * x + ny * y <= d} */
+	private static void clip(FloatArray polygon, float nx, float ny, float d, FloatArray output) {
+		output.clear();
+		float[] vertices = polygon.items;
+		int n = polygon.size;
+		for(int i = 0; i < n; i += 2) {
+			int j = (i + 2) % n;
+			float ax = vertices[i], ay = vertices[i + 1], bx = vertices[j], by = vertices[j + 1];
+			float da = nx * ax + ny * ay - d, db = nx * bx + ny * by - d;
+			if(da <= 0) {
+				output.add(ax);
+				output.add(ay);
+			}
+			if(da < 0 && db > 0 || da > 0 && db < 0) {
+				float t = da / (da - db);
+				output.add(ax + (bx - ax) * t);
+				output.add(ay + (by - ay) * t);
+			}
+		}
+	}
+
+	/** removes vertices too close to the previous one for Box2D */
+	private static void weld(FloatArray polygon) {
+		float[] vertices = polygon.items;
+		int size = 0;
+		for(int i = 0; i < polygon.size; i += 2) {
+			if(size > 0) {
+				float dx = vertices[i] - vertices[size - 2], dy = vertices[i + 1] - vertices[size - 1];
+				if(dx * dx + dy * dy < 1e-4f)
+					continue;
+			}
+			vertices[size++] = vertices[i];
+			vertices[size++] = vertices[i + 1];
+		}
+		if(size >= 4) {
+			float dx = vertices[0] - vertices[size - 2], dy = vertices[1] - vertices[size - 1];
+			if(dx * dx + dy * dy < 1e-4f)
+				size -= 2;
+		}
+		polygon.size = size;
+	}
+
+	/** adds the given convex cell to the shards of the given Plan, fanned into pieces if it has too many vertices for Box2D */
+	private void addShards(Plan plan, FloatArray cell) {
+		int vertexCount = cell.size / 2;
+		if(vertexCount < 3)
+			return;
+		float[] vertices = cell.items;
+		for(int start = 1; start < vertexCount - 1; start += maxPolygonVertices - 2) {
+			int end = Math.min(start + maxPolygonVertices - 2, vertexCount - 1);
+			int offset = plan.vertices.size;
+			plan.vertices.add(vertices[0]);
+			plan.vertices.add(vertices[1]);
+			for(int v = start; v <= end; v++) {
+				plan.vertices.add(vertices[v * 2]);
+				plan.vertices.add(vertices[v * 2 + 1]);
+			}
+			if(!addCentroid(plan, offset))
+				plan.vertices.size = offset;
+			else
+				plan.offsets.add(plan.vertices.size);
+		}
+	}
+
+	/** adds the centroid of the shard starting at the given offset to the {@link Plan#centroids}
+	 *  @return false if the shard is smaller than the {@link #minShardArea} */
+	private boolean addCentroid(Plan plan, int offset) {
+		float[] vertices = plan.vertices.items;
+		int end = plan.vertices.size;
+		float area = 0, cx = 0, cy = 0;
+		for(int i = offset; i < end; i += 2) {
+			int j = i + 2 < end ? i + 2 : offset;
+			float cross = vertices[i] * vertices[j + 1] - vertices[j] * vertices[i + 1];
+			area += cross;
+			cx += (vertices[i] + vertices[j]) * cross;
+			cy += (vertices[i + 1] + vertices[j + 1]) * cross;
+		}
+		area /= 2;
+		if(Math.abs(area) < minShardArea)
+			return false;
+		plan.centroids.add(cx / (6 * area));
+		plan.centroids.add(cy / (6 * area));
+		return true;
+	}
+
+	/** {@link #create(World, Plan, Array) creates} all {@link #pending} Plans, {@link #compute(Plan) computing} those that were not computed yet
+	 *  @param output the Array to add the shard Bodies to, may be null */
+	public void createPending(World world, Array<Body> output) {
+		for(int i = 0; i < pending.size; i++) {
+			Plan plan = pending.get(i);
+			if(!plan.computed)
+				compute(plan);
+			createShards(world, plan, output);
+			plans.free(plan);
+		}
+		pending.clear();
+		pendingFixtures.clear();
+	}
+
+	/** Creates a Body for each shard of the given Plan and frees the Plan. The fractured Fixture is left alone, so destroy it yourself or let a {@link Breakable.Manager} destroy it.
+	 *  @param plan the {@link #compute(Plan) computed} Plan
+	 *  @param output the Array to add the shard Bodies to, may be null */
+	public void create(World world, Plan plan, Array<Body> output) {
+		if(!plan.computed)
+			compute(plan);
+		createShards(world, plan, output);
+		if(pending.removeValue(plan, true))
+			pendingFixtures.remove(plan.fixture);
+		plans.free(plan);
+	}
+
+	/** {@link #prepare(Fixture, float, float, float) prepares}, {@link #compute(Plan) computes} and {@link #create(World, Plan, Array) creates} the shards of the given Fixture on the calling thread and destroys it, as well as its Body if it has no Fixtures left
+	 *  @param output the Array to add the shard Bodies to, may be null */
+	public void fracture(Fixture fixture, float impactX, float impactY, float energy, Array<Body> output) {
+		Body body = fixture.getBody();
+		Plan plan = prepare(fixture, impactX, impactY, energy);
+		create(body.getWorld(), plan, output);
+		body.destroyFixture(fixture);
+		if(body.getFixtureList().size == 0)
+			body.getWorld().destroyBody(body);
+	}
+
+	/** creates the shards of the given Plan in one batch, reusing the {@link #shape} */
+	private void createShards(World world, Plan plan, Array<Body> output) {
+		int shards = plan.getShardCount();
+		if(shards == 0)
+			return;
+		if(shape == null)
+			shape = new PolygonShape();
+		FixtureDef fixtureDef = plan.fixtureDef;
+		fixtureDef.shape = shape;
+		float impulse = plan.energy * scatter / shards;
+		float[] vertices = plan.vertices.items, centroids = plan.centroids.items;
+		for(int i = 0; i < shards; i++) {
+			int offset = plan.offsets.get(i);
+			shape.set(vertices, offset, plan.offsets.get(i + 1) - offset);
+			Body body = world.createBody(plan.bodyDef);
+			body.createFixture(fixtureDef);
+			if(impulse > 0) {
+				float dx = centroids[i * 2] - plan.impactX, dy = centroids[i * 2 + 1] - plan.impactY, length = (float) Math.sqrt(dx * dx + dy * dy);
+				if(length > 0) {
+					Vector2 point = body.getWorldPoint(vec2.set(centroids[i * 2], centroids[i * 2 + 1]));
+					float pointX = point.x, pointY = point.y;
+					Vector2 direction = body.getWorldVector(vec2.set(dx / length * impulse, dy / length * impulse));
+					body.applyLinearImpulse(direction.x, direction.y, pointX, pointY, true);
+				}
+			}
+			if(output != null)
+				output.add(body);
+		}
+		fixtureDef.shape = null;
+	}
+
+	/** disposes the Shape reused to create shards and clears the {@link #pending} Plans */
+	public void dispose() {
+		if(shape != null) {
+			shape.dispose();
+			shape = null;
+		}
+		plans.freeAll(pending);
+		pending.clear();
+		pendingFixtures.clear();
+	}
+
+	// getters and setters
+
+	/** @return the {@link #pending} Plans */
+	public Array<Plan> getPending() {
+		return pending;
+	}
+
+	/** @return the {@link #energyPerShard} */
+	public float getEnergyPerShard() {
+		return energyPerShard;
+	}
+
+	/** @param energyPerShard the {@link #energyPerShard} to set */
+	public void setEnergyPerShard(float energyPerShard) {
+		if(energyPerShard <= 0)
+			throw new IllegalArgumentException("energyPerShard must be greater than 0: " + energyPerShard);
+		this.energyPerShard = energyPerShard;
+	}
+
+	/** @return the {@link #minShards} */
+	public int getMinShards() {
+		return minShards;
+	}
+
+	/** @return the {@link #maxShards} */
+	public int getMaxShards() {
+		return maxShards;
+	}
+
+	/** @param minShards the {@link #minShards} to set
+	 *  @param maxShards the {@link #maxShards} to set */
+	public void setShards(int minShards, int maxShards) {
+		if(minShards < 1 || maxShards < minShards)
+			throw new IllegalArgumentException("need 1 <= minShards <= maxShards: " + minShards + ", " + maxShards);
+		this.minShards = minShards;
+		this.maxShards = maxShards;
+	}
+
+	/** @return the {@link #minShardArea} */
+	public float getMinShardArea() {
+		return minShardArea;
+	}
+
+	/** @param minShardArea the {@link #minShardArea} to set */
+	public void setMinShardArea(float minShardArea) {
+		this.minShardArea = minShardArea;
+	}
+
+	/** @return the {@link #scatter} */
+	public float getScatter() {
+		return scatter;
+	}
+
+	/** @param scatter the {@link #scatter} to set */
+	public void setScatter(float scatter) {
+		this.scatter = scatter;
+	}
+
+	/** @return the {@link #shardType} */
+	public BodyType getShardType() {
+		return shardType;
+	}
+
+	/** @param shardType the {@link #shardType} to set */
+	public void setShardType(BodyType shardType) {
+		this.shardType = shardType;
+	}
+
+}
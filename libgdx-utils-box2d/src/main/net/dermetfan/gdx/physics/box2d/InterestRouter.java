@@ -0,0 +1,636 @@
+/** Copyright 2015 Robin Stumm (serverkorken@gmail.com, http://dermetfan.net)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License. */
+
+package net.dermetfan.gdx.physics.box2d;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.Joint;
+import com.badlogic.gdx.physics.box2d.JointEdge;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Bits;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.Pool.Poolable;
+import com.badlogic.gdx.utils.Predicate;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.BodyChange;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.FixtureChange;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.JointChange;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.WorldChange;
+
+/** A {@link WorldObserver.Listener} that routes changes to multiple Listeners, each with an {@link Interest interest region}.
+ *  A Listener only sees the Bodies whose position is inside its region, their Fixtures and the Joints between two such Bodies.
+ *  When a Body enters a region, the Listener is notified of the creation of the Body, its Fixtures and its visible Joints. When it leaves, of their destruction.
+ *  When set on a WorldObserver, this becomes its {@link WorldObserver#setFilter(Predicate) filter} so that Bodies outside of all regions are not diffed.
+ *  The regions containing a Body are resolved using a grid of {@link #cellSize} when the WorldObserver {@link #evaluate(Body) evaluates} it, which is only done for the Bodies it diffs,
+ *  so with an {@link WorldObserver#setIncremental(boolean) incremental} WorldObserver the cost of an update grows with the number of awake Bodies instead of all Bodies.
+ *  When a region changes, the Bodies in the old and new region are looked up in a grid of the Body positions, so sleeping Bodies enter and leave moving regions as well.
+ *  Replacing the filter of the WorldObserver stops Bodies from entering and leaving regions by moving.
+ *  <strong>Does NOT work on HTML5!</strong>
+ *  @author dermetfan
+ *  @since 0.13.0 */
+public class InterestRouter implements WorldObserver.Listener, Predicate<Body> {
+
+	/** the size of a grid cell */
+	private float cellSize;
+
+	/** the maximum number of cells a region may cover before it is checked against every Body instead, also when it changes */
+	private int maxRegionCells = 64;
+
+	/** the Interests by {@link Interest#id id}, null for unused ids */
+	private final Array<Interest> interests = new Array<>();
+
+	/** the ids that are free to reuse */
+	private final IntArray freeIds = new IntArray();
+
+	/** the ids of the Interests overlapping a grid cell, by cell key */
+	private final IntMap<IntArray> cells = new IntMap<>();
+
+	/** the keys of the cells used in the current grid */
+	private final IntArray usedCells = new IntArray();
+
+	/** the ids of the Interests covering more than {@link #maxRegionCells} cells */
+	private final IntArray largeInterests = new IntArray();
+
+	/** the Memberships of the Bodies */
+	private final ObjectMap<Body, Membership> memberships = new ObjectMap<>();
+
+	/** the Memberships by the key of the cell containing their {@link Membership#x position} */
+	private final IntMap<Array<Membership>> bodyCells = new IntMap<>();
+
+	/** the Memberships whose {@link Membership#next next} Interests may differ from their {@link Membership#old old} ones */
+	private final Array<Membership> pendingMemberships = new Array<>();
+
+	/** incremented each update to resolve a Body at most once per update */
+	private int frame;
+
+	/** if the {@link #cells grid of the regions} has to be rebuilt */
+	private boolean gridDirty;
+
+	/** the Memberships of the Bodies destroyed in the current update, kept to route the destruction of their Fixtures and Joints */
+	private final ObjectMap<Body, Membership> destroyedMemberships = new ObjectMap<>();
+
+	/** the Bodies of the Joints because they cannot be queried after the Joint was destroyed */
+	private final ObjectMap<Joint, Body> jointBodiesA = new ObjectMap<>(), jointBodiesB = new ObjectMap<>();
+
+	private final Pool<Membership> membershipPool = new Pool<Membership>() {
+		@Override
+		protected Membership newObject() {
+			return new Membership();
+		}
+	};
+
+	/** @param cellSize the {@link #cellSize} */
+	public InterestRouter(float cellSize) {
+		setCellSize(cellSize);
+	}
+
+	/** @param listener the Listener to notify of the changes in the region of the returned Interest
+	 *  @return a new Interest with an empty region */
+	public Interest add(WorldObserver.Listener listener) {
+		int id = freeIds.size > 0 ? freeIds.pop() : interests.size;
+		Interest interest = new Interest(this, listener, id);
+		if(id == interests.size)
+			interests.add(interest);
+		else
+			interests.set(id, interest);
+		return interest;
+	}
+
+	/** Removes the Interest. Its Listener is not notified.
+	 *  @param interest the Interest to remove */
+	public void remove(Interest interest) {
+		if(interests.get(interest.id) != interest)
+			throw new IllegalArgumentException("the interest was not added to this InterestRouter");
+		for(Membership membership : memberships.values()) {
+			membership.old.clear(interest.id);
+			membership.next.clear(interest.id);
+		}
+		interests.set(interest.id, null);
+		freeIds.add(interest.id);
+		gridDirty = true;
+	}
+
+	/** @return the key of the cell at the given cell coordinates */
+	private static int key(int x, int y) {
+		return x * 73856093 ^ y * 19349663;
+	}
+
+	/** @return the cell coordinate of the given world coordinate */
+	private int cell(float coordinate) {
+		return (int) Math.floor(coordinate / cellSize);
+	}
+
+	/** puts the current regions of the {@link #interests} into the grid and resolves the Bodies in the old and new regions of the changed Interests */
+	private void buildGrid() {
+		gridDirty = false;
+		for(int i = 0; i < usedCells.size; i++)
+			cells.get(usedCells.get(i)).clear();
+		usedCells.clear();
+		largeInterests.clear();
+		for(int i = 0; i < interests.size; i++) {
+			Interest interest = interests.get(i);
+			if(interest == null)
+				continue;
+			if(interest.changed) {
+				resolve(interest, interest.oldBounds);
+				resolve(interest, interest.bounds);
+				interest.oldBounds.set(interest.bounds);
+				interest.changed = false;
+			}
+			if(interest.bounds.width < 0)
+				continue;
+			Rectangle bounds = interest.bounds;
+			int minX = cell(bounds.x), minY = cell(bounds.y), maxX = cell(bounds.x + bounds.width), maxY = cell(bounds.y + bounds.height);
+			if((long) (maxX - minX + 1) * (maxY - minY + 1) > maxRegionCells) {
+				largeInterests.add(interest.id);
+				continue;
+			}
+			for(int x = minX; x <= maxX; x++)
+				for(int y = minY; y <= maxY; y++) {
+					int key = key(x, y);
+					IntArray cell = cells.get(key);
+					if(cell == null)
+						cells.put(key, cell = new IntArray());
+					if(cell.size == 0)
+						usedCells.add(key);
+					cell.add(interest.id);
+				}
+		}
+	}
+
+	/** sets the ids of the Interests containing the given position in the given Bits */
+	private void resolve(float x, float y, Bits bits) {
+		bits.clear();
+		IntArray cell = cells.get(key(cell(x), cell(y)));
+		if(cell != null)
+			for(int i = 0; i < cell.size; i++) {
+				Interest interest = interests.get(cell.get(i));
+				if(interest != null && interest.contains(x, y))
+					bits.set(interest.id);
+			}
+		for(int i = 0; i < largeInterests.size; i++) {
+			Interest interest = interests.get(largeInterests.get(i));
+			if(interest != null && interest.contains(x, y))
+				bits.set(interest.id);
+		}
+	}
+
+	/** moves the given Membership to the given position and resolves its {@link Membership#next next} Interests */
+	private void resolve(Membership membership, float x, float y) {
+		int key = key(cell(x), cell(y));
+		if(key != membership.cell) {
+			removeFromCell(membership);
+			addToCell(membership, key);
+		}
+		membership.x = x;
+		membership.y = y;
+		resolve(x, y, membership.next);
+		if(!membership.pending && !membership.next.equals(membership.old)) {
+			membership.pending = true;
+			pendingMemberships.add(membership);
+		}
+	}
+
+	/** resolves whether the Bodies in the cells covered by the given bounds are in the region of the given Interest */
+	private void resolve(Interest interest, Rectangle bounds) {
+		if(bounds.width < 0)
+			return;
+		int minX = cell(bounds.x), minY = cell(bounds.y), maxX = cell(bounds.x + bounds.width), maxY = cell(bounds.y + bounds.height);
+		if((long) (maxX - minX + 1) * (maxY - minY + 1) > maxRegionCells) {
+			for(Membership membership : memberships.values())
+				resolve(interest, membership);
+			return;
+		}
+		for(int x = minX; x <= maxX; x++)
+			for(int y = minY; y <= maxY; y++) {
+				Array<Membership> cell = bodyCells.get(key(x, y));
+				if(cell != null)
+					for(int i = 0; i < cell.size; i++)
+						resolve(interest, cell.get(i));
+			}
+	}
+
+	/** resolves whether the {@link Membership#x position} of the given Membership is in the region of the given Interest */
+	private void resolve(Interest interest, Membership membership) {
+		if(interest.contains(membership.x, membership.y))
+			membership.next.set(interest.id);
+		else
+			membership.next.clear(interest.id);
+		if(!membership.pending && membership.next.get(interest.id) != membership.old.get(interest.id)) {
+			membership.pending = true;
+			pendingMemberships.add(membership);
+		}
+	}
+
+	/** adds the given Membership to the {@link #bodyCells body cell} of the given key */
+	private void addToCell(Membership membership, int key) {
+		Array<Membership> cell = bodyCells.get(key);
+		if(cell == null)
+			bodyCells.put(key, cell = new Array<>());
+		membership.cell = key;
+		membership.cellIndex = cell.size;
+		cell.add(membership);
+	}
+
+	/** removes the given Membership from its {@link #bodyCells body cell} */
+	private void removeFromCell(Membership membership) {
+		Array<Membership> cell = bodyCells.get(membership.cell);
+		if(cell == null)
+			return;
+		Membership last = cell.pop();
+		if(last != membership) {
+			cell.set(membership.cellIndex, last);
+			last.cellIndex = membership.cellIndex;
+		}
+		if(cell.size == 0)
+			bodyCells.remove(membership.cell);
+	}
+
+	/** @return the Membership of the given Body, also looking through the {@link #destroyedMemberships} */
+	private Membership membership(Body body) {
+		if(body == null)
+			return null;
+		Membership membership = memberships.get(body);
+		return membership != null ? membership : destroyedMemberships.get(body);
+	}
+
+	/** resolves the regions containing the given Body if it was not resolved in this update yet
+	 *  @return whether the given Body is inside of any region, true if it is unknown */
+	@Override
+	public boolean evaluate(Body body) {
+		Membership membership = memberships.get(body);
+		if(membership == null)
+			return true;
+		if(membership.frame != frame) {
+			membership.frame = frame;
+			Vector2 position = body.getPosition();
+			resolve(membership, position.x, position.y);
+		}
+		return !membership.next.isEmpty();
+	}
+
+	@Override
+	public void setOn(WorldObserver observer) {
+		observer.setFilter(this);
+		for(int i = 0; i < interests.size; i++) {
+			Interest interest = interests.get(i);
+			if(interest != null)
+				interest.listener.setOn(observer);
+		}
+	}
+
+	@Override
+	public void removedFrom(WorldObserver observer) {
+		if(observer.getFilter() == this)
+			observer.setFilter(null);
+		for(int i = 0; i < interests.size; i++) {
+			Interest interest = interests.get(i);
+			if(interest != null)
+				interest.listener.removedFrom(observer);
+		}
+	}
+
+	@Override
+	public void preUpdate(World world, float step) {
+		frame++;
+		if(gridDirty)
+			buildGrid();
+		for(int i = 0; i < interests.size; i++) {
+			Interest interest = interests.get(i);
+			if(interest != null)
+				interest.listener.preUpdate(world, step);
+		}
+	}
+
+	@Override
+	public void postUpdate(World world, float step) {
+		for(int i = 0; i < pendingMemberships.size; i++) {
+			Membership membership = pendingMemberships.get(i);
+			membership.pending = false;
+			Body body = membership.body;
+			if(memberships.get(body) != membership) // destroyed
+				continue;
+			Bits old = membership.old, next = membership.next;
+			if(old.equals(next))
+				continue;
+			for(int id = old.nextSetBit(0); id != -1; id = old.nextSetBit(id + 1)) {
+				if(next.get(id))
+					continue;
+				WorldObserver.Listener listener = interests.get(id).listener;
+				old.clear(id);
+				for(JointEdge edge : body.getJointList()) {
+					Membership other = memberships.get(edge.other);
+					if(other != null && other.old.get(id))
+						listener.destroyed(edge.joint);
+				}
+				for(Fixture fixture : body.getFixtureList())
+					listener.destroyed(fixture);
+				listener.destroyed(body);
+			}
+			for(int id = next.nextSetBit(0); id != -1; id = next.nextSetBit(id + 1)) {
+				if(old.get(id))
+					continue;
+				WorldObserver.Listener listener = interests.get(id).listener;
+				old.set(id);
+				listener.created(body);
+				for(Fixture fixture : body.getFixtureList())
+					listener.created(fixture);
+				for(JointEdge edge : body.getJointList()) {
+					Membership other = memberships.get(edge.other);
+					if(other != null && other.old.get(id))
+						listener.created(edge.joint);
+				}
+			}
+		}
+		pendingMemberships.clear();
+		for(Membership membership : destroyedMemberships.values())
+			membershipPool.free(membership);
+		destroyedMemberships.clear();
+		for(int i = 0; i < interests.size; i++) {
+			Interest interest = interests.get(i);
+			if(interest != null)
+				interest.listener.postUpdate(world, step);
+		}
+	}
+
+	@Override
+	public void changed(World world, WorldChange change) {
+		for(int i = 0; i < interests.size; i++) {
+			Interest interest = interests.get(i);
+			if(interest != null)
+				interest.listener.changed(world, change);
+		}
+	}
+
+	@Override
+	public void changed(Body body, BodyChange change) {
+		Membership membership = memberships.get(body);
+		if(membership == null)
+			return;
+		Bits old = membership.old, next = membership.next;
+		for(int id = old.nextSetBit(0); id != -1; id = old.nextSetBit(id + 1))
+			if(next.get(id))
+				interests.get(id).listener.changed(body, change);
+	}
+
+	@Override
+	public void created(Body body) {
+		Membership membership = membershipPool.obtain();
+		Vector2 position = body.getPosition();
+		membership.body = body;
+		membership.x = position.x;
+		membership.y = position.y;
+		membership.frame = frame;
+		addToCell(membership, key(cell(position.x), cell(position.y)));
+		resolve(position.x, position.y, membership.old);
+		membership.next.clear();
+		membership.next.or(membership.old);
+		memberships.put(body, membership);
+		for(int id = membership.old.nextSetBit(0); id != -1; id = membership.old.nextSetBit(id + 1))
+			interests.get(id).listener.created(body);
+	}
+
+	@Override
+	public void destroyed(Body body) {
+		Membership membership = memberships.remove(body);
+		if(membership == null)
+			return;
+		removeFromCell(membership);
+		destroyedMemberships.put(body, membership);
+		for(int id = membership.old.nextSetBit(0); id != -1; id = membership.old.nextSetBit(id + 1))
+			interests.get(id).listener.destroyed(body);
+	}
+
+	@Override
+	public void changed(Fixture fixture, FixtureChange change) {
+		Membership membership = memberships.get(fixture.getBody());
+		if(membership == null)
+			return;
+		Bits old = membership.old, next = membership.next;
+		for(int id = old.nextSetBit(0); id != -1; id = old.nextSetBit(id + 1))
+			if(next.get(id))
+				interests.get(id).listener.changed(fixture, change);
+	}
+
+	@Override
+	public void created(Fixture fixture) {
+		Membership membership = memberships.get(fixture.getBody());
+		if(membership == null)
+			return;
+		for(int id = membership.old.nextSetBit(0); id != -1; id = membership.old.nextSetBit(id + 1))
+			interests.get(id).listener.created(fixture);
+	}
+
+	@Override
+	public void destroyed(Fixture fixture) {
+		Membership membership = membership(fixture.getBody());
+		if(membership == null)
+			return;
+		for(int id = membership.old.nextSetBit(0); id != -1; id = membership.old.nextSetBit(id + 1))
+			interests.get(id).listener.destroyed(fixture);
+	}
+
+	@Override
+	public void changed(Joint joint, JointChange<?> change) {
+		Membership a = membership(jointBodiesA.get(joint)), b = membership(jointBodiesB.get(joint));
+		if(a == null || b == null)
+			return;
+		for(int id = a.old.nextSetBit(0); id != -1; id = a.old.nextSetBit(id + 1))
+			if(a.next.get(id) && b.old.get(id) && b.next.get(id))
+				interests.get(id).listener.changed(joint, change);
+	}
+
+	@Override
+	public void created(Joint joint) {
+		Body bodyA = joint.getBodyA(), bodyB = joint.getBodyB();
+		jointBodiesA.put(joint, bodyA);
+		jointBodiesB.put(joint, bodyB);
+		Membership a = memberships.get(bodyA), b = memberships.get(bodyB);
+		if(a == null || b == null)
+			return;
+		for(int id = a.old.nextSetBit(0); id != -1; id = a.old.nextSetBit(id + 1))
+			if(b.old.get(id))
+				interests.get(id).listener.created(joint);
+	}
+
+	@Override
+	public void destroyed(Joint joint) {
+		Membership a = membership(jointBodiesA.remove(joint)), b = membership(jointBodiesB.remove(joint));
+		if(a == null || b == null)
+			return;
+		for(int id = a.old.nextSetBit(0); id != -1; id = a.old.nextSetBit(id + 1))
+			if(b.old.get(id))
+				interests.get(id).listener.destroyed(joint);
+	}
+
+	// getters and setters
+
+	/** @return the {@link #cellSize} */
+	public float getCellSize() {
+		return cellSize;
+	}
+
+	/** @param cellSize the {@link #cellSize} to set */
+	public void setCellSize(float cellSize) {
+		if(cellSize <= 0)
+			throw new IllegalArgumentException("cellSize must be greater than 0: " + cellSize);
+		this.cellSize = cellSize;
+		for(Membership membership : memberships.values()) {
+			removeFromCell(membership);
+			addToCell(membership, key(cell(membership.x), cell(membership.y)));
+		}
+		gridDirty = true;
+	}
+
+	/** @return the {@link #maxRegionCells} */
+	public int getMaxRegionCells() {
+		return maxRegionCells;
+	}
+
+	/** @param maxRegionCells the {@link #maxRegionCells} to set */
+	public void setMaxRegionCells(int maxRegionCells) {
+		this.maxRegionCells = maxRegionCells;
+		gridDirty = true;
+	}
+
+	/** Only for internal use. Which Interests contain a Body.
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	private static class Membership implements Poolable {
+
+		/** the Body */
+		Body body;
+
+		/** the position of the Body when it was last resolved */
+		float x, y;
+
+		/** the key of the {@link InterestRouter#bodyCells body cell} containing the position and the index in it */
+		int cell, cellIndex;
+
+		/** the {@link InterestRouter#frame frame} in which the Body was last resolved */
+		int frame;
+
+		/** if this is in the {@link InterestRouter#pendingMemberships} */
+		boolean pending;
+
+		/** the ids of the Interests whose Listeners know the Body */
+		final Bits old = new Bits();
+
+		/** the ids of the Interests containing the Body when it was last resolved */
+		final Bits next = new Bits();
+
+		@Override
+		public void reset() {
+			body = null;
+			pending = false;
+			old.clear();
+			next.clear();
+		}
+
+	}
+
+	/** the region a Listener is interested in, either an axis-aligned rectangle or a circle
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	public static class Interest {
+
+		/** the InterestRouter this Interest was added to */
+		private final InterestRouter router;
+
+		/** the Listener to notify */
+		private final WorldObserver.Listener listener;
+
+		/** the index of this Interest in its InterestRouter */
+		private final int id;
+
+		/** the bounds of the region, the region itself if not {@link #circular}, empty if the width is negative */
+		private final Rectangle bounds = new Rectangle(0, 0, -1, -1);
+
+		/** the {@link #bounds} in the last update */
+		private final Rectangle oldBounds = new Rectangle(0, 0, -1, -1);
+
+		/** if the region is the circle inscribed in the {@link #bounds} */
+		private boolean circular;
+
+		/** if the region changed since the last update */
+		private boolean changed;
+
+		private Interest(InterestRouter router, WorldObserver.Listener listener, int id) {
+			if(listener == null)
+				throw new IllegalArgumentException("listener must not be null");
+			this.router = router;
+			this.listener = listener;
+			this.id = id;
+		}
+
+		/** sets the region to the given axis-aligned rectangle */
+		public void setRectangle(float x, float y, float width, float height) {
+			bounds.set(x, y, width, height);
+			circular = false;
+			changed();
+		}
+
+		/** sets the region to the given circle */
+		public void setCircle(float x, float y, float radius) {
+			bounds.set(x - radius, y - radius, radius * 2, radius * 2);
+			circular = true;
+			changed();
+		}
+
+		/** sets the region to nothing */
+		public void clear() {
+			bounds.set(0, 0, -1, -1);
+			circular = false;
+			changed();
+		}
+
+		/** makes the {@link #router} resolve the Bodies in the old and new region in the next update */
+		private void changed() {
+			changed = true;
+			router.gridDirty = true;
+		}
+
+		/** @return if the region contains the given point */
+		public boolean contains(float x, float y) {
+			if(circular) {
+				float radius = bounds.width / 2, dx = x - bounds.x - radius, dy = y - bounds.y - radius;
+				return dx * dx + dy * dy <= radius * radius;
+			}
+			return x >= bounds.x && x <= bounds.x + bounds.width && y >= bounds.y && y <= bounds.y + bounds.height;
+		}
+
+		/** @return the {@link #listener} */
+		public WorldObserver.Listener getListener() {
+			return listener;
+		}
+
+		/** @return the {@link #bounds} */
+		public Rectangle getBounds() {
+			return bounds;
+		}
+
+		/** @return the {@link #circular} */
+		public boolean isCircular() {
+			return circular;
+		}
+
+	}
+
+}
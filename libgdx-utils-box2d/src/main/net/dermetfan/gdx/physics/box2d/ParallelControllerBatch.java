@@ -0,0 +1,121 @@
+/** Copyright 2015 Robin Stumm (serverkorken@gmail.com, http://dermetfan.net)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License. */
+
+package net.dermetfan.gdx.physics.box2d;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.badlogic.gdx.utils.Disposable;
+
+/** {@link ControllerBatch#compute(int, int) computes} a {@link ControllerBatch} on a {@link ForkJoinPool} by splitting its Bodies into ranges of at most {@link #threshold} Bodies.
+ *  The Bodies are still {@link ControllerBatch#gather() gathered} and {@link ControllerBatch#apply(boolean) applied} on the calling thread.
+ *  <strong>Does NOT work on HTML5!</strong>
+ *  @author dermetfan
+ *  @since 0.13.0 */
+public class ParallelControllerBatch implements Disposable {
+
+	/** the pool to compute on */
+	private final ForkJoinPool pool;
+
+	/** if the {@link #pool} was created by this ParallelControllerBatch and is shut down on {@link #dispose()} */
+	private final boolean ownsPool;
+
+	/** the number of Bodies up to which a range is computed without splitting it further */
+	private int threshold = 256;
+
+	/** computes on a new {@link ForkJoinPool} with one thread per processor that is shut down on {@link #dispose()} */
+	public ParallelControllerBatch() {
+		this(new ForkJoinPool(), true);
+	}
+
+	/** @param pool the {@link #pool}, not shut down on {@link #dispose()} */
+	public ParallelControllerBatch(ForkJoinPool pool) {
+		this(pool, false);
+	}
+
+	private ParallelControllerBatch(ForkJoinPool pool, boolean ownsPool) {
+		this.pool = pool;
+		this.ownsPool = ownsPool;
+	}
+
+	/** like {@link ControllerBatch#update(boolean)} but computes on the {@link #pool}
+	 *  @param batch the batch to update
+	 *  @param wake if the Bodies should be woken up */
+	public void update(ControllerBatch batch, boolean wake) {
+		batch.gather();
+		int size = batch.size();
+		if(size > threshold)
+			pool.invoke(new ComputeTask(batch, 0, size, threshold));
+		else
+			batch.compute(0, size);
+		batch.apply(wake);
+	}
+
+	/** shuts down the {@link #pool} if it was created by this ParallelControllerBatch */
+	@Override
+	public void dispose() {
+		if(ownsPool)
+			pool.shutdown();
+	}
+
+	// getters and setters
+
+	/** @return the {@link #pool} */
+	public ForkJoinPool getPool() {
+		return pool;
+	}
+
+	/** @return the {@link #threshold} */
+	public int getThreshold() {
+		return threshold;
+	}
+
+	/** @param threshold the {@link #threshold} to set */
+	public void setThreshold(int threshold) {
+		if(threshold < 1)
+			throw new IllegalArgumentException("threshold must be at least 1: " + threshold);
+		this.threshold = threshold;
+	}
+
+	/** computes a range of Bodies, splitting it in halves until it is no longer than the threshold
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	private static class ComputeTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final ControllerBatch batch;
+		private final int offset, length, threshold;
+
+		ComputeTask(ControllerBatch batch, int offset, int length, int threshold) {
+			this.batch = batch;
+			this.offset = offset;
+			this.length = length;
+			this.threshold = threshold;
+		}
+
+		@Override
+		protected void compute() {
+			if(length <= threshold) {
+				batch.compute(offset, offset + length);
+				return;
+			}
+			int half = length / 2;
+			invokeAll(new ComputeTask(batch, offset, half, threshold), new ComputeTask(batch, offset + half, length - half, threshold));
+		}
+
+	}
+
+}
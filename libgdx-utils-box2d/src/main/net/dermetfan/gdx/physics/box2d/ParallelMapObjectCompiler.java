@@ -0,0 +1,122 @@
+/** Copyright 2015 Robin Stumm (serverkorken@gmail.com, http://dermetfan.net)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License. */
+
+package net.dermetfan.gdx.physics.box2d;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import net.dermetfan.gdx.physics.box2d.Box2DMapObjectParser.CompiledLayer;
+
+/** A {@link Box2DMapObjectParser.Compiler} that compiles the MapObjects of a layer on a {@link ForkJoinPool} by splitting them into ranges of at most {@link #threshold} MapObjects.
+ *  The {@link Box2DMapObjectParser.Listener} methods that return the MapObject to create something from are called from the threads of the pool, so they must be thread-safe.
+ *  The {@code created} methods are still called on the thread that {@link Box2DMapObjectParser#create(com.badlogic.gdx.physics.box2d.World, CompiledLayer) creates} the layer.
+ *  <strong>Does NOT work on HTML5!</strong>
+ *  @author dermetfan
+ *  @since 0.13.0 */
+public class ParallelMapObjectCompiler implements Box2DMapObjectParser.Compiler, Disposable {
+
+	/** the pool to compile on */
+	private final ForkJoinPool pool;
+
+	/** if the {@link #pool} was created by this ParallelMapObjectCompiler and is shut down on {@link #dispose()} */
+	private final boolean ownsPool;
+
+	/** the number of MapObjects up to which a range is compiled without splitting it further */
+	private int threshold = 32;
+
+	/** compiles on a new {@link ForkJoinPool} with one thread per processor that is shut down on {@link #dispose()} */
+	public ParallelMapObjectCompiler() {
+		this(new ForkJoinPool(), true);
+	}
+
+	/** @param pool the {@link #pool}, not shut down on {@link #dispose()} */
+	public ParallelMapObjectCompiler(ForkJoinPool pool) {
+		this(pool, false);
+	}
+
+	private ParallelMapObjectCompiler(ForkJoinPool pool, boolean ownsPool) {
+		this.pool = pool;
+		this.ownsPool = ownsPool;
+	}
+
+	@Override
+	public CompiledLayer compile(Box2DMapObjectParser parser, Array<MapObject> objects) {
+		return pool.invoke(new CompileTask(parser, objects, 0, objects.size, threshold));
+	}
+
+	/** shuts down the {@link #pool} if it was created by this ParallelMapObjectCompiler */
+	@Override
+	public void dispose() {
+		if(ownsPool)
+			pool.shutdown();
+	}
+
+	// getters and setters
+
+	/** @return the {@link #pool} */
+	public ForkJoinPool getPool() {
+		return pool;
+	}
+
+	/** @return the {@link #threshold} */
+	public int getThreshold() {
+		return threshold;
+	}
+
+	/** @param threshold the {@link #threshold} to set */
+	public void setThreshold(int threshold) {
+		if(threshold < 1)
+			throw new IllegalArgumentException("threshold must be at least 1: " + threshold);
+		this.threshold = threshold;
+	}
+
+	/** compiles a range of MapObjects, splitting it in halves until it is no longer than the threshold
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	private static class CompileTask extends RecursiveTask<CompiledLayer> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Box2DMapObjectParser parser;
+		private final Array<MapObject> objects;
+		private final int offset, length, threshold;
+
+		CompileTask(Box2DMapObjectParser parser, Array<MapObject> objects, int offset, int length, int threshold) {
+			this.parser = parser;
+			this.objects = objects;
+			this.offset = offset;
+			this.length = length;
+			this.threshold = threshold;
+		}
+
+		@Override
+		protected CompiledLayer compute() {
+			if(length <= threshold)
+				return parser.compile(objects, offset, length, new CompiledLayer());
+			int half = length / 2;
+			CompileTask first = new CompileTask(parser, objects, offset, half, threshold);
+			first.fork();
+			CompiledLayer second = new CompileTask(parser, objects, offset + half, length - half, threshold).compute();
+			CompiledLayer compiled = first.join();
+			compiled.addAll(second);
+			return compiled;
+		}
+
+	}
+
+}
@@ -18,6 +18,7 @@ import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.World;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
 import com.badlogic.gdx.utils.Pools;
 import net.dermetfan.utils.Function;
 
@@ -41,7 +42,7 @@ public abstract class PositionController {
 	private static Function<Object, PositionController> userDataAccessor = defaultUserDataAccessor;
 
 	/** Calls {@link #applyForceToCenter(Body, boolean) applyForceToCenter} for every Body with a PositionController in its user data.
-	 *  The PositionController is accessed using the {@link #userDataAccessor}.
+	 *  The PositionController is accessed using the {@link #userDataAccessor}. To control many Bodies, consider a {@link Batch} instead.
 	 *  @param world the world which Bodies to iterate over */
 	public static void applyForceToCenter(World world, boolean wake) {
 		@SuppressWarnings("unchecked")
@@ -321,4 +322,107 @@ public abstract class PositionController {
 
 	}
 
+	/** moves {@link #register(Body, float, float, float, float, float, float) registered} Bodies to their destinations like {@link PD} without looking at the other Bodies in the world
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	public static class Batch extends ControllerBatch {
+
+		/** the gains of the proportional component */
+		private final FloatArray gainPX = column(), gainPY = column();
+
+		/** the gains of the derivative component */
+		private final FloatArray gainDX = column(), gainDY = column();
+
+		/** the setpoints */
+		private final FloatArray destinationX = column(), destinationY = column();
+
+		/** the {@link #gather() gathered} world centers and linear velocities */
+		private final FloatArray x = column(), y = column(), velocityX = column(), velocityY = column();
+
+		/** the {@link #compute(int, int) computed} forces */
+		private final FloatArray forceX = column(), forceY = column();
+
+		/** @param gainP the proportional gain on both axes
+		 *  @param gainD the derivative gain on both axes
+		 *  @see #register(Body, float, float, float, float, float, float) */
+		public int register(Body body, float gainP, float gainD, float destinationX, float destinationY) {
+			return register(body, gainP, gainP, gainD, gainD, destinationX, destinationY);
+		}
+
+		/** registers the given Body or updates its values if it already is
+		 *  @return the index of the Body */
+		public int register(Body body, float gainPX, float gainPY, float gainDX, float gainDY, float destinationX, float destinationY) {
+			int index = index(body);
+			this.gainPX.items[index] = gainPX;
+			this.gainPY.items[index] = gainPY;
+			this.gainDX.items[index] = gainDX;
+			this.gainDY.items[index] = gainDY;
+			this.destinationX.items[index] = destinationX;
+			this.destinationY.items[index] = destinationY;
+			return index;
+		}
+
+		/** @param index the {@link #indexOf(Body) index} of the Body */
+		public void setDestination(int index, float x, float y) {
+			destinationX.items[index] = x;
+			destinationY.items[index] = y;
+		}
+
+		/** @param index the {@link #indexOf(Body) index} of the Body */
+		public void setGain(int index, float gainPX, float gainPY, float gainDX, float gainDY) {
+			this.gainPX.items[index] = gainPX;
+			this.gainPY.items[index] = gainPY;
+			this.gainDX.items[index] = gainDX;
+			this.gainDY.items[index] = gainDY;
+		}
+
+		/** @param index the {@link #indexOf(Body) index} of the Body
+		 *  @return the x component of the last {@link #compute(int, int) computed} force */
+		public float getForceX(int index) {
+			return forceX.items[index];
+		}
+
+		/** @param index the {@link #indexOf(Body) index} of the Body
+		 *  @return the y component of the last {@link #compute(int, int) computed} force */
+		public float getForceY(int index) {
+			return forceY.items[index];
+		}
+
+		@Override
+		public void gather() {
+			Body[] bodies = this.bodies.items;
+			float[] x = this.x.items, y = this.y.items, velocityX = this.velocityX.items, velocityY = this.velocityY.items;
+			for(int i = 0, n = this.bodies.size; i < n; i++) {
+				Body body = bodies[i];
+				Vector2 center = body.getWorldCenter();
+				x[i] = center.x;
+				y[i] = center.y;
+				Vector2 velocity = body.getLinearVelocity();
+				velocityX[i] = velocity.x;
+				velocityY[i] = velocity.y;
+			}
+		}
+
+		@Override
+		public void compute(int from, int to) {
+			float[] gainPX = this.gainPX.items, gainPY = this.gainPY.items, gainDX = this.gainDX.items, gainDY = this.gainDY.items;
+			float[] destinationX = this.destinationX.items, destinationY = this.destinationY.items;
+			float[] x = this.x.items, y = this.y.items, velocityX = this.velocityX.items, velocityY = this.velocityY.items;
+			float[] forceX = this.forceX.items, forceY = this.forceY.items;
+			for(int i = from; i < to; i++) {
+				forceX[i] = PD.calculateForce(gainPX[i], gainDX[i], x[i], destinationX[i], velocityX[i]);
+				forceY[i] = PD.calculateForce(gainPY[i], gainDY[i], y[i], destinationY[i], velocityY[i]);
+			}
+		}
+
+		@Override
+		public void apply(boolean wake) {
+			Body[] bodies = this.bodies.items;
+			float[] forceX = this.forceX.items, forceY = this.forceY.items;
+			for(int i = 0, n = this.bodies.size; i < n; i++)
+				bodies[i].applyForceToCenter(forceX[i], forceY[i], wake);
+		}
+
+	}
+
 }
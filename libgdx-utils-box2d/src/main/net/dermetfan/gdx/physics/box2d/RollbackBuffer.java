@@ -0,0 +1,327 @@
+/** Copyright 2015 Robin Stumm (serverkorken@gmail.com, http://dermetfan.net)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License. */
+
+package net.dermetfan.gdx.physics.box2d;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.Joint;
+import com.badlogic.gdx.physics.box2d.Transform;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.BodyChange;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.FixtureChange;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.JointChange;
+import net.dermetfan.gdx.physics.box2d.WorldObserver.WorldChange;
+
+/** A {@link WorldObserver.Listener} that records the transform, velocities and awake and active flags of all Bodies in a ring buffer of the last {@link #capacity} ticks.
+ *  Every {@link WorldObserver#update(World, float) update} is one tick. The previous tick is copied and the changes reported by the WorldObserver are written over it,
+ *  so Bodies that were not diffed (for example sleeping Bodies in {@link WorldObserver#isIncremental() incremental} mode) keep their state.
+ *  All memory is allocated up front. If more Bodies exist than slots were allocated for, the buffer grows.
+ *  Note that {@link WorldObserver#setThresholds(WorldObserver.Thresholds) thresholds} cause sub-threshold changes to be missing from the snapshots.
+ *  <strong>Does NOT work on HTML5!</strong>
+ *  @author dermetfan
+ *  @since 0.13.0 */
+public class RollbackBuffer implements WorldObserver.Listener {
+
+	/** the number of floats recorded per Body: x, y, angle, linear velocity x, y and angular velocity */
+	private static final int STRIDE = 6;
+
+	/** the bits of {@link #flags} */
+	private static final byte PRESENT = 1, AWAKE = 1 << 1, ACTIVE = 1 << 2;
+
+	/** the Listener to forward all calls to, may be null */
+	private WorldObserver.Listener listener;
+
+	/** the number of ticks that can be restored */
+	private final int capacity;
+
+	/** the number of Bodies the arrays have room for per tick */
+	private int slots;
+
+	/** the number of slots ever used, only these are copied from tick to tick */
+	private int usedSlots;
+
+	/** the recorded floats, indexed by {@code (row * slots + slot) * STRIDE} */
+	private float[] data;
+
+	/** the recorded flags, indexed by {@code row * slots + slot} */
+	private byte[] flags;
+
+	/** the {@link #generations generation} of the Body in a slot at the time it was recorded, indexed like {@link #flags} */
+	private int[] recordedGenerations;
+
+	/** the generation of each slot, incremented whenever the slot is reused for another Body */
+	private int[] generations;
+
+	/** the Bodies by slot */
+	private Body[] bodies;
+
+	/** the slots of the Bodies */
+	private final ObjectIntMap<Body> slotIndices = new ObjectIntMap<>();
+
+	/** the slots that are free to reuse */
+	private final IntArray freeSlots = new IntArray();
+
+	/** the current tick, -1 if nothing was recorded yet */
+	private int tick = -1;
+
+	/** the oldest tick that can be {@link #restore(int) restored} */
+	private int oldestTick;
+
+	/** used to {@link BodyChange#apply(Body) apply} snapshots */
+	private final BodyChange change = new BodyChange();
+
+	/** @param capacity the {@link #capacity}
+	 *  @param slots the number of Bodies to allocate memory for */
+	public RollbackBuffer(int capacity, int slots) {
+		this(capacity, slots, null);
+	}
+
+	/** @param capacity the {@link #capacity}
+	 *  @param slots the number of Bodies to allocate memory for
+	 *  @param listener the {@link #listener} */
+	public RollbackBuffer(int capacity, int slots, WorldObserver.Listener listener) {
+		if(capacity < 1)
+			throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+		this.capacity = capacity;
+		this.listener = listener;
+		allocate(Math.max(slots, 1));
+	}
+
+	/** allocates the arrays for the given number of slots and copies the recorded data */
+	private void allocate(int slots) {
+		float[] data = new float[capacity * slots * STRIDE];
+		byte[] flags = new byte[capacity * slots];
+		int[] recordedGenerations = new int[capacity * slots];
+		int[] generations = new int[slots];
+		Body[] bodies = new Body[slots];
+		if(this.data != null) {
+			for(int row = 0; row < capacity; row++) {
+				System.arraycopy(this.data, row * this.slots * STRIDE, data, row * slots * STRIDE, usedSlots * STRIDE);
+				System.arraycopy(this.flags, row * this.slots, flags, row * slots, usedSlots);
+				System.arraycopy(this.recordedGenerations, row * this.slots, recordedGenerations, row * slots, usedSlots);
+			}
+			System.arraycopy(this.generations, 0, generations, 0, usedSlots);
+			System.arraycopy(this.bodies, 0, bodies, 0, usedSlots);
+		}
+		this.data = data;
+		this.flags = flags;
+		this.recordedGenerations = recordedGenerations;
+		this.generations = generations;
+		this.bodies = bodies;
+		this.slots = slots;
+	}
+
+	/** @return the row of the given tick */
+	private int row(int tick) {
+		return tick % capacity;
+	}
+
+	/** @param tick the tick to restore, must be in the range of {@link #getOldestTick()} to {@link #getTick()}
+	 *  @return if the given tick can be restored */
+	public boolean canRestore(int tick) {
+		return tick >= oldestTick && tick <= this.tick;
+	}
+
+	/** Applies the state of the given tick to all Bodies that existed then and still exist.
+	 *  Bodies that were created after the given tick are not changed. Recording continues from the given tick, so the following ticks are overwritten.
+	 *  @param tick the tick to restore
+	 *  @throws IllegalArgumentException if the tick {@link #canRestore(int) cannot be restored} */
+	public void restore(int tick) {
+		if(!canRestore(tick))
+			throw new IllegalArgumentException("tick " + tick + " is not in the range of " + oldestTick + " to " + this.tick);
+		int row = row(tick);
+		for(int slot = 0; slot < usedSlots; slot++) {
+			Body body = bodies[slot];
+			int index = row * slots + slot;
+			if(body == null || (flags[index] & PRESENT) == 0 || recordedGenerations[index] != generations[slot])
+				continue;
+			int i = index * STRIDE;
+			change.reset();
+			change.setBoxing(false);
+			change.setTransform(data[i], data[i + 1], data[i + 2]);
+			change.setLinearVelocity(data[i + 3], data[i + 4]);
+			change.setAngularVelocity(data[i + 5]);
+			change.setAwake((flags[index] & AWAKE) != 0);
+			change.setActive((flags[index] & ACTIVE) != 0);
+			change.apply(body);
+		}
+		this.tick = tick;
+	}
+
+	/** records the given state of the Body in the given slot of the current tick */
+	private void record(int slot, float x, float y, float angle, Vector2 linearVelocity, float angularVelocity, boolean awake, boolean active) {
+		int index = row(tick) * slots + slot;
+		int i = index * STRIDE;
+		data[i] = x;
+		data[i + 1] = y;
+		data[i + 2] = angle;
+		data[i + 3] = linearVelocity.x;
+		data[i + 4] = linearVelocity.y;
+		data[i + 5] = angularVelocity;
+		flags[index] = (byte) (PRESENT | (awake ? AWAKE : 0) | (active ? ACTIVE : 0));
+		recordedGenerations[index] = generations[slot];
+	}
+
+	@Override
+	public void preUpdate(World world, float step) {
+		int previousRow = row(Math.max(tick, 0));
+		tick++;
+		if(tick - oldestTick >= capacity)
+			oldestTick = tick - capacity + 1;
+		int row = row(tick);
+		if(row != previousRow) {
+			System.arraycopy(data, previousRow * slots * STRIDE, data, row * slots * STRIDE, usedSlots * STRIDE);
+			System.arraycopy(flags, previousRow * slots, flags, row * slots, usedSlots);
+			System.arraycopy(recordedGenerations, previousRow * slots, recordedGenerations, row * slots, usedSlots);
+		}
+		if(listener != null)
+			listener.preUpdate(world, step);
+	}
+
+	@Override
+	public void changed(Body body, BodyChange change) {
+		int slot = slotIndices.get(body, -1);
+		if(slot != -1 && change.isDirty(BodyChange.TRANSFORM | BodyChange.LINEAR_VELOCITY | BodyChange.ANGULAR_VELOCITY | BodyChange.AWAKE | BodyChange.ACTIVE)) {
+			Transform transform = change.getTransform();
+			record(slot, transform.vals[Transform.POS_X], transform.vals[Transform.POS_Y], transform.getRotation(), change.getLinearVelocity(), change.getAngularVelocity(), change.isAwake(), change.isActive());
+		}
+		if(listener != null)
+			listener.changed(body, change);
+	}
+
+	@Override
+	public void created(Body body) {
+		int slot;
+		if(freeSlots.size > 0)
+			slot = freeSlots.pop();
+		else {
+			if(usedSlots == slots)
+				allocate(slots * 2);
+			slot = usedSlots++;
+		}
+		generations[slot]++;
+		bodies[slot] = body;
+		slotIndices.put(body, slot);
+		Vector2 position = body.getPosition();
+		record(slot, position.x, position.y, body.getAngle(), body.getLinearVelocity(), body.getAngularVelocity(), body.isAwake(), body.isActive());
+		if(listener != null)
+			listener.created(body);
+	}
+
+	@Override
+	public void destroyed(Body body) {
+		int slot = slotIndices.remove(body, -1);
+		if(slot != -1) {
+			flags[row(tick) * slots + slot] = 0;
+			bodies[slot] = null;
+			freeSlots.add(slot);
+		}
+		if(listener != null)
+			listener.destroyed(body);
+	}
+
+	// only forwarded
+
+	@Override
+	public void setOn(WorldObserver observer) {
+		if(listener != null)
+			listener.setOn(observer);
+	}
+
+	@Override
+	public void removedFrom(WorldObserver observer) {
+		if(listener != null)
+			listener.removedFrom(observer);
+	}
+
+	@Override
+	public void postUpdate(World world, float step) {
+		if(listener != null)
+			listener.postUpdate(world, step);
+	}
+
+	@Override
+	public void changed(World world, WorldChange change) {
+		if(listener != null)
+			listener.changed(world, change);
+	}
+
+	@Override
+	public void changed(Fixture fixture, FixtureChange change) {
+		if(listener != null)
+			listener.changed(fixture, change);
+	}
+
+	@Override
+	public void created(Fixture fixture) {
+		if(listener != null)
+			listener.created(fixture);
+	}
+
+	@Override
+	public void destroyed(Fixture fixture) {
+		if(listener != null)
+			listener.destroyed(fixture);
+	}
+
+	@Override
+	public void changed(Joint joint, JointChange<?> change) {
+		if(listener != null)
+			listener.changed(joint, change);
+	}
+
+	@Override
+	public void created(Joint joint) {
+		if(listener != null)
+			listener.created(joint);
+	}
+
+	@Override
+	public void destroyed(Joint joint) {
+		if(listener != null)
+			listener.destroyed(joint);
+	}
+
+	// getters and setters
+
+	/** @return the {@link #tick} */
+	public int getTick() {
+		return tick;
+	}
+
+	/** @return the {@link #oldestTick} */
+	public int getOldestTick() {
+		return oldestTick;
+	}
+
+	/** @return the {@link #capacity} */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/** @return the {@link #listener} */
+	public WorldObserver.Listener getListener() {
+		return listener;
+	}
+
+	/** @param listener the {@link #listener} to set */
+	public void setListener(WorldObserver.Listener listener) {
+		this.listener = listener;
+	}
+
+}
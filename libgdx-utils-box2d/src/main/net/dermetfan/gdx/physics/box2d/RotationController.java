@@ -19,6 +19,7 @@ import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.World;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
 import com.badlogic.gdx.utils.Pools;
 import net.dermetfan.utils.Function;
 
@@ -39,7 +40,7 @@ public abstract class RotationController {
 	private static Function<Object, RotationController> userDataAccessor = defaultUserDataAccessor;
 
 	/** Calls {@link #applyTorque(World, boolean) applyTorque} for every Body with a RotationController in its user data.
-	 *  The RotationController is accessed using the {@link #userDataAccessor}.
+	 *  The RotationController is accessed using the {@link #userDataAccessor}. To control many Bodies, consider a {@link Batch} instead.
 	 *  @param world the world which Bodies to iterate over */
 	public static void applyTorque(World world, boolean wake) {
 		@SuppressWarnings("unchecked")
@@ -308,4 +309,105 @@ public abstract class RotationController {
 
 	}
 
+	/** rotates {@link #register(Body, float, float, float) registered} Bodies to their angles like {@link PD} without looking at the other Bodies in the world
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	public static class Batch extends ControllerBatch {
+
+		/** the gains */
+		private final FloatArray gainP = column(), gainD = column();
+
+		/** the setpoints, relative to the angle towards the target if there is one */
+		private final FloatArray angle = column();
+
+		/** the points to rotate towards, NaN if there is none */
+		private final FloatArray targetX = column(), targetY = column();
+
+		/** the {@link #gather() gathered} positions, angles and angular velocities */
+		private final FloatArray x = column(), y = column(), rotation = column(), velocity = column();
+
+		/** the {@link #compute(int, int) computed} torques */
+		private final FloatArray torque = column();
+
+		/** registers the given Body or updates its values if it already is
+		 *  @return the index of the Body */
+		public int register(Body body, float gainP, float gainD, float angle) {
+			return register(body, gainP, gainD, angle, Float.NaN, Float.NaN);
+		}
+
+		/** registers the given Body or updates its values if it already is
+		 *  @param targetX the x coordinate of the point to rotate towards, NaN for none
+		 *  @param targetY the y coordinate of the point to rotate towards, NaN for none
+		 *  @return the index of the Body */
+		public int register(Body body, float gainP, float gainD, float angle, float targetX, float targetY) {
+			int index = index(body);
+			this.gainP.items[index] = gainP;
+			this.gainD.items[index] = gainD;
+			this.angle.items[index] = angle;
+			this.targetX.items[index] = targetX;
+			this.targetY.items[index] = targetY;
+			return index;
+		}
+
+		/** @param index the {@link #indexOf(Body) index} of the Body */
+		public void setAngle(int index, float angle) {
+			this.angle.items[index] = angle;
+		}
+
+		/** @param index the {@link #indexOf(Body) index} of the Body
+		 *  @param x the x coordinate of the point to rotate towards, NaN for none
+		 *  @param y the y coordinate of the point to rotate towards, NaN for none */
+		public void setTarget(int index, float x, float y) {
+			targetX.items[index] = x;
+			targetY.items[index] = y;
+		}
+
+		/** @param index the {@link #indexOf(Body) index} of the Body */
+		public void setGain(int index, float gainP, float gainD) {
+			this.gainP.items[index] = gainP;
+			this.gainD.items[index] = gainD;
+		}
+
+		/** @param index the {@link #indexOf(Body) index} of the Body
+		 *  @return the last {@link #compute(int, int) computed} torque */
+		public float getTorque(int index) {
+			return torque.items[index];
+		}
+
+		@Override
+		public void gather() {
+			Body[] bodies = this.bodies.items;
+			float[] x = this.x.items, y = this.y.items, rotation = this.rotation.items, velocity = this.velocity.items;
+			for(int i = 0, n = this.bodies.size; i < n; i++) {
+				Body body = bodies[i];
+				Vector2 position = body.getPosition();
+				x[i] = position.x;
+				y[i] = position.y;
+				rotation[i] = body.getAngle();
+				velocity[i] = body.getAngularVelocity();
+			}
+		}
+
+		@Override
+		public void compute(int from, int to) {
+			float[] gainP = this.gainP.items, gainD = this.gainD.items, angle = this.angle.items, targetX = this.targetX.items, targetY = this.targetY.items;
+			float[] x = this.x.items, y = this.y.items, rotation = this.rotation.items, velocity = this.velocity.items, torque = this.torque.items;
+			for(int i = from; i < to; i++) {
+				float target = angle[i];
+				if(targetX[i] == targetX[i])
+					target += MathUtils.atan2(targetY[i] - y[i], targetX[i] - x[i]);
+				torque[i] = PD.calculateTorque(gainP[i], gainD[i], rotation[i], target, velocity[i]);
+			}
+		}
+
+		@Override
+		public void apply(boolean wake) {
+			Body[] bodies = this.bodies.items;
+			float[] torque = this.torque.items;
+			for(int i = 0, n = this.bodies.size; i < n; i++)
+				bodies[i].applyTorque(torque[i], wake);
+		}
+
+	}
+
 }
@@ -0,0 +1,305 @@
+/** Copyright 2015 Robin Stumm (serverkorken@gmail.com, http://dermetfan.net)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License. */
+
+package net.dermetfan.gdx.physics.box2d;
+
+import com.badlogic.gdx.maps.Map;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.Shape.Type;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
+import net.dermetfan.gdx.physics.box2d.Box2DMapObjectParser.BodyRecord;
+import net.dermetfan.gdx.physics.box2d.Box2DMapObjectParser.CompiledLayer;
+import net.dermetfan.gdx.physics.box2d.Box2DMapObjectParser.CompiledMap;
+import net.dermetfan.gdx.physics.box2d.Box2DMapObjectParser.FixtureRecord;
+
+/** Creates the static {@link Box2DMapObjectParser.Aliases#object objects} of a {@link CompiledMap} only while they are near a focus point, such as the camera or the players.
+ *  The objects are bucketed into square chunks when the map is {@link #load(World, CompiledMap) loaded}. {@link #update(World, float, float) Updating} creates the chunks within the {@link #loadDistance} and destroys those beyond the {@link #unloadDistance}, so a chunk at the border is not created and destroyed repeatedly.
+ *  Only unnamed static objects are streamed. Named objects, {@link Box2DMapObjectParser.Aliases#body bodies}, {@link Box2DMapObjectParser.Aliases#fixture fixtures} and {@link Box2DMapObjectParser.Aliases#joint joints} are created once when the map is loaded because they may be looked up by name.
+ *  The {@link Box2DMapObjectParser.Listener#created(Body, com.badlogic.gdx.maps.MapObject) created} methods of the parser's listener are called each time a chunk is created.
+ *  @author dermetfan
+ *  @since 0.13.0 */
+public class StreamingMapLoader {
+
+	/** the parser to create the objects with */
+	private final Box2DMapObjectParser parser;
+
+	/** the size of a chunk */
+	private final float chunkSize;
+
+	/** the distance from a focus point up to which chunks are created */
+	private float loadDistance;
+
+	/** the distance from all focus points beyond which chunks are destroyed, at least the {@link #loadDistance} */
+	private float unloadDistance;
+
+	/** the chunks by their {@link #key(int, int) key} */
+	private final LongMap<Chunk> chunks = new LongMap<>();
+
+	/** the chunks that are currently created */
+	private final Array<Chunk> loaded = new Array<>(false, 16, Chunk.class);
+
+	/** for internal, temporary usage */
+	private final float[] point = new float[2];
+
+	/** @param parser the {@link #parser}
+	 *  @param chunkSize the {@link #chunkSize}
+	 *  @param loadDistance the {@link #loadDistance}
+	 *  @param unloadDistance the {@link #unloadDistance} */
+	public StreamingMapLoader(Box2DMapObjectParser parser, float chunkSize, float loadDistance, float unloadDistance) {
+		if(chunkSize <= 0)
+			throw new IllegalArgumentException("chunkSize must be greater than 0: " + chunkSize);
+		this.parser = parser;
+		this.chunkSize = chunkSize;
+		setDistances(loadDistance, unloadDistance);
+	}
+
+	/** {@link Box2DMapObjectParser#compile(Map) compiles} and {@link #load(World, CompiledMap) loads} the given Map
+	 *  @return the given World */
+	public World load(World world, Map map) {
+		return load(world, parser.compile(map));
+	}
+
+	/** Moves the streamed objects of the given {@link CompiledMap} into chunks and {@link Box2DMapObjectParser#create(World, CompiledMap) creates} the rest of it.
+	 *  This modifies the given CompiledMap: the streamed objects are removed from its {@link CompiledLayer#objects}, so creating it again afterwards would not create them. Compile the map again to load it into another World.
+	 *  No chunk is created until the next {@link #update(World, float, float) update}.
+	 *  @return the given World */
+	public World load(World world, CompiledMap map) {
+		for(int i = 0; i < map.layers.size; i++) {
+			Array<BodyRecord> objects = map.layers.get(i).objects;
+			int size = 0;
+			for(int ii = 0; ii < objects.size; ii++) {
+				BodyRecord record = objects.get(ii);
+				if(isStreamed(record))
+					add(record);
+				else
+					objects.set(size++, record);
+			}
+			objects.truncate(size);
+		}
+		return parser.create(world, map);
+	}
+
+	/** @return if the given BodyRecord is an unnamed static object */
+	protected boolean isStreamed(BodyRecord record) {
+		return (record.name == null || record.name.isEmpty()) && record.bodyDef.type == BodyType.StaticBody;
+	}
+
+	/** adds the given BodyRecord to the chunk that contains the center of its Fixtures, or its position if it has none */
+	private void add(BodyRecord record) {
+		float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+		for(int i = 0; i < record.fixtures.size; i++) {
+			FixtureRecord fixture = record.fixtures.get(i);
+			float[] vertices = fixture.vertices;
+			if(fixture.box) {
+				minX = Math.min(minX, Math.min(vertices[0], vertices[0] + vertices[2]));
+				minY = Math.min(minY, Math.min(vertices[1], vertices[1] + vertices[3]));
+				maxX = Math.max(maxX, Math.max(vertices[0], vertices[0] + vertices[2]));
+				maxY = Math.max(maxY, Math.max(vertices[1], vertices[1] + vertices[3]));
+			} else if(fixture.type == Type.Circle) {
+				minX = Math.min(minX, vertices[0] - vertices[2]);
+				minY = Math.min(minY, vertices[1] - vertices[2]);
+				maxX = Math.max(maxX, vertices[0] + vertices[2]);
+				maxY = Math.max(maxY, vertices[1] + vertices[2]);
+			} else
+				for(int ix = 0, iy = 1; iy < vertices.length; ix += 2, iy += 2) {
+					minX = Math.min(minX, vertices[ix]);
+					minY = Math.min(minY, vertices[iy]);
+					maxX = Math.max(maxX, vertices[ix]);
+					maxY = Math.max(maxY, vertices[iy]);
+				}
+		}
+		float x, y;
+		if(minX <= maxX) {
+			x = (minX + maxX) / 2;
+			y = (minY + maxY) / 2;
+		} else {
+			x = record.bodyDef.position.x;
+			y = record.bodyDef.position.y;
+		}
+		int cellX = MathUtils.floor(x / chunkSize), cellY = MathUtils.floor(y / chunkSize);
+		long key = key(cellX, cellY);
+		Chunk chunk = chunks.get(key);
+		if(chunk == null)
+			chunks.put(key, chunk = new Chunk(cellX, cellY));
+		chunk.records.add(record);
+	}
+
+	/** @see #update(World, float[], int) */
+	public void update(World world, float x, float y) {
+		point[0] = x;
+		point[1] = y;
+		update(world, point, 1);
+	}
+
+	/** destroys the created chunks that are farther than the {@link #unloadDistance} from all given points and creates the chunks within the {@link #loadDistance} of any of them
+	 *  @param world the World the map was {@link #load(World, CompiledMap) loaded} in
+	 *  @param points the focus points as {@code x, y} pairs
+	 *  @param count the number of points */
+	public void update(World world, float[] points, int count) {
+		for(int i = loaded.size - 1; i >= 0; i--) {
+			Chunk chunk = loaded.get(i);
+			boolean near = false;
+			for(int ix = 0, iy = 1; ix < count * 2; ix += 2, iy += 2)
+				if(chunk.distance2(points[ix], points[iy], chunkSize) <= unloadDistance * unloadDistance) {
+					near = true;
+					break;
+				}
+			if(!near) {
+				chunk.destroy(world, parser);
+				loaded.removeIndex(i);
+			}
+		}
+
+		for(int ix = 0, iy = 1; ix < count * 2; ix += 2, iy += 2) {
+			float x = points[ix], y = points[iy];
+			int minCellX = MathUtils.floor((x - loadDistance) / chunkSize), maxCellX = MathUtils.floor((x + loadDistance) / chunkSize);
+			int minCellY = MathUtils.floor((y - loadDistance) / chunkSize), maxCellY = MathUtils.floor((y + loadDistance) / chunkSize);
+			for(int cellX = minCellX; cellX <= maxCellX; cellX++)
+				for(int cellY = minCellY; cellY <= maxCellY; cellY++) {
+					Chunk chunk = chunks.get(key(cellX, cellY));
+					if(chunk != null && chunk.bodies.size == 0 && chunk.distance2(x, y, chunkSize) <= loadDistance * loadDistance) {
+						chunk.create(world, parser);
+						loaded.add(chunk);
+					}
+				}
+		}
+	}
+
+	/** destroys all created chunks
+	 *  @param world the World the map was {@link #load(World, CompiledMap) loaded} in */
+	public void unloadAll(World world) {
+		for(int i = 0; i < loaded.size; i++)
+			loaded.get(i).destroy(world, parser);
+		loaded.clear();
+	}
+
+	/** @return the number of chunks that are currently created */
+	public int getLoadedChunkCount() {
+		return loaded.size;
+	}
+
+	/** @return the number of chunks that contain streamed objects */
+	public int getChunkCount() {
+		return chunks.size;
+	}
+
+	/** @return if the chunk containing the given point is currently created */
+	public boolean isLoaded(float x, float y) {
+		Chunk chunk = chunks.get(key(MathUtils.floor(x / chunkSize), MathUtils.floor(y / chunkSize)));
+		return chunk != null && chunk.bodies.size > 0;
+	}
+
+	/** @return the given cell coordinates packed into one long */
+	private static long key(int cellX, int cellY) {
+		return (long) cellX << 32 | cellY & 0xffffffffL;
+	}
+
+	// getters and setters
+
+	/** @return the {@link #parser} */
+	public Box2DMapObjectParser getParser() {
+		return parser;
+	}
+
+	/** @return the {@link #chunkSize} */
+	public float getChunkSize() {
+		return chunkSize;
+	}
+
+	/** @return the {@link #loadDistance} */
+	public float getLoadDistance() {
+		return loadDistance;
+	}
+
+	/** @return the {@link #unloadDistance} */
+	public float getUnloadDistance() {
+		return unloadDistance;
+	}
+
+	/** @param loadDistance the {@link #loadDistance} to set
+	 *  @param unloadDistance the {@link #unloadDistance} to set */
+	public void setDistances(float loadDistance, float unloadDistance) {
+		if(loadDistance < 0)
+			throw new IllegalArgumentException("loadDistance must not be negative: " + loadDistance);
+		if(unloadDistance < loadDistance)
+			throw new IllegalArgumentException("unloadDistance must be at least loadDistance: " + unloadDistance + " < " + loadDistance);
+		this.loadDistance = loadDistance;
+		this.unloadDistance = unloadDistance;
+	}
+
+	/** the streamed objects in one cell and the Bodies created from them
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	private static class Chunk {
+
+		/** the coordinates of the cell */
+		final int cellX, cellY;
+
+		/** the objects in this chunk */
+		final Array<BodyRecord> records = new Array<>(BodyRecord.class);
+
+		/** the created Bodies, empty if this chunk is not created */
+		final Array<Body> bodies = new Array<>(Body.class);
+
+		/** the names the Bodies and Fixtures were put in the parser's {@link Box2DMapObjectParser#getBodies() bodies} and {@link Box2DMapObjectParser#getFixtures() fixtures} with */
+		final Array<String> bodyNames = new Array<>(String.class), fixtureNames = new Array<>(String.class);
+
+		Chunk(int cellX, int cellY) {
+			this.cellX = cellX;
+			this.cellY = cellY;
+		}
+
+		/** @return the squared distance from the given point to the bounds of this chunk */
+		float distance2(float x, float y, float size) {
+			float minX = cellX * size, minY = cellY * size;
+			float dx = x < minX ? minX - x : Math.max(0, x - (minX + size));
+			float dy = y < minY ? minY - y : Math.max(0, y - (minY + size));
+			return dx * dx + dy * dy;
+		}
+
+		void create(World world, Box2DMapObjectParser parser) {
+			for(int i = 0; i < records.size; i++) {
+				BodyRecord record = records.get(i);
+				String name = Box2DMapObjectParser.findAvailableName(record.name, parser.getBodies());
+				bodyNames.add(name);
+				Body body = parser.createBody(world, record, name);
+				bodies.add(body);
+				for(int ii = 0; ii < record.fixtures.size; ii++) {
+					FixtureRecord fixture = record.fixtures.get(ii);
+					name = Box2DMapObjectParser.findAvailableName(fixture.name, parser.getFixtures());
+					fixtureNames.add(name);
+					parser.createFixture(fixture, body, name);
+				}
+			}
+		}
+
+		void destroy(World world, Box2DMapObjectParser parser) {
+			for(int i = 0; i < bodies.size; i++) {
+				world.destroyBody(bodies.get(i));
+				parser.getBodies().remove(bodyNames.get(i));
+			}
+			for(int i = 0; i < fixtureNames.size; i++)
+				parser.getFixtures().remove(fixtureNames.get(i));
+			bodies.clear();
+			bodyNames.clear();
+			fixtureNames.clear();
+		}
+
+	}
+
+}
@@ -16,13 +16,18 @@ package net.dermetfan.gdx.physics.box2d;
 
 import java.util.Objects;
 
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.Contact;
 import com.badlogic.gdx.physics.box2d.Filter;
 import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
 import com.badlogic.gdx.physics.box2d.Joint;
 import com.badlogic.gdx.physics.box2d.JointDef.JointType;
+import com.badlogic.gdx.physics.box2d.JointEdge;
 import com.badlogic.gdx.physics.box2d.MassData;
 import com.badlogic.gdx.physics.box2d.Transform;
 import com.badlogic.gdx.physics.box2d.World;
@@ -39,10 +44,14 @@ import com.badlogic.gdx.physics.box2d.joints.WheelJoint;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.IntMap;
 import com.badlogic.gdx.utils.IntMap.Entry;
+import com.badlogic.gdx.utils.IntSet;
+import com.badlogic.gdx.utils.LongMap;
 import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.Pool;
 import com.badlogic.gdx.utils.Pool.Poolable;
 import com.badlogic.gdx.utils.Pools;
+import com.badlogic.gdx.utils.Predicate;
+import net.dermetfan.utils.Function;
 
 /** Notifies a {@link Listener} of changes in the world.
  *  <strong>Does NOT work on HTML5!</strong>
@@ -62,20 +71,65 @@ public class WorldObserver {
 	/** the FixtureChanges used to track Fixtures, keys are hashes computed by {@link com.badlogic.gdx.physics.box2d.Box2DUtils#hashCode(Fixture) Box2DUtils#hashCode(Fixture)} because a world pools its Fixtures */
 	private final IntMap<FixtureChange> fixtureChanges = new IntMap<>();
 
-	/** the JointChanges used to track Joints */
-	private final ObjectMap<Joint, JointChange> jointChanges = new ObjectMap<>();
+	/** the JointChanges used to track Joints, keys are {@link com.badlogic.gdx.physics.box2d.Box2DUtils#getAddr(Joint) addresses} */
+	private final LongMap<JointChange<?>> jointChanges = new LongMap<>();
 
 	/** temporary array used internally */
 	private final Array<Body> tmpBodies = new Array<>();
 
+	/** temporary array used internally */
+	private final Array<Joint> tmpJoints = new Array<>();
+
 	/** the Bodies by {@link com.badlogic.gdx.physics.box2d.Box2DUtils#hashCode(Body) hash} since this/the last time {@link #update(World, float)} was called */
 	private final IntMap<Body> currentBodies = new IntMap<>(), previousBodies = new IntMap<>();
 
 	/** the Fixtures by {@link com.badlogic.gdx.physics.box2d.Box2DUtils#hashCode(Fixture) hash} since this/the last time {@link #update(World, float)} was called */
 	private final IntMap<Fixture> currentFixtures = new IntMap<>(), previousFixtures = new IntMap<>();
 
-	/** the Joints since this/the last time {@link #update(World, float)} was called  */
-	private final Array<Joint> currentJoints = new Array<>(), previousJoints = new Array<>();
+	/** the Joints by {@link com.badlogic.gdx.physics.box2d.Box2DUtils#getAddr(Joint) address} since this/the last time {@link #update(World, float)} was called */
+	private final LongMap<Joint> currentJoints = new LongMap<>(), previousJoints = new LongMap<>();
+
+	/** Whether only Bodies that are awake or {@link #markDirty(Body) marked dirty} should be diffed. Sleeping Bodies are considered unchanged until they wake up.
+	 *  An update only visits the Bodies that were awake in the last update, the Bodies marked dirty and the Bodies they touch or are jointed to while awake, which is how Box2D wakes up sleeping Bodies.
+	 *  Its cost therefore grows with the number of awake Bodies and {@link World#getContactCount() contacts} instead of all Bodies.
+	 *  All Bodies are only visited if the Body or Fixture count changed or after {@link #invalidate()}, which the tracked methods like {@link #createBody(World, BodyDef)} call.
+	 *  Sleeping Bodies that are changed or woken up by your own code, for example by {@link Body#setTransform(float, float, float) setting the transform} or {@link Body#setAwake(boolean) waking them up}, are only noticed if they are {@link #markDirty(Body) marked dirty}. */
+	private boolean incremental;
+
+	/** the default {@link BodyChange#thresholds thresholds} of the BodyChanges, null to report every change */
+	private Thresholds thresholds;
+
+	/** Returns the {@link BodyChange#thresholds thresholds} to use for a Body, or null to use the default {@link #thresholds}. May be null.
+	 *  Called once when a Body is created. To change the thresholds of a Body later, use {@link BodyChange#setThresholds(Thresholds)}. */
+	private Function<Body, Thresholds> thresholdsAccessor;
+
+	/** Decides whether a Body and its Fixtures should be diffed. Bodies it rejects are considered unchanged, but their creation and destruction is still reported. May be null to diff all Bodies.
+	 *  Set by a {@link InterestRouter} when it is {@link Listener#setOn(WorldObserver) set on} this WorldObserver. */
+	private Predicate<Body> filter;
+
+	/** the {@link BodyChange#boxing boxing} of the BodyChanges and FixtureChanges, disable to avoid autoboxing */
+	private boolean boxing = true;
+
+	/** the Bodies {@link #markDirty(Body) marked dirty} since the last update by {@link com.badlogic.gdx.physics.box2d.Box2DUtils#hashCode(Body) hash} */
+	private final IntMap<Body> dirtyBodies = new IntMap<>();
+
+	/** the Bodies that were awake in the last update by {@link com.badlogic.gdx.physics.box2d.Box2DUtils#hashCode(Body) hash}, only maintained in {@link #incremental} mode */
+	private final IntMap<Body> awakeBodies = new IntMap<>();
+
+	/** the hashes of the Bodies visited by {@link #collectAwakeBodies(World)} */
+	private final IntSet visitedBodies = new IntSet();
+
+	/** the hashes of the visited Bodies that are awake and can wake up the Bodies they touch or are jointed to */
+	private final IntSet wakingBodies = new IntSet();
+
+	/** if Bodies or Fixtures may have been created or destroyed since the last update, see {@link #invalidate()} */
+	private boolean structureChanged = true;
+
+	/** the {@link World#getBodyCount() body count} of the world at the last update */
+	private int bodyCount = -1;
+
+	/** the {@link World#getFixtureCount() fixture count} of the world at the last update */
+	private int fixtureCount = -1;
 
 	/** creates a new WorldObserver with no {@link #listener} */
 	public WorldObserver() {}
@@ -94,8 +148,57 @@ public class WorldObserver {
 		if(worldChange.update(world) && listener != null)
 			listener.changed(world, worldChange);
 
+		if(!incremental || structureChanged || world.getBodyCount() != bodyCount || world.getFixtureCount() != fixtureCount || !collectAwakeBodies(world)) {
+			world.getBodies(tmpBodies);
+			updateStructure();
+		} else
+			updateBodies(false);
+		bodyCount = world.getBodyCount();
+		fixtureCount = world.getFixtureCount();
+		structureChanged = false;
+		dirtyBodies.clear();
+
+		// check for destroyed joints
+		world.getJoints(tmpJoints);
+		currentJoints.clear();
+		for(Joint joint : tmpJoints)
+			currentJoints.put(com.badlogic.gdx.physics.box2d.Box2DUtils.getAddr(joint), joint);
+		for(LongMap.Entry<Joint> entry : previousJoints.entries()) {
+			if(currentJoints.get(entry.key) != entry.value) { // the address may have been reused by a new Joint
+				JointChange<?> change = jointChanges.remove(entry.key);
+				assert change != null;
+				Pools.free(change);
+				if(listener != null)
+					listener.destroyed(entry.value);
+			}
+		}
+		previousJoints.clear();
+		previousJoints.putAll(currentJoints);
+
+		// check for new or updated joints
+		for(LongMap.Entry<Joint> entry : currentJoints.entries()) {
+			@SuppressWarnings("unchecked")
+			JointChange<Joint> jointChange = (JointChange<Joint>) jointChanges.get(entry.key);
+			if(jointChange != null) { // updated
+				if(jointChange.update(entry.value) && listener != null)
+					listener.changed(entry.value, jointChange);
+			} else { // new
+				@SuppressWarnings("unchecked")
+				JointChange<Joint> newJointChange = JointChange.obtainFor(entry.value.getType());
+				newJointChange.update(entry.value);
+				jointChanges.put(entry.key, newJointChange);
+				if(listener != null)
+					listener.created(entry.value);
+			}
+		}
+
+		if(listener != null)
+			listener.postUpdate(world, step);
+	}
+
+	/** processes all creations, destructions and changes of the Bodies in {@link #tmpBodies} and their Fixtures */
+	private void updateStructure() {
 		// destructions
-		world.getBodies(tmpBodies);
 		currentBodies.clear();
 		currentFixtures.clear();
 		for(Body body : tmpBodies) {
@@ -115,7 +218,7 @@ public class WorldObserver {
 
 		for(Entry<Fixture> entry : previousFixtures.entries()) {
 			if(!currentFixtures.containsKey(entry.key)) {
-				Pools.free(fixtureChanges.get(entry.key));
+				Pools.free(fixtureChanges.remove(entry.key));
 				if(listener != null)
 					listener.destroyed(entry.value);
 			}
@@ -124,13 +227,19 @@ public class WorldObserver {
 		previousFixtures.putAll(currentFixtures);
 
 		// changes and creations
+		if(incremental) {
+			updateBodies(true);
+			return;
+		}
 		for(Entry<Body> entry : currentBodies.entries()) {
 			BodyChange bodyChange = bodyChanges.get(entry.key);
 			if(bodyChange != null) {
-				if(bodyChange.update(entry.value) && listener != null)
+				if((filter == null || filter.evaluate(entry.value)) && bodyChange.update(entry.value) && listener != null)
 					listener.changed(entry.value, bodyChange);
 			} else {
 				bodyChange = Pools.obtain(BodyChange.class);
+				bodyChange.setBoxing(boxing);
+				bodyChange.setThresholds(getThresholds(entry.value));
 				bodyChange.update(entry.value);
 				bodyChanges.put(entry.key, bodyChange);
 				if(listener != null)
@@ -140,10 +249,11 @@ public class WorldObserver {
 		for(Entry<Fixture> entry : currentFixtures.entries()) {
 			FixtureChange fixtureChange = fixtureChanges.get(entry.key);
 			if(fixtureChange != null) {
-				if(fixtureChange.update(entry.value) && listener != null)
+				if((filter == null || filter.evaluate(entry.value.getBody())) && fixtureChange.update(entry.value) && listener != null)
 					listener.changed(entry.value, fixtureChange);
 			} else {
 				fixtureChange = Pools.obtain(FixtureChange.class);
+				fixtureChange.setBoxing(boxing);
 				fixtureChange.created(entry.value.getBody());
 				fixtureChange.update(entry.value);
 				fixtureChanges.put(entry.key, fixtureChange);
@@ -151,38 +261,175 @@ public class WorldObserver {
 					listener.created(entry.value);
 			}
 		}
+	}
 
-		// check for new or updated joints
-		world.getJoints(currentJoints);
-		for(Joint joint : currentJoints) {
-			@SuppressWarnings("unchecked")
-			JointChange<Joint> jointChange = jointChanges.get(joint);
-			if(jointChange != null) { // updated
-				if(jointChange.update(joint) && listener != null)
-					listener.changed(joint, jointChange);
-			} else { // new
-				@SuppressWarnings("unchecked")
-				JointChange<Joint> newJointChange = JointChange.obtainFor(joint.getType());
-				newJointChange.update(joint);
-				jointChanges.put(joint, newJointChange);
-				if(listener != null)
-					listener.created(joint);
+	/** Puts the Bodies that may have changed since the last update into {@link #tmpBodies} without diffing them:
+	 *  the {@link #awakeBodies}, the {@link #dirtyBodies} and the Bodies they touch or are jointed to while awake, recursively.
+	 *  @return false if a visited Body or one of its Fixtures is not tracked or a Body was destroyed, in which case {@link #updateStructure()} has to be called */
+	private boolean collectAwakeBodies(World world) {
+		tmpBodies.clear();
+		visitedBodies.clear();
+		wakingBodies.clear();
+		for(Body body : awakeBodies.values())
+			if(!visit(world, body))
+				return false;
+		for(Body body : dirtyBodies.values())
+			if(!visit(world, body))
+				return false;
+		Array<Contact> contacts = world.getContactList();
+		boolean found = !contacts.isEmpty();
+		while(found) { // repeat until no Body was woken up by a Body woken up in the last pass
+			found = false;
+			for(Contact contact : contacts) {
+				Body bodyA = contact.getFixtureA().getBody(), bodyB = contact.getFixtureB().getBody();
+				int hashA = com.badlogic.gdx.physics.box2d.Box2DUtils.hashCode(bodyA), hashB = com.badlogic.gdx.physics.box2d.Box2DUtils.hashCode(bodyB);
+				Body other = wakingBodies.contains(hashA) && !visitedBodies.contains(hashB) ? bodyB : wakingBodies.contains(hashB) && !visitedBodies.contains(hashA) ? bodyA : null;
+				if(other != null) {
+					if(!visit(world, other))
+						return false;
+					found = true;
+				}
 			}
 		}
-		// check for destroyed joints
-		previousJoints.removeAll(currentJoints, true);
-		for(Joint joint : previousJoints) {
-			JointChange change = jointChanges.remove(joint);
-			assert change != null;
-			Pools.free(change);
-			if(listener != null)
-				listener.destroyed(joint);
+		return true;
+	}
+
+	/** Adds the given Body to {@link #tmpBodies} if it was not visited yet, and the Bodies jointed to it if it is awake.
+	 *  @return false if the Body or one of its Fixtures is not tracked or the Body was destroyed */
+	private boolean visit(World world, Body body) {
+		int hash = com.badlogic.gdx.physics.box2d.Box2DUtils.hashCode(body);
+		if(!visitedBodies.add(hash))
+			return true;
+		if(com.badlogic.gdx.physics.box2d.Box2DUtils.getBody(world, com.badlogic.gdx.physics.box2d.Box2DUtils.getAddr(body)) != body || !bodyChanges.containsKey(hash))
+			return false;
+		Array<Fixture> fixtures = body.getFixtureList();
+		for(int i = 0; i < fixtures.size; i++)
+			if(!fixtureChanges.containsKey(com.badlogic.gdx.physics.box2d.Box2DUtils.hashCode(fixtures.get(i))))
+				return false;
+		tmpBodies.add(body);
+		if(body.getType() != BodyType.StaticBody && body.isAwake()) {
+			wakingBodies.add(hash);
+			Array<JointEdge> joints = body.getJointList();
+			for(int i = 0; i < joints.size; i++)
+				if(!visit(world, joints.get(i).other))
+					return false;
+		}
+		return true;
+	}
+
+	/** Processes the changes of the Bodies in {@link #tmpBodies} that are awake, fell asleep since the last update or were {@link #markDirty(Body) marked dirty} and pass the {@link #filter}, and their Fixtures.
+	 *  Sleeping Bodies are considered unchanged. The {@link #awakeBodies} are replaced by the awake Bodies in {@link #tmpBodies}.
+	 *  @param structure if creations may be processed (destructions must have been processed already), otherwise all Bodies and Fixtures in {@link #tmpBodies} must be tracked */
+	private void updateBodies(boolean structure) {
+		awakeBodies.clear();
+		for(Body body : tmpBodies) {
+			int hash = com.badlogic.gdx.physics.box2d.Box2DUtils.hashCode(body);
+			boolean awake = body.isAwake();
+			if(awake)
+				awakeBodies.put(hash, body);
+			BodyChange bodyChange = bodyChanges.get(hash);
+			boolean created = bodyChange == null;
+			if(created) {
+				assert structure : "untracked Body";
+				bodyChange = Pools.obtain(BodyChange.class);
+				bodyChange.setBoxing(boxing);
+				bodyChange.setThresholds(getThresholds(body));
+				bodyChange.update(body);
+				bodyChanges.put(hash, bodyChange);
+				if(listener != null)
+					listener.created(body);
+			} else if((awake || bodyChange.oldAwake || dirtyBodies.containsKey(hash)) && (filter == null || filter.evaluate(body))) {
+				if(bodyChange.update(body) && listener != null)
+					listener.changed(body, bodyChange);
+			} else if(!structure)
+				continue;
+			else
+				created = true; // only look for created fixtures
+			for(Fixture fixture : body.getFixtureList()) {
+				int fixtureHash = com.badlogic.gdx.physics.box2d.Box2DUtils.hashCode(fixture);
+				FixtureChange fixtureChange = fixtureChanges.get(fixtureHash);
+				if(fixtureChange != null) {
+					if(!created && fixtureChange.update(fixture) && listener != null)
+						listener.changed(fixture, fixtureChange);
+				} else {
+					assert structure : "untracked Fixture";
+					fixtureChange = Pools.obtain(FixtureChange.class);
+					fixtureChange.setBoxing(boxing);
+					fixtureChange.created(body);
+					fixtureChange.update(fixture);
+					fixtureChanges.put(fixtureHash, fixtureChange);
+					if(listener != null)
+						listener.created(fixture);
+				}
+			}
 		}
-		previousJoints.clear();
-		previousJoints.addAll(currentJoints);
+	}
 
-		if(listener != null)
-			listener.postUpdate(world, step);
+	/** Marks the given Body to be diffed in the next {@link #update(World, float) update} even if it is asleep. Only necessary in {@link #incremental} mode.
+	 *  Use this after changing a sleeping Body in a way that does not wake it up, or use the tracked methods like {@link #setTransform(Body, float, float, float)}.
+	 *  @param body the Body to diff in the next update */
+	public void markDirty(Body body) {
+		dirtyBodies.put(com.badlogic.gdx.physics.box2d.Box2DUtils.hashCode(body), body);
+	}
+
+	/** @param fixture the Fixture which {@link Fixture#getBody() Body} to {@link #markDirty(Body) mark dirty} */
+	public void markDirty(Fixture fixture) {
+		markDirty(fixture.getBody());
+	}
+
+	/** Makes the next {@link #update(World, float) update} look for created and destroyed Bodies and Fixtures. Only necessary in {@link #incremental} mode.
+	 *  Use this after creating and destroying the same number of Bodies or Fixtures without using the tracked methods like {@link #createBody(World, BodyDef)}. */
+	public void invalidate() {
+		structureChanged = true;
+	}
+
+	/** {@link World#createBody(BodyDef) creates} a Body and {@link #invalidate() invalidates} */
+	public Body createBody(World world, BodyDef bodyDef) {
+		invalidate();
+		return world.createBody(bodyDef);
+	}
+
+	/** {@link World#destroyBody(Body) destroys} a Body and {@link #invalidate() invalidates} */
+	public void destroyBody(World world, Body body) {
+		invalidate();
+		world.destroyBody(body);
+	}
+
+	/** {@link Body#createFixture(FixtureDef) creates} a Fixture and {@link #invalidate() invalidates} */
+	public Fixture createFixture(Body body, FixtureDef fixtureDef) {
+		invalidate();
+		return body.createFixture(fixtureDef);
+	}
+
+	/** {@link Body#destroyFixture(Fixture) destroys} a Fixture and {@link #invalidate() invalidates} */
+	public void destroyFixture(Body body, Fixture fixture) {
+		invalidate();
+		body.destroyFixture(fixture);
+	}
+
+	/** {@link Body#setTransform(float, float, float) sets the transform} of a Body and {@link #markDirty(Body) marks it dirty} */
+	public void setTransform(Body body, float x, float y, float angle) {
+		body.setTransform(x, y, angle);
+		markDirty(body);
+	}
+
+	/** {@link Body#setUserData(Object) sets the user data} of a Body and {@link #markDirty(Body) marks it dirty} */
+	public void setUserData(Body body, Object userData) {
+		body.setUserData(userData);
+		markDirty(body);
+	}
+
+	/** {@link Fixture#setUserData(Object) sets the user data} of a Fixture and {@link #markDirty(Fixture) marks it dirty} */
+	public void setUserData(Fixture fixture, Object userData) {
+		fixture.setUserData(userData);
+		markDirty(fixture);
+	}
+
+	/** @param body the Body which thresholds to return
+	 *  @return the thresholds returned by the {@link #thresholdsAccessor} or the default {@link #thresholds} */
+	public Thresholds getThresholds(Body body) {
+		Thresholds thresholds = thresholdsAccessor != null ? thresholdsAccessor.apply(body) : null;
+		return thresholds != null ? thresholds : this.thresholds;
 	}
 
 	/** @param hash the hash of the Body (computed via {@link com.badlogic.gdx.physics.box2d.Box2DUtils#hashCode(Body) Box2DUtils#hashCode(Body)}) which associated BodyChange to return
@@ -198,9 +445,10 @@ public class WorldObserver {
 	}
 
 	/** @param joint the joint which associated JointChange to return
-	 *  @return the JointChange from {@link #jointChanges} currently used for the given Joint */
-	public JointChange getJointChange(Joint joint) {
-		return jointChanges.get(joint);
+	 *  @return the JointChange from {@link #jointChanges} currently used for the given Joint, or null if not found */
+	public JointChange<?> getJointChange(Joint joint) {
+		long addr = com.badlogic.gdx.physics.box2d.Box2DUtils.getAddr(joint);
+		return previousJoints.get(addr) == joint ? jointChanges.get(addr) : null;
 	}
 
 	// getters and setters
@@ -210,6 +458,66 @@ public class WorldObserver {
 		return worldChange;
 	}
 
+	/** @return the {@link #incremental} */
+	public boolean isIncremental() {
+		return incremental;
+	}
+
+	/** @param incremental the {@link #incremental} to set, {@link #invalidate() invalidates} so that the next update visits all Bodies */
+	public void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+		invalidate();
+	}
+
+	/** @return the {@link #thresholds} */
+	public Thresholds getThresholds() {
+		return thresholds;
+	}
+
+	/** @param thresholds the {@link #thresholds} to set on all tracked and future BodyChanges, taking the {@link #thresholdsAccessor} into account */
+	public void setThresholds(Thresholds thresholds) {
+		this.thresholds = thresholds;
+		for(Entry<Body> entry : previousBodies.entries()) {
+			BodyChange bodyChange = bodyChanges.get(entry.key);
+			if(bodyChange != null)
+				bodyChange.setThresholds(getThresholds(entry.value));
+		}
+	}
+
+	/** @return the {@link #thresholdsAccessor} */
+	public Function<Body, Thresholds> getThresholdsAccessor() {
+		return thresholdsAccessor;
+	}
+
+	/** @param thresholdsAccessor the {@link #thresholdsAccessor} to set */
+	public void setThresholdsAccessor(Function<Body, Thresholds> thresholdsAccessor) {
+		this.thresholdsAccessor = thresholdsAccessor;
+	}
+
+	/** @return the {@link #filter} */
+	public Predicate<Body> getFilter() {
+		return filter;
+	}
+
+	/** @param filter the {@link #filter} to set */
+	public void setFilter(Predicate<Body> filter) {
+		this.filter = filter;
+	}
+
+	/** @return the {@link #boxing} */
+	public boolean isBoxing() {
+		return boxing;
+	}
+
+	/** @param boxing the {@link #boxing} to set */
+	public void setBoxing(boolean boxing) {
+		this.boxing = boxing;
+		for(BodyChange bodyChange : bodyChanges.values())
+			bodyChange.setBoxing(boxing);
+		for(FixtureChange fixtureChange : fixtureChanges.values())
+			fixtureChange.setBoxing(boxing);
+	}
+
 	/** @return the {@link #listener} */
 	public Listener getListener() {
 		return listener;
@@ -267,7 +575,7 @@ public class WorldObserver {
 
 		/** @param joint the Joint that changed
 		 *  @param change the change */
-		void changed(Joint joint, JointChange change);
+		void changed(Joint joint, JointChange<?> change);
 
 		/** @param joint the created Joint */
 		void created(Joint joint);
@@ -314,7 +622,7 @@ public class WorldObserver {
 			public void destroyed(Fixture fixture) {}
 
 			@Override
-			public void changed(Joint joint, JointChange change) {}
+			public void changed(Joint joint, JointChange<?> change) {}
 
 			@Override
 			public void created(Joint joint) {}
@@ -356,15 +664,15 @@ public class WorldObserver {
 
 		@Override
 		public void changed(Body body, BodyChange change) {
-			boolean unexpected = change.newType != null || change.newAngularDamping != null || change.newGravityScale != null || change.newMassData != null || change.userDataChanged;
+			boolean unexpected = change.isDirty(BodyChange.TYPE | BodyChange.ANGULAR_DAMPING | BodyChange.GRAVITY_SCALE | BodyChange.MASS_DATA | BodyChange.USER_DATA);
 			ExpectationBase base = bases.get(body);
-			if(!unexpected && change.newLinearVelocity != null && !change.newLinearVelocity.equals(base.linearVelocity.mulAdd(body.getWorld().getGravity(), step).scl(1 / (1 + step * body.getLinearDamping()))))
+			if(!unexpected && change.isDirty(BodyChange.LINEAR_VELOCITY) && !change.getLinearVelocity().equals(base.linearVelocity.mulAdd(body.getWorld().getGravity(), step).scl(1 / (1 + step * body.getLinearDamping()))))
 				unexpected = true;
-			else if(change.newTransform != null && // the linear damping of the body must be applied to the linear velocity of the base already
-					change.newTransform.vals[Transform.POS_X] != base.transform.vals[Transform.POS_X] + base.linearVelocity.x * step &&
-					change.newTransform.vals[Transform.POS_Y] != base.transform.vals[Transform.POS_Y] + base.linearVelocity.y * step)
+			else if(change.isDirty(BodyChange.TRANSFORM) && // the linear damping of the body must be applied to the linear velocity of the base already
+					change.getTransform().vals[Transform.POS_X] != base.transform.vals[Transform.POS_X] + base.linearVelocity.x * step &&
+					change.getTransform().vals[Transform.POS_Y] != base.transform.vals[Transform.POS_Y] + base.linearVelocity.y * step)
 				unexpected = true;
-			else if(change.newAngularVelocity != null && change.newAngularVelocity != base.angularVelocity * (1 / (1 + step * body.getAngularDamping())))
+			else if(change.isDirty(BodyChange.ANGULAR_VELOCITY) && change.getAngularVelocity() != base.angularVelocity * (1 / (1 + step * body.getAngularDamping())))
 				unexpected = true;
 			base.set(body);
 			if(unexpected)
@@ -426,7 +734,7 @@ public class WorldObserver {
 		}
 
 		@Override
-		public void changed(Joint joint, JointChange change) {
+		public void changed(Joint joint, JointChange<?> change) {
 			listener.changed(joint, change);
 		}
 
@@ -526,7 +834,7 @@ public class WorldObserver {
 				oldGravity.set(newGravity = gravity);
 				changed = true;
 			} else
-				newAutoClearForces = null;
+				newGravity = null;
 
 			return changed;
 		}
@@ -560,11 +868,120 @@ public class WorldObserver {
 
 	}
 
+	/** The amounts by which properties of a Body must change to be reported by a {@link BodyChange}.
+	 *  Smaller changes are not lost but accumulate until they exceed the threshold because they are compared to the last reported value.
+	 *  When a Body falls asleep, the thresholds are ignored for that update so that the accumulated changes are reported with the exact values the Body rests at.
+	 *  @author dermetfan
+	 *  @since 0.13.0 */
+	public static class Thresholds {
+
+		/** the distance by which the position must change */
+		private float position;
+
+		/** the angle in radians by which the rotation must change */
+		private float angle;
+
+		/** the sine and cosine of the {@link #angle} */
+		private float angleSin, angleCos = 1;
+
+		/** the length by which the linear velocity must change */
+		private float linearVelocity;
+
+		/** the amount by which the angular velocity must change */
+		private float angularVelocity;
+
+		/** creates Thresholds that report every change */
+		public Thresholds() {}
+
+		/** @param position the {@link #position}
+		 *  @param angle the {@link #angle}
+		 *  @param linearVelocity the {@link #linearVelocity}
+		 *  @param angularVelocity the {@link #angularVelocity} */
+		public Thresholds(float position, float angle, float linearVelocity, float angularVelocity) {
+			setPosition(position);
+			setAngle(angle);
+			setLinearVelocity(linearVelocity);
+			setAngularVelocity(angularVelocity);
+		}
+
+		/** @return if the position or rotation of the given Transforms differ by more than the {@link #position} or {@link #angle} */
+		public boolean exceeds(Transform transform, Transform oldTransform) {
+			float[] vals = transform.vals, oldVals = oldTransform.vals;
+			float dx = vals[Transform.POS_X] - oldVals[Transform.POS_X], dy = vals[Transform.POS_Y] - oldVals[Transform.POS_Y];
+			if(dx * dx + dy * dy > position * position)
+				return true;
+			if(angle == 0)
+				return vals[Transform.COS] != oldVals[Transform.COS] || vals[Transform.SIN] != oldVals[Transform.SIN];
+			// sine and cosine of the angle between the rotations, the sine is more precise for small angles
+			float cos = vals[Transform.COS] * oldVals[Transform.COS] + vals[Transform.SIN] * oldVals[Transform.SIN];
+			float sin = vals[Transform.SIN] * oldVals[Transform.COS] - vals[Transform.COS] * oldVals[Transform.SIN];
+			return angle < MathUtils.PI / 2 ? cos < 0 || Math.abs(sin) > angleSin : cos < angleCos;
+		}
+
+		/** @return if the given linear velocities differ by more than the {@link #linearVelocity} */
+		public boolean exceedsLinearVelocity(Vector2 linearVelocity, Vector2 oldLinearVelocity) {
+			return linearVelocity.dst2(oldLinearVelocity) > this.linearVelocity * this.linearVelocity;
+		}
+
+		/** @return if the given angular velocities differ by more than the {@link #angularVelocity} */
+		public boolean exceedsAngularVelocity(float angularVelocity, float oldAngularVelocity) {
+			return Math.abs(angularVelocity - oldAngularVelocity) > this.angularVelocity;
+		}
+
+		// getters and setters
+
+		/** @return the {@link #position} */
+		public float getPosition() {
+			return position;
+		}
+
+		/** @param position the {@link #position} to set */
+		public void setPosition(float position) {
+			this.position = position;
+		}
+
+		/** @return the {@link #angle} */
+		public float getAngle() {
+			return angle;
+		}
+
+		/** @param angle the {@link #angle} to set */
+		public void setAngle(float angle) {
+			this.angle = angle;
+			angleSin = (float) Math.sin(angle);
+			angleCos = (float) Math.cos(angle);
+		}
+
+		/** @return the {@link #linearVelocity} */
+		public float getLinearVelocity() {
+			return linearVelocity;
+		}
+
+		/** @param linearVelocity the {@link #linearVelocity} to set */
+		public void setLinearVelocity(float linearVelocity) {
+			this.linearVelocity = linearVelocity;
+		}
+
+		/** @return the {@link #angularVelocity} */
+		public float getAngularVelocity() {
+			return angularVelocity;
+		}
+
+		/** @param angularVelocity the {@link #angularVelocity} to set */
+		public void setAngularVelocity(float angularVelocity) {
+			this.angularVelocity = angularVelocity;
+		}
+
+	}
+
 	/** the changes of a {@link Body}
 	 *  @author dermetfan
 	 *  @since 0.6.0 */
 	public static class BodyChange implements Change<Body> {
 
+		/** bits of {@link #dirty} */
+		public static final long TRANSFORM = 1, TYPE = 1 << 1, ANGULAR_DAMPING = 1 << 2, ANGULAR_VELOCITY = 1 << 3, LINEAR_DAMPING = 1 << 4, GRAVITY_SCALE = 1 << 5, LINEAR_VELOCITY = 1 << 6, MASS_DATA = 1 << 7, FIXED_ROTATION = 1 << 8, BULLET = 1 << 9, AWAKE = 1 << 10, ACTIVE = 1 << 11, SLEEPING_ALLOWED = 1 << 12, USER_DATA = 1 << 13;
+
 		private transient final Transform oldTransform = new Transform();
 		private transient BodyType oldType;
 		private transient float oldAngularDamping;
@@ -595,8 +1012,16 @@ public class WorldObserver {
 		public Boolean newSleepingAllowed;
 		public Object newUserData;
 
-		/** if the {@link Body#userData} changed */
-		private boolean userDataChanged;
+		/** The properties that changed in the last {@link #update(Body) update} as bits like {@link #TRANSFORM}.
+		 *  The setters like {@link #setAngularDamping(float)} mark properties dirty so that a change can be built to {@link #apply(Body) apply} with {@link #boxing} disabled. */
+		private long dirty;
+
+		/** the thresholds for changes of the transform and velocities, null to report every change */
+		private Thresholds thresholds;
+
+		/** If the boxed {@code new*} fields of primitive properties like {@link #newAngularDamping} should be set. If false, they are always null to avoid autoboxing.
+		 *  Use {@link #isDirty(long)} and the getters of the current values like {@link #getAngularDamping()} instead. */
+		private boolean boxing = true;
 
 		private void updateOldTransform(Transform transform) {
 			oldTransform.vals[Transform.POS_X] = transform.vals[Transform.POS_X];
@@ -627,87 +1052,101 @@ public class WorldObserver {
 			boolean active = body.isActive();
 			boolean sleepingAllowed = body.isSleepingAllowed();
 			Object userData = body.getUserData();
+			// report the exact values when the Body falls asleep so that changes below the thresholds are not withheld while it sleeps
+			Thresholds thresholds = awake || !oldAwake ? this.thresholds : null;
 
-			boolean changed = false;
+			dirty = 0;
 
-			if(!Box2DUtils.equals(transform, oldTransform)) {
+			if(thresholds != null ? thresholds.exceeds(transform, oldTransform) : !Box2DUtils.equals(transform, oldTransform)) {
 				updateOldTransform(newTransform = transform);
-				changed = true;
+				dirty |= TRANSFORM;
 			} else
 				newTransform = null;
 			if(!type.equals(oldType)) {
 				oldType = newType = type;
-				changed = true;
+				dirty |= TYPE;
 			} else
 				newType = null;
 			if(angularDamping != oldAngularDamping) {
-				oldAngularDamping = newAngularDamping = angularDamping;
-				changed = true;
+				oldAngularDamping = angularDamping;
+				newAngularDamping = boxing ? angularDamping : null;
+				dirty |= ANGULAR_DAMPING;
 			} else
 				newAngularDamping = null;
-			if(angularVelocity != oldAngularVelocity) {
-				oldAngularVelocity = newAngularVelocity = angularVelocity;
-				changed = true;
+			if(thresholds != null ? thresholds.exceedsAngularVelocity(angularVelocity, oldAngularVelocity) : angularVelocity != oldAngularVelocity) {
+				oldAngularVelocity = angularVelocity;
+				newAngularVelocity = boxing ? angularVelocity : null;
+				dirty |= ANGULAR_VELOCITY;
 			} else
 				newAngularVelocity = null;
 			if(linearDamping != oldLinearDamping) {
-				oldLinearDamping = newLinearDamping = linearDamping;
-				changed = true;
+				oldLinearDamping = linearDamping;
+				newLinearDamping = boxing ? linearDamping : null;
+				dirty |= LINEAR_DAMPING;
 			} else
 				newLinearDamping = null;
 			if(gravityScale != oldGravityScale) {
-				oldGravityScale = newGravityScale = gravityScale;
-				changed = true;
+				oldGravityScale = gravityScale;
+				newGravityScale = boxing ? gravityScale : null;
+				dirty |= GRAVITY_SCALE;
 			} else
 				newGravityScale = null;
-			if(!linearVelocity.equals(oldLinearVelocity)) {
+			if(thresholds != null ? thresholds.exceedsLinearVelocity(linearVelocity, oldLinearVelocity) : !linearVelocity.equals(oldLinearVelocity)) {
 				oldLinearVelocity.set(newLinearVelocity = linearVelocity);
-				changed = true;
+				dirty |= LINEAR_VELOCITY;
 			} else
 				newLinearVelocity = null;
 			if(!Box2DUtils.equals(massData, oldMassData)) {
 				updateOldMassData(newMassData = massData);
-				changed = true;
+				dirty |= MASS_DATA;
 			} else
 				newMassData = null;
 			if(fixedRotation != oldFixedRotation) {
-				newFixedRotation = oldFixedRotation = fixedRotation;
-				changed = true;
+				oldFixedRotation = fixedRotation;
+				newFixedRotation = boxing ? fixedRotation : null;
+				dirty |= FIXED_ROTATION;
 			} else
 				newFixedRotation = null;
 			if(bullet != oldBullet) {
-				oldBullet = newBullet = bullet;
-				changed = true;
+				oldBullet = bullet;
+				newBullet = boxing ? bullet : null;
+				dirty |= BULLET;
 			} else
 				newBullet = null;
 			if(awake != oldAwake) {
-				oldAwake = newAwake = awake;
-				changed = true;
+				oldAwake = awake;
+				newAwake = boxing ? awake : null;
+				dirty |= AWAKE;
 			} else
 				newAwake = null;
 			if(active != oldActive) {
-				newActive = oldActive = active;
-				changed = true;
+				oldActive = active;
+				newActive = boxing ? active : null;
+				dirty |= ACTIVE;
 			} else
 				newActive = null;
 			if(sleepingAllowed != oldSleepingAllowed) {
-				newSleepingAllowed = oldSleepingAllowed = sleepingAllowed;
-				changed = true;
+				oldSleepingAllowed = sleepingAllowed;
+				newSleepingAllowed = boxing ? sleepingAllowed : null;
+				dirty |= SLEEPING_ALLOWED;
 			} else
 				newSleepingAllowed = null;
 			if(userData != null ? !userData.equals(oldUserData) : oldUserData != null) {
 				oldUserData = newUserData = userData;
-				changed = userDataChanged = true;
-			} else {
+				dirty |= USER_DATA;
+			} else
 				newUserData = null;
-				userDataChanged = false;
-			}
 
-			return changed;
+			return dirty != 0;
 		}
 
+		/** If {@link #boxing} is disabled, the {@link #dirty} properties are applied using the current values like {@link #getAngularDamping()}. */
 		@Override
 		public void apply(Body body) {
+			if(!boxing) {
+				applyDirty(body);
+				return;
+			}
 			if(newTransform != null)
 				body.setTransform(newTransform.vals[Transform.POS_X], newTransform.vals[Transform.POS_Y], newTransform.getRotation());
 			if(newType != null)
@@ -734,15 +1173,63 @@ public class WorldObserver {
 				body.setActive(newActive);
 			if(newSleepingAllowed != null)
 				body.setSleepingAllowed(newSleepingAllowed);
-			if(userDataChanged)
+			if(isDirty(USER_DATA))
 				body.setUserData(newUserData);
 		}
 
+		/** applies the {@link #dirty} properties without using the boxed {@code new*} fields */
+		private void applyDirty(Body body) {
+			if(isDirty(TRANSFORM))
+				body.setTransform(oldTransform.vals[Transform.POS_X], oldTransform.vals[Transform.POS_Y], oldTransform.getRotation());
+			if(isDirty(TYPE))
+				body.setType(oldType);
+			if(isDirty(ANGULAR_DAMPING))
+				body.setAngularDamping(oldAngularDamping);
+			if(isDirty(ANGULAR_VELOCITY))
+				body.setAngularVelocity(oldAngularVelocity);
+			if(isDirty(LINEAR_DAMPING))
+				body.setLinearDamping(oldLinearDamping);
+			if(isDirty(GRAVITY_SCALE))
+				body.setGravityScale(oldGravityScale);
+			if(isDirty(LINEAR_VELOCITY))
+				body.setLinearVelocity(oldLinearVelocity);
+			if(isDirty(MASS_DATA))
+				body.setMassData(oldMassData);
+			if(isDirty(FIXED_ROTATION))
+				body.setFixedRotation(oldFixedRotation);
+			if(isDirty(BULLET))
+				body.setBullet(oldBullet);
+			if(isDirty(AWAKE))
+				body.setAwake(oldAwake);
+			if(isDirty(ACTIVE))
+				body.setActive(oldActive);
+			if(isDirty(SLEEPING_ALLOWED))
+				body.setSleepingAllowed(oldSleepingAllowed);
+			if(isDirty(USER_DATA))
+				body.setUserData(oldUserData);
+		}
+
 		@Override
 		public <C extends Change<Body>> boolean newValuesEqual(C other) {
 			if(!(other instanceof BodyChange))
 				return false;
 			BodyChange o = (BodyChange) other;
+			if(!boxing || !o.boxing)
+				return dirty == o.dirty &&
+						(!isDirty(TRANSFORM) || Box2DUtils.equals(oldTransform, o.oldTransform)) &&
+						(!isDirty(TYPE) || oldType == o.oldType) &&
+						(!isDirty(ANGULAR_DAMPING) || oldAngularDamping == o.oldAngularDamping) &&
+						(!isDirty(ANGULAR_VELOCITY) || oldAngularVelocity == o.oldAngularVelocity) &&
+						(!isDirty(LINEAR_DAMPING) || oldLinearDamping == o.oldLinearDamping) &&
+						(!isDirty(GRAVITY_SCALE) || oldGravityScale == o.oldGravityScale) &&
+						(!isDirty(LINEAR_VELOCITY) || oldLinearVelocity.equals(o.oldLinearVelocity)) &&
+						(!isDirty(MASS_DATA) || Box2DUtils.equals(oldMassData, o.oldMassData)) &&
+						(!isDirty(FIXED_ROTATION) || oldFixedRotation == o.oldFixedRotation) &&
+						(!isDirty(BULLET) || oldBullet == o.oldBullet) &&
+						(!isDirty(AWAKE) || oldAwake == o.oldAwake) &&
+						(!isDirty(ACTIVE) || oldActive == o.oldActive) &&
+						(!isDirty(SLEEPING_ALLOWED) || oldSleepingAllowed == o.oldSleepingAllowed) &&
+						(!isDirty(USER_DATA) || Objects.equals(oldUserData, o.oldUserData));
 			return Objects.equals(newTransform, o.newTransform) &&
 					Objects.equals(newType, o.newType) &&
 					Objects.equals(newAngularDamping, o.newAngularDamping) &&
@@ -793,7 +1280,200 @@ public class WorldObserver {
 			newSleepingAllowed = null;
 			newUserData = null;
 
-			userDataChanged = false;
+			dirty = 0;
+			thresholds = null;
+			boxing = true;
+		}
+
+		/** @param property the property bit like {@link #TRANSFORM}, or multiple bits combined
+		 *  @return if any of the given properties changed in the last {@link #update(Body) update} */
+		public boolean isDirty(long property) {
+			return (dirty & property) != 0;
+		}
+
+		// getters and setters
+
+		/** @return the {@link #dirty} */
+		public long getDirty() {
+			return dirty;
+		}
+
+		/** @return the {@link #thresholds} */
+		public Thresholds getThresholds() {
+			return thresholds;
+		}
+
+		/** @param thresholds the {@link #thresholds} to set */
+		public void setThresholds(Thresholds thresholds) {
+			this.thresholds = thresholds;
+		}
+
+		/** @return the {@link #boxing} */
+		public boolean isBoxing() {
+			return boxing;
+		}
+
+		/** @param boxing the {@link #boxing} to set */
+		public void setBoxing(boolean boxing) {
+			this.boxing = boxing;
+		}
+
+		/** @return the transform of the Body at the last {@link #update(Body) update} */
+		public Transform getTransform() {
+			return oldTransform;
+		}
+
+		/** sets the transform to {@link #apply(Body) apply} and marks it {@link #dirty} */
+		public void setTransform(float x, float y, float angle) {
+			oldTransform.vals[Transform.POS_X] = x;
+			oldTransform.vals[Transform.POS_Y] = y;
+			oldTransform.setRotation(angle);
+			dirty |= TRANSFORM;
+		}
+
+		/** @return the type of the Body at the last {@link #update(Body) update} */
+		public BodyType getType() {
+			return oldType;
+		}
+
+		/** sets the type to {@link #apply(Body) apply} and marks it {@link #dirty} */
+		public void setType(BodyType type) {
+			oldType = type;
+			dirty |= TYPE;
+		}
+
+		/** @return the angular damping of the Body at the last {@link #update(Body) update} */
+		public float getAngularDamping() {
+			return oldAngularDamping;
+		}
+
+		/** sets the angular damping to {@link #apply(Body) apply} and marks it {@link #dirty} */
+		public void setAngularDamping(float angularDamping) {
+			oldAngularDamping = angularDamping;
+			dirty |= ANGULAR_DAMPING;
+		}
+
+		/** @return the angular velocity of the Body at the last {@link #update(Body) update} */
+		public float getAngularVelocity() {
+			return oldAngularVelocity;
+		}
+
+		/** sets the angular velocity to {@link #apply(Body) apply} and marks it {@link #dirty} */
+		public void setAngularVelocity(float angularVelocity) {
+			oldAngularVelocity = angularVelocity;
+			dirty |= ANGULAR_VELOCITY;
+		}
+
+		/** @return the linear damping of the Body at the last {@link #update(Body) update} */
+		public float getLinearDamping() {
+			return oldLinearDamping;
+		}
+
+		/** sets the linear damping to {@link #apply(Body) apply} and marks it {@link #dirty} */
+		public void setLinearDamping(float linearDamping) {
+			oldLinearDamping = linearDamping;
+			dirty |= LINEAR_DAMPING;
+		}
+
+		/** @return the gravity scale of the Body at the last {@link #update(Body) update} */
+		public float getGravityScale() {
+			return oldGravityScale;
+		}
+
+		/** sets the gravity scale to {@link #apply(Body) apply} and marks it {@link #dirty} */
+		public void setGravityScale(float gravityScale) {
+			oldGravityScale = gravityScale;
+			dirty |= GRAVITY_SCALE;
+		}
+
+		/** @return the linear velocity of the Body at the last {@link #update(Body) update} */
+		public Vector2 getLinearVelocity() {
+			return oldLinearVelocity;
+		}
+
+		/** sets the linear velocity to {@link #apply(Body) apply} and marks it {@link #dirty} */
+		public void setLinearVelocity(float x, float y) {
+			oldLinearVelocity.set(x, y);
+			dirty |= LINEAR_VELOCITY;
+		}
+
+		/** @return the mass data of the Body at the last {@link #update(Body) update} */
+		public MassData getMassData() {
+			return oldMassData;
+		}
+
+		/** sets the mass data to {@link #apply(Body) apply} and marks it {@link #dirty} */
+		public void setMassData(float mass, float centerX, float centerY, float I) {
+			oldMassData.mass = mass;
+			oldMassData.center.set(centerX, centerY);
+			oldMassData.I = I;
+			dirty |= MASS_DATA;
+		}
+
+		/** @return if the Body had fixed rotation at the last {@link #update(Body) update} */
+		public boolean isFixedRotation() {
+			return oldFixedRotation;
+		}
+
+		/** sets the fixed rotation to {@link #apply(Body) apply} and marks it {@link #dirty} */
+		public void setFixedRotation(boolean fixedRotation) {
+			oldFixedRotation = fixedRotation;
+			dirty |= FIXED_ROTATION;
+		}
+
+		/** @return if the Body was a bullet at the last {@link #update(Body) update} */
+		public boolean isBullet() {
+			return oldBullet;
+		}
+
+		/** sets the bullet flag to {@link #apply(Body) apply} and marks it {@link #dirty} */
+		public void setBullet(boolean bullet) {
+			oldBullet = bullet;
+			dirty |= BULLET;
+		}
+
+		/** @return if the Body was awake at the last {@link #update(Body) update} */
+		public boolean isAwake() {
+			return oldAwake;
+		}
+
+		/** sets the awake flag to {@link #apply(Body) apply} and marks it {@link #dirty} */
+		public void setAwake(boolean awake) {
+			oldAwake = awake;
+			dirty |= AWAKE;
+		}
+
+		/** @return if the Body was active at the last {@link #update(Body) update} */
+		public boolean isActive() {
+			return oldActive;
+		}
+
+		/** sets the active flag to {@link #apply(Body) apply} and marks it {@link #dirty} */
+		public void setActive(boolean active) {
+			oldActive = active;
+			dirty |= ACTIVE;
+		}
+
+		/** @return if the Body was allowed to sleep at the last {@link #update(Body) update} */
+		public boolean isSleepingAllowed() {
+			return oldSleepingAllowed;
+		}
+
+		/** sets if sleeping is allowed to {@link #apply(Body) apply} and marks it {@link #dirty} */
+		public void setSleepingAllowed(boolean sleepingAllowed) {
+			oldSleepingAllowed = sleepingAllowed;
+			dirty |= SLEEPING_ALLOWED;
+		}
+
+		/** @return the user data of the Body at the last {@link #update(Body) update} */
+		public Object getUserData() {
+			return oldUserData;
+		}
+
+		/** sets the user data to {@link #apply(Body) apply} and marks it {@link #dirty} */
+		public void setUserData(Object userData) {
+			oldUserData = userData;
+			dirty |= USER_DATA;
 		}
 
 	}
@@ -801,6 +1481,9 @@ public class WorldObserver {
 	/** the changes of a {@link Fixture} */
 	public static class FixtureChange implements Change<Fixture> {
 
+		/** bits of {@link #dirty} */
+		public static final long DENSITY = 1, FRICTION = 1 << 1, RESTITUTION = 1 << 2, FILTER = 1 << 3, SENSOR = 1 << 4, USER_DATA = 1 << 5;
+
 		private transient Body oldBody;
 		private transient boolean destroyed;
 
@@ -818,8 +1501,13 @@ public class WorldObserver {
 		public Boolean newSensor;
 		public Object newUserData;
 
-		/** if the {@link Fixture#userData} changed */
-		boolean userDataChanged;
+		/** The properties that changed in the last {@link #update(Fixture) update} as bits like {@link #DENSITY}.
+		 *  The setters like {@link #setDensity(float)} mark properties dirty so that a change can be built to {@link #apply(Fixture) apply} with {@link #boxing} disabled. */
+		private long dirty;
+
+		/** If the boxed {@code new*} fields of primitive properties like {@link #newDensity} should be set. If false, they are always null to avoid autoboxing.
+		 *  Use {@link #isDirty(long)} and the getters of the current values like {@link #getDensity()} instead. */
+		private boolean boxing = true;
 
 		/** this should be called when this FixtureChange is going to be used for a fixture on another body to make {@link #destroyed} work correctly */
 		void created(Body body) {
@@ -854,49 +1542,67 @@ public class WorldObserver {
 			boolean sensor = fixture.isSensor();
 			Object userData = fixture.getUserData();
 
-			boolean changed = false;
+			dirty = 0;
 
 			if(density != oldDensity) {
-				oldDensity = newDensity = density;
-				changed = true;
+				oldDensity = density;
+				newDensity = boxing ? density : null;
+				dirty |= DENSITY;
 			} else
 				newDensity = null;
 			if(friction != oldFriction) {
-				oldFriction = newFriction = friction;
-				changed = true;
+				oldFriction = friction;
+				newFriction = boxing ? friction : null;
+				dirty |= FRICTION;
 			} else
 				newFriction = null;
 			if(restitution != oldRestitution) {
-				oldRestitution = newRestitution = restitution;
-				changed = true;
+				oldRestitution = restitution;
+				newRestitution = boxing ? restitution : null;
+				dirty |= RESTITUTION;
 			} else
 				newRestitution = null;
 			if(!Box2DUtils.equals(filter, oldFilter)) {
 				updateOldFilter(newFilter = filter);
-				changed = true;
+				dirty |= FILTER;
 			} else
 				newFilter = null;
 			if(sensor != oldSensor) {
-				oldSensor = newSensor = sensor;
-				changed = true;
+				oldSensor = sensor;
+				newSensor = boxing ? sensor : null;
+				dirty |= SENSOR;
 			} else
 				newSensor = null;
 			if(userData != null ? !userData.equals(oldUserData) : oldUserData != null) {
 				oldUserData = newUserData = userData;
-				changed = userDataChanged = true;
-			} else {
+				dirty |= USER_DATA;
+			} else
 				newUserData = null;
-				userDataChanged = false;
-			}
 
-			return changed;
+			return dirty != 0;
 		}
 
-		/** @throws IllegalStateException if the fixture has been {@link #destroyed} */
+		/** If {@link #boxing} is disabled, the {@link #dirty} properties are applied using the current values like {@link #getDensity()}.
+		 *  @throws IllegalStateException if the fixture has been {@link #destroyed} */
 		@Override
 		public void apply(Fixture fixture) {
 			if(destroyed)
 				throw new IllegalStateException("destroyed FixtureChanges may not be applied");
+			if(!boxing) {
+				if(isDirty(DENSITY))
+					fixture.setDensity(oldDensity);
+				if(isDirty(FRICTION))
+					fixture.setFriction(oldFriction);
+				if(isDirty(RESTITUTION))
+					fixture.setRestitution(oldRestitution);
+				if(isDirty(FILTER))
+					fixture.setFilterData(oldFilter);
+				if(isDirty(SENSOR))
+					fixture.setSensor(oldSensor);
+				if(isDirty(USER_DATA))
+					fixture.setUserData(oldUserData);
+				return;
+			}
 			if(newDensity != null)
 				fixture.setDensity(newDensity);
 			if(newFriction != null)
@@ -907,7 +1613,7 @@ public class WorldObserver {
 				fixture.setFilterData(newFilter);
 			if(newSensor != null)
 				fixture.setSensor(newSensor);
-			if(userDataChanged)
+			if(isDirty(USER_DATA))
 				fixture.setUserData(newUserData);
 		}
 
@@ -916,6 +1622,14 @@ public class WorldObserver {
 			if(!(other instanceof FixtureChange))
 				return false;
 			FixtureChange o = (FixtureChange) other;
+			if(!boxing || !o.boxing)
+				return dirty == o.dirty &&
+						(!isDirty(DENSITY) || oldDensity == o.oldDensity) &&
+						(!isDirty(FRICTION) || oldFriction == o.oldFriction) &&
+						(!isDirty(RESTITUTION) || oldRestitution == o.oldRestitution) &&
+						(!isDirty(FILTER) || Box2DUtils.equals(oldFilter, o.oldFilter)) &&
+						(!isDirty(SENSOR) || oldSensor == o.oldSensor) &&
+						(!isDirty(USER_DATA) || Objects.equals(oldUserData, o.oldUserData));
 			return Objects.equals(newDensity, o.newDensity) &&
 					Objects.equals(newFriction, o.newFriction) &&
 					Objects.equals(newRestitution, o.newRestitution) &&
@@ -945,7 +1659,99 @@ public class WorldObserver {
 			newSensor = null;
 			newUserData = null;
 
-			userDataChanged = false;
+			dirty = 0;
+			boxing = true;
+		}
+
+		/** @param property the property bit like {@link #DENSITY}, or multiple bits combined
+		 *  @return if any of the given properties changed in the last {@link #update(Fixture) update} */
+		public boolean isDirty(long property) {
+			return (dirty & property) != 0;
+		}
+
+		// getters and setters
+
+		/** @return the {@link #dirty} */
+		public long getDirty() {
+			return dirty;
+		}
+
+		/** @return the {@link #boxing} */
+		public boolean isBoxing() {
+			return boxing;
+		}
+
+		/** @param boxing the {@link #boxing} to set */
+		public void setBoxing(boolean boxing) {
+			this.boxing = boxing;
+		}
+
+		/** @return the density of the Fixture at the last {@link #update(Fixture) update} */
+		public float getDensity() {
+			return oldDensity;
+		}
+
+		/** sets the density to {@link #apply(Fixture) apply} and marks it {@link #dirty} */
+		public void setDensity(float density) {
+			oldDensity = density;
+			dirty |= DENSITY;
+		}
+
+		/** @return the friction of the Fixture at the last {@link #update(Fixture) update} */
+		public float getFriction() {
+			return oldFriction;
+		}
+
+		/** sets the friction to {@link #apply(Fixture) apply} and marks it {@link #dirty} */
+		public void setFriction(float friction) {
+			oldFriction = friction;
+			dirty |= FRICTION;
+		}
+
+		/** @return the restitution of the Fixture at the last {@link #update(Fixture) update} */
+		public float getRestitution() {
+			return oldRestitution;
+		}
+
+		/** sets the restitution to {@link #apply(Fixture) apply} and marks it {@link #dirty} */
+		public void setRestitution(float restitution) {
+			oldRestitution = restitution;
+			dirty |= RESTITUTION;
+		}
+
+		/** @return the filter data of the Fixture at the last {@link #update(Fixture) update} */
+		public Filter getFilter() {
+			return oldFilter;
+		}
+
+		/** sets the filter data to {@link #apply(Fixture) apply} and marks it {@link #dirty} */
+		public void setFilter(short categoryBits, short maskBits, short groupIndex) {
+			oldFilter.categoryBits = categoryBits;
+			oldFilter.maskBits = maskBits;
+			oldFilter.groupIndex = groupIndex;
+			dirty |= FILTER;
+		}
+
+		/** @return if the Fixture was a sensor at the last {@link #update(Fixture) update} */
+		public boolean isSensor() {
+			return oldSensor;
+		}
+
+		/** sets the sensor flag to {@link #apply(Fixture) apply} and marks it {@link #dirty} */
+		public void setSensor(boolean sensor) {
+			oldSensor = sensor;
+			dirty |= SENSOR;
+		}
+
+		/** @return the user data of the Fixture at the last {@link #update(Fixture) update} */
+		public Object getUserData() {
+			return oldUserData;
+		}
+
+		/** sets the user data to {@link #apply(Fixture) apply} and marks it {@link #dirty} */
+		public void setUserData(Object userData) {
+			oldUserData = userData;
+			dirty |= USER_DATA;
 		}
 
 	}
@@ -0,0 +1,450 @@
+/** Copyright 2015 Robin Stumm (serverkorken@gmail.com, http://dermetfan.net)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License. */
+
+package net.dermetfan.gdx.physics.box2d;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.EdgeShape;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.Joint;
+import com.badlogic.gdx.physics.box2d.JointDef;
+import com.badlogic.gdx.physics.box2d.JointDef.JointType;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.Shape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.physics.box2d.joints.DistanceJoint;
+import com.badlogic.gdx.physics.box2d.joints.DistanceJointDef;
+import com.badlogic.gdx.physics.box2d.joints.FrictionJoint;
+import com.badlogic.gdx.physics.box2d.joints.FrictionJointDef;
+import com.badlogic.gdx.physics.box2d.joints.GearJoint;
+import com.badlogic.gdx.physics.box2d.joints.GearJointDef;
+import com.badlogic.gdx.physics.box2d.joints.MotorJoint;
+import com.badlogic.gdx.physics.box2d.joints.MotorJointDef;
+import com.badlogic.gdx.physics.box2d.joints.MouseJoint;
+import com.badlogic.gdx.physics.box2d.joints.MouseJointDef;
+import com.badlogic.gdx.physics.box2d.joints.PrismaticJoint;
+import com.badlogic.gdx.physics.box2d.joints.PrismaticJointDef;
+import com.badlogic.gdx.physics.box2d.joints.PulleyJoint;
+import com.badlogic.gdx.physics.box2d.joints.PulleyJointDef;
+import com.badlogic.gdx.physics.box2d.joints.RevoluteJoint;
+import com.badlogic.gdx.physics.box2d.joints.RevoluteJointDef;
+import com.badlogic.gdx.physics.box2d.joints.RopeJoint;
+import com.badlogic.gdx.physics.box2d.joints.RopeJointDef;
+import com.badlogic.gdx.physics.box2d.joints.WeldJoint;
+import com.badlogic.gdx.physics.box2d.joints.WeldJointDef;
+import com.badlogic.gdx.physics.box2d.joints.WheelJoint;
+import com.badlogic.gdx.physics.box2d.joints.WheelJointDef;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/** Captures a whole {@link World} into reusable definitions that can be {@link #restore(World) restored} into another World any number of times, for example to simulate possible futures.
+ *  The definitions are reused by the next {@link #capture(World) capture} and a Shape is only {@link Box2DUtils#clone(Shape) cloned} the first time its Fixture is captured,
+ *  Restoring into a recycled World reuses its Bodies and Fixtures, so after a warm-up neither capturing nor restoring allocates anything but the Joints the World creates.
+ *  Custom {@link Body#setMassData(com.badlogic.gdx.physics.box2d.MassData) mass data} and the ghost vertices of ChainShapes are not captured.
+ *  @author dermetfan
+ *  @since 0.13.0 */
+public class WorldSnapshot implements Disposable {
+
+	/** the gravity of the captured World */
+	private final Vector2 gravity = new Vector2();
+
+	/** the number of captured Bodies and Joints */
+	private int bodyCount, jointCount;
+
+	/** the BodyDefs by body index, the first {@link #bodyCount} are in use */
+	private final Array<BodyDef> bodyDefs = new Array<>();
+
+	/** the user data of the Bodies by body index */
+	private final Array<Object> bodyUserData = new Array<>();
+
+	/** the number of Fixtures of each Body by body index */
+	private final IntArray fixtureCounts = new IntArray();
+
+	/** the FixtureDefs of all Bodies in order, their {@link FixtureDef#shape shapes} are the shared clones */
+	private final Array<FixtureDef> fixtureDefs = new Array<>();
+
+	/** the user data of the Fixtures, indexed like the {@link #fixtureDefs} */
+	private final Array<Object> fixtureUserData = new Array<>();
+
+	/** the clones of the Shapes of the captured Fixtures */
+	private final ObjectMap<Shape, Shape> shapes = new ObjectMap<>();
+
+	/** the capture in which a Shape in {@link #shapes} was last used */
+	private final ObjectIntMap<Shape> shapeCaptures = new ObjectIntMap<>();
+
+	/** incremented on every capture to find unused {@link #shapes} */
+	private int capture;
+
+	/** the JointDefs by joint index, their bodies are set on restore */
+	private final Array<JointDef> jointDefs = new Array<>();
+
+	/** the user data of the Joints by joint index */
+	private final Array<Object> jointUserData = new Array<>();
+
+	/** the body indices of the Bodies of the Joints by joint index */
+	private final IntArray jointBodiesA = new IntArray(), jointBodiesB = new IntArray();
+
+	/** the joint indices of the Joints of GearJoints by joint index, -1 for other Joints */
+	private final IntArray gearJoints1 = new IntArray(), gearJoints2 = new IntArray();
+
+	/** the indices of the captured Bodies */
+	private final ObjectIntMap<Body> bodyIndices = new ObjectIntMap<>();
+
+	/** the indices of the captured Joints */
+	private final ObjectIntMap<Joint> jointIndices = new ObjectIntMap<>();
+
+	/** the Bodies created by the last restore by index */
+	private final Array<Body> restoredBodies = new Array<>();
+
+	/** the Joints created by the last restore by index */
+	private final Array<Joint> restoredJoints = new Array<>();
+
+	/** temporary array used internally */
+	private final Array<Body> tmpBodies = new Array<>();
+
+	/** temporary array used internally */
+	private final Array<Joint> tmpJoints = new Array<>();
+
+	/** temporary array used internally */
+	private final Array<Shape> tmpShapes = new Array<>();
+
+	/** for internal, temporary usage */
+	private final Vector2 vec2_0 = new Vector2(), vec2_1 = new Vector2();
+
+	/** @param world the World to capture, replacing the previously captured one */
+	public void capture(World world) {
+		capture++;
+		gravity.set(world.getGravity());
+
+		world.getBodies(tmpBodies);
+		bodyIndices.clear();
+		bodyCount = tmpBodies.size;
+		fixtureCounts.clear();
+		bodyUserData.clear();
+		fixtureUserData.clear();
+		int fixtureIndex = 0;
+		for(int i = 0; i < tmpBodies.size; i++) {
+			Body body = tmpBodies.get(i);
+			bodyIndices.put(body, i);
+			if(i == bodyDefs.size)
+				bodyDefs.add(new BodyDef());
+			Box2DUtils.set(bodyDefs.get(i), body);
+			bodyUserData.add(body.getUserData());
+			Array<Fixture> fixtures = body.getFixtureList();
+			fixtureCounts.add(fixtures.size);
+			for(int f = 0; f < fixtures.size; f++, fixtureIndex++) {
+				Fixture fixture = fixtures.get(f);
+				if(fixtureIndex == fixtureDefs.size)
+					fixtureDefs.add(new FixtureDef());
+				FixtureDef fixtureDef = Box2DUtils.set(fixtureDefs.get(fixtureIndex), fixture);
+				fixtureDef.shape = share(fixture.getShape());
+				fixtureUserData.add(fixture.getUserData());
+			}
+		}
+		for(int i = fixtureIndex; i < fixtureDefs.size; i++)
+			fixtureDefs.get(i).shape = null;
+
+		world.getJoints(tmpJoints);
+		jointIndices.clear();
+		jointCount = 0;
+		for(int i = 0; i < tmpJoints.size; i++)
+			if(tmpJoints.get(i).getType() != JointType.Unknown)
+				jointIndices.put(tmpJoints.get(i), jointCount++);
+		jointUserData.clear();
+		jointBodiesA.clear();
+		jointBodiesB.clear();
+		gearJoints1.clear();
+		gearJoints2.clear();
+		for(int i = 0; i < tmpJoints.size; i++) {
+			Joint joint = tmpJoints.get(i);
+			int index = jointIndices.get(joint, -1);
+			if(index == -1)
+				continue;
+			JointDef jointDef = index < jointDefs.size ? jointDefs.get(index) : null;
+			if(jointDef == null || jointDef.type != joint.getType()) {
+				jointDef = Box2DUtils.createDef(joint);
+				if(index == jointDefs.size)
+					jointDefs.add(jointDef);
+				else
+					jointDefs.set(index, jointDef);
+			} else
+				set(jointDef, joint);
+			jointBodiesA.add(bodyIndices.get(joint.getBodyA(), -1));
+			jointBodiesB.add(bodyIndices.get(joint.getBodyB(), -1));
+			if(jointDef.type == JointType.GearJoint) {
+				GearJointDef gearJointDef = (GearJointDef) jointDef;
+				gearJoints1.add(jointIndices.get(gearJointDef.joint1, -1));
+				gearJoints2.add(jointIndices.get(gearJointDef.joint2, -1));
+				gearJointDef.joint1 = gearJointDef.joint2 = null;
+			} else {
+				gearJoints1.add(-1);
+				gearJoints2.add(-1);
+			}
+			jointDef.bodyA = jointDef.bodyB = null;
+			jointUserData.add(joint.getUserData());
+		}
+
+		// dispose the clones of Shapes that were not captured this time
+		for(ObjectMap.Entry<Shape, Shape> entry : shapes.entries())
+			if(shapeCaptures.get(entry.key, -1) != capture)
+				tmpShapes.add(entry.key);
+		for(int i = 0; i < tmpShapes.size; i++) {
+			Shape shape = tmpShapes.get(i);
+			shapes.remove(shape).dispose();
+			shapeCaptures.remove(shape, -1);
+		}
+		tmpShapes.clear();
+
+		tmpBodies.clear();
+		tmpJoints.clear();
+	}
+
+	/** @return the shared clone of the given Shape */
+	private Shape share(Shape shape) {
+		Shape clone = shapes.get(shape);
+		if(clone == null)
+			shapes.put(shape, clone = Box2DUtils.clone(shape));
+		shapeCaptures.put(shape, capture);
+		return clone;
+	}
+
+	/** sets the given JointDef of the same type as the given Joint */
+	private static void set(JointDef jointDef, Joint joint) {
+		switch(joint.getType()) {
+		case DistanceJoint:
+			Box2DUtils.set((DistanceJointDef) jointDef, (DistanceJoint) joint);
+			break;
+		case FrictionJoint:
+			Box2DUtils.set((FrictionJointDef) jointDef, (FrictionJoint) joint);
+			break;
+		case GearJoint:
+			Box2DUtils.set((GearJointDef) jointDef, (GearJoint) joint);
+			break;
+		case MotorJoint:
+			Box2DUtils.set((MotorJointDef) jointDef, (MotorJoint) joint);
+			break;
+		case MouseJoint:
+			Box2DUtils.set((MouseJointDef) jointDef, (MouseJoint) joint);
+			break;
+		case PrismaticJoint:
+			Box2DUtils.set((PrismaticJointDef) jointDef, (PrismaticJoint) joint);
+			break;
+		case PulleyJoint:
+			Box2DUtils.set((PulleyJointDef) jointDef, (PulleyJoint) joint);
+			break;
+		case RevoluteJoint:
+			Box2DUtils.set((RevoluteJointDef) jointDef, (RevoluteJoint) joint);
+			break;
+		case RopeJoint:
+			Box2DUtils.set((RopeJointDef) jointDef, (RopeJoint) joint);
+			break;
+		case WeldJoint:
+			Box2DUtils.set((WeldJointDef) jointDef, (WeldJoint) joint);
+			break;
+		case WheelJoint:
+			Box2DUtils.set((WheelJointDef) jointDef, (WheelJoint) joint);
+			break;
+		default:
+			throw new IllegalArgumentException("joints of the type '" + joint.getType() + "' are not supported");
+		}
+	}
+
+	/** Makes the given World contain the captured Bodies, Fixtures and Joints. Use {@link #getBody(int)} and {@link #getJoint(int)} to find the restored objects.
+	 *  Bodies already in the World are reused and set to the captured state, as are their Fixtures if they have equal Shapes. Additional Bodies are destroyed.
+	 *  All Joints are destroyed and recreated, GearJoints before the Joints they reference.
+	 *  @param world the World to restore the snapshot into, must not be the captured World if it is still in use */
+	public void restore(World world) {
+		if(world.isLocked())
+			throw new IllegalStateException("cannot restore into a locked world");
+		world.getJoints(tmpJoints);
+		for(int pass = 0; pass < 2; pass++) // GearJoints before the Joints they reference
+			for(int i = 0; i < tmpJoints.size; i++)
+				if(tmpJoints.get(i).getType() == JointType.GearJoint == (pass == 0))
+					world.destroyJoint(tmpJoints.get(i));
+		tmpJoints.clear();
+		world.getBodies(tmpBodies);
+		for(int i = bodyCount; i < tmpBodies.size; i++)
+			world.destroyBody(tmpBodies.get(i));
+		world.setGravity(gravity);
+
+		restoredBodies.clear();
+		int fixtureIndex = 0;
+		for(int i = 0; i < bodyCount; i++) {
+			BodyDef bodyDef = bodyDefs.get(i);
+			Body body;
+			int fixtureCount = fixtureCounts.get(i), reused = 0;
+			if(i < tmpBodies.size) {
+				body = tmpBodies.get(i);
+				set(body, bodyDef);
+				Array<Fixture> fixtures = body.getFixtureList();
+				while(reused < fixtures.size && reused < fixtureCount && equals(fixtures.get(reused).getShape(), fixtureDefs.get(fixtureIndex + reused).shape)) {
+					set(fixtures.get(reused), fixtureDefs.get(fixtureIndex + reused));
+					fixtures.get(reused).setUserData(fixtureUserData.get(fixtureIndex + reused));
+					reused++;
+				}
+				while(fixtures.size > reused)
+					body.destroyFixture(fixtures.peek());
+				fixtureIndex += reused;
+			} else
+				body = world.createBody(bodyDef);
+			body.setUserData(bodyUserData.get(i));
+			for(int f = reused; f < fixtureCount; f++, fixtureIndex++)
+				body.createFixture(fixtureDefs.get(fixtureIndex)).setUserData(fixtureUserData.get(fixtureIndex));
+			if(reused > 0)
+				body.resetMassData();
+			restoredBodies.add(body);
+		}
+		tmpBodies.clear();
+
+		restoredJoints.clear();
+		restoredJoints.setSize(jointCount);
+		for(int pass = 0; pass < 2; pass++) // GearJoints after the Joints they reference
+			for(int i = 0; i < jointCount; i++) {
+				JointDef jointDef = jointDefs.get(i);
+				boolean gear = jointDef.type == JointType.GearJoint;
+				if(gear != (pass == 1))
+					continue;
+				int bodyA = jointBodiesA.get(i), bodyB = jointBodiesB.get(i);
+				if(bodyA == -1 || bodyB == -1)
+					continue;
+				jointDef.bodyA = restoredBodies.get(bodyA);
+				jointDef.bodyB = restoredBodies.get(bodyB);
+				if(gear) {
+					int joint1 = gearJoints1.get(i), joint2 = gearJoints2.get(i);
+					if(joint1 == -1 || joint2 == -1 || restoredJoints.get(joint1) == null || restoredJoints.get(joint2) == null)
+						continue;
+					GearJointDef gearJointDef = (GearJointDef) jointDef;
+					gearJointDef.joint1 = restoredJoints.get(joint1);
+					gearJointDef.joint2 = restoredJoints.get(joint2);
+				}
+				Joint joint = world.createJoint(jointDef);
+				joint.setUserData(jointUserData.get(i));
+				restoredJoints.set(i, joint);
+				jointDef.bodyA = jointDef.bodyB = null;
+				if(gear)
+					((GearJointDef) jointDef).joint1 = ((GearJointDef) jointDef).joint2 = null;
+			}
+	}
+
+	/** sets the given Body to the state described by the given BodyDef */
+	private static void set(Body body, BodyDef bodyDef) {
+		if(body.getType() != bodyDef.type)
+			body.setType(bodyDef.type);
+		body.setTransform(bodyDef.position, bodyDef.angle);
+		body.setLinearVelocity(bodyDef.linearVelocity);
+		body.setAngularVelocity(bodyDef.angularVelocity);
+		body.setLinearDamping(bodyDef.linearDamping);
+		body.setAngularDamping(bodyDef.angularDamping);
+		body.setGravityScale(bodyDef.gravityScale);
+		body.setBullet(bodyDef.bullet);
+		body.setFixedRotation(bodyDef.fixedRotation);
+		body.setSleepingAllowed(bodyDef.allowSleep);
+		body.setActive(bodyDef.active);
+		body.setAwake(bodyDef.awake);
+	}
+
+	/** sets the given Fixture to the values of the given FixtureDef except the Shape */
+	private static void set(Fixture fixture, FixtureDef fixtureDef) {
+		fixture.setDensity(fixtureDef.density);
+		fixture.setFriction(fixtureDef.friction);
+		fixture.setRestitution(fixtureDef.restitution);
+		fixture.setSensor(fixtureDef.isSensor);
+		fixture.setFilterData(fixtureDef.filter);
+	}
+
+	/** @return if the given Shapes have the same geometry, false for ChainShapes */
+	private boolean equals(Shape a, Shape b) {
+		if(a.getType() != b.getType() || a.getRadius() != b.getRadius())
+			return false;
+		switch(a.getType()) {
+		case Circle:
+			return ((CircleShape) a).getPosition().equals(((CircleShape) b).getPosition());
+		case Polygon:
+			PolygonShape polygonA = (PolygonShape) a, polygonB = (PolygonShape) b;
+			if(polygonA.getVertexCount() != polygonB.getVertexCount())
+				return false;
+			for(int i = 0; i < polygonA.getVertexCount(); i++) {
+				polygonA.getVertex(i, vec2_0);
+				polygonB.getVertex(i, vec2_1);
+				if(!vec2_0.equals(vec2_1))
+					return false;
+			}
+			return true;
+		case Edge:
+			EdgeShape edgeA = (EdgeShape) a, edgeB = (EdgeShape) b;
+			edgeA.getVertex1(vec2_0);
+			edgeB.getVertex1(vec2_1);
+			if(!vec2_0.equals(vec2_1))
+				return false;
+			edgeA.getVertex2(vec2_0);
+			edgeB.getVertex2(vec2_1);
+			return vec2_0.equals(vec2_1);
+		default:
+			return false;
+		}
+	}
+
+	/** @param body a captured Body
+	 *  @return the index of the given Body in the last capture or -1 if it was not captured */
+	public int indexOf(Body body) {
+		return bodyIndices.get(body, -1);
+	}
+
+	/** @param joint a captured Joint
+	 *  @return the index of the given Joint in the last capture or -1 if it was not captured */
+	public int indexOf(Joint joint) {
+		return jointIndices.get(joint, -1);
+	}
+
+	/** @param index the {@link #indexOf(Body) index} of a captured Body
+	 *  @return the Body created for it by the last {@link #restore(World) restore} */
+	public Body getBody(int index) {
+		return restoredBodies.get(index);
+	}
+
+	/** @param index the {@link #indexOf(Joint) index} of a captured Joint
+	 *  @return the Joint created for it by the last {@link #restore(World) restore}, null if it could not be restored */
+	public Joint getJoint(int index) {
+		return restoredJoints.get(index);
+	}
+
+	/** @return the number of captured Bodies */
+	public int getBodyCount() {
+		return bodyCount;
+	}
+
+	/** @return the number of captured Joints */
+	public int getJointCount() {
+		return jointCount;
+	}
+
+	/** disposes the cloned Shapes */
+	@Override
+	public void dispose() {
+		for(Shape shape : shapes.values())
+			shape.dispose();
+		shapes.clear();
+		shapeCaptures.clear();
+		for(FixtureDef fixtureDef : fixtureDefs)
+			fixtureDef.shape = null;
+	}
+
+}
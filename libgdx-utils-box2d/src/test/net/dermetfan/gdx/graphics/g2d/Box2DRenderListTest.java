@@ -0,0 +1,118 @@
+package net.dermetfan.gdx.graphics.g2d;
+
+import java.util.Comparator;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class Box2DRenderListTest {
+
+	private World world;
+
+	private ZList list;
+
+	@Before
+	public void setUp() {
+		Box2D.init();
+		world = new World(new Vector2(), true);
+		list = new ZList();
+	}
+
+	@After
+	public void tearDown() {
+		world.dispose();
+	}
+
+	@Test
+	public void sort() {
+		Body a = createBody(3), b = createBody(1), c = createBody(2);
+		Fixture fixture = a.getFixtureList().first();
+		fixture.setUserData(new float[] {0});
+		list.addAll(world);
+		assertEquals(4, list.size());
+		assertEquals("[0.0, 1.0, 2.0, 3.0]", draw());
+
+		// changed z indices are detected while drawing
+		((float[]) b.getUserData())[0] = 4;
+		assertEquals("[0.0, 2.0, 3.0, 4.0]", draw());
+
+		// the indices are rebuilt after sorting, so the right entries are replaced and removed
+		list.add(c);
+		c.setUserData(new float[] {5});
+		list.add(c);
+		list.remove(fixture);
+		assertEquals(3, list.size());
+		assertEquals("[3.0, 4.0, 5.0]", draw());
+		list.remove(b);
+		assertEquals("[3.0, 5.0]", draw());
+
+		list.clear();
+		assertEquals(0, list.size());
+		assertEquals("[]", draw());
+	}
+
+	private String draw() {
+		list.drawn.clear();
+		list.draw(null);
+		return list.drawn.toString();
+	}
+
+	/** @param zIndex the z index of the sprite in the user data of the Body */
+	private Body createBody(float zIndex) {
+		Body body = world.createBody(new BodyDef());
+		body.setUserData(new float[] {zIndex});
+		CircleShape shape = new CircleShape();
+		body.createFixture(shape, 1);
+		shape.dispose();
+		return body;
+	}
+
+	/** records the z indices of the sprites in the order they are drawn */
+	private static class ZList extends Box2DRenderList<float[]> {
+
+		final Array<Float> drawn = new Array<>();
+
+		ZList() {
+			super(new Comparator<float[]>() {
+				@Override
+				public int compare(float[] a, float[] b) {
+					return Float.compare(a[0], b[0]);
+				}
+			});
+		}
+
+		@Override
+		protected float[] sprite(Object userData) {
+			return userData instanceof float[] ? (float[]) userData : null;
+		}
+
+		@Override
+		protected float zIndex(float[] sprite) {
+			return sprite[0];
+		}
+
+		@Override
+		protected void draw(float[] sprite, Batch batch, Body body) {
+			drawn.add(sprite[0]);
+		}
+
+		@Override
+		protected void draw(float[] sprite, Batch batch, Fixture fixture) {
+			drawn.add(sprite[0]);
+		}
+
+	}
+
+}
@@ -0,0 +1,111 @@
+package net.dermetfan.gdx.graphics.g2d;
+
+import java.util.Comparator;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class Box2DSpriteCullerTest {
+
+	private static final Comparator<float[]> zComparator = new Comparator<float[]>() {
+		@Override
+		public int compare(float[] a, float[] b) {
+			return Float.compare(a[0], b[0]);
+		}
+	};
+
+	private World world;
+
+	private ZCuller culler;
+
+	@Before
+	public void setUp() {
+		Box2D.init();
+		world = new World(new Vector2(), true);
+		culler = new ZCuller();
+	}
+
+	@After
+	public void tearDown() {
+		world.dispose();
+	}
+
+	@Test
+	public void cull() {
+		Body a = createBody(0, 5, 2);
+		a.getFixtureList().first().setUserData(new float[] {3});
+		createBody(2, 1, 1).getFixtureList().first().setUserData(new float[] {4});
+		createBody(4, 2, 1);
+		createBody(20, 0, 1);
+		createBody(1, 6, 0); // no Fixtures, so it has no AABB to be found by
+
+		// a Body with several visible Fixtures is only drawn once
+		assertEquals("[1.0, 2.0, 3.0, 4.0, 5.0]", draw(zComparator).toString());
+		Array<Float> unsorted = draw(null);
+		unsorted.sort();
+		assertEquals("[1.0, 2.0, 3.0, 4.0, 5.0]", unsorted.toString());
+
+		culler.drawn.clear();
+		culler.draw(null, world, 3, -1, 10, 1, zComparator);
+		assertEquals("[2.0]", culler.drawn.toString());
+
+		((float[]) a.getUserData())[0] = 0;
+		assertEquals("[0.0, 1.0, 2.0, 3.0, 4.0]", draw(zComparator).toString());
+	}
+
+	private Array<Float> draw(Comparator<float[]> comparator) {
+		culler.drawn.clear();
+		culler.draw(null, world, -10, -10, 10, 10, comparator);
+		return new Array<>(culler.drawn);
+	}
+
+	/** @param zIndex the z index of the sprite in the user data of the Body
+	 *  @param fixtures the number of Fixtures to create */
+	private Body createBody(float x, float zIndex, int fixtures) {
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.position.set(x, 0);
+		Body body = world.createBody(bodyDef);
+		body.setUserData(new float[] {zIndex});
+		CircleShape shape = new CircleShape();
+		shape.setRadius(.5f);
+		for(int i = 0; i < fixtures; i++)
+			body.createFixture(shape, 1);
+		shape.dispose();
+		return body;
+	}
+
+	/** records the z indices of the sprites in the order they are drawn */
+	private static class ZCuller extends Box2DSpriteCuller<float[]> {
+
+		final Array<Float> drawn = new Array<>();
+
+		@Override
+		protected float[] sprite(Object userData) {
+			return userData instanceof float[] ? (float[]) userData : null;
+		}
+
+		@Override
+		protected void draw(float[] sprite, Batch batch, Body body) {
+			drawn.add(sprite[0]);
+		}
+
+		@Override
+		protected void draw(float[] sprite, Batch batch, Fixture fixture) {
+			drawn.add(sprite[0]);
+		}
+
+	}
+
+}
@@ -0,0 +1,63 @@
+package net.dermetfan.gdx.physics.box2d;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.World;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class AABBCacheTest {
+
+	@Test
+	public void write() {
+		Box2D.init();
+		World world = new World(new Vector2(), false);
+		AABBCache cache = new AABBCache();
+		float[] out = new float[AABBCache.STRIDE * 2 + 1];
+
+		Body a = box(world, 0, 0, 1), b = box(world, 10, 0, 2);
+		assertEquals(2, cache.write(world, out, 1));
+		assertArrayEquals(new float[] {-1, -1, 1, 1}, aabb(out, 1, a), 1e-5f);
+		assertArrayEquals(new float[] {8, -2, 12, 2}, aabb(out, 1, b), 1e-5f);
+
+		// destroy and create in the same frame, Box2D and libGDX reuse the address and instance
+		world.destroyBody(b);
+		Body c = box(world, 10, 0, 3);
+		assertEquals(2, cache.write(world, out, 1));
+		assertArrayEquals(new float[] {7, -3, 13, 3}, aabb(out, 1, c), 1e-5f);
+
+		c.setTransform(0, 5, 0);
+		cache.write(world, out, 1);
+		assertArrayEquals(new float[] {-3, 2, 3, 8}, aabb(out, 1, c), 1e-5f);
+
+		world.dispose();
+	}
+
+	private static Body box(World world, float x, float y, float halfSize) {
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.position.set(x, y);
+		Body body = world.createBody(bodyDef);
+		PolygonShape shape = new PolygonShape();
+		shape.setAsBox(halfSize, halfSize);
+		body.createFixture(shape, 1);
+		shape.dispose();
+		return body;
+	}
+
+	/** @return the AABB of the given Body from the output of writing two Bodies in unknown order */
+	private static float[] aabb(float[] out, int offset, Body body) {
+		float x = body.getPosition().x, y = body.getPosition().y;
+		for(int i = 0; i < 2; i++) {
+			int index = offset + i * AABBCache.STRIDE;
+			if(out[index] <= x && out[index + 2] >= x && out[index + 1] <= y && out[index + 3] >= y)
+				return new float[] {out[index], out[index + 1], out[index + 2], out[index + 3]};
+		}
+		throw new AssertionError("no AABB contains " + body.getPosition());
+	}
+
+}
@@ -0,0 +1,225 @@
+package net.dermetfan.gdx.physics.box2d;
+
+import com.badlogic.gdx.maps.Map;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class Box2DMapObjectParserTest {
+
+	@Test
+	public void assignPropertiesBodyDef() {
+		Box2DMapObjectParser parser = new Box2DMapObjectParser();
+		parser.setUnitScale(.5f);
+		MapProperties properties = new MapProperties();
+		properties.put("angle", 90f);
+		properties.put("x", 4f);
+		BodyDef bodyDef = new BodyDef();
+		parser.assignProperties(bodyDef, properties);
+		assertEquals(MathUtils.PI / 2, bodyDef.angle, 1e-6f);
+		assertEquals(2, bodyDef.position.x, 0);
+		assertEquals(0, bodyDef.position.y, 0);
+
+		// passes without the keys must not scale the values again
+		parser.assignProperties(bodyDef, new MapProperties());
+		parser.assignProperties(bodyDef, new MapProperties());
+		assertEquals(MathUtils.PI / 2, bodyDef.angle, 1e-6f);
+		assertEquals(2, bodyDef.position.x, 0);
+	}
+
+	@Test
+	public void inheritedAngleAndPosition() {
+		Box2D.init();
+		World world = new World(new Vector2(), false);
+		Box2DMapObjectParser parser = new Box2DMapObjectParser();
+		parser.setUnitScale(.5f);
+		MapProperties heritage = new MapProperties();
+		heritage.put("angle", 90f);
+		heritage.put("x", 4f);
+		parser.setHeritage(heritage);
+
+		RectangleMapObject object = new RectangleMapObject();
+		Body body = parser.createBody(world, object);
+		assertEquals(MathUtils.PI / 2, body.getAngle(), 1e-6f);
+		assertEquals(2, body.getPosition().x, 0);
+
+		object.getProperties().put("y", 6f);
+		body = parser.createBody(world, object);
+		assertEquals(MathUtils.PI / 2, body.getAngle(), 1e-6f);
+		assertEquals(new Vector2(2, 3), body.getPosition());
+
+		// the defaults must follow the unit scale, heritage and aliases
+		parser.setUnitScale(1);
+		assertEquals(4, parser.createBody(world, object).getPosition().x, 0);
+		heritage = new MapProperties();
+		heritage.put("rotation", 45f);
+		parser.setHeritage(heritage);
+		assertEquals(0, parser.createBody(world, object).getAngle(), 0);
+		parser.getAliases().angle = "rotation";
+		assertEquals(MathUtils.PI / 4, parser.createBody(world, object).getAngle(), 1e-6f);
+
+		// changes in place must be seen as well
+		heritage.put("x", 8f);
+		assertEquals(8, parser.createBody(world, object).getPosition().x, 0);
+
+		world.dispose();
+	}
+
+	@Test
+	public void loadCreatesLayersInOrder() {
+		Box2D.init();
+		World world = new World(new Vector2(), false);
+		Map map = new Map();
+		for(String name : new String[] {"a", "b"}) {
+			RectangleMapObject object = new RectangleMapObject();
+			object.setName(name);
+			object.getProperties().put("type", "object");
+			MapLayer layer = new MapLayer();
+			layer.getObjects().add(object);
+			map.getLayers().add(layer);
+		}
+		final Array<String> events = new Array<>();
+		Box2DMapObjectParser parser = new Box2DMapObjectParser(new Box2DMapObjectParser.Listener.Adapter() {
+			@Override
+			public MapObject createObject(MapObject mapObject) {
+				events.add("compile " + mapObject.getName());
+				return mapObject;
+			}
+
+			@Override
+			public void created(Body body, MapObject mapObject) {
+				events.add("create " + mapObject.getName());
+			}
+		});
+
+		parser.load(world, map);
+		assertEquals(new Array<>(new String[] {"compile a", "create a", "compile b", "create b"}), events);
+
+		events.clear();
+		parser.create(world, parser.compile(map));
+		assertEquals(new Array<>(new String[] {"compile a", "compile b", "create a", "create b"}), events);
+
+		world.dispose();
+	}
+
+	@Test
+	public void mergeRectanglesRows() {
+		Box2DMapObjectParser parser = new Box2DMapObjectParser();
+		parser.setMergeRectangles(true);
+		Map map = boxes(new float[] {0, 0, 1, 1, 1, 0, 1, 1, 2, 0, 2, 1, 5, 0, 1, 1, 0, 1, 1, 2});
+		Box2DMapObjectParser.CompiledLayer layer = parser.compile(map).layers.first();
+		assertEquals(1, layer.objects.size);
+		Array<Box2DMapObjectParser.FixtureRecord> fixtures = layer.objects.first().fixtures;
+		assertEquals(3, fixtures.size);
+		assertArrayEquals(new float[] {0, 1, 1, 2}, fixtures.get(0).vertices, 0);
+		assertArrayEquals(new float[] {0, 0, 4, 1}, fixtures.get(1).vertices, 0);
+		assertArrayEquals(new float[] {5, 0, 1, 1}, fixtures.get(2).vertices, 0);
+	}
+
+	@Test
+	public void mergeRectanglesColumns() {
+		Box2DMapObjectParser parser = new Box2DMapObjectParser();
+		parser.setMergeRectangles(true);
+		Map map = boxes(new float[] {0, 0, 2, 1, 0, 1, 1, 1, 1, 1, 1, 1, 0, 2, 2, 3, 3, 0, 1, 1});
+		Box2DMapObjectParser.CompiledLayer layer = parser.compile(map).layers.first();
+		assertEquals(1, layer.objects.size);
+		Array<Box2DMapObjectParser.FixtureRecord> fixtures = layer.objects.first().fixtures;
+		assertEquals(2, fixtures.size);
+		assertArrayEquals(new float[] {0, 0, 2, 5}, fixtures.get(0).vertices, 0);
+		assertArrayEquals(new float[] {3, 0, 1, 1}, fixtures.get(1).vertices, 0);
+	}
+
+	@Test
+	public void mergeRectanglesOptOut() {
+		Box2DMapObjectParser parser = new Box2DMapObjectParser();
+		parser.setMergeRectangles(true);
+		Map map = boxes(new float[] {0, 0, 1, 1, 1, 0, 1, 1});
+		map.getLayers().get(0).getProperties().put("mergeRectangles", false);
+		Box2DMapObjectParser.CompiledLayer layer = parser.compile(map).layers.first();
+		assertEquals(2, layer.objects.size);
+
+		// merging must not modify the records of the merged boxes
+		Box2DMapObjectParser.FixtureRecord first = layer.objects.first().fixtures.first();
+		assertEquals(1, parser.mergeRectangles(layer));
+		assertEquals(1, layer.objects.size);
+		assertArrayEquals(new float[] {0, 0, 2, 1}, layer.objects.first().fixtures.first().vertices, 0);
+		assertArrayEquals(new float[] {0, 0, 1, 1}, first.vertices, 0);
+	}
+
+	@Test
+	public void batchStatic() {
+		Box2D.init();
+		World world = new World(new Vector2(), false);
+		Box2DMapObjectParser parser = new Box2DMapObjectParser();
+		parser.setBatchStatic(true);
+		Map map = boxes(new float[] {0, 0, 1, 1, 4, 0, 2, 1, 15, 0, 1, 1, 20, 0, 1, 1});
+		MapLayer layer = map.getLayers().get(0);
+		layer.getObjects().get(3).getProperties().put("bodyType", "DynamicBody");
+		Box2DMapObjectParser.CompiledLayer compiled = parser.compile(map).layers.first();
+		assertEquals(2, compiled.objects.size);
+		assertEquals(3, compiled.objects.first().fixtures.size);
+		assertEquals(1, compiled.objects.get(1).fixtures.size);
+
+		layer.getProperties().put("batchCellSize", 10f);
+		compiled = parser.compile(map).layers.first();
+		assertEquals(3, compiled.objects.size);
+		assertEquals(2, compiled.objects.first().fixtures.size);
+
+		parser.create(world, compiled);
+		assertEquals(3, world.getBodyCount());
+		assertEquals(4, world.getFixtureCount());
+		world.dispose();
+	}
+
+	@Test
+	public void internShapes() {
+		Box2D.init();
+		World world = new World(new Vector2(), false);
+		final Array<Integer> shapes = new Array<>();
+		final Box2DMapObjectParser parser = new Box2DMapObjectParser();
+		parser.setListener(new Box2DMapObjectParser.Listener.Adapter() {
+			@Override
+			public void created(Fixture fixture, MapObject mapObject) {
+				shapes.add(parser.shapes.size);
+			}
+		});
+		Map map = boxes(new float[] {0, 0, 1, 1, 5, 5, 1, 1, 0, 5, 2, 1, 10, 0, 1, 1});
+		for(MapObject object : map.getLayers().get(0).getObjects()) {
+			Rectangle rectangle = ((RectangleMapObject) object).getRectangle();
+			object.getProperties().put("x", rectangle.x);
+			object.getProperties().put("y", rectangle.y);
+		}
+		parser.create(world, parser.compile(map));
+		assertEquals(new Array<>(new Integer[] {1, 1, 2, 2}), shapes);
+		assertEquals(0, parser.shapes.size);
+		world.dispose();
+	}
+
+	/** @param boxes the {@code x, y, width, height} of the unnamed {@link Box2DMapObjectParser.Aliases#object objects} in the only layer of the returned Map */
+	private static Map boxes(float[] boxes) {
+		Map map = new Map();
+		MapLayer layer = new MapLayer();
+		for(int i = 0; i < boxes.length; i += 4) {
+			RectangleMapObject object = new RectangleMapObject(boxes[i], boxes[i + 1], boxes[i + 2], boxes[i + 3]);
+			object.getProperties().put("type", "object");
+			layer.getObjects().add(object);
+		}
+		map.getLayers().add(layer);
+		return map;
+	}
+
+}
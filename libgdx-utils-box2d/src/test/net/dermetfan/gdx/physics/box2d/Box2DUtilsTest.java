@@ -1,8 +1,17 @@
 package net.dermetfan.gdx.physics.box2d;
 
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.Shape;
+import net.dermetfan.gdx.physics.box2d.Box2DUtils.LRUShapeCacheStore;
+import net.dermetfan.gdx.physics.box2d.Box2DUtils.ShapeCache;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class Box2DUtilsTest {
@@ -30,4 +39,31 @@ public class Box2DUtilsTest {
 				fail("differed at index " + i + ", expected: " + solution[i] + ", actual: " + vertices[i]);
 	}
 
+	@Test
+	public void lruShapeCacheStore() {
+		Box2D.init();
+		Shape a = new CircleShape(), b = new CircleShape(), c = new CircleShape();
+		ShapeCache results = new ShapeCache(new float[0], 0, 0, 0, 0, 0, 0);
+		LRUShapeCacheStore store = new LRUShapeCacheStore(2);
+		assertNull(store.get(a));
+		store.put(a, results);
+		store.put(b, results);
+		assertSame(results, store.get(a));
+		store.put(c, results); // evicts b, the least recently used
+		assertEquals(2, store.size());
+		assertTrue(store.containsKey(a));
+		assertFalse(store.containsKey(b));
+		assertTrue(store.containsKey(c));
+		assertEquals(1, store.getHits());
+		assertEquals(1, store.getMisses());
+		assertEquals(1, store.getEvictions());
+		store.setCapacity(1); // evicts a
+		assertFalse(store.containsKey(a));
+		assertSame(results, store.remove(c));
+		assertEquals(0, store.size());
+		a.dispose();
+		b.dispose();
+		c.dispose();
+	}
+
 }
@@ -0,0 +1,190 @@
+package net.dermetfan.gdx.physics.box2d;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.Joint;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.physics.box2d.joints.DistanceJointDef;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BreakableTest {
+
+	private World world;
+
+	private Breakable.Manager manager;
+
+	@Before
+	public void setUp() {
+		Box2D.init();
+		world = new World(new Vector2(), true);
+		manager = new Breakable.Manager();
+		world.setContactListener(manager);
+	}
+
+	@After
+	public void tearDown() {
+		world.dispose();
+	}
+
+	@Test
+	public void deferredDestroy() {
+		Body a = createBall(0, 0, 2), b = createBall(5, 0, 1);
+		DistanceJointDef jointDef = new DistanceJointDef();
+		jointDef.initialize(a, b, a.getPosition(), b.getPosition());
+		Joint joint = world.createJoint(jointDef);
+		Fixture fixture = a.getFixtureList().first();
+
+		manager.destroy(fixture);
+		manager.destroy(fixture);
+		manager.destroy(b);
+		manager.destroy(b);
+		manager.destroy(joint);
+		assertEquals(1, manager.getBrokenFixtures().size);
+		assertEquals(1, manager.getBrokenBodies().size);
+		assertEquals(1, manager.brokenJoints.size);
+
+		// nothing is destroyed until destroy() is called
+		assertEquals(2, world.getBodyCount());
+		assertEquals(3, world.getFixtureCount());
+		assertEquals(1, world.getJointCount());
+
+		// the joint of the destroyed body is destroyed with it and not again
+		manager.destroy();
+		assertEquals(1, world.getBodyCount());
+		assertEquals(1, world.getFixtureCount());
+		assertEquals(0, world.getJointCount());
+		assertEquals(0, manager.getBrokenFixtures().size);
+		assertEquals(0, manager.getBrokenBodies().size);
+		assertEquals(0, manager.brokenJoints.size);
+
+		// the fixtures of a destroyed body are not destroyed again
+		fixture = a.getFixtureList().first();
+		manager.destroy(fixture);
+		manager.destroy(a);
+		manager.destroy();
+		assertEquals(0, world.getBodyCount());
+	}
+
+	@Test
+	public void breakBodyWithoutFixtures() {
+		Body body = createBall(0, 0, 2);
+		Breakable breakable = new Breakable(1, 1);
+		for(Fixture fixture : body.getFixtureList())
+			fixture.setUserData(breakable);
+
+		manager.destroy(body.getFixtureList().first());
+		assertEquals(0, manager.getBrokenBodies().size);
+		manager.destroy(body.getFixtureList().get(1));
+		assertEquals(1, manager.getBrokenBodies().size);
+		manager.destroy();
+		assertEquals(0, world.getBodyCount());
+	}
+
+	@Test
+	public void registerAndAccumulate() {
+		manager.setAccumulate(true);
+		Fixture ground = createGround();
+		Breakable weak = new Breakable(0, 0, false, false);
+		Fixture a = createBall(-2, 1, 1).getFixtureList().first(), b = createBall(0, 1, 1).getFixtureList().first(), c = createBall(2, 1, 1).getFixtureList().first();
+		for(Fixture fixture : new Fixture[] {a, b, c}) {
+			fixture.setUserData(weak);
+			fixture.getBody().setLinearVelocity(0, -10);
+			assertTrue(manager.register(fixture));
+		}
+		assertFalse(manager.register(ground));
+		assertFalse(manager.register(ground.getBody()));
+
+		// unregistering the first one moves the last one into its place
+		assertTrue(manager.unregister(a));
+		assertFalse(manager.unregister(a));
+
+		Body body = c.getBody();
+		body.setUserData(weak);
+		assertTrue(manager.register(body));
+
+		stepUntilBroken(3);
+		assertEquals(2, manager.getBrokenFixtures().size);
+		assertTrue(manager.getBrokenFixtures().contains(b, true));
+		assertTrue(manager.getBrokenFixtures().contains(c, true));
+		assertEquals(1, manager.getBrokenBodies().size);
+		assertTrue(manager.getBrokenBodies().contains(body, true));
+
+		// destroying unregisters
+		manager.destroy();
+		assertFalse(manager.unregister(b));
+		assertFalse(manager.unregister(body));
+		stepUntilBroken(1);
+		assertEquals(0, manager.getBrokenFixtures().size);
+	}
+
+	@Test
+	public void reusedFixtureIsNotRegistered() {
+		manager.setAccumulate(true);
+		createGround();
+		Body body = createBall(0, 1, 1);
+		Fixture fixture = body.getFixtureList().first();
+		fixture.setUserData(new Breakable(0, 0, false, false));
+		assertTrue(manager.register(fixture));
+		world.destroyBody(body); // without unregistering
+
+		body = createBall(0, 1, 1);
+		body.setLinearVelocity(0, -10);
+		Fixture reused = body.getFixtureList().first();
+		assertSame("libgdx should have reused the Fixture", fixture, reused);
+		reused.setUserData(new Breakable(0, 0, false, false));
+		stepUntilBroken(1);
+		assertEquals(0, manager.getBrokenFixtures().size);
+
+		body.setTransform(0, 1, 0);
+		body.setLinearVelocity(0, -10);
+		assertTrue(manager.register(reused));
+		stepUntilBroken(1);
+		assertEquals(1, manager.getBrokenFixtures().size);
+	}
+
+	/** steps the world and {@link Breakable.Manager#evaluate() evaluates} until the given number of fixtures and bodies broke or a second passed */
+	private void stepUntilBroken(int count) {
+		for(int i = 0; i < 60 && manager.getBrokenFixtures().size + manager.getBrokenBodies().size < count; i++) {
+			world.step(1 / 60f, 8, 3);
+			manager.evaluate();
+		}
+	}
+
+	/** @return the Fixture of a static ground box with its top at 0 */
+	private Fixture createGround() {
+		Body body = world.createBody(new BodyDef());
+		PolygonShape shape = new PolygonShape();
+		shape.setAsBox(10, 1, new Vector2(0, -1), 0);
+		Fixture fixture = body.createFixture(shape, 0);
+		shape.dispose();
+		return fixture;
+	}
+
+	/** @return a dynamic Body at the given position with the given number of circle Fixtures */
+	private Body createBall(float x, float y, int fixtures) {
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = BodyType.DynamicBody;
+		bodyDef.position.set(x, y);
+		Body body = world.createBody(bodyDef);
+		CircleShape shape = new CircleShape();
+		shape.setRadius(.5f);
+		for(int i = 0; i < fixtures; i++)
+			body.createFixture(shape, 1);
+		shape.dispose();
+		return body;
+	}
+
+}
@@ -0,0 +1,119 @@
+package net.dermetfan.gdx.physics.box2d;
+
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.Shape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.physics.box2d.joints.RevoluteJoint;
+import com.badlogic.gdx.physics.box2d.joints.RevoluteJointDef;
+import com.badlogic.gdx.utils.Array;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class ChangeCodecTest {
+
+	@Test
+	public void roundTrip() {
+		Box2D.init();
+		World world = new World(new Vector2(0, -10), true), mirror = new World(new Vector2(), true);
+		ChangeCodec.Encoder encoder = new ChangeCodec.Encoder(ByteBuffer.allocate(1 << 16));
+		ChangeCodec.Decoder decoder = new ChangeCodec.Decoder(mirror);
+		WorldObserver observer = new WorldObserver(encoder);
+
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = BodyType.DynamicBody;
+		bodyDef.position.set(1, 2);
+		bodyDef.angle = .5f;
+		Body a = world.createBody(bodyDef);
+		PolygonShape box = new PolygonShape();
+		box.setAsBox(1, .5f);
+		Fixture boxFixture = a.createFixture(box, 2);
+		boxFixture.setFriction(.3f);
+		bodyDef.position.set(4, 2);
+		Body b = world.createBody(bodyDef);
+		CircleShape circle = new CircleShape();
+		circle.setRadius(.75f);
+		b.createFixture(circle, 1);
+		RevoluteJointDef jointDef = new RevoluteJointDef();
+		jointDef.initialize(a, b, new Vector2(2.5f, 2));
+		jointDef.enableLimit = true;
+		jointDef.lowerAngle = -1;
+		jointDef.upperAngle = 1;
+		RevoluteJoint joint = (RevoluteJoint) world.createJoint(jointDef);
+
+		transfer(observer, world, encoder, decoder);
+		assertEquals(2, mirror.getBodyCount());
+		assertEquals(2, mirror.getFixtureCount());
+		assertEquals(1, mirror.getJointCount());
+		assertBodyEquals(a, find(mirror, Shape.Type.Polygon));
+		assertBodyEquals(b, find(mirror, Shape.Type.Circle));
+		Fixture mirrorFixture = find(mirror, Shape.Type.Polygon).getFixtureList().first();
+		assertEquals(boxFixture.getFriction(), mirrorFixture.getFriction(), 0);
+		assertEquals(boxFixture.getDensity(), mirrorFixture.getDensity(), 0);
+		assertEquals(a.getMass(), find(mirror, Shape.Type.Polygon).getMass(), 1e-5f);
+
+		for(int i = 0; i < 30; i++)
+			world.step(1 / 60f, 6, 2);
+		joint.setLimits(-.5f, .5f);
+		transfer(observer, world, encoder, decoder);
+		assertBodyEquals(a, find(mirror, Shape.Type.Polygon));
+		assertBodyEquals(b, find(mirror, Shape.Type.Circle));
+		RevoluteJoint mirrorJoint = (RevoluteJoint) decoder.getJoint(0);
+		assertEquals(-.5f, mirrorJoint.getLowerLimit(), 0);
+		assertEquals(.5f, mirrorJoint.getUpperLimit(), 0);
+
+		world.destroyBody(b);
+		transfer(observer, world, encoder, decoder);
+		assertEquals(1, mirror.getBodyCount());
+		assertEquals(0, mirror.getJointCount());
+		assertNotNull(find(mirror, Shape.Type.Polygon));
+		assertNull(find(mirror, Shape.Type.Circle));
+
+		box.dispose();
+		circle.dispose();
+		decoder.dispose();
+		world.dispose();
+		mirror.dispose();
+	}
+
+	private static void transfer(WorldObserver observer, World world, ChangeCodec.Encoder encoder, ChangeCodec.Decoder decoder) {
+		ByteBuffer buffer = encoder.getBuffer();
+		buffer.clear();
+		observer.update(world, 1 / 60f);
+		buffer.flip();
+		decoder.decode(buffer);
+		assertEquals(0, buffer.remaining());
+	}
+
+	/** @return the Body of the given World with a Fixture of the given type, the encoded ids depend on the order the WorldObserver reports the Bodies in */
+	private static Body find(World world, Shape.Type type) {
+		Array<Body> bodies = new Array<>();
+		world.getBodies(bodies);
+		for(Body body : bodies)
+			if(body.getFixtureList().size > 0 && body.getFixtureList().first().getType() == type)
+				return body;
+		return null;
+	}
+
+	private static void assertBodyEquals(Body expected, Body actual) {
+		assertEquals(expected.getType(), actual.getType());
+		assertEquals(expected.getPosition().x, actual.getPosition().x, 0);
+		assertEquals(expected.getPosition().y, actual.getPosition().y, 0);
+		assertEquals(expected.getAngle(), actual.getAngle(), 0);
+		assertEquals(expected.getLinearVelocity().x, actual.getLinearVelocity().x, 0);
+		assertEquals(expected.getLinearVelocity().y, actual.getLinearVelocity().y, 0);
+		assertEquals(expected.getAngularVelocity(), actual.getAngularVelocity(), 0);
+	}
+
+}
@@ -0,0 +1,181 @@
+package net.dermetfan.gdx.physics.box2d;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.Map;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.Joint;
+import com.badlogic.gdx.physics.box2d.JointDef.JointType;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import net.dermetfan.gdx.physics.box2d.Box2DMapObjectParser.CompiledMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static net.dermetfan.utils.ByteBufferUtils.putVarInt;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompiledMapCacheTest {
+
+	private final Map map = new Map();
+	private final Box2DMapObjectParser parser = new Box2DMapObjectParser();
+	private final CompiledMapCache cache = new CompiledMapCache();
+	private final int[] compiledObjects = new int[1];
+	private FileHandle file;
+
+	@Before
+	public void setUp() throws IOException {
+		Box2D.init();
+		MapLayer layer = new MapLayer();
+		layer.getObjects().add(box("a", 0, 0, "dynamic box"));
+		layer.getObjects().add(box("b", 64, 0, 42));
+		RectangleMapObject joint = new RectangleMapObject();
+		MapProperties properties = joint.getProperties();
+		properties.put("type", "joint");
+		properties.put("jointType", "RevoluteJoint");
+		properties.put("bodyA", "a");
+		properties.put("bodyB", "b");
+		layer.getObjects().add(joint);
+		map.getLayers().add(layer);
+
+		parser.setListener(new Box2DMapObjectParser.Listener.Adapter() {
+			@Override
+			public MapObject createObject(MapObject mapObject) {
+				compiledObjects[0]++;
+				return mapObject;
+			}
+		});
+
+		File tmp = File.createTempFile("compiled", ".map");
+		assertTrue(tmp.delete());
+		file = new FileHandle(tmp);
+	}
+
+	@After
+	public void tearDown() {
+		file.delete();
+		file.sibling(file.name() + ".tmp").delete();
+	}
+
+	@Test
+	public void roundTrip() {
+		CompiledMap compiled = cache.compile(parser, map, file);
+		assertEquals(2, compiledObjects[0]);
+		assertTrue(file.exists());
+		assertFalse(file.sibling(file.name() + ".tmp").exists());
+
+		CompiledMap read = cache.compile(parser, map, file);
+		assertEquals("the file should have been read instead of compiling again", 2, compiledObjects[0]);
+		assertWorldEquals(compiled, read);
+
+		// listeners get a stand-in MapObject with the name of the original one
+		final Array<String> names = new Array<>();
+		Box2DMapObjectParser namesParser = new Box2DMapObjectParser(new Box2DMapObjectParser.Listener.Adapter() {
+			@Override
+			public void created(Body body, MapObject mapObject) {
+				names.add(mapObject.getName());
+			}
+		});
+		World world = namesParser.create(new World(new Vector2(), true), read);
+		assertEquals(new Array<>(new String[] {"a", "b"}), names);
+		world.dispose();
+
+		// a changed map must not be read from the outdated file
+		map.getLayers().get(0).getObjects().get(0).getProperties().put("userData", "changed");
+		cache.compile(parser, map, file);
+		assertEquals(4, compiledObjects[0]);
+	}
+
+	@Test
+	public void corrupt() {
+		CompiledMap compiled = cache.compile(parser, map, file);
+		byte[] bytes = file.readBytes();
+		long hash = CompiledMapCache.hash(parser, map);
+
+		// truncated
+		file.writeBytes(bytes, 0, bytes.length / 2, false);
+		assertWorldEquals(compiled, cache.compile(parser, map, file));
+		assertEquals(bytes.length, file.length());
+
+		// negative count
+		ByteBuffer buffer = header(hash);
+		putVarInt(buffer, 1);
+		putVarInt(buffer, -5);
+		write(buffer);
+		assertWorldEquals(compiled, cache.compile(parser, map, file));
+
+		// unknown body type
+		buffer = header(hash);
+		putVarInt(buffer, 1);
+		putVarInt(buffer, 1);
+		putVarInt(buffer, -1); // name
+		buffer.put((byte) 0); // user data
+		buffer.put((byte) 99);
+		write(buffer);
+		assertWorldEquals(compiled, cache.compile(parser, map, file));
+
+		assertEquals(8, compiledObjects[0]);
+	}
+
+	private ByteBuffer header(long hash) {
+		ByteBuffer buffer = ByteBuffer.allocate(64);
+		buffer.putInt(CompiledMapCache.MAGIC).put(CompiledMapCache.VERSION).putLong(hash);
+		buffer.putFloat(0).putFloat(0).put((byte) -1);
+		return buffer;
+	}
+
+	private void write(ByteBuffer buffer) {
+		file.writeBytes(buffer.array(), 0, buffer.position(), false);
+	}
+
+	private static RectangleMapObject box(String name, float x, float y, Object userData) {
+		RectangleMapObject object = new RectangleMapObject(x, y, 32, 16);
+		object.setName(name);
+		MapProperties properties = object.getProperties();
+		properties.put("type", "object");
+		properties.put("bodyType", "DynamicBody");
+		properties.put("density", 2f);
+		properties.put("userData", userData);
+		return object;
+	}
+
+	private static void assertWorldEquals(CompiledMap expected, CompiledMap actual) {
+		// the parser remembers the names of the Bodies it created, so use a fresh one for each World
+		World expectedWorld = new Box2DMapObjectParser().create(new World(new Vector2(), false), expected), actualWorld = new Box2DMapObjectParser().create(new World(new Vector2(), false), actual);
+		assertEquals(2, expectedWorld.getBodyCount());
+		assertEquals(expectedWorld.getBodyCount(), actualWorld.getBodyCount());
+		assertEquals(1, actualWorld.getJointCount());
+		Array<Body> expectedBodies = new Array<>(), actualBodies = new Array<>();
+		expectedWorld.getBodies(expectedBodies);
+		actualWorld.getBodies(actualBodies);
+		for(Body body : expectedBodies) {
+			Body match = null;
+			for(Body candidate : actualBodies)
+				if(candidate.getUserData().equals(body.getUserData()))
+					match = candidate;
+			assertTrue("no body with user data " + body.getUserData(), match != null);
+			assertEquals(body.getType(), match.getType());
+			assertEquals(body.getWorldCenter(), match.getWorldCenter());
+			assertEquals(body.getMass(), match.getMass(), 0);
+			assertEquals(body.getFixtureList().size, match.getFixtureList().size);
+		}
+		Array<Joint> joints = new Array<>();
+		actualWorld.getJoints(joints);
+		assertEquals(JointType.RevoluteJoint, joints.first().getType());
+		expectedWorld.dispose();
+		actualWorld.dispose();
+	}
+
+}
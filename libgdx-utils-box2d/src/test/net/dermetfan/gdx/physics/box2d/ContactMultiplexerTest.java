@@ -0,0 +1,150 @@
+package net.dermetfan.gdx.physics.box2d;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.ContactImpulse;
+import com.badlogic.gdx.physics.box2d.ContactListener;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.Manifold;
+import com.badlogic.gdx.physics.box2d.World;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ContactMultiplexerTest {
+
+	private World world;
+
+	private ContactMultiplexer multiplexer;
+
+	@Before
+	public void setUp() {
+		Box2D.init();
+		world = new World(new Vector2(), true);
+		multiplexer = new ContactMultiplexer();
+		world.setContactListener(multiplexer);
+	}
+
+	@After
+	public void tearDown() {
+		world.dispose();
+	}
+
+	@Test
+	public void dispatch() {
+		Counter all = new Counter(), begin = new Counter(), category = new Counter(), otherCategory = new Counter(), userData = new Counter(), otherUserData = new Counter();
+		multiplexer.add(all);
+		multiplexer.add(begin, ContactMultiplexer.BEGIN_CONTACT | ContactMultiplexer.END_CONTACT, (short) -1, null);
+		multiplexer.add(category, ContactMultiplexer.ALL_CALLBACKS, (short) 2, null);
+		multiplexer.add(otherCategory, ContactMultiplexer.ALL_CALLBACKS, (short) 4, null);
+		multiplexer.add(userData, ContactMultiplexer.ALL_CALLBACKS, (short) -1, String.class);
+		multiplexer.add(otherUserData, ContactMultiplexer.ALL_CALLBACKS, (short) -1, Integer.class);
+		collide();
+
+		assertEquals(1, all.begin);
+		assertTrue(all.preSolve > 0);
+		assertTrue(all.postSolve > 0);
+		assertEquals(1, all.end);
+		assertEquals(1, begin.begin);
+		assertEquals(0, begin.preSolve);
+		assertEquals(0, begin.postSolve);
+		assertEquals(1, begin.end);
+		assertEquals(all.toString(), category.toString());
+		assertEquals(all.toString(), userData.toString());
+		assertEquals("0, 0, 0, 0", otherCategory.toString());
+		assertEquals("0, 0, 0, 0", otherUserData.toString());
+
+		// an Interest modified in place takes effect after invalidating
+		multiplexer.getInterest(otherCategory).categoryBits = 1;
+		multiplexer.invalidate();
+		collide();
+		assertEquals(1, otherCategory.begin);
+		assertEquals(2, all.begin);
+	}
+
+	@Test
+	public void removeDuplicate() {
+		Counter counter = new Counter();
+		ContactMultiplexer.Interest interest = new ContactMultiplexer.Interest(ContactMultiplexer.BEGIN_CONTACT);
+		multiplexer.add(counter, interest);
+		multiplexer.add(counter, interest);
+		assertTrue(multiplexer.remove(counter));
+		assertNotNull("the Interest must stay while the receiver is still added", multiplexer.getInterest(counter));
+		collide();
+		assertEquals(1, counter.begin);
+		assertEquals(0, counter.end);
+
+		assertTrue(multiplexer.remove(counter));
+		assertNull(multiplexer.getInterest(counter));
+		collide();
+		assertEquals(1, counter.begin);
+	}
+
+	/** lets two overlapping balls touch for one step and destroys them, which ends their contact */
+	private void collide() {
+		Body a = createBall(0, (short) 1, "a"), b = createBall(.9f, (short) 2, null);
+		world.step(1 / 60f, 8, 3);
+		world.destroyBody(a);
+		world.destroyBody(b);
+	}
+
+	private Body createBall(float x, short categoryBits, Object userData) {
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = BodyType.DynamicBody;
+		bodyDef.position.set(x, 0);
+		Body body = world.createBody(bodyDef);
+		body.setUserData(userData);
+		CircleShape shape = new CircleShape();
+		shape.setRadius(.5f);
+		FixtureDef fixtureDef = new FixtureDef();
+		fixtureDef.shape = shape;
+		fixtureDef.density = 1;
+		fixtureDef.filter.categoryBits = categoryBits;
+		body.createFixture(fixtureDef);
+		shape.dispose();
+		return body;
+	}
+
+	/** counts the callbacks it receives, {@link #toString() printed} as {@code begin, preSolve, postSolve, end} */
+	private static class Counter implements ContactListener {
+
+		int begin, preSolve, postSolve, end;
+
+		@Override
+		public void beginContact(Contact contact) {
+			begin++;
+		}
+
+		@Override
+		public void preSolve(Contact contact, Manifold oldManifold) {
+			preSolve++;
+		}
+
+		@Override
+		public void postSolve(Contact contact, ContactImpulse impulse) {
+			postSolve++;
+		}
+
+		@Override
+		public void endContact(Contact contact) {
+			end++;
+		}
+
+		@Override
+		public String toString() {
+			return begin + ", " + preSolve + ", " + postSolve + ", " + end;
+		}
+
+	}
+
+}
@@ -0,0 +1,70 @@
+package net.dermetfan.gdx.physics.box2d;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.World;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ContactRecorderTest {
+
+	@Test
+	public void drainWhileRecording() {
+		Box2D.init();
+		final World world = new World(new Vector2(), true);
+		ContactRecorder recorder = new ContactRecorder(2);
+		recorder.setEvents(ContactRecorder.BEGIN_CONTACT | ContactRecorder.END_CONTACT);
+		world.setContactListener(recorder);
+		createBall(world, 0);
+		createBall(world, .9f);
+		createBall(world, 10);
+		createBall(world, 10.9f);
+		world.step(1 / 60f, 8, 3);
+		assertEquals(2, recorder.size());
+		assertEquals(2, recorder.getCapacity());
+
+		// destroying a Body records an END_CONTACT event, which grows the buffers while draining
+		final int[] handled = new int[1];
+		recorder.drain(new ContactRecorder.Handler() {
+			@Override
+			public void handle(ContactRecorder recorder, int index) {
+				assertEquals(ContactRecorder.BEGIN_CONTACT, recorder.getType(index));
+				world.destroyBody(recorder.getFixtureA(world, index).getBody());
+				handled[0]++;
+			}
+		});
+		assertEquals(2, handled[0]);
+		assertEquals(4, recorder.getCapacity());
+		assertEquals(2, recorder.size());
+		assertEquals(ContactRecorder.END_CONTACT, recorder.getType(0));
+		assertEquals(ContactRecorder.END_CONTACT, recorder.getType(1));
+
+		recorder.drain(new ContactRecorder.Handler() {
+			@Override
+			public void handle(ContactRecorder recorder, int index) {
+				handled[0]++;
+			}
+		});
+		assertEquals(4, handled[0]);
+		assertEquals(0, recorder.size());
+		world.dispose();
+	}
+
+	private static Body createBall(World world, float x) {
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = BodyType.DynamicBody;
+		bodyDef.position.set(x, 0);
+		Body body = world.createBody(bodyDef);
+		CircleShape shape = new CircleShape();
+		shape.setRadius(.5f);
+		body.createFixture(shape, 1);
+		shape.dispose();
+		return body;
+	}
+
+}
@@ -0,0 +1,99 @@
+package net.dermetfan.gdx.physics.box2d;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.World;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ContactTrackerTest {
+
+	private World world;
+
+	private ContactTracker tracker;
+
+	@Before
+	public void setUp() {
+		Box2D.init();
+		world = new World(new Vector2(), true);
+		tracker = new ContactTracker();
+		world.setContactListener(tracker);
+	}
+
+	@After
+	public void tearDown() {
+		world.dispose();
+	}
+
+	@Test
+	public void track() {
+		Body a = createBall(0, 0, 2), b = createBall(.5f, 0, 2), c = createBall(-.6f, 0, 1), far = createBall(10, 0, 1);
+		world.step(1 / 60f, 8, 3);
+
+		Fixture fixture = a.getFixtureList().first();
+		assertTrue(tracker.isTouching(a));
+		assertTrue(tracker.isTouching(a, b));
+		assertTrue(tracker.isTouching(a, c));
+		assertFalse(tracker.isTouching(far));
+		assertFalse(tracker.isTouching(a, far));
+		assertEquals(2, tracker.touchingCount(a));
+		assertEquals(1, tracker.touchingCount(c));
+		// both Fixtures of a touch both Fixtures of b but b is only counted once
+		assertEquals(3, tracker.touchingCount(fixture));
+		assertTrue(tracker.isTouching(fixture, b.getFixtureList().first()));
+
+		// the last partner takes the index of a removed one
+		Body first = tracker.getTouching(a, 0), last = tracker.getTouching(a, 1);
+		world.destroyBody(first);
+		assertEquals(1, tracker.touchingCount(a));
+		assertSame(last, tracker.getTouching(a, 0));
+		assertFalse(tracker.isTouching(a, first));
+		assertTrue(tracker.isTouching(a, last));
+
+		// a partner is only removed with its last contact
+		Body other = last == b ? b : c;
+		other.destroyFixture(other.getFixtureList().first());
+		assertEquals(other == b, tracker.isTouching(a, other));
+		world.destroyBody(other);
+		assertFalse(tracker.isTouching(a));
+		assertEquals(0, tracker.touchingCount(fixture));
+
+		b = createBall(.5f, 0, 1);
+		world.step(1 / 60f, 8, 3);
+		assertTrue(tracker.isTouching(a, b));
+		tracker.clear();
+		assertFalse(tracker.isTouching(a));
+		assertEquals(0, tracker.touchingCount(b));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void getTouchingOutOfBounds() {
+		tracker.getTouching(createBall(0, 0, 1), 0);
+	}
+
+	/** @param fixtures the number of identical circle Fixtures */
+	private Body createBall(float x, float y, int fixtures) {
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = BodyType.DynamicBody;
+		bodyDef.position.set(x, y);
+		Body body = world.createBody(bodyDef);
+		CircleShape shape = new CircleShape();
+		shape.setRadius(.5f);
+		for(int i = 0; i < fixtures; i++)
+			body.createFixture(shape, 1);
+		shape.dispose();
+		return body;
+	}
+
+}
@@ -0,0 +1,106 @@
+package net.dermetfan.gdx.physics.box2d;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.World;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ControllerBatchTest {
+
+	private World world;
+
+	private PositionController.Batch batch;
+
+	@Before
+	public void setUp() {
+		Box2D.init();
+		world = new World(new Vector2(), true);
+		batch = new PositionController.Batch();
+	}
+
+	@After
+	public void tearDown() {
+		world.dispose();
+	}
+
+	@Test
+	public void unregister() {
+		Body a = createBody(0, 0), b = createBody(1, 0), c = createBody(2, 0);
+		assertEquals(0, batch.register(a, 1, 0, 10, 0));
+		assertEquals(1, batch.register(b, 2, 0, 10, 0));
+		assertEquals(2, batch.register(c, 3, 0, 10, 0));
+		assertEquals(1, batch.register(b, 2, 0, 20, 0));
+		assertEquals(3, batch.size());
+
+		// the last Body takes the index of the removed one together with its values
+		assertTrue(batch.unregister(a));
+		assertFalse(batch.unregister(a));
+		assertEquals(2, batch.size());
+		assertEquals(-1, batch.indexOf(a));
+		assertEquals(0, batch.indexOf(c));
+		assertSame(c, batch.getBody(0));
+		assertEquals(1, batch.indexOf(b));
+
+		batch.update(false);
+		assertEquals(3 * (10 - 2), batch.getForceX(0), 1e-5f);
+		assertEquals(2 * (20 - 1), batch.getForceX(1), 1e-5f);
+
+		// a Body registered again is appended
+		assertEquals(2, batch.register(a, 1, 0, 0, 0));
+		batch.update(false);
+		assertEquals(0, batch.getForceX(2), 0);
+
+		batch.clear();
+		assertEquals(0, batch.size());
+		assertEquals(-1, batch.indexOf(b));
+	}
+
+	@Test
+	public void parallel() {
+		PositionController.Batch sequential = new PositionController.Batch();
+		for(int i = 0; i < 100; i++) {
+			Body body = createBody(i % 10, i / 10);
+			batch.register(body, i, i / 2f, i % 7, i % 3, -i, i);
+			sequential.register(body, i, i / 2f, i % 7, i % 3, -i, i);
+		}
+		batch.unregister(batch.getBody(42));
+		sequential.unregister(sequential.getBody(42));
+
+		ParallelControllerBatch parallel = new ParallelControllerBatch();
+		parallel.setThreshold(7);
+		parallel.update(batch, false);
+		parallel.dispose();
+		sequential.gather();
+		sequential.compute(0, sequential.size());
+
+		assertEquals(sequential.size(), batch.size());
+		for(int i = 0; i < batch.size(); i++) {
+			assertSame(sequential.getBody(i), batch.getBody(i));
+			assertEquals(sequential.getForceX(i), batch.getForceX(i), 0);
+			assertEquals(sequential.getForceY(i), batch.getForceY(i), 0);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void threshold() {
+		new ParallelControllerBatch(null).setThreshold(0);
+	}
+
+	private Body createBody(float x, float y) {
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = BodyType.DynamicBody;
+		bodyDef.position.set(x, y);
+		return world.createBody(bodyDef);
+	}
+
+}
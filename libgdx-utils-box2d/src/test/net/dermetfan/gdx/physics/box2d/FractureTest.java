@@ -0,0 +1,103 @@
+package net.dermetfan.gdx.physics.box2d;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FractureTest {
+
+	@Test
+	public void fractureBox() {
+		Box2D.init();
+		World world = new World(new Vector2(), false);
+		Fixture fixture = box(world);
+		Fracture fracture = new Fracture();
+		fracture.setMinShardArea(0);
+		fracture.setScatter(0);
+		fracture.setShards(6, 6);
+
+		Fracture.Plan plan = fracture.prepare(fixture, 3.5f, 2, 6);
+		assertTrue(fracture.isPending(fixture));
+		plan.seed = 1; // random cells may be welded away, losing their area
+		fracture.compute(plan);
+		int shards = plan.getShardCount();
+		assertTrue(shards >= 1);
+		float area = 0;
+		for(int i = 0; i < shards; i++) {
+			int offset = plan.offsets.get(i), end = plan.offsets.get(i + 1);
+			assertTrue(end - offset <= Box2DUtils.Settings.maxPolygonVertices * 2);
+			area += area(plan.vertices.items, offset, end);
+		}
+		assertEquals(8, area, 1e-3f);
+
+		Array<Body> bodies = new Array<>();
+		fracture.create(world, plan, bodies);
+		assertFalse(fracture.isPending(fixture));
+		assertEquals(shards, bodies.size);
+		area = 0;
+		for(Body body : bodies) {
+			assertEquals(1, body.getFixtureList().size);
+			assertEquals(new Vector2(3, 2), body.getPosition());
+			float[] vertices = Box2DUtils.vertices(body.getFixtureList().first());
+			area += area(vertices, 0, vertices.length);
+		}
+		assertEquals(8, area, 1e-3f);
+
+		fracture.dispose();
+		world.dispose();
+	}
+
+	@Test
+	public void triggerPreparesOnce() {
+		Box2D.init();
+		World world = new World(new Vector2(), false);
+		Fixture fixture = box(world);
+		Fracture fracture = new Fracture();
+		Fracture.Trigger trigger = new Fracture.Trigger(fracture);
+		assertFalse(trigger.strained(fixture, null, null, null, 5, 0));
+		assertFalse(trigger.strained(fixture, null, null, null, 5, 0));
+		assertEquals(1, fracture.getPending().size);
+
+		Array<Body> bodies = new Array<>();
+		fracture.createPending(world, bodies);
+		assertEquals(0, fracture.getPending().size);
+		assertFalse(fracture.isPending(fixture));
+		assertTrue(bodies.size > 0);
+
+		fracture.dispose();
+		world.dispose();
+	}
+
+	private static Fixture box(World world) {
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = BodyType.DynamicBody;
+		bodyDef.position.set(3, 2);
+		Body body = world.createBody(bodyDef);
+		PolygonShape shape = new PolygonShape();
+		shape.setAsBox(2, 1);
+		Fixture fixture = body.createFixture(shape, 1);
+		shape.dispose();
+		return fixture;
+	}
+
+	private static float area(float[] vertices, int offset, int end) {
+		float area = 0;
+		for(int i = offset; i < end; i += 2) {
+			int j = i + 2 < end ? i + 2 : offset;
+			area += vertices[i] * vertices[j + 1] - vertices[j] * vertices[i + 1];
+		}
+		return Math.abs(area / 2);
+	}
+
+}
@@ -0,0 +1,193 @@
+package net.dermetfan.gdx.physics.box2d;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.Joint;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.physics.box2d.joints.DistanceJointDef;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class InterestRouterTest {
+
+	private World world;
+
+	private WorldObserver observer;
+
+	private InterestRouter router;
+
+	private Counter counter;
+
+	private InterestRouter.Interest interest;
+
+	@Before
+	public void setUp() {
+		Box2D.init();
+		world = new World(new Vector2(), true);
+		router = new InterestRouter(4);
+		counter = new Counter();
+		interest = router.add(counter);
+		observer = new WorldObserver(router);
+		observer.setIncremental(true);
+	}
+
+	@After
+	public void tearDown() {
+		world.dispose();
+	}
+
+	@Test
+	public void enterAndLeave() {
+		interest.setRectangle(5, -1, 2, 2);
+		Body body = createBall(0, 0, true);
+		body.setLinearVelocity(10, 0);
+		observer.update(world, 0);
+		assertEquals(0, counter.bodies);
+
+		while(body.getPosition().x < 6)
+			step();
+		assertEquals(1, counter.bodies);
+		assertEquals(1, counter.fixtures);
+		assertEquals(0, counter.destroyed);
+
+		while(body.getPosition().x < 8)
+			step();
+		assertEquals(0, counter.bodies);
+		assertEquals(0, counter.fixtures);
+		assertEquals(2, counter.destroyed);
+	}
+
+	@Test
+	public void regionMovesOverSleepingBody() {
+		createBall(20, 0, false);
+		interest.setRectangle(0, 0, 1, 1);
+		observer.update(world, 0);
+		assertEquals(0, counter.bodies);
+
+		interest.setCircle(20, 0, 1);
+		observer.update(world, 0);
+		assertEquals(1, counter.bodies);
+		assertEquals(1, counter.fixtures);
+
+		interest.setRectangle(100, 100, 200, 200); // covers more than maxRegionCells
+		observer.update(world, 0);
+		assertEquals(0, counter.bodies);
+
+		interest.setRectangle(-100, -100, 200, 200);
+		observer.update(world, 0);
+		assertEquals(1, counter.bodies);
+
+		interest.clear();
+		observer.update(world, 0);
+		assertEquals(0, counter.bodies);
+		assertEquals(0, counter.fixtures);
+	}
+
+	@Test
+	public void outsideBodiesAreNotDiffed() {
+		interest.setRectangle(-1, -1, 2, 2);
+		Body body = createBall(10, 0, true);
+		body.setLinearVelocity(0, 1);
+		observer.update(world, 0);
+		for(int i = 0; i < 10; i++)
+			step();
+		assertEquals(0, counter.changes);
+		WorldObserver.BodyChange change = observer.getBodyChange(com.badlogic.gdx.physics.box2d.Box2DUtils.hashCode(body));
+		assertEquals(0, change.getTransform().getPosition().y, 0);
+	}
+
+	@Test
+	public void joints() {
+		interest.setRectangle(-1, -1, 4, 2);
+		Body a = createBall(0, 0, false), b = createBall(2, 0, false), outside = createBall(10, 0, false);
+		DistanceJointDef jointDef = new DistanceJointDef();
+		jointDef.initialize(a, b, a.getPosition(), b.getPosition());
+		world.createJoint(jointDef);
+		jointDef.initialize(b, outside, b.getPosition(), outside.getPosition());
+		world.createJoint(jointDef);
+		observer.update(world, 0);
+		assertEquals(2, counter.bodies);
+		assertEquals(1, counter.joints);
+
+		interest.setRectangle(-1, -1, 12, 2);
+		observer.update(world, 0);
+		assertEquals(3, counter.bodies);
+		assertEquals(2, counter.joints);
+
+		interest.setRectangle(9, -1, 2, 2);
+		observer.update(world, 0);
+		assertEquals(1, counter.bodies);
+		assertEquals(0, counter.joints);
+	}
+
+	private void step() {
+		world.step(1 / 60f, 8, 3);
+		observer.update(world, 1 / 60f);
+	}
+
+	private Body createBall(float x, float y, boolean awake) {
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = BodyType.DynamicBody;
+		bodyDef.position.set(x, y);
+		bodyDef.awake = awake;
+		Body body = world.createBody(bodyDef);
+		CircleShape shape = new CircleShape();
+		shape.setRadius(.5f);
+		body.createFixture(shape, 1);
+		shape.dispose();
+		return body;
+	}
+
+	/** counts the visible Bodies, Fixtures and Joints */
+	private static class Counter extends WorldObserver.Listener.Adapter {
+
+		int bodies, fixtures, joints, destroyed, changes;
+
+		@Override
+		public void changed(Body body, WorldObserver.BodyChange change) {
+			changes++;
+		}
+
+		@Override
+		public void created(Body body) {
+			bodies++;
+		}
+
+		@Override
+		public void destroyed(Body body) {
+			bodies--;
+			destroyed++;
+		}
+
+		@Override
+		public void created(Fixture fixture) {
+			fixtures++;
+		}
+
+		@Override
+		public void destroyed(Fixture fixture) {
+			fixtures--;
+			destroyed++;
+		}
+
+		@Override
+		public void created(Joint joint) {
+			joints++;
+		}
+
+		@Override
+		public void destroyed(Joint joint) {
+			joints--;
+		}
+
+	}
+
+}
@@ -0,0 +1,81 @@
+package net.dermetfan.gdx.physics.box2d;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.World;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RollbackBufferTest {
+
+	@Test
+	public void restore() {
+		Box2D.init();
+		World world = new World(new Vector2(0, -10), false);
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = BodyType.DynamicBody;
+		CircleShape shape = new CircleShape();
+		shape.setRadius(.5f);
+		Body[] bodies = new Body[3]; // more than the allocated slots
+		for(int i = 0; i < bodies.length; i++) {
+			bodyDef.position.set(i * 2, 0);
+			bodyDef.angularVelocity = i;
+			bodies[i] = world.createBody(bodyDef);
+			bodies[i].createFixture(shape, 1);
+		}
+		shape.dispose();
+
+		RollbackBuffer buffer = new RollbackBuffer(8, 1);
+		WorldObserver observer = new WorldObserver(buffer);
+		observer.update(world, 0);
+		assertEquals(0, buffer.getTick());
+
+		float[][] states = new float[bodies.length][];
+		for(int tick = 1; tick <= 10; tick++) {
+			world.step(1 / 60f, 8, 3);
+			observer.update(world, 1 / 60f);
+			if(tick == 5)
+				for(int i = 0; i < bodies.length; i++)
+					states[i] = state(bodies[i]);
+		}
+		assertEquals(10, buffer.getTick());
+		assertEquals(3, buffer.getOldestTick());
+		assertFalse(buffer.canRestore(2));
+		try {
+			buffer.restore(2);
+			fail("restored a tick that was overwritten");
+		} catch(IllegalArgumentException expected) {}
+
+		bodyDef.position.set(-10, 0);
+		Body late = world.createBody(bodyDef);
+		observer.update(world, 0);
+		Vector2 latePosition = late.getPosition().cpy();
+		world.destroyBody(bodies[2]);
+		observer.update(world, 0);
+
+		assertTrue(buffer.canRestore(5));
+		buffer.restore(5);
+		assertEquals(5, buffer.getTick());
+		for(int i = 0; i < 2; i++) {
+			float[] state = state(bodies[i]);
+			for(int j = 0; j < state.length; j++)
+				assertEquals(states[i][j], state[j], 1e-5f);
+		}
+		assertEquals(latePosition, late.getPosition());
+
+		world.dispose();
+	}
+
+	private static float[] state(Body body) {
+		return new float[] {body.getPosition().x, body.getPosition().y, body.getAngle(), body.getLinearVelocity().x, body.getLinearVelocity().y, body.getAngularVelocity()};
+	}
+
+}
@@ -0,0 +1,74 @@
+package net.dermetfan.gdx.physics.box2d;
+
+import com.badlogic.gdx.maps.Map;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.World;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingMapLoaderTest {
+
+	@Test
+	public void hysteresis() {
+		Box2D.init();
+		World world = new World(new Vector2(), false);
+		Map map = new Map();
+		MapLayer layer = new MapLayer();
+		for(int x = 0; x < 100; x += 10) {
+			RectangleMapObject object = new RectangleMapObject(x + 4, 4, 2, 2);
+			object.getProperties().put("type", "object");
+			layer.getObjects().add(object);
+		}
+		RectangleMapObject named = new RectangleMapObject(50, 50, 1, 1);
+		named.setName("named");
+		named.getProperties().put("type", "object");
+		layer.getObjects().add(named);
+		map.getLayers().add(layer);
+
+		Box2DMapObjectParser parser = new Box2DMapObjectParser();
+		StreamingMapLoader loader = new StreamingMapLoader(parser, 10, 3, 12);
+		loader.load(world, map);
+		assertEquals(10, loader.getChunkCount());
+		assertEquals(0, loader.getLoadedChunkCount());
+		assertEquals(1, world.getBodyCount());
+
+		loader.update(world, 5, 5);
+		assertEquals(1, loader.getLoadedChunkCount());
+		assertTrue(loader.isLoaded(5, 5));
+		assertEquals(2, world.getBodyCount());
+		assertEquals(2, parser.getBodies().size);
+
+		// within the unload distance the chunk stays while the next one is created
+		loader.update(world, 16, 5);
+		assertEquals(2, loader.getLoadedChunkCount());
+		assertTrue(loader.isLoaded(5, 5));
+		assertTrue(loader.isLoaded(15, 5));
+
+		// moving back does not destroy the chunk that was just created
+		loader.update(world, 14, 5);
+		assertEquals(2, loader.getLoadedChunkCount());
+
+		// beyond the unload distance the chunk is destroyed
+		loader.update(world, 26, 5);
+		assertFalse(loader.isLoaded(5, 5));
+		assertTrue(loader.isLoaded(15, 5));
+		assertTrue(loader.isLoaded(25, 5));
+		assertEquals(2, loader.getLoadedChunkCount());
+		assertEquals(3, world.getBodyCount());
+		assertEquals(3, parser.getBodies().size);
+		assertEquals(3, parser.getFixtures().size);
+
+		loader.unloadAll(world);
+		assertEquals(0, loader.getLoadedChunkCount());
+		assertEquals(1, world.getBodyCount());
+		assertEquals(1, parser.getBodies().size);
+		world.dispose();
+	}
+
+}
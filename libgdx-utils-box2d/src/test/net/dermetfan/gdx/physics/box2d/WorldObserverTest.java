@@ -0,0 +1,273 @@
+package net.dermetfan.gdx.physics.box2d;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.Joint;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.physics.box2d.joints.DistanceJointDef;
+import com.badlogic.gdx.physics.box2d.joints.RevoluteJointDef;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class WorldObserverTest {
+
+	@Test
+	public void joints() {
+		Box2D.init();
+		World world = new World(new Vector2(), true);
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = BodyType.DynamicBody;
+		int jointCount = 100;
+		Array<Body> bodies = new Array<>();
+		for(int i = 0; i <= jointCount; i++) {
+			bodyDef.position.set(i, 0);
+			bodies.add(world.createBody(bodyDef));
+		}
+		RevoluteJointDef jointDef = new RevoluteJointDef();
+		Array<Joint> joints = new Array<>();
+		for(int i = 0; i < jointCount; i++) {
+			jointDef.initialize(bodies.get(i), bodies.get(i + 1), bodies.get(i).getPosition());
+			joints.add(world.createJoint(jointDef));
+		}
+
+		final int[] created = new int[1], destroyed = new int[1];
+		WorldObserver observer = new WorldObserver(new WorldObserver.Listener.Adapter() {
+			@Override
+			public void created(Joint joint) {
+				created[0]++;
+			}
+
+			@Override
+			public void destroyed(Joint joint) {
+				destroyed[0]++;
+			}
+		});
+		observer.update(world, 0);
+		assertEquals(jointCount, created[0]);
+		assertEquals(0, destroyed[0]);
+
+		// recreated joints may reuse the addresses of the destroyed ones
+		for(int update = 1; update <= 10; update++) {
+			created[0] = destroyed[0] = 0;
+			for(int i = update % 10; i < jointCount; i += 10) {
+				world.destroyJoint(joints.get(i));
+				jointDef.initialize(bodies.get(i), bodies.get(i + 1), bodies.get(i).getPosition());
+				joints.set(i, world.createJoint(jointDef));
+			}
+			observer.update(world, 0);
+			assertEquals(jointCount / 10, created[0]);
+			assertEquals(jointCount / 10, destroyed[0]);
+			for(Joint joint : joints)
+				assertNotNull(observer.getJointChange(joint));
+		}
+
+		Joint joint = joints.pop();
+		world.destroyJoint(joint);
+		created[0] = destroyed[0] = 0;
+		observer.update(world, 0);
+		assertEquals(0, created[0]);
+		assertEquals(1, destroyed[0]);
+		assertNull(observer.getJointChange(joint));
+
+		world.dispose();
+	}
+
+	@Test
+	public void thresholdsFlushOnSleep() {
+		Box2D.init();
+		World world = new World(new Vector2(), true);
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = BodyType.DynamicBody;
+		bodyDef.linearVelocity.set(1, 0);
+		bodyDef.linearDamping = 5;
+		Body body = world.createBody(bodyDef);
+		CircleShape shape = new CircleShape();
+		shape.setRadius(.5f);
+		body.createFixture(shape, 1);
+		shape.dispose();
+
+		final int[] changes = new int[1];
+		WorldObserver observer = new WorldObserver(new WorldObserver.Listener.Adapter() {
+			@Override
+			public void changed(Body body, WorldObserver.BodyChange change) {
+				changes[0]++;
+			}
+		});
+		observer.setThresholds(new WorldObserver.Thresholds(10, 10, 10, 10));
+		observer.update(world, 0);
+		changes[0] = 0;
+
+		int steps = 0;
+		while(body.isAwake() && steps++ < 600) {
+			world.step(1 / 60f, 8, 3);
+			observer.update(world, 1 / 60f);
+		}
+		assertTrue("the body never fell asleep", steps < 600);
+		assertEquals("only the update in which the body fell asleep should report a change", 1, changes[0]);
+		WorldObserver.BodyChange change = observer.getBodyChange(com.badlogic.gdx.physics.box2d.Box2DUtils.hashCode(body));
+		assertEquals(body.getPosition().x, change.getTransform().getPosition().x, 0);
+		assertEquals(body.getLinearVelocity().x, change.getLinearVelocity().x, 0);
+
+		world.dispose();
+	}
+
+	@Test
+	public void incremental() {
+		Box2D.init();
+		World world = new World(new Vector2(), true);
+		Body moving = createBall(world, 0, 0, true);
+		moving.setLinearVelocity(1, 0);
+		Body sleeping = createBall(world, 10, 0, false);
+
+		ChangeCounter counter = new ChangeCounter();
+		WorldObserver observer = new WorldObserver(counter);
+		observer.setIncremental(true);
+		observer.update(world, 0);
+		assertEquals("two Bodies and their Fixtures", 4, counter.created);
+
+		world.step(1 / 60f, 8, 3);
+		counter.changes.clear();
+		observer.update(world, 1 / 60f);
+		assertEquals(1, counter.changes.get(moving, 0));
+		assertEquals(0, counter.changes.get(sleeping, 0));
+
+		// changes that do not wake up a sleeping Body are only noticed if it is marked dirty
+		sleeping.setTransform(10, 5, 0);
+		assertFalse(sleeping.isAwake());
+		counter.changes.clear();
+		observer.update(world, 0);
+		assertEquals(0, counter.changes.get(sleeping, 0));
+
+		observer.markDirty(sleeping);
+		observer.update(world, 0);
+		assertEquals(1, counter.changes.get(sleeping, 0));
+		assertEquals(5, observer.getBodyChange(com.badlogic.gdx.physics.box2d.Box2DUtils.hashCode(sleeping)).getTransform().getPosition().y, 0);
+
+		observer.update(world, 0);
+		assertEquals("a Body is only dirty until the next update", 1, counter.changes.get(sleeping, 0));
+
+		world.dispose();
+	}
+
+	@Test
+	public void incrementalWakeUp() {
+		Box2D.init();
+		World world = new World(new Vector2(), true);
+		Body moving = createBall(world, 0, 0, true);
+		moving.setLinearVelocity(5, 0);
+		Body touched = createBall(world, 2, 0, false);
+		Body touchedByTouched = createBall(world, 3.3f, 0, false);
+		Body jointed = createBall(world, 3.3f, 5, false);
+		DistanceJointDef jointDef = new DistanceJointDef();
+		jointDef.initialize(touchedByTouched, jointed, touchedByTouched.getPosition(), jointed.getPosition());
+		world.createJoint(jointDef);
+
+		ChangeCounter counter = new ChangeCounter();
+		WorldObserver observer = new WorldObserver(counter);
+		observer.setIncremental(true);
+		observer.update(world, 0);
+
+		assertFalse(touched.isAwake() || touchedByTouched.isAwake() || jointed.isAwake());
+		int steps = 0;
+		while(!jointed.isAwake() && steps++ < 600) {
+			world.step(1 / 60f, 8, 3);
+			observer.update(world, 1 / 60f);
+		}
+		assertTrue("the chain was never woken up", steps < 600);
+		world.step(1 / 60f, 8, 3);
+		observer.update(world, 1 / 60f);
+		assertTrue(counter.changes.get(touched, 0) > 0);
+		assertTrue(counter.changes.get(touchedByTouched, 0) > 0);
+		assertTrue(counter.changes.get(jointed, 0) > 0);
+
+		world.dispose();
+	}
+
+	@Test
+	public void invalidate() {
+		Box2D.init();
+		World world = new World(new Vector2(), true);
+		createBall(world, 0, 0, false);
+		Body destroyed = createBall(world, 2, 0, false);
+
+		ChangeCounter counter = new ChangeCounter();
+		WorldObserver observer = new WorldObserver(counter);
+		observer.setIncremental(true);
+		observer.update(world, 0);
+		counter.created = 0;
+
+		// the Body and Fixture counts stay the same and neither Body is awake
+		createBall(world, 4, 0, false);
+		world.destroyBody(destroyed);
+		observer.update(world, 0);
+		assertEquals(0, counter.created);
+		assertEquals(0, counter.destroyed);
+
+		observer.invalidate();
+		observer.update(world, 0);
+		assertEquals(2, counter.created);
+		assertEquals(2, counter.destroyed);
+
+		world.dispose();
+	}
+
+	private static Body createBall(World world, float x, float y, boolean awake) {
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = BodyType.DynamicBody;
+		bodyDef.position.set(x, y);
+		bodyDef.awake = awake;
+		Body body = world.createBody(bodyDef);
+		CircleShape shape = new CircleShape();
+		shape.setRadius(.5f);
+		body.createFixture(shape, 1);
+		shape.dispose();
+		return body;
+	}
+
+	/** counts the changes per Body and the created and destroyed Bodies and Fixtures */
+	private static class ChangeCounter extends WorldObserver.Listener.Adapter {
+
+		final ObjectIntMap<Body> changes = new ObjectIntMap<>();
+
+		int created, destroyed;
+
+		@Override
+		public void changed(Body body, WorldObserver.BodyChange change) {
+			changes.getAndIncrement(body, 0, 1);
+		}
+
+		@Override
+		public void created(Body body) {
+			created++;
+		}
+
+		@Override
+		public void created(Fixture fixture) {
+			created++;
+		}
+
+		@Override
+		public void destroyed(Body body) {
+			destroyed++;
+		}
+
+		@Override
+		public void destroyed(Fixture fixture) {
+			destroyed++;
+		}
+
+	}
+
+}
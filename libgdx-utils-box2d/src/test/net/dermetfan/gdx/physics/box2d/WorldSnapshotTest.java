@@ -0,0 +1,176 @@
+package net.dermetfan.gdx.physics.box2d;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.Joint;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.physics.box2d.JointDef.JointType;
+import com.badlogic.gdx.physics.box2d.joints.GearJoint;
+import com.badlogic.gdx.physics.box2d.joints.GearJointDef;
+import com.badlogic.gdx.physics.box2d.joints.RevoluteJoint;
+import com.badlogic.gdx.physics.box2d.joints.RevoluteJointDef;
+import com.badlogic.gdx.utils.Array;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class WorldSnapshotTest {
+
+	@Test
+	public void captureRestore() {
+		Box2D.init();
+		World world = new World(new Vector2(0, -10), false);
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.position.set(0, 0);
+		Body ground = world.createBody(bodyDef);
+		ground.setUserData("ground");
+		CircleShape circle = new CircleShape();
+		circle.setRadius(.5f);
+		ground.createFixture(circle, 1).setUserData("circle");
+		circle.dispose();
+
+		bodyDef.type = BodyType.DynamicBody;
+		bodyDef.position.set(2, 1);
+		bodyDef.angle = .3f;
+		bodyDef.linearVelocity.set(1, 2);
+		bodyDef.angularVelocity = -1;
+		Body box = world.createBody(bodyDef);
+		box.setUserData("box");
+		PolygonShape polygon = new PolygonShape();
+		polygon.setAsBox(.5f, .25f);
+		box.createFixture(polygon, 2).setFriction(.7f);
+		polygon.dispose();
+
+		RevoluteJointDef jointDef = new RevoluteJointDef();
+		jointDef.initialize(ground, box, new Vector2(1, .5f));
+		jointDef.enableLimit = true;
+		jointDef.lowerAngle = -.5f;
+		jointDef.upperAngle = .5f;
+		world.createJoint(jointDef).setUserData("joint");
+
+		WorldSnapshot snapshot = new WorldSnapshot();
+		snapshot.capture(world);
+		assertEquals(2, snapshot.getBodyCount());
+		assertEquals(1, snapshot.getJointCount());
+
+		World target = new World(new Vector2(), true);
+		snapshot.restore(target);
+		assertWorldEquals(world, target, snapshot);
+
+		// change both Worlds and restore into the recycled World
+		for(int i = 0; i < 30; i++) {
+			world.step(1 / 60f, 8, 3);
+			target.step(1 / 60f, 8, 3);
+		}
+		target.createBody(new BodyDef());
+		snapshot.restore(target);
+		assertEquals("additional Bodies should be destroyed", 2, target.getBodyCount());
+		snapshot.capture(world);
+		snapshot.restore(target);
+		assertWorldEquals(world, target, snapshot);
+
+		snapshot.dispose();
+		target.dispose();
+		world.dispose();
+	}
+
+	@Test
+	public void gearJoints() {
+		Box2D.init();
+		World world = new World(new Vector2(), false);
+		Body ground = world.createBody(new BodyDef());
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = BodyType.DynamicBody;
+		CircleShape circle = new CircleShape();
+		circle.setRadius(.5f);
+		Array<Joint> revoluteJoints = new Array<>();
+		RevoluteJointDef revoluteJointDef = new RevoluteJointDef();
+		for(int i = 0; i < 2; i++) {
+			bodyDef.position.set(i * 2, 0);
+			Body wheel = world.createBody(bodyDef);
+			wheel.createFixture(circle, 1);
+			revoluteJointDef.initialize(ground, wheel, wheel.getPosition());
+			revoluteJoints.add(world.createJoint(revoluteJointDef));
+		}
+		circle.dispose();
+		GearJointDef gearJointDef = new GearJointDef();
+		gearJointDef.bodyA = revoluteJoints.get(0).getBodyB();
+		gearJointDef.bodyB = revoluteJoints.get(1).getBodyB();
+		gearJointDef.joint1 = revoluteJoints.get(0);
+		gearJointDef.joint2 = revoluteJoints.get(1);
+		gearJointDef.ratio = 2;
+		world.createJoint(gearJointDef);
+
+		WorldSnapshot snapshot = new WorldSnapshot();
+		snapshot.capture(world);
+		World target = new World(new Vector2(), false);
+		// restoring again destroys the restored GearJoint before the RevoluteJoints it references
+		for(int i = 0; i < 3; i++) {
+			snapshot.restore(target);
+			assertEquals(3, target.getJointCount());
+		}
+		Array<Joint> joints = new Array<>();
+		target.getJoints(joints);
+		int gears = 0;
+		for(Joint joint : joints) {
+			if(joint.getType() != JointType.GearJoint)
+				continue;
+			gears++;
+			assertEquals(2, ((GearJoint) joint).getRatio(), 0);
+		}
+		assertEquals(1, gears);
+
+		snapshot.dispose();
+		target.dispose();
+		world.dispose();
+	}
+
+	private static void assertWorldEquals(World expected, World actual, WorldSnapshot snapshot) {
+		assertEquals(expected.getGravity(), actual.getGravity());
+		assertEquals(expected.getBodyCount(), actual.getBodyCount());
+		assertEquals(expected.getJointCount(), actual.getJointCount());
+		Array<Body> bodies = new Array<>();
+		expected.getBodies(bodies);
+		for(Body body : bodies) {
+			Body restored = snapshot.getBody(snapshot.indexOf(body));
+			assertSame(actual, restored.getWorld());
+			assertEquals(body.getType(), restored.getType());
+			assertEquals(body.getPosition(), restored.getPosition());
+			assertEquals(body.getAngle(), restored.getAngle(), 0);
+			assertEquals(body.getLinearVelocity(), restored.getLinearVelocity());
+			assertEquals(body.getAngularVelocity(), restored.getAngularVelocity(), 0);
+			assertEquals(body.getMass(), restored.getMass(), 1e-6f);
+			assertEquals(body.getUserData(), restored.getUserData());
+			assertEquals(body.getFixtureList().size, restored.getFixtureList().size);
+			for(int i = 0; i < body.getFixtureList().size; i++) {
+				Fixture fixture = body.getFixtureList().get(i), restoredFixture = restored.getFixtureList().get(i);
+				assertEquals(fixture.getType(), restoredFixture.getType());
+				assertEquals(fixture.getFriction(), restoredFixture.getFriction(), 0);
+				assertEquals(fixture.getDensity(), restoredFixture.getDensity(), 0);
+				assertEquals(fixture.getUserData(), restoredFixture.getUserData());
+				assertEquals(fixture.getShape().getRadius(), restoredFixture.getShape().getRadius(), 0);
+			}
+		}
+		Array<Joint> joints = new Array<>();
+		expected.getJoints(joints);
+		for(Joint joint : joints) {
+			Joint restored = snapshot.getJoint(snapshot.indexOf(joint));
+			assertEquals(joint.getType(), restored.getType());
+			assertEquals(joint.getUserData(), restored.getUserData());
+			assertEquals(joint.getBodyA().getUserData(), restored.getBodyA().getUserData());
+			assertEquals(joint.getBodyB().getUserData(), restored.getBodyB().getUserData());
+			assertTrue(((RevoluteJoint) restored).isLimitEnabled());
+			assertEquals(((RevoluteJoint) joint).getLowerLimit(), ((RevoluteJoint) restored).getLowerLimit(), 0);
+			assertEquals(((RevoluteJoint) joint).getUpperLimit(), ((RevoluteJoint) restored).getUpperLimit(), 0);
+		}
+	}
+
+}
@@ -3,8 +3,6 @@ package net.dermetfan.gdx.math;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
 
-import static net.dermetfan.gdx.math.GeometryUtils.areVerticesClockwise;
-
 /** Taken from <a href="http://code.google.com/p/box2d-editor/source/browse/editor/src/aurelienribon/bodyeditor/maths/earclipping/bayazit/BayazitDecomposer.java">Aurelien Ribon's Physics Body Editor</a><br>
  *  <br>
  *  Convex decomposition algorithm created by <a href="http://mnbayazit.com/">Mark Bayazit</a>
@@ -35,11 +33,12 @@ public abstract class BayazitDecomposer {
 	/** Decompose the polygon into several smaller non-concave polygon.
 	 *  If the polygon is already convex, it will return the original polygon,
 	 *  unless it is over Settings.MaxPolygonVertices.
-	 *  Precondition: Counter Clockwise polygon */
+	 *  Precondition: Counter Clockwise polygon
+	 *  Does not use any shared temporary objects, so it can be called from multiple threads at once. */
 	public static Array<Array<Vector2>> convexPartition(Array<Vector2> vertices) {
 		// We force it to CCW as it is a precondition in this algorithm.
 		// vertices.ForceCounterClockWise();
-		if(areVerticesClockwise(vertices))
+		if(isClockwise(vertices))
 			vertices.reverse();
 		Array<Array<Vector2>> list = new Array<>();
 		float d, lowerDist, upperDist;
@@ -133,6 +132,19 @@ public abstract class BayazitDecomposer {
 		return list;
 	}
 
+	/** same as {@link GeometryUtils#areVerticesClockwise(Array)} without the temporary FloatArray */
+	private static boolean isClockwise(Array<Vector2> vertices) {
+		if(vertices.size <= 2)
+			return true;
+		float area = 0;
+		for(int i = 0; i < vertices.size; i++) {
+			Vector2 vertex = vertices.get(i), next = vertices.get((i + 1) % vertices.size);
+			area += vertex.x * next.y;
+			area -= vertex.y * next.x;
+		}
+		return area / 2 < 0;
+	}
+
 	private static boolean canSee(int i, int j, Array<Vector2> vertices) {
 		if(reflex(i, vertices)) {
 			if(leftOn(at(i, vertices), at(i - 1, vertices), at(j, vertices)) && rightOn(at(i, vertices), at(i + 1, vertices), at(j, vertices)))
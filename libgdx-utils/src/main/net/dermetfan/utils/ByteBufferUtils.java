@@ -0,0 +1,56 @@
+/** Copyright 2015 Robin Stumm (serverkorken@gmail.com, http://dermetfan.net)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License. */
+
+
+package net.dermetfan.utils;
+
+import java.nio.ByteBuffer;
+
+/** utility methods for reading and writing variable-length integers from and to ByteBuffers
+ *  @author dermetfan
+ *  @since 0.13.0 */
+public class ByteBufferUtils {
+
+	/** writes an unsigned variable-length integer, 7 bits per byte */
+	public static void putVarLong(ByteBuffer buffer, long value) {
+		while((value & ~0x7FL) != 0) {
+			buffer.put((byte) (value & 0x7F | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	/** reads an unsigned variable-length integer written by {@link #putVarLong(ByteBuffer, long)} */
+	public static long getVarLong(ByteBuffer buffer) {
+		long value = 0;
+		for(int shift = 0; ; shift += 7) {
+			byte b = buffer.get();
+			value |= (long) (b & 0x7F) << shift;
+			if((b & 0x80) == 0)
+				return value;
+		}
+	}
+
+	/** writes a signed variable-length integer using zigzag encoding */
+	public static void putVarInt(ByteBuffer buffer, int value) {
+		putVarLong(buffer, (value << 1 ^ value >> 31) & 0xFFFFFFFFL);
+	}
+
+	/** reads a signed variable-length integer written by {@link #putVarInt(ByteBuffer, int)} */
+	public static int getVarInt(ByteBuffer buffer) {
+		int value = (int) getVarLong(buffer);
+		return value >>> 1 ^ -(value & 1);
+	}
+
+}
@@ -0,0 +1,39 @@
+package net.dermetfan.utils;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import static net.dermetfan.utils.ByteBufferUtils.getVarInt;
+import static net.dermetfan.utils.ByteBufferUtils.getVarLong;
+import static net.dermetfan.utils.ByteBufferUtils.putVarInt;
+import static net.dermetfan.utils.ByteBufferUtils.putVarLong;
+import static org.junit.Assert.assertEquals;
+
+public class ByteBufferUtilsTest {
+
+	@Test
+	public void varLong() {
+		ByteBuffer buffer = ByteBuffer.allocate(64);
+		long[] values = {0, 1, 127, 128, 16383, 16384, Long.MAX_VALUE, -1};
+		for(long value : values)
+			putVarLong(buffer, value);
+		buffer.flip();
+		for(long value : values)
+			assertEquals(value, getVarLong(buffer));
+		assertEquals(0, buffer.remaining());
+	}
+
+	@Test
+	public void varInt() {
+		ByteBuffer buffer = ByteBuffer.allocate(64);
+		int[] values = {0, -1, 1, -64, 63, 64, Integer.MAX_VALUE, Integer.MIN_VALUE};
+		for(int value : values)
+			putVarInt(buffer, value);
+		assertEquals(1 + 1 + 1 + 1 + 1 + 2 + 5 + 5, buffer.position());
+		buffer.flip();
+		for(int value : values)
+			assertEquals(value, getVarInt(buffer));
+	}
+
+}